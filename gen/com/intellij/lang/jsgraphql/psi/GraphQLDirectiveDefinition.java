@@ -4,8 +4,10 @@ package com.intellij.lang.jsgraphql.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLDirectiveDefinitionStub;
 
-public interface GraphQLDirectiveDefinition extends GraphQLTypeSystemDefinition, GraphQLDescriptionAware {
+public interface GraphQLDirectiveDefinition extends GraphQLTypeSystemDefinition, GraphQLDescriptionAware, StubBasedPsiElement<GraphQLDirectiveDefinitionStub> {
 
   @Nullable
   GraphQLArgumentsDefinition getArgumentsDefinition();
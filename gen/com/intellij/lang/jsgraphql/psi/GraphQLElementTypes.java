@@ -4,6 +4,7 @@ package com.intellij.lang.jsgraphql.psi;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.PsiElement;
 import com.intellij.lang.ASTNode;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLStubElementTypes;
 import com.intellij.lang.jsgraphql.psi.impl.*;
 
 public interface GraphQLElementTypes {
@@ -19,19 +20,19 @@ public interface GraphQLElementTypes {
   IElementType DEFINITION = new GraphQLCompositeElementType("DEFINITION");
   IElementType DESCRIPTION = new GraphQLCompositeElementType("DESCRIPTION");
   IElementType DIRECTIVE = new GraphQLCompositeElementType("DIRECTIVE");
-  IElementType DIRECTIVE_DEFINITION = new GraphQLCompositeElementType("DIRECTIVE_DEFINITION");
+  IElementType DIRECTIVE_DEFINITION = GraphQLStubElementTypes.getElementType("DIRECTIVE_DEFINITION");
   IElementType DIRECTIVE_LOCATION = new GraphQLCompositeElementType("DIRECTIVE_LOCATION");
   IElementType DIRECTIVE_LOCATIONS = new GraphQLCompositeElementType("DIRECTIVE_LOCATIONS");
   IElementType ENUM_TYPE_DEFINITION = new GraphQLCompositeElementType("ENUM_TYPE_DEFINITION");
   IElementType ENUM_TYPE_EXTENSION_DEFINITION = new GraphQLCompositeElementType("ENUM_TYPE_EXTENSION_DEFINITION");
   IElementType ENUM_VALUE = new GraphQLCompositeElementType("ENUM_VALUE");
-  IElementType ENUM_VALUE_DEFINITION = new GraphQLCompositeElementType("ENUM_VALUE_DEFINITION");
+  IElementType ENUM_VALUE_DEFINITION = GraphQLStubElementTypes.getElementType("ENUM_VALUE_DEFINITION");
   IElementType ENUM_VALUE_DEFINITIONS = new GraphQLCompositeElementType("ENUM_VALUE_DEFINITIONS");
   IElementType FIELD = new GraphQLCompositeElementType("FIELD");
   IElementType FIELDS_DEFINITION = new GraphQLCompositeElementType("FIELDS_DEFINITION");
-  IElementType FIELD_DEFINITION = new GraphQLCompositeElementType("FIELD_DEFINITION");
+  IElementType FIELD_DEFINITION = GraphQLStubElementTypes.getElementType("FIELD_DEFINITION");
   IElementType FLOAT_VALUE = new GraphQLCompositeElementType("FLOAT_VALUE");
-  IElementType FRAGMENT_DEFINITION = new GraphQLCompositeElementType("FRAGMENT_DEFINITION");
+  IElementType FRAGMENT_DEFINITION = GraphQLStubElementTypes.getElementType("FRAGMENT_DEFINITION");
   IElementType FRAGMENT_SELECTION = new GraphQLCompositeElementType("FRAGMENT_SELECTION");
   IElementType FRAGMENT_SPREAD = new GraphQLCompositeElementType("FRAGMENT_SPREAD");
   IElementType IDENTIFIER = new GraphQLCompositeElementType("IDENTIFIER");
@@ -74,7 +75,7 @@ public interface GraphQLElementTypes {
   IElementType TYPE_DEFINITION = new GraphQLCompositeElementType("TYPE_DEFINITION");
   IElementType TYPE_EXTENSION = new GraphQLCompositeElementType("TYPE_EXTENSION");
   IElementType TYPE_NAME = new GraphQLCompositeElementType("TYPE_NAME");
-  IElementType TYPE_NAME_DEFINITION = new GraphQLCompositeElementType("TYPE_NAME_DEFINITION");
+  IElementType TYPE_NAME_DEFINITION = GraphQLStubElementTypes.getElementType("TYPE_NAME_DEFINITION");
   IElementType TYPE_SYSTEM_DEFINITION = new GraphQLCompositeElementType("TYPE_SYSTEM_DEFINITION");
   IElementType UNION_MEMBERS = new GraphQLCompositeElementType("UNION_MEMBERS");
   IElementType UNION_MEMBERSHIP = new GraphQLCompositeElementType("UNION_MEMBERSHIP");
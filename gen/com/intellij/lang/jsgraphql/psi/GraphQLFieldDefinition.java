@@ -4,8 +4,10 @@ package com.intellij.lang.jsgraphql.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLFieldDefinitionStub;
 
-public interface GraphQLFieldDefinition extends GraphQLDirectivesAware, GraphQLNamedElement, GraphQLDescriptionAware {
+public interface GraphQLFieldDefinition extends GraphQLDirectivesAware, GraphQLNamedElement, GraphQLDescriptionAware, StubBasedPsiElement<GraphQLFieldDefinitionStub> {
 
   @Nullable
   GraphQLArgumentsDefinition getArgumentsDefinition();
@@ -4,8 +4,10 @@ package com.intellij.lang.jsgraphql.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLFragmentDefinitionStub;
 
-public interface GraphQLFragmentDefinition extends GraphQLDefinition, GraphQLDirectivesAware, GraphQLNamedElement {
+public interface GraphQLFragmentDefinition extends GraphQLDefinition, GraphQLDirectivesAware, GraphQLNamedElement, StubBasedPsiElement<GraphQLFragmentDefinitionStub> {
 
   @Nullable
   GraphQLSelectionSet getSelectionSet();
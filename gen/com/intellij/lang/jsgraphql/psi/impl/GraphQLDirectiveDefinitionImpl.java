@@ -9,14 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.intellij.lang.jsgraphql.psi.GraphQLElementTypes.*;
 import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLDirectiveDefinitionStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class GraphQLDirectiveDefinitionImpl extends GraphQLTypeSystemDefinitionImpl implements GraphQLDirectiveDefinition {
+public class GraphQLDirectiveDefinitionImpl extends GraphQLStubElementImpl<GraphQLDirectiveDefinitionStub> implements GraphQLDirectiveDefinition {
 
   public GraphQLDirectiveDefinitionImpl(@NotNull ASTNode node) {
     super(node);
   }
 
-  @Override
+  public GraphQLDirectiveDefinitionImpl(@NotNull GraphQLDirectiveDefinitionStub stub, @NotNull IStubElementType<?, ?> type) {
+    super(stub, type);
+  }
+
   public void accept(@NotNull GraphQLVisitorBase visitor) {
     visitor.visitDirectiveDefinition(this);
   }
@@ -9,13 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.intellij.lang.jsgraphql.psi.GraphQLElementTypes.*;
 import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLEnumValueDefinitionStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class GraphQLEnumValueDefinitionImpl extends GraphQLElementImpl implements GraphQLEnumValueDefinition {
+public class GraphQLEnumValueDefinitionImpl extends GraphQLStubElementImpl<GraphQLEnumValueDefinitionStub> implements GraphQLEnumValueDefinition {
 
   public GraphQLEnumValueDefinitionImpl(@NotNull ASTNode node) {
     super(node);
   }
 
+  public GraphQLEnumValueDefinitionImpl(@NotNull GraphQLEnumValueDefinitionStub stub, @NotNull IStubElementType<?, ?> type) {
+    super(stub, type);
+  }
+
   public void accept(@NotNull GraphQLVisitorBase visitor) {
     visitor.visitEnumValueDefinition(this);
   }
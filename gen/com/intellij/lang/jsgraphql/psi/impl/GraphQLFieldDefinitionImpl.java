@@ -9,13 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.intellij.lang.jsgraphql.psi.GraphQLElementTypes.*;
 import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLFieldDefinitionStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class GraphQLFieldDefinitionImpl extends GraphQLNamedElementImpl implements GraphQLFieldDefinition {
+public class GraphQLFieldDefinitionImpl extends GraphQLNamedStubElementImpl<GraphQLFieldDefinitionStub> implements GraphQLFieldDefinition {
 
   public GraphQLFieldDefinitionImpl(@NotNull ASTNode node) {
     super(node);
   }
 
+  public GraphQLFieldDefinitionImpl(@NotNull GraphQLFieldDefinitionStub stub, @NotNull IStubElementType<?, ?> type) {
+    super(stub, type);
+  }
+
   public void accept(@NotNull GraphQLVisitorBase visitor) {
     visitor.visitFieldDefinition(this);
   }
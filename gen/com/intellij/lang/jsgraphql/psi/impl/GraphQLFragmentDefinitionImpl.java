@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.intellij.lang.jsgraphql.psi.GraphQLElementTypes.*;
 import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLFragmentDefinitionStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class GraphQLFragmentDefinitionImpl extends GraphQLFragmentDefinitionMixin implements GraphQLFragmentDefinition {
 
@@ -16,6 +18,10 @@ public class GraphQLFragmentDefinitionImpl extends GraphQLFragmentDefinitionMixi
     super(node);
   }
 
+  public GraphQLFragmentDefinitionImpl(@NotNull GraphQLFragmentDefinitionStub stub, @NotNull IStubElementType<?, ?> type) {
+    super(stub, type);
+  }
+
   public void accept(@NotNull GraphQLVisitorBase visitor) {
     visitor.visitFragmentDefinition(this);
   }
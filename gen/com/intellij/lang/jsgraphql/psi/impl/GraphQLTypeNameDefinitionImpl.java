@@ -9,13 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.intellij.lang.jsgraphql.psi.GraphQLElementTypes.*;
 import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLTypeNameDefinitionStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class GraphQLTypeNameDefinitionImpl extends GraphQLNamedElementImpl implements GraphQLTypeNameDefinition {
+public class GraphQLTypeNameDefinitionImpl extends GraphQLNamedStubElementImpl<GraphQLTypeNameDefinitionStub> implements GraphQLTypeNameDefinition {
 
   public GraphQLTypeNameDefinitionImpl(@NotNull ASTNode node) {
     super(node);
   }
 
+  public GraphQLTypeNameDefinitionImpl(@NotNull GraphQLTypeNameDefinitionStub stub, @NotNull IStubElementType<?, ?> type) {
+    super(stub, type);
+  }
+
   public void accept(@NotNull GraphQLVisitorBase visitor) {
     visitor.visitTypeNameDefinition(this);
   }
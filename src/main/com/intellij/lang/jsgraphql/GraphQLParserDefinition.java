@@ -13,6 +13,7 @@ import com.intellij.lang.PsiParser;
 import com.intellij.lang.jsgraphql.psi.GraphQLElementTypes;
 import com.intellij.lang.jsgraphql.psi.GraphQLExtendedElementTypes;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLStubFileElementType;
 import com.intellij.lexer.Lexer;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Key;
@@ -27,7 +28,7 @@ public class GraphQLParserDefinition implements ParserDefinition {
 
     public static final Key<Boolean> JSGRAPHQL_ACTIVATED = Key.create("JSGraphQL.activated");
 
-    public static final IFileElementType FILE = new IFileElementType("GRAPHQL", GraphQLLanguage.INSTANCE);
+    public static final IFileElementType FILE = new GraphQLStubFileElementType();
 
     @NotNull
     @Override
@@ -14,6 +14,8 @@ import com.intellij.lang.jsgraphql.endpoint.psi.*;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLNamedScope;
 import com.intellij.lang.jsgraphql.schema.GraphQLRegistryInfo;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeEvent;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeListener;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeTracker;
 import com.intellij.lang.jsgraphql.types.GraphQLException;
 import com.intellij.lang.jsgraphql.types.introspection.Introspection;
@@ -27,6 +29,8 @@ import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -55,10 +59,22 @@ public class JSGraphQLEndpointNamedTypeRegistry implements Disposable {
         this.project = project;
         this.configurationProvider = JSGraphQLEndpointConfigurationProvider.getService(project);
         graphQLConfigManager = GraphQLConfigManager.getService(project);
-        project.getMessageBus().connect(this).subscribe(GraphQLSchemaChangeTracker.TOPIC, () -> {
-            endpointTypesByName.clear();
-            endpointEntryPsiFile.clear();
-            projectToRegistry.clear();
+        project.getMessageBus().connect(this).subscribe(GraphQLSchemaChangeTracker.TOPIC, new GraphQLSchemaChangeListener() {
+            @Override
+            public void onSchemaChanged() {
+                endpointTypesByName.clear();
+                endpointEntryPsiFile.clear();
+                projectToRegistry.clear();
+            }
+
+            @Override
+            public void onSchemaChanged(@NotNull GraphQLSchemaChangeEvent event) {
+                // edits to endpoint files are always reported as project wide changes,
+                // so the types are kept while only GraphQL sources of some scopes change
+                if (event.isProjectWide()) {
+                    onSchemaChanged();
+                }
+            }
         });
     }
 
@@ -120,7 +136,7 @@ public class JSGraphQLEndpointNamedTypeRegistry implements Disposable {
         };
 
         namedTypes.forEach((name, endpointType) -> {
-            final PsiElement psiDefinition = endpointType.definitionElement;
+            final PsiElement psiDefinition = endpointType.getDefinitionElement();
 
             // add syntax errors as schema errors
             if(psiDefinition != null) {
@@ -146,8 +162,9 @@ public class JSGraphQLEndpointNamedTypeRegistry implements Disposable {
                         final JSGraphQLLegacyNamedType implementedType = namedTypes.get(endpointImplementedType.getName());
                         if (implementedType != null) {
                             interfaces.add(new TypeName(endpointImplementedType.getName()));
-                            if (implementedType.definitionElement instanceof JSGraphQLEndpointInterfaceTypeDefinition) {
-                                final JSGraphQLEndpointFieldDefinitionSet fieldDefinitionSet = ((JSGraphQLEndpointInterfaceTypeDefinition) implementedType.definitionElement).getFieldDefinitionSet();
+                            final PsiElement implementedDefinition = implementedType.getDefinitionElement();
+                            if (implementedDefinition instanceof JSGraphQLEndpointInterfaceTypeDefinition) {
+                                final JSGraphQLEndpointFieldDefinitionSet fieldDefinitionSet = ((JSGraphQLEndpointInterfaceTypeDefinition) implementedDefinition).getFieldDefinitionSet();
                                 if (fieldDefinitionSet != null) {
                                     for (JSGraphQLEndpointFieldDefinition interfaceFieldDefinition : fieldDefinitionSet.getFieldDefinitionList()) {
                                         addFieldDefinition(fieldDefinitions, addedFieldNames, interfaceFieldDefinition, errors);
@@ -381,44 +398,10 @@ public class JSGraphQLEndpointNamedTypeRegistry implements Disposable {
             final Map<String, JSGraphQLLegacyNamedType> result = Maps.newConcurrentMap();
             final PsiFile entryPsiFile = getEndpointEntryPsiFile(scopedPsiElement);
             if (entryPsiFile != null) {
-                Collection<JSGraphQLEndpointNamedTypeDefinition> endpointNamedTypeDefinitions = JSGraphQLEndpointPsiUtil.getKnownDefinitions(
-                        entryPsiFile,
-                        JSGraphQLEndpointNamedTypeDefinition.class,
-                        true,
-                        null
-                );
-                for (JSGraphQLEndpointNamedTypeDefinition typeDefinition : endpointNamedTypeDefinitions) {
-                    if (typeDefinition.getNamedTypeDef() != null) {
-                        final String typeName = typeDefinition.getNamedTypeDef().getText();
-                        final JSGraphQLLegacyNamedType namedType = new JSGraphQLLegacyNamedType(typeDefinition, typeDefinition.getNamedTypeDef());
-                        final JSGraphQLEndpointFieldDefinitionSet fieldDefinitionSet = PsiTreeUtil.findChildOfType(typeDefinition, JSGraphQLEndpointFieldDefinitionSet.class);
-                        if (fieldDefinitionSet != null) {
-                            final JSGraphQLEndpointFieldDefinition[] fields = PsiTreeUtil.getChildrenOfType(fieldDefinitionSet, JSGraphQLEndpointFieldDefinition.class);
-                            if (fields != null) {
-                                for (JSGraphQLEndpointFieldDefinition field : fields) {
-                                    final JSGraphQLEndpointCompositeType propertyValueType = field.getCompositeType();
-                                    if (propertyValueType != null) {
-                                        String propertyValueTypeName = null;
-                                        if (propertyValueType.getListType() != null) {
-                                            final JSGraphQLEndpointNamedType listItemType = propertyValueType.getListType().getNamedType();
-                                            if (listItemType != null) {
-                                                propertyValueTypeName = listItemType.getText();
-                                            }
-                                        } else if (propertyValueType.getNamedType() != null) {
-                                            propertyValueTypeName = propertyValueType.getNamedType().getText();
-                                        }
-                                        if (propertyValueTypeName != null) {
-                                            namedType.properties.put(
-                                                    field.getProperty().getText(),
-                                                    new JSGraphQLLegacyPropertyType(field.getProperty(), namedType, propertyValueTypeName)
-                                            );
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                        result.put(typeName, namedType);
-                        if ("Query".equals(typeName)) {
+                for (PsiFile psiFile : JSGraphQLEndpointPsiUtil.getKnownFiles(entryPsiFile, true, null)) {
+                    for (JSGraphQLLegacyNamedType namedType : getNamedTypes(psiFile)) {
+                        result.put(namedType.getName(), namedType);
+                        if ("Query".equals(namedType.getName())) {
                             // also use Query for anonymous queries that are selection sets
                             result.put("SelectionSet", namedType);
                         }
@@ -431,6 +414,53 @@ public class JSGraphQLEndpointNamedTypeRegistry implements Disposable {
         });
     }
 
+    /**
+     * Gets the named types defined in the specified file. The types are only derived from the PSI again when the file changes,
+     * so rebuilding the types of a scope after an edit only reads the edited file.
+     */
+    private static List<JSGraphQLLegacyNamedType> getNamedTypes(PsiFile psiFile) {
+        return CachedValuesManager.getCachedValue(psiFile, () -> {
+            final SmartPointerManager pointerManager = SmartPointerManager.getInstance(psiFile.getProject());
+            final List<JSGraphQLLegacyNamedType> namedTypes = Lists.newArrayList();
+            for (JSGraphQLEndpointNamedTypeDefinition typeDefinition : JSGraphQLEndpointPsiUtil.getNamedTypeDefinitions(psiFile)) {
+                final JSGraphQLEndpointNamedTypeDef namedTypeDef = typeDefinition.getNamedTypeDef();
+                if (namedTypeDef == null) {
+                    continue;
+                }
+                final JSGraphQLLegacyNamedType namedType = new JSGraphQLLegacyNamedType(namedTypeDef.getText(), pointerManager.createSmartPsiElementPointer(typeDefinition, psiFile));
+                final JSGraphQLEndpointFieldDefinitionSet fieldDefinitionSet = PsiTreeUtil.findChildOfType(typeDefinition, JSGraphQLEndpointFieldDefinitionSet.class);
+                if (fieldDefinitionSet != null) {
+                    final JSGraphQLEndpointFieldDefinition[] fields = PsiTreeUtil.getChildrenOfType(fieldDefinitionSet, JSGraphQLEndpointFieldDefinition.class);
+                    if (fields != null) {
+                        for (JSGraphQLEndpointFieldDefinition field : fields) {
+                            final JSGraphQLEndpointCompositeType propertyValueType = field.getCompositeType();
+                            if (propertyValueType != null) {
+                                String propertyValueTypeName = null;
+                                if (propertyValueType.getListType() != null) {
+                                    final JSGraphQLEndpointNamedType listItemType = propertyValueType.getListType().getNamedType();
+                                    if (listItemType != null) {
+                                        propertyValueTypeName = listItemType.getText();
+                                    }
+                                } else if (propertyValueType.getNamedType() != null) {
+                                    propertyValueTypeName = propertyValueType.getNamedType().getText();
+                                }
+                                if (propertyValueTypeName != null) {
+                                    final String propertyName = field.getProperty().getText();
+                                    namedType.properties.put(
+                                            propertyName,
+                                            new JSGraphQLLegacyPropertyType(propertyName, namedType, propertyValueTypeName)
+                                    );
+                                }
+                            }
+                        }
+                    }
+                }
+                namedTypes.add(namedType);
+            }
+            return CachedValueProvider.Result.create(namedTypes, psiFile);
+        });
+    }
+
     @Override
     public void dispose() {
     }
@@ -57,8 +57,9 @@ public class JSGraphQLEndpointDefinitionsSearchExecutor implements QueryExecutor
 
             final JSGraphQLEndpointNamedTypeRegistry typeRegistry = JSGraphQLEndpointNamedTypeRegistry.getService(sourceElement.getProject());
             typeRegistry.enumerateTypes(sourceElement, jsGraphQLNamedType -> {
-                if (jsGraphQLNamedType.definitionElement instanceof JSGraphQLEndpointObjectTypeDefinition) {
-                    final JSGraphQLEndpointObjectTypeDefinition typeDefinition = (JSGraphQLEndpointObjectTypeDefinition) jsGraphQLNamedType.definitionElement;
+                final PsiElement definitionElement = jsGraphQLNamedType.getDefinitionElement();
+                if (definitionElement instanceof JSGraphQLEndpointObjectTypeDefinition) {
+                    final JSGraphQLEndpointObjectTypeDefinition typeDefinition = (JSGraphQLEndpointObjectTypeDefinition) definitionElement;
                     final JSGraphQLEndpointImplementsInterfaces implementsInterfaces = typeDefinition.getImplementsInterfaces();
                     if (implementsInterfaces != null) {
                         for (JSGraphQLEndpointNamedType namedType : implementsInterfaces.getNamedTypeList()) {
@@ -69,7 +70,7 @@ public class JSGraphQLEndpointDefinitionsSearchExecutor implements QueryExecutor
                                 } else {
                                     // locate field overrides
                                     final String propertyName = sourceProperty.get().getName();
-                                    jsGraphQLNamedType.definitionElement.accept(new PsiRecursiveElementVisitor() {
+                                    typeDefinition.accept(new PsiRecursiveElementVisitor() {
                                         @Override
                                         public void visitElement(PsiElement element) {
                                             if (element instanceof JSGraphQLEndpointProperty) {
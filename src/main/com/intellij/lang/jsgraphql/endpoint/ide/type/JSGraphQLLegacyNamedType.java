@@ -8,31 +8,50 @@
 package com.intellij.lang.jsgraphql.endpoint.ide.type;
 
 import com.google.common.collect.Maps;
-import com.intellij.psi.PsiElement;
+import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointNamedTypeDefinition;
 import com.intellij.psi.PsiNamedElement;
+import com.intellij.psi.SmartPsiElementPointer;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 
 /**
  * Represents a named type in a GraphQL schema, e.g. Query, Mutation, StarShip etc.
+ * The type only keeps a pointer to its definition, so it can be cached without keeping the PSI of its file in memory.
  */
 public class JSGraphQLLegacyNamedType {
 
-    /** PSI element for the type definition, e.g. 'type Foo {}' */
-    public final PsiElement definitionElement;
+    private final String name;
 
-    /** PSI element representing the name of a type definition, e.g. 'Foo' in 'type Foo {}' */
-    public final PsiNamedElement nameElement;
+    /** Pointer to the type definition, e.g. 'type Foo {}' */
+    private final SmartPsiElementPointer<JSGraphQLEndpointNamedTypeDefinition> definitionPointer;
 
     public final Map<String, JSGraphQLLegacyPropertyType> properties = Maps.newHashMap();
 
-    public JSGraphQLLegacyNamedType(PsiElement definitionElement, PsiNamedElement nameElement) {
-        this.definitionElement = definitionElement;
-        this.nameElement = nameElement;
+    public JSGraphQLLegacyNamedType(String name, SmartPsiElementPointer<JSGraphQLEndpointNamedTypeDefinition> definitionPointer) {
+        this.name = name;
+        this.definitionPointer = definitionPointer;
     }
 
     public String getName() {
-        return nameElement.getName();
+        return name;
+    }
+
+    /**
+     * Gets the PSI element for the type definition, e.g. 'type Foo {}'
+     */
+    @Nullable
+    public JSGraphQLEndpointNamedTypeDefinition getDefinitionElement() {
+        return definitionPointer.getElement();
+    }
+
+    /**
+     * Gets the PSI element representing the name of a type definition, e.g. 'Foo' in 'type Foo {}'
+     */
+    @Nullable
+    public PsiNamedElement getNameElement() {
+        final JSGraphQLEndpointNamedTypeDefinition definitionElement = getDefinitionElement();
+        return definitionElement != null ? definitionElement.getNamedTypeDef() : null;
     }
 
     @Override
@@ -7,25 +7,50 @@
  */
 package com.intellij.lang.jsgraphql.endpoint.ide.type;
 
+import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointFieldDefinition;
+import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointFieldDefinitionSet;
+import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointNamedTypeDefinition;
 import com.intellij.psi.PsiNamedElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents the property aspect of a field in a GraphQL schema, e.g. 'username' on type 'User'.
  */
 public class JSGraphQLLegacyPropertyType {
 
-    public final PsiNamedElement propertyElement;
+    private final String propertyName;
     public final JSGraphQLLegacyNamedType declaringTypeElement;
     public final String propertyValueTypeName;
 
-    public JSGraphQLLegacyPropertyType(PsiNamedElement propertyElement, JSGraphQLLegacyNamedType declaringTypeElement, String propertyValueTypeName) {
-        this.propertyElement = propertyElement;
+    public JSGraphQLLegacyPropertyType(String propertyName, JSGraphQLLegacyNamedType declaringTypeElement, String propertyValueTypeName) {
+        this.propertyName = propertyName;
         this.declaringTypeElement = declaringTypeElement;
         this.propertyValueTypeName = propertyValueTypeName;
     }
 
     public String getPropertyName() {
-        return propertyElement != null ? propertyElement.getName() : null;
+        return propertyName;
+    }
+
+    /**
+     * Gets the PSI element of the property, which is looked up in the definition of the declaring type
+     */
+    @Nullable
+    public PsiNamedElement getPropertyElement() {
+        final JSGraphQLEndpointNamedTypeDefinition definitionElement = declaringTypeElement.getDefinitionElement();
+        final JSGraphQLEndpointFieldDefinitionSet fieldDefinitionSet = PsiTreeUtil.findChildOfType(definitionElement, JSGraphQLEndpointFieldDefinitionSet.class);
+        if (fieldDefinitionSet != null) {
+            final JSGraphQLEndpointFieldDefinition[] fields = PsiTreeUtil.getChildrenOfType(fieldDefinitionSet, JSGraphQLEndpointFieldDefinition.class);
+            if (fields != null) {
+                for (JSGraphQLEndpointFieldDefinition field : fields) {
+                    if (propertyName.equals(field.getProperty().getText())) {
+                        return field.getProperty();
+                    }
+                }
+            }
+        }
+        return null;
     }
 
     @Override
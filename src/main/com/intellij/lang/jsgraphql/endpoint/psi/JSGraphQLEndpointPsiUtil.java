@@ -12,8 +12,10 @@ import com.intellij.lang.jsgraphql.endpoint.JSGraphQLEndpointFileType;
 import com.intellij.lang.jsgraphql.endpoint.JSGraphQLEndpointTokenTypes;
 import com.intellij.lang.jsgraphql.endpoint.ide.configuration.JSGraphQLEndpointConfigurationProvider;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
 import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.source.SourceTreeToPsiMap;
 import com.intellij.psi.impl.source.tree.Factory;
@@ -21,13 +23,20 @@ import com.intellij.psi.impl.source.tree.LeafElement;
 import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
+import com.intellij.util.containers.ContainerUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class JSGraphQLEndpointPsiUtil {
@@ -69,6 +78,25 @@ public class JSGraphQLEndpointPsiUtil {
 
 		final Set<T> definitions = Sets.newHashSet();
 
+		for (PsiFile psiFile : getKnownFiles(file, includeAutoImportTypes, importedFiles)) {
+			for (JSGraphQLEndpointNamedTypeDefinition definition : getNamedTypeDefinitions(psiFile)) {
+				if (psiDefinitionClass.isInstance(definition)) {
+					definitions.add(psiDefinitionClass.cast(definition));
+				}
+			}
+		}
+
+		return definitions;
+	}
+
+	/**
+	 * Gets the files whose definitions are known in the specified file, ie. the file itself and the files it imports.
+	 *
+	 * @param file                   the file to use as starting point
+	 * @param includeAutoImportTypes whether to include the files that are not currently imported, but can be made available using an auto-import
+	 * @param importedFiles          ref to add currently imported files to
+	 */
+	public static Set<PsiFile> getKnownFiles(PsiFile file, boolean includeAutoImportTypes, Ref<Collection<PsiFile>> importedFiles) {
 		final Set<PsiFile> files = Sets.newHashSet(file);
 		final JSGraphQLEndpointImportDeclaration[] importDeclarations = PsiTreeUtil.getChildrenOfType(file, JSGraphQLEndpointImportDeclaration.class);
 		if (importDeclarations != null) {
@@ -93,27 +121,53 @@ public class JSGraphQLEndpointPsiUtil {
         }
 
 		if(includeAutoImportTypes) {
-			final Collection<VirtualFile> knownFiles = FileTypeIndex.getFiles(JSGraphQLEndpointFileType.INSTANCE, getImportScopeFromEntryFile(file.getProject(), null, file));
-			final PsiManager psiManager = PsiManager.getInstance(file.getProject());
-			knownFiles.forEach(virtualFile ->{
+			files.addAll(getAutoImportFiles(file));
+		}
+
+		return files;
+	}
+
+	/**
+	 * Gets the endpoint files in the import scope of the specified file, whose types can be made available using an auto-import.
+	 * The files are cached until files are added, moved or deleted, so they aren't looked up again whenever the types are rebuilt.
+	 */
+	private static List<PsiFile> getAutoImportFiles(PsiFile file) {
+		final Project project = file.getProject();
+		final GlobalSearchScope scope = getImportScopeFromEntryFile(project, null, file);
+		// keyed by the scope, since the configured entry file can change
+		final Map<GlobalSearchScope, List<PsiFile>> filesByScope = CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(
+			new ConcurrentHashMap<GlobalSearchScope, List<PsiFile>>(), VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS, ProjectRootModificationTracker.getInstance(project)));
+		final List<PsiFile> files = filesByScope.computeIfAbsent(scope, s -> {
+			final PsiManager psiManager = PsiManager.getInstance(project);
+			final List<PsiFile> psiFiles = new ArrayList<>();
+			FileTypeIndex.getFiles(JSGraphQLEndpointFileType.INSTANCE, s).forEach(virtualFile -> {
 				final PsiFile psiFile = psiManager.findFile(virtualFile);
 				if(psiFile != null) {
-					files.add(psiFile);
+					psiFiles.add(psiFile);
 				}
 			});
-		}
+			return psiFiles;
+		});
+		return ContainerUtil.filter(files, PsiFile::isValid);
+	}
 
-		for (PsiFile psiFile : files) {
-			final Collection<T> definitionElements = PsiTreeUtil.findChildrenOfType(psiFile, psiDefinitionClass);
-			for (T definition : definitionElements) {
-				final JSGraphQLEndpointNamedTypeDef namedTypeDef = definition.getNamedTypeDef();
-				if (namedTypeDef != null) {
-					definitions.add(definition);
+	/**
+	 * Gets the definitions in the specified file which have a defined name.
+	 * The definitions are found again only when the file changes. They are cached as smart pointers, so the cache doesn't keep
+	 * the file's PSI tree in memory.
+	 */
+	public static List<JSGraphQLEndpointNamedTypeDefinition> getNamedTypeDefinitions(PsiFile file) {
+		final List<SmartPsiElementPointer<JSGraphQLEndpointNamedTypeDefinition>> pointers = CachedValuesManager.getCachedValue(file, () -> {
+			final SmartPointerManager pointerManager = SmartPointerManager.getInstance(file.getProject());
+			final List<SmartPsiElementPointer<JSGraphQLEndpointNamedTypeDefinition>> definitions = new ArrayList<>();
+			for (JSGraphQLEndpointNamedTypeDefinition definition : PsiTreeUtil.findChildrenOfType(file, JSGraphQLEndpointNamedTypeDefinition.class)) {
+				if (definition.getNamedTypeDef() != null) {
+					definitions.add(pointerManager.createSmartPsiElementPointer(definition, file));
 				}
 			}
-		}
-
-		return definitions;
+			return CachedValueProvider.Result.create(definitions, file);
+		});
+		return ContainerUtil.mapNotNull(pointers, SmartPsiElementPointer::getElement);
 	}
 
 	/**
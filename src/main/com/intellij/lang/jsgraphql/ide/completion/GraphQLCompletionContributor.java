@@ -776,17 +776,17 @@ public class GraphQLCompletionContributor extends CompletionContributor {
                 final TypeDefinitionRegistry typeDefinitionRegistry = GraphQLSchemaProvider.getInstance(completionElement.getProject())
                     .getRegistryInfo(parameters.getOriginalFile()).getTypeDefinitionRegistry();
 
-                final List<GraphQLFragmentDefinition> knownFragmentDefinitions = GraphQLPsiSearchHelper
-                    .getInstance(completionElement.getProject()).getKnownFragmentDefinitions(parameters.getOriginalFile());
-                for (GraphQLFragmentDefinition fragmentDefinition : knownFragmentDefinitions) {
-                    final String name = fragmentDefinition.getName();
-                    if (name != null) {
-                        // suggest compatible fragments based on type conditions
-                        if (GraphQLSchemaUtil.isFragmentApplicableInTypeScope(typeDefinitionRegistry, fragmentDefinition, typeScope)) {
-                            result.addElement(GraphQLCompletionUtil.createTypeNameLookupElement(name));
-                        }
+                final GraphQLType requiredTypeScope = typeScope;
+                final Set<String> suggestedNames = new HashSet<>();
+                GraphQLPsiSearchHelper.getInstance(completionElement.getProject()).processKnownFragments(parameters.getOriginalFile(), (name, typeConditionName) -> {
+                    // suggest compatible fragments based on type conditions
+                    if (typeConditionName != null && !suggestedNames.contains(name) &&
+                        GraphQLSchemaUtil.isFragmentApplicableInTypeScope(typeDefinitionRegistry, typeConditionName, requiredTypeScope)) {
+                        suggestedNames.add(name);
+                        result.addElement(GraphQLCompletionUtil.createTypeNameLookupElement(name));
                     }
-                }
+                    return true;
+                });
             }
         };
         extend(CompletionType.BASIC, psiElement().afterLeaf(psiElement(GraphQLElementTypes.SPREAD)), provider);
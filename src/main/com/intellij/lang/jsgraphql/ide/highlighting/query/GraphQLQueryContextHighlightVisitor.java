@@ -8,11 +8,7 @@
 package com.intellij.lang.jsgraphql.ide.highlighting.query;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
-import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
-import com.intellij.codeInsight.daemon.impl.HighlightInfo;
-import com.intellij.codeInsight.daemon.impl.HighlightInfoType;
 import com.intellij.codeInsight.daemon.impl.HighlightVisitor;
 import com.intellij.codeInsight.daemon.impl.analysis.HighlightInfoHolder;
 import com.intellij.codeInsight.highlighting.HighlightManager;
@@ -31,13 +27,9 @@ import com.intellij.notification.Notifications;
 import com.intellij.openapi.editor.Caret;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.ScrollType;
-import com.intellij.openapi.editor.colors.EditorColors;
-import com.intellij.openapi.editor.colors.EditorColorsManager;
 import com.intellij.openapi.editor.event.CaretEvent;
 import com.intellij.openapi.editor.event.CaretListener;
-import com.intellij.openapi.editor.markup.EffectType;
 import com.intellij.openapi.editor.markup.RangeHighlighter;
-import com.intellij.openapi.editor.markup.TextAttributes;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileEditor.FileEditor;
 import com.intellij.openapi.fileEditor.FileEditorManager;
@@ -59,7 +51,6 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -72,7 +63,6 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
 
     // operation user data
     private static final Key<Boolean> QUERY_HIGHLIGHT_LISTENER_ADDED = Key.create("JSGraphQL.Query.Highlighter.Listener.Added");
-    private static final Key<TextRange> QUERY_OPERATION_TEXT_RANGE = Key.create("JSGraphQL.Query.Operation.TextRange");
     private static final Key<Boolean> QUERY_FROM_SELECTION = Key.create("JSGraphQL.Query.From.Selection");
 
     // select operation hint
@@ -89,8 +79,6 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
         HIDE_LINK +
         "\">Don't show this again</a></div>";
 
-    private static final String ELEMENT_INCLUDED_MESSAGE = "Element is included in query execution";
-
 
     @Override
     public boolean suitableForFile(@NotNull PsiFile file) {
@@ -102,8 +90,9 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
     }
 
     /**
-     * Highlights the operation, if any, that wraps the current caret position.
+     * Highlights the operation, if any, that wraps the current caret position once the file has been analyzed.
      * Fragments used from the operation are highlighted recursively.
+     * When the caret moves to another operation only the operation highlights are updated, see {@link GraphQLQueryContextHighlighter}.
      */
     @Override
     public boolean analyze(final @NotNull PsiFile file, boolean updateWholeFile, @NotNull HighlightInfoHolder holder, @NotNull Runnable action) {
@@ -111,47 +100,11 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
         // run the default pass first (DefaultHighlightVisitor) which calls annotators etc.
         action.run();
 
-        final PsiElement operationAtCursor = getOperationAtCursor(file);
-        if (operationAtCursor != null && hasMultipleVisibleTopLevelElement(file)) {
-
-            // store the range of the current operation for use in the caret listener
-            file.putUserData(QUERY_OPERATION_TEXT_RANGE, operationAtCursor.getTextRange());
-
-            final Color borderColor = EditorColorsManager.getInstance().getGlobalScheme().getColor(EditorColors.TEARLINE_COLOR);
-            final TextAttributes textAttributes = new TextAttributes(null, null, borderColor, EffectType.ROUNDED_BOX, Font.PLAIN);
-            final Map<String, GraphQLFragmentDefinition> foundFragments = Maps.newHashMap();
-            findFragmentsInsideOperation(operationAtCursor, foundFragments, null);
-            for (PsiElement psiElement : file.getChildren()) {
-                boolean showAsUsed = false;
-                if (psiElement instanceof GraphQLFragmentDefinition) {
-                    GraphQLFragmentDefinition definition = (GraphQLFragmentDefinition) psiElement;
-                    if (definition.getOriginalElement() instanceof GraphQLFragmentDefinition) {
-                        // use the original PSI to compare since a separate editor tab has its own version of the PSI
-                        definition = (GraphQLFragmentDefinition) definition.getOriginalElement();
-                    }
-                    showAsUsed = foundFragments.containsKey(getFragmentKey(definition));
-                } else if (psiElement == operationAtCursor) {
-                    showAsUsed = true;
-                }
-                if (showAsUsed) {
-                    holder.add(
-                        HighlightInfo
-                            .newHighlightInfo(HighlightInfoType.INFORMATION)
-                            .textAttributes(textAttributes)
-                            .range(psiElement.getTextRange())
-                            .description(ELEMENT_INCLUDED_MESSAGE)
-                            .create()
-                    );
-                }
-            }
-
-        } else {
-            file.putUserData(QUERY_OPERATION_TEXT_RANGE, null);
-        }
-
-
         // find the editor that was highlighted and listen for caret changes to update the active operation
         UIUtil.invokeLaterIfNeeded(() -> {
+            if (!file.isValid()) {
+                return;
+            }
             final FileEditor fileEditor = FileEditorManager.getInstance(file.getProject()).getSelectedEditor(file.getVirtualFile());
             if (fileEditor instanceof TextEditor) {
                 final Editor editor = ((TextEditor) fileEditor).getEditor();
@@ -168,16 +121,13 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
                                 final PsiFile psiFile = PsiDocumentManager.getInstance(project).getPsiFile(currentEditor.getDocument());
                                 if (psiFile != null) {
 
-                                    final TextRange previousOperationRange = psiFile.getUserData(QUERY_OPERATION_TEXT_RANGE);
+                                    final TextRange previousOperationRange = GraphQLQueryContextHighlighter.getHighlightedOperationRange(currentEditor);
                                     psiFile.putUserData(QUERY_FROM_SELECTION, currentEditor.getSelectionModel().hasSelection());
 
-                                    boolean sameOperation = false;
-                                    boolean hadOperation = (previousOperationRange != null);
-                                    if (hadOperation) {
+                                    if (previousOperationRange != null) {
                                         // check if we're still inside the range of the previously highlighted op
                                         final int newOffset = currentEditor.logicalPositionToOffset(e.getNewPosition());
-                                        sameOperation = previousOperationRange.contains(newOffset);
-                                        if (sameOperation && !Boolean.TRUE.equals(psiFile.getUserData(QUERY_FROM_SELECTION))) {
+                                        if (previousOperationRange.contains(newOffset) && !Boolean.TRUE.equals(psiFile.getUserData(QUERY_FROM_SELECTION))) {
                                             // still the same op, and we didn't select text before, so no need to proceed
                                             return;
                                         }
@@ -186,13 +136,8 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
                                     // remove existing unused query text range highlights
                                     removeHighlights(currentEditor, project);
 
-                                    if (!sameOperation) {
-                                        // moved to somewhere outside the previous operation
-                                        if (hadOperation || getOperationAtCursor(psiFile) != null) {
-                                            // perform a new highlighting pass
-                                            DaemonCodeAnalyzer.getInstance(project).restart(psiFile);
-                                        }
-                                    }
+                                    // only the operation context is highlighted again, not the whole file
+                                    GraphQLQueryContextHighlighter.update(currentEditor);
                                 }
                             }
                         }
@@ -200,19 +145,15 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
                     // finally, indicate we've added the listener
                     editor.putUserData(QUERY_HIGHLIGHT_LISTENER_ADDED, true);
                 }
+
+                // the file has changed, so the operation or the fragments it uses may have changed as well
+                GraphQLQueryContextHighlighter.update(editor);
             }
         });
 
         return true;
     }
 
-    private static String getFragmentKey(GraphQLFragmentDefinition definition) {
-        if (definition == null) {
-            return "";
-        }
-        return GraphQLPsiUtil.getFileName(definition.getContainingFile()) + ":" + definition.getName();
-    }
-
     private static void removeHighlights(Editor editor, Project project) {
         HighlightManagerImpl highlightManager = (HighlightManagerImpl) HighlightManager.getInstance(project);
         for (RangeHighlighter rangeHighlighter : highlightManager.getHighlighters(editor)) {
@@ -220,24 +161,6 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
         }
     }
 
-    /**
-     * Indicates whether multiple visible top level psi elements exist.
-     * If there's not, then there's no need to do contextual highlight
-     */
-    private boolean hasMultipleVisibleTopLevelElement(PsiFile file) {
-        int visibleChildren = 0;
-        for (PsiElement psiElement : file.getChildren()) {
-            if (psiElement instanceof PsiWhiteSpace || psiElement instanceof PsiComment) {
-                continue;
-            }
-            visibleChildren++;
-            if (visibleChildren > 1) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     @NotNull
     @Override
@@ -348,8 +271,8 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
 
                 final GraphQLOperationDefinition operationAtCursor = getOperationAtCursor(psiFile);
                 if (operationAtCursor != null) {
-                    final Map<String, GraphQLFragmentDefinition> foundFragments = Maps.newHashMap();
-                    findFragmentsInsideOperation(operationAtCursor, foundFragments, null);
+                    final Map<String, GraphQLFragmentDefinition> foundFragments =
+                        GraphQLQueryContextHighlighter.findFragmentsInsideOperation(operationAtCursor);
                     Set<PsiElement> queryElements = Sets.newHashSet(foundFragments.values());
                     queryElements.add(operationAtCursor);
                     final StringBuilder query = new StringBuilder(editorLength);
@@ -362,7 +285,7 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
                             final TextRange textRange = psiElement.getTextRange();
                             String fragmentKey = "";
                             if (psiElement instanceof GraphQLFragmentDefinition) {
-                                fragmentKey = getFragmentKey((GraphQLFragmentDefinition) psiElement);
+                                fragmentKey = GraphQLQueryContextHighlighter.getFragmentKey((GraphQLFragmentDefinition) psiElement);
                             }
                             if (queryElements.contains(psiElement) || foundFragments.containsKey(fragmentKey)) {
                                 queryElements.remove(psiElement);
@@ -468,13 +391,21 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
         final Integer caretOffset = psiFile.getUserData(GraphQLQueryContextCaretListener.CARET_OFFSET);
 
         if (caretOffset != null) {
-            PsiElement currentElement = psiFile.findElementAt(caretOffset);
-            while (currentElement != null && !(currentElement.getParent() instanceof PsiFile)) {
-                currentElement = currentElement.getParent();
-            }
-            if (currentElement != null) {
-                return asOperationOrNull(currentElement);
-            }
+            return getOperationAtOffset(psiFile, caretOffset);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the operation that wraps the offset, or <code>null</code> if none is found
+     */
+    static GraphQLOperationDefinition getOperationAtOffset(PsiFile psiFile, int offset) {
+        PsiElement currentElement = psiFile.findElementAt(offset);
+        while (currentElement != null && !(currentElement.getParent() instanceof PsiFile)) {
+            currentElement = currentElement.getParent();
+        }
+        if (currentElement != null) {
+            return asOperationOrNull(currentElement);
         }
         return null;
     }
@@ -522,53 +453,4 @@ public class GraphQLQueryContextHighlightVisitor implements HighlightVisitor, Du
         }
     }
 
-    /**
-     * Locates the fragments used from inside an operation, and the fragments, if any, that are used from within those fragments
-     *
-     * @param operationOrFragment the operation to find used fragments for
-     * @param foundFragments      a map fragments map keyed by filename:fragment-name to add the found fragments to
-     * @param findMore            optional function to stop once a specific fragment has been found
-     */
-    private static void findFragmentsInsideOperation(PsiElement operationOrFragment, Map<String, GraphQLFragmentDefinition> foundFragments,
-                                                     Function<GraphQLFragmentDefinition, Boolean> findMore) {
-
-        operationOrFragment.accept(new PsiRecursiveElementVisitor() {
-
-            private boolean done = false;
-
-            @Override
-            public void visitElement(@NotNull PsiElement element) {
-                if (done) {
-                    return;
-                }
-                if (element instanceof GraphQLFragmentSpread) {
-                    final PsiReference reference = ((GraphQLFragmentSpread) element).getNameIdentifier().getReference();
-                    if (reference != null) {
-                        PsiElement fragmentDefinitionRef = reference.resolve();
-                        if (fragmentDefinitionRef instanceof GraphQLIdentifier) {
-                            if (fragmentDefinitionRef.getOriginalElement() instanceof GraphQLIdentifier) {
-                                fragmentDefinitionRef = fragmentDefinitionRef.getOriginalElement();
-                            }
-                            final GraphQLFragmentDefinition fragment = PsiTreeUtil.getParentOfType(fragmentDefinitionRef, GraphQLFragmentDefinition.class);
-                            final String fragmentKey = getFragmentKey(fragment);
-                            if (fragment != null && !foundFragments.containsKey(fragmentKey)) {
-                                foundFragments.put(fragmentKey, fragment);
-                                if (findMore != null && !findMore.apply(fragment)) {
-                                    // we're done
-                                    done = true;
-                                    return;
-                                }
-                                // also look for fragments inside this fragment
-                                findFragmentsInsideOperation(fragment, foundFragments, findMore);
-                            }
-
-                        }
-                    }
-
-                }
-                super.visitElement(element);
-            }
-        });
-    }
-
 }
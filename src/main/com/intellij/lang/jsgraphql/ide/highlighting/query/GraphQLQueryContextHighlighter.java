@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.highlighting.query;
+
+import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.colors.EditorColors;
+import com.intellij.openapi.editor.colors.EditorColorsManager;
+import com.intellij.openapi.editor.markup.*;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shows the operation at the caret and the fragments it relies on with range highlighters in the editor.
+ * <p>
+ * The highlighters are only replaced when the caret moves to another operation or the PSI changes, so moving the caret
+ * doesn't run the highlighting passes of the file again. The fragments used by the operation are resolved in a background
+ * read action, only the highlighters are added on the EDT. The fragments spread by each definition are cached until the PSI changes.
+ */
+final class GraphQLQueryContextHighlighter {
+
+    private static final Key<QueryContextHighlights> QUERY_CONTEXT_HIGHLIGHTS = Key.create("JSGraphQL.Query.Context.Highlights");
+    private static final Key<CachedValue<Map<PsiElement, List<GraphQLFragmentDefinition>>>> SPREAD_FRAGMENTS =
+        Key.create("JSGraphQL.Query.Context.Spread.Fragments");
+
+    private static final String ELEMENT_INCLUDED_MESSAGE = "Element is included in query execution";
+
+    private GraphQLQueryContextHighlighter() {
+    }
+
+    /**
+     * Highlights the operation at the caret of the editor and the fragments it uses, unless they're already highlighted
+     */
+    static void update(@NotNull Editor editor) {
+        final Project project = editor.getProject();
+        if (project == null || project.isDisposed() || editor.isDisposed()) {
+            return;
+        }
+        final PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(project);
+        if (!psiDocumentManager.isCommitted(editor.getDocument())) {
+            // updated by the highlighting pass which follows the commit
+            return;
+        }
+        final PsiFile psiFile = psiDocumentManager.getPsiFile(editor.getDocument());
+        if (!(psiFile instanceof GraphQLFile)) {
+            return;
+        }
+
+        GraphQLOperationDefinition operation = GraphQLQueryContextHighlightVisitor.getOperationAtOffset(psiFile, editor.getCaretModel().getOffset());
+        if (operation != null && !hasMultipleVisibleTopLevelElement(psiFile)) {
+            operation = null;
+        }
+
+        final long modificationCount = PsiModificationTracker.SERVICE.getInstance(project).getModificationCount();
+        final QueryContextHighlights previous = editor.getUserData(QUERY_CONTEXT_HIGHLIGHTS);
+        if (previous != null) {
+            if (previous.myOperation == operation && previous.myModificationCount == modificationCount) {
+                return;
+            }
+            previous.dispose();
+        }
+
+        final QueryContextHighlights highlights = new QueryContextHighlights(operation, modificationCount);
+        editor.putUserData(QUERY_CONTEXT_HIGHLIGHTS, highlights);
+        if (operation == null) {
+            return;
+        }
+
+        // the operation is highlighted right away, the fragments it uses once their references are resolved in the background
+        highlights.addHighlighter(editor, operation.getTextRange());
+        final GraphQLOperationDefinition highlightedOperation = operation;
+        ReadAction.nonBlocking(() -> findUsedFragmentRanges(psiFile, highlightedOperation))
+            .inSmartMode(project)
+            .expireWhen(() -> editor.isDisposed() || editor.getUserData(QUERY_CONTEXT_HIGHLIGHTS) != highlights)
+            .coalesceBy(editor, QUERY_CONTEXT_HIGHLIGHTS)
+            .finishOnUiThread(ModalityState.any(), ranges -> {
+                if (PsiModificationTracker.SERVICE.getInstance(project).getModificationCount() != modificationCount) {
+                    // the ranges are outdated, the highlighting pass which follows the change updates them again
+                    return;
+                }
+                for (TextRange range : ranges) {
+                    highlights.addHighlighter(editor, range);
+                }
+            })
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Gets the ranges of the fragment definitions in the file which are used by the operation
+     */
+    @NotNull
+    private static List<TextRange> findUsedFragmentRanges(@NotNull PsiFile psiFile, @NotNull GraphQLOperationDefinition operation) {
+        if (!psiFile.isValid() || !operation.isValid()) {
+            return Collections.emptyList();
+        }
+        final Map<String, GraphQLFragmentDefinition> foundFragments = findFragmentsInsideOperation(operation);
+        final List<TextRange> ranges = new ArrayList<>();
+        for (PsiElement psiElement : psiFile.getChildren()) {
+            if (psiElement instanceof GraphQLFragmentDefinition) {
+                GraphQLFragmentDefinition definition = (GraphQLFragmentDefinition) psiElement;
+                if (definition.getOriginalElement() instanceof GraphQLFragmentDefinition) {
+                    // use the original PSI to compare since a separate editor tab has its own version of the PSI
+                    definition = (GraphQLFragmentDefinition) definition.getOriginalElement();
+                }
+                if (foundFragments.containsKey(getFragmentKey(definition))) {
+                    ranges.add(psiElement.getTextRange());
+                }
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Gets the range of the highlighted operation in the editor, or <code>null</code> if no operation is highlighted
+     */
+    @Nullable
+    static TextRange getHighlightedOperationRange(@NotNull Editor editor) {
+        final QueryContextHighlights highlights = editor.getUserData(QUERY_CONTEXT_HIGHLIGHTS);
+        if (highlights == null || highlights.myOperation == null || !highlights.myOperation.isValid()) {
+            return null;
+        }
+        return highlights.myOperation.getTextRange();
+    }
+
+    @NotNull
+    private static TextAttributes createTextAttributes() {
+        final Color borderColor = EditorColorsManager.getInstance().getGlobalScheme().getColor(EditorColors.TEARLINE_COLOR);
+        return new TextAttributes(null, null, borderColor, EffectType.ROUNDED_BOX, Font.PLAIN);
+    }
+
+    /**
+     * Indicates whether multiple visible top level psi elements exist.
+     * If there's not, then there's no need to do contextual highlight
+     */
+    private static boolean hasMultipleVisibleTopLevelElement(@NotNull PsiFile file) {
+        int visibleChildren = 0;
+        for (PsiElement psiElement : file.getChildren()) {
+            if (psiElement instanceof PsiWhiteSpace || psiElement instanceof PsiComment) {
+                continue;
+            }
+            visibleChildren++;
+            if (visibleChildren > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String getFragmentKey(GraphQLFragmentDefinition definition) {
+        if (definition == null) {
+            return "";
+        }
+        return GraphQLPsiUtil.getFileName(definition.getContainingFile()) + ":" + definition.getName();
+    }
+
+    /**
+     * Locates the fragments used from inside an operation, and the fragments, if any, that are used from within those fragments
+     *
+     * @param operation the operation to find used fragments for
+     * @return the found fragments keyed by filename:fragment-name
+     */
+    @NotNull
+    static Map<String, GraphQLFragmentDefinition> findFragmentsInsideOperation(@NotNull PsiElement operation) {
+        final Map<String, GraphQLFragmentDefinition> foundFragments = new HashMap<>();
+        final Deque<PsiElement> definitions = new ArrayDeque<>();
+        definitions.add(operation);
+        while (!definitions.isEmpty()) {
+            for (GraphQLFragmentDefinition fragment : getSpreadFragments(definitions.poll())) {
+                if (foundFragments.putIfAbsent(getFragmentKey(fragment), fragment) == null) {
+                    // also look for fragments inside this fragment
+                    definitions.add(fragment);
+                }
+            }
+        }
+        return foundFragments;
+    }
+
+    /**
+     * Gets the fragments spread directly in an operation or fragment, which are cached per file until the PSI changes
+     */
+    @NotNull
+    private static List<GraphQLFragmentDefinition> getSpreadFragments(@NotNull PsiElement definition) {
+        final PsiFile file = definition.getContainingFile();
+        if (file == null) {
+            return resolveSpreadFragments(definition);
+        }
+        final Map<PsiElement, List<GraphQLFragmentDefinition>> spreadFragments = CachedValuesManager.getCachedValue(file, SPREAD_FRAGMENTS, () ->
+            // the spreads resolve to fragments in other files as well
+            CachedValueProvider.Result.create(new ConcurrentHashMap<>(), PsiModificationTracker.MODIFICATION_COUNT));
+        return spreadFragments.computeIfAbsent(definition, GraphQLQueryContextHighlighter::resolveSpreadFragments);
+    }
+
+    @NotNull
+    private static List<GraphQLFragmentDefinition> resolveSpreadFragments(@NotNull PsiElement definition) {
+        final List<GraphQLFragmentDefinition> fragments = new ArrayList<>();
+        for (GraphQLFragmentSpread fragmentSpread : PsiTreeUtil.findChildrenOfType(definition, GraphQLFragmentSpread.class)) {
+            final PsiReference reference = fragmentSpread.getNameIdentifier().getReference();
+            if (reference == null) {
+                continue;
+            }
+            PsiElement fragmentDefinitionRef = reference.resolve();
+            if (fragmentDefinitionRef instanceof GraphQLIdentifier) {
+                if (fragmentDefinitionRef.getOriginalElement() instanceof GraphQLIdentifier) {
+                    fragmentDefinitionRef = fragmentDefinitionRef.getOriginalElement();
+                }
+                final GraphQLFragmentDefinition fragment = PsiTreeUtil.getParentOfType(fragmentDefinitionRef, GraphQLFragmentDefinition.class);
+                if (fragment != null) {
+                    fragments.add(fragment);
+                }
+            }
+        }
+        return fragments;
+    }
+
+    private static final class QueryContextHighlights {
+        private final @Nullable GraphQLOperationDefinition myOperation;
+        private final long myModificationCount;
+        private final List<RangeHighlighter> myHighlighters = new ArrayList<>();
+
+        QueryContextHighlights(@Nullable GraphQLOperationDefinition operation, long modificationCount) {
+            myOperation = operation;
+            myModificationCount = modificationCount;
+        }
+
+        void addHighlighter(@NotNull Editor editor, @NotNull TextRange textRange) {
+            final RangeHighlighter highlighter = editor.getMarkupModel().addRangeHighlighter(
+                textRange.getStartOffset(),
+                textRange.getEndOffset(),
+                HighlighterLayer.ADDITIONAL_SYNTAX,
+                createTextAttributes(),
+                HighlighterTargetArea.EXACT_RANGE
+            );
+            highlighter.setErrorStripeTooltip(ELEMENT_INCLUDED_MESSAGE);
+            myHighlighters.add(highlighter);
+        }
+
+        void dispose() {
+            for (RangeHighlighter highlighter : myHighlighters) {
+                highlighter.dispose();
+            }
+        }
+    }
+}
@@ -7,96 +7,109 @@
  */
 package com.intellij.lang.jsgraphql.ide.indexing;
 
-import com.intellij.lang.jsgraphql.GraphQLFileType;
-import com.intellij.lang.jsgraphql.ide.injection.GraphQLInjectionSearchHelper;
 import com.intellij.lang.jsgraphql.ide.findUsages.GraphQLFindUsagesUtil;
 import com.intellij.lang.jsgraphql.psi.GraphQLDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypeCondition;
 import com.intellij.openapi.fileTypes.FileType;
-import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.*;
 import com.intellij.util.indexing.*;
-import com.intellij.util.io.BooleanDataDescriptor;
 import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
 import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
 import com.intellij.util.io.KeyDescriptor;
-import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
- * Index for processing files that contain one or more GraphQL fragment definitions
+ * Indexes the names of the GraphQL fragment definitions with their type conditions,
+ * so fragments can be listed and located without loading the files which define them.
  */
-public class GraphQLFragmentNameIndex extends FileBasedIndexExtension<String, Boolean> {
+public class GraphQLFragmentNameIndex extends FileBasedIndexExtension<String, GraphQLFragmentNameIndex.FragmentInfo> {
 
-    public static final ID<String, Boolean> NAME = ID.create("GraphQLFragmentNameIndex");
+    public static final ID<String, FragmentInfo> NAME = ID.create("GraphQLFragmentNameIndex");
 
-    public static final String HAS_FRAGMENTS = "fragments";
-    public static final int VERSION = 1;
+    public static final int VERSION = 3;
 
 
-    private final @Nullable GraphQLInjectionSearchHelper graphQLInjectionSearchHelper;
-
     private final Set<FileType> includedFileTypes;
 
-    private final DataIndexer<String, Boolean, FileContent> myDataIndexer;
+    private final DataIndexer<String, FragmentInfo, FileContent> myDataIndexer;
 
     public GraphQLFragmentNameIndex() {
         myDataIndexer = inputData -> {
 
-            final Ref<Boolean> hasFragments = Ref.create(false);
+            if (GraphQLLexerIndexer.isIndexedWithLexer(inputData)) {
+                return GraphQLLexerIndexer.getFragments(inputData);
+            }
+
+            final Map<String, FragmentInfo> fragments = new HashMap<>();
+            final PsiFile indexedFile = inputData.getPsiFile();
 
-            final Ref<PsiRecursiveElementVisitor> identifierVisitor = Ref.create();
-            identifierVisitor.set(new PsiRecursiveElementVisitor() {
+            final PsiRecursiveElementVisitor fragmentVisitor = new PsiRecursiveElementVisitor() {
                 @Override
                 public void visitElement(@NotNull PsiElement element) {
-                    if (hasFragments.get()) {
-                        // done
-                        return;
-                    }
                     if (element instanceof GraphQLDefinition) {
                         if (element instanceof GraphQLFragmentDefinition) {
-                            hasFragments.set(true);
+                            final GraphQLFragmentDefinition fragmentDefinition = (GraphQLFragmentDefinition) element;
+                            final String name = fragmentDefinition.getName();
+                            if (name != null) {
+                                // fragments in injections are parsed from a copy of the host text, so their offsets aren't kept
+                                final int offset = element.getContainingFile() == indexedFile
+                                    ? element.getTextRange().getStartOffset()
+                                    : FragmentInfo.UNKNOWN_OFFSET;
+                                // fragment names are unique, so only the first of duplicate definitions is indexed
+                                fragments.putIfAbsent(name, new FragmentInfo(getTypeConditionName(fragmentDefinition), offset));
+                            }
                         }
                         return; // no need to visit deeper than definitions since fragments are top level
-                    } else if (element instanceof PsiLanguageInjectionHost && graphQLInjectionSearchHelper != null) {
-                        if (graphQLInjectionSearchHelper.isGraphQLLanguageInjectionTarget(element)) {
-                            final PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(element.getProject());
-                            final String graphqlBuffer = StringUtils.strip(element.getText(), "` \t\n");
-                            final PsiFile graphqlInjectedPsiFile = psiFileFactory.createFileFromText("", GraphQLFileType.INSTANCE, graphqlBuffer, 0, false, false);
-                            graphqlInjectedPsiFile.accept(identifierVisitor.get());
-                            return;
-                        }
                     }
                     super.visitElement(element);
                 }
-            });
-
-            inputData.getPsiFile().accept(identifierVisitor.get());
+            };
 
-            if (hasFragments.get()) {
-                return Collections.singletonMap(HAS_FRAGMENTS, true);
+            if (indexedFile instanceof GraphQLFile) {
+                indexedFile.accept(fragmentVisitor);
             } else {
-                return Collections.emptyMap();
+                for (PsiFile injectedFile : GraphQLIndexUtil.getInjectedGraphQLFiles(inputData)) {
+                    injectedFile.accept(fragmentVisitor);
+                }
             }
 
+            return fragments;
         };
         includedFileTypes = GraphQLFindUsagesUtil.getService().getIncludedFileTypes();
-        graphQLInjectionSearchHelper = GraphQLInjectionSearchHelper.getInstance();
+    }
+
+    @Nullable
+    private static String getTypeConditionName(@NotNull GraphQLFragmentDefinition fragmentDefinition) {
+        final GraphQLTypeCondition typeCondition = fragmentDefinition.getTypeCondition();
+        if (typeCondition == null || typeCondition.getTypeName() == null) {
+            return null;
+        }
+        return typeCondition.getTypeName().getName();
     }
 
     @NotNull
     @Override
-    public ID<String, Boolean> getName() {
+    public ID<String, FragmentInfo> getName() {
         return NAME;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Boolean, FileContent> getIndexer() {
+    public DataIndexer<String, FragmentInfo, FileContent> getIndexer() {
         return myDataIndexer;
     }
 
@@ -108,8 +121,8 @@ public class GraphQLFragmentNameIndex extends FileBasedIndexExtension<String, Bo
 
     @NotNull
     @Override
-    public DataExternalizer<Boolean> getValueExternalizer() {
-        return BooleanDataDescriptor.INSTANCE;
+    public DataExternalizer<FragmentInfo> getValueExternalizer() {
+        return FragmentInfo.EXTERNALIZER;
     }
 
     @Override
@@ -128,4 +141,69 @@ public class GraphQLFragmentNameIndex extends FileBasedIndexExtension<String, Bo
         return true;
     }
 
+    /**
+     * The type condition and location of an indexed fragment definition.
+     */
+    public static final class FragmentInfo {
+
+        /**
+         * Offset of the fragments which can't be located directly, i.e. the ones in injections
+         */
+        public static final int UNKNOWN_OFFSET = -1;
+
+        static final DataExternalizer<FragmentInfo> EXTERNALIZER = new DataExternalizer<FragmentInfo>() {
+            @Override
+            public void save(@NotNull DataOutput out, FragmentInfo value) throws IOException {
+                IOUtil.writeUTF(out, StringUtil.notNullize(value.myTypeConditionName));
+                DataInputOutputUtil.writeINT(out, value.myOffset + 1);
+            }
+
+            @Override
+            public FragmentInfo read(@NotNull DataInput in) throws IOException {
+                final String typeConditionName = StringUtil.nullize(IOUtil.readUTF(in));
+                return new FragmentInfo(typeConditionName, DataInputOutputUtil.readINT(in) - 1);
+            }
+        };
+
+        private final @Nullable String myTypeConditionName;
+        private final int myOffset;
+
+        public FragmentInfo(@Nullable String typeConditionName, int offset) {
+            myTypeConditionName = typeConditionName;
+            myOffset = offset;
+        }
+
+        /**
+         * @return the name of the type the fragment applies to, or null if the type condition is incomplete
+         */
+        @Nullable
+        public String getTypeConditionName() {
+            return myTypeConditionName;
+        }
+
+        /**
+         * @return the start offset of the fragment definition in the file, or {@link #UNKNOWN_OFFSET}
+         */
+        public int getOffset() {
+            return myOffset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FragmentInfo that = (FragmentInfo) o;
+            return myOffset == that.myOffset && Objects.equals(myTypeConditionName, that.myTypeConditionName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(myTypeConditionName, myOffset);
+        }
+
+        @Override
+        public String toString() {
+            return "FragmentInfo{" + myTypeConditionName + "@" + myOffset + "}";
+        }
+    }
 }
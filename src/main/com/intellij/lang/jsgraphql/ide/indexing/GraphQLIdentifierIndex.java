@@ -9,67 +9,83 @@ package com.intellij.lang.jsgraphql.ide.indexing;
 
 import com.google.common.collect.Maps;
 import com.intellij.json.psi.*;
-import com.intellij.lang.jsgraphql.GraphQLFileType;
-import com.intellij.lang.jsgraphql.ide.injection.GraphQLInjectionSearchHelper;
 import com.intellij.lang.jsgraphql.ide.findUsages.GraphQLFindUsagesUtil;
-import com.intellij.lang.jsgraphql.psi.GraphQLIdentifier;
+import com.intellij.lang.jsgraphql.psi.*;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.psi.*;
+import com.intellij.util.SmartList;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
-import com.intellij.util.io.EnumDataDescriptor;
+import com.intellij.util.io.DataInputOutputUtil;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
-import org.apache.commons.lang.StringUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Set;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
 
 /**
  * Indexes GraphQL identifiers in GraphQL files, GraphQL injections, and JSON GraphQL introspection query result files.
+ * <p>
+ * Every occurrence of an identifier is stored with its kind and, for GraphQL files, its offset in the file.
+ * This allows searches to go straight to the matching elements instead of visiting the whole file.
  */
-public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, GraphQLIdentifierIndex.IdentifierKind> {
-
-    public static final ID<String, IdentifierKind> NAME = ID.create("GraphQLIdentifierIndex");
-    public static final int VERSION = 3;
+public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, GraphQLIdentifierIndex.IdentifierOccurrences> {
 
-    private final @Nullable GraphQLInjectionSearchHelper graphQLInjectionSearchHelper;
+    public static final ID<String, IdentifierOccurrences> NAME = ID.create("GraphQLIdentifierIndex");
+    public static final int VERSION = 5;
 
     private final Set<FileType> includedFileTypes;
 
-    private final DataIndexer<String, IdentifierKind, FileContent> myDataIndexer;
+    private final DataIndexer<String, IdentifierOccurrences, FileContent> myDataIndexer;
 
     public enum IdentifierKind {
 
+        /**
+         * An identifier which isn't classified, e.g. a name in an introspection result
+         */
         IDENTIFIER_NAME,
-        // FIELD_NAME,
-        // FIELD_ALIAS_NAME,
-        // FIELD_DEFINITION_NAME,
-        // TYPE_NAME,
-        // TYPE_DEFINITION_NAME,
-        // FRAGMENT_SPREAD_NAME,
-        // FRAGMENT_DEFINITION_NAME,
-        // ARGUMENT_NAME,
-        // ENUM_VALUE_NAME,
-        // OBJECT_FIELD_NAME,
-        // DIRECTIVE_NAME,
-        // OPERATION_DEFINITION_NAME
+        FIELD_NAME,
+        FIELD_ALIAS_NAME,
+        FIELD_DEFINITION_NAME,
+        INPUT_VALUE_DEFINITION_NAME,
+        TYPE_NAME,
+        TYPE_DEFINITION_NAME,
+        FRAGMENT_SPREAD_NAME,
+        FRAGMENT_DEFINITION_NAME,
+        ARGUMENT_NAME,
+        ENUM_VALUE_NAME,
+        ENUM_VALUE_DEFINITION_NAME,
+        OBJECT_FIELD_NAME,
+        DIRECTIVE_NAME,
+        DIRECTIVE_DEFINITION_NAME,
+        OPERATION_DEFINITION_NAME
 
     }
 
     public GraphQLIdentifierIndex() {
         myDataIndexer = inputData -> {
 
-            final HashMap<String, IdentifierKind> identifiers = Maps.newHashMap();
+            if (GraphQLLexerIndexer.isIndexedWithLexer(inputData)) {
+                return GraphQLLexerIndexer.getIdentifiers(inputData);
+            }
+
+            final HashMap<String, IdentifierOccurrences.Builder> identifiers = Maps.newHashMap();
+            final PsiFile indexedFile = inputData.getPsiFile();
 
             PsiRecursiveElementVisitor visitor = new PsiRecursiveElementVisitor() {
                 @Override
                 public void visitElement(@NotNull PsiElement element) {
                     if (element instanceof GraphQLIdentifier) {
-                        identifiers.put(element.getText(), IdentifierKind.IDENTIFIER_NAME);
+                        // identifiers in injections are parsed from a copy of the host text, so their offsets aren't kept
+                        final int offset = element.getContainingFile() == indexedFile
+                            ? element.getTextRange().getStartOffset()
+                            : IdentifierOccurrences.UNKNOWN_OFFSET;
+                        identifiers.computeIfAbsent(element.getText(), name -> new IdentifierOccurrences.Builder())
+                            .add(getIdentifierKind((GraphQLIdentifier) element), offset);
                         return; // no need to visit deeper
                     } else if (element instanceof JsonElement) {
                         if (element instanceof JsonFile) {
@@ -84,29 +100,66 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
                             // https://graphql.github.io/graphql-spec/June2018/#sec-Schema-Introspection
                             if ("name".equals(jsonProperty.getName())) {
                                 if (jsonProperty.getValue() instanceof JsonStringLiteral) {
-                                    identifiers.put(((JsonStringLiteral) jsonProperty.getValue()).getValue(), IdentifierKind.IDENTIFIER_NAME);
+                                    identifiers.computeIfAbsent(((JsonStringLiteral) jsonProperty.getValue()).getValue(), name -> new IdentifierOccurrences.Builder())
+                                        .add(IdentifierKind.IDENTIFIER_NAME, IdentifierOccurrences.UNKNOWN_OFFSET);
                                 }
                             }
                         }
-                    } else if (element instanceof PsiLanguageInjectionHost && graphQLInjectionSearchHelper != null) {
-                        if (graphQLInjectionSearchHelper.isGraphQLLanguageInjectionTarget(element)) {
-                            final PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(element.getProject());
-                            final String graphqlBuffer = StringUtils.strip(element.getText(), "` \t\n");
-                            final PsiFile graphqlInjectedPsiFile = psiFileFactory.createFileFromText("", GraphQLFileType.INSTANCE, graphqlBuffer, 0, false, false);
-                            graphqlInjectedPsiFile.accept(this);
-                            return;
-                        }
                     }
                     super.visitElement(element);
                 }
             };
 
-            inputData.getPsiFile().accept(visitor);
+            if (indexedFile instanceof GraphQLFile || indexedFile instanceof JsonFile) {
+                indexedFile.accept(visitor);
+            } else {
+                for (PsiFile injectedFile : GraphQLIndexUtil.getInjectedGraphQLFiles(inputData)) {
+                    injectedFile.accept(visitor);
+                }
+            }
 
-            return identifiers;
+            final Map<String, IdentifierOccurrences> result = Maps.newHashMapWithExpectedSize(identifiers.size());
+            identifiers.forEach((name, builder) -> result.put(name, builder.build()));
+            return result;
         };
         includedFileTypes = GraphQLFindUsagesUtil.getService().getIncludedFileTypes();
-        graphQLInjectionSearchHelper = GraphQLInjectionSearchHelper.getInstance();
+    }
+
+    @NotNull
+    public static IdentifierKind getIdentifierKind(@NotNull GraphQLIdentifier identifier) {
+        final PsiElement parent = identifier.getParent();
+        if (parent instanceof GraphQLTypeNameDefinition) {
+            return IdentifierKind.TYPE_DEFINITION_NAME;
+        } else if (parent instanceof GraphQLTypeName) {
+            return IdentifierKind.TYPE_NAME;
+        } else if (parent instanceof GraphQLField) {
+            return IdentifierKind.FIELD_NAME;
+        } else if (parent instanceof GraphQLAlias) {
+            return IdentifierKind.FIELD_ALIAS_NAME;
+        } else if (parent instanceof GraphQLFieldDefinition) {
+            return IdentifierKind.FIELD_DEFINITION_NAME;
+        } else if (parent instanceof GraphQLInputValueDefinition) {
+            return IdentifierKind.INPUT_VALUE_DEFINITION_NAME;
+        } else if (parent instanceof GraphQLFragmentSpread) {
+            return IdentifierKind.FRAGMENT_SPREAD_NAME;
+        } else if (parent instanceof GraphQLFragmentDefinition) {
+            return IdentifierKind.FRAGMENT_DEFINITION_NAME;
+        } else if (parent instanceof GraphQLArgument) {
+            return IdentifierKind.ARGUMENT_NAME;
+        } else if (parent instanceof GraphQLEnumValue) {
+            return parent.getParent() instanceof GraphQLEnumValueDefinition
+                ? IdentifierKind.ENUM_VALUE_DEFINITION_NAME
+                : IdentifierKind.ENUM_VALUE_NAME;
+        } else if (parent instanceof GraphQLObjectField) {
+            return IdentifierKind.OBJECT_FIELD_NAME;
+        } else if (parent instanceof GraphQLDirective) {
+            return IdentifierKind.DIRECTIVE_NAME;
+        } else if (parent instanceof GraphQLDirectiveDefinition) {
+            return IdentifierKind.DIRECTIVE_DEFINITION_NAME;
+        } else if (parent instanceof GraphQLTypedOperationDefinition) {
+            return IdentifierKind.OPERATION_DEFINITION_NAME;
+        }
+        return IdentifierKind.IDENTIFIER_NAME;
     }
 
     private boolean isIntrospectionJsonFile(JsonFile jsonFile) {
@@ -129,13 +182,13 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
 
     @NotNull
     @Override
-    public ID<String, IdentifierKind> getName() {
+    public ID<String, IdentifierOccurrences> getName() {
         return NAME;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, IdentifierKind, FileContent> getIndexer() {
+    public DataIndexer<String, IdentifierOccurrences, FileContent> getIndexer() {
         return myDataIndexer;
     }
 
@@ -147,8 +200,8 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
 
     @NotNull
     @Override
-    public DataExternalizer<IdentifierKind> getValueExternalizer() {
-        return new EnumDataDescriptor<>(IdentifierKind.class);
+    public DataExternalizer<IdentifierOccurrences> getValueExternalizer() {
+        return IdentifierOccurrences.EXTERNALIZER;
     }
 
     @Override
@@ -171,4 +224,138 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
     public @NotNull Collection<FileType> getFileTypesWithSizeLimitNotApplicable() {
         return GraphQLIndexUtil.FILE_TYPES_WITH_IGNORED_SIZE_LIMIT;
     }
+
+    /**
+     * The occurrences of an identifier in a file, ordered by their position in the file.
+     */
+    public static final class IdentifierOccurrences {
+
+        /**
+         * Offset of the occurrences which can't be located directly, i.e. the ones in injections and introspection results
+         */
+        public static final int UNKNOWN_OFFSET = -1;
+
+        private static final IdentifierKind[] KINDS = IdentifierKind.values();
+
+        static final DataExternalizer<IdentifierOccurrences> EXTERNALIZER = new DataExternalizer<IdentifierOccurrences>() {
+            @Override
+            public void save(@NotNull DataOutput out, IdentifierOccurrences value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value.size());
+                int previousOffset = 0;
+                for (int i = 0; i < value.size(); i++) {
+                    out.writeByte(value.myKinds[i].ordinal());
+                    // known offsets are ascending, so the deltas stay small
+                    final int offset = value.myOffsets[i];
+                    DataInputOutputUtil.writeINT(out, offset == UNKNOWN_OFFSET ? 0 : offset - previousOffset + 1);
+                    if (offset != UNKNOWN_OFFSET) {
+                        previousOffset = offset;
+                    }
+                }
+            }
+
+            @Override
+            public IdentifierOccurrences read(@NotNull DataInput in) throws IOException {
+                final int size = DataInputOutputUtil.readINT(in);
+                final IdentifierKind[] kinds = new IdentifierKind[size];
+                final int[] offsets = new int[size];
+                int previousOffset = 0;
+                for (int i = 0; i < size; i++) {
+                    kinds[i] = KINDS[in.readByte()];
+                    final int delta = DataInputOutputUtil.readINT(in);
+                    if (delta == 0) {
+                        offsets[i] = UNKNOWN_OFFSET;
+                    } else {
+                        offsets[i] = previousOffset + delta - 1;
+                        previousOffset = offsets[i];
+                    }
+                }
+                return new IdentifierOccurrences(kinds, offsets);
+            }
+        };
+
+        private final IdentifierKind[] myKinds;
+        private final int[] myOffsets;
+
+        private IdentifierOccurrences(IdentifierKind @NotNull [] kinds, int @NotNull [] offsets) {
+            myKinds = kinds;
+            myOffsets = offsets;
+        }
+
+        public int size() {
+            return myKinds.length;
+        }
+
+        @NotNull
+        public IdentifierKind getKind(int index) {
+            return myKinds[index];
+        }
+
+        /**
+         * @return the start offset of the identifier in the file, or {@link #UNKNOWN_OFFSET}
+         */
+        public int getOffset(int index) {
+            return myOffsets[index];
+        }
+
+        public boolean hasAnyKind(@NotNull Set<IdentifierKind> kinds) {
+            for (IdentifierKind kind : myKinds) {
+                if (kinds.contains(kind)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return true if every occurrence can be located using its offset
+         */
+        public boolean hasKnownOffsets() {
+            for (int offset : myOffsets) {
+                if (offset == UNKNOWN_OFFSET) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            IdentifierOccurrences that = (IdentifierOccurrences) o;
+            return Arrays.equals(myKinds, that.myKinds) && Arrays.equals(myOffsets, that.myOffsets);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(myKinds) + Arrays.hashCode(myOffsets);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder("IdentifierOccurrences{");
+            for (int i = 0; i < size(); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(myKinds[i]).append('@').append(myOffsets[i]);
+            }
+            return builder.append('}').toString();
+        }
+
+        static final class Builder {
+            private final List<IdentifierKind> myKinds = new SmartList<>();
+            private final IntArrayList myOffsets = new IntArrayList(1);
+
+            void add(@NotNull IdentifierKind kind, int offset) {
+                myKinds.add(kind);
+                myOffsets.add(offset);
+            }
+
+            @NotNull
+            IdentifierOccurrences build() {
+                return new IdentifierOccurrences(myKinds.toArray(new IdentifierKind[0]), myOffsets.toIntArray());
+            }
+        }
+    }
 }
@@ -2,14 +2,68 @@ package com.intellij.lang.jsgraphql.ide.indexing;
 
 import com.google.common.collect.ImmutableList;
 import com.intellij.json.JsonFileType;
+import com.intellij.json.psi.JsonFile;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
+import com.intellij.lang.jsgraphql.ide.injection.GraphQLInjectionSearchHelper;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.*;
+import com.intellij.util.SmartList;
+import com.intellij.util.indexing.FileContent;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 public final class GraphQLIndexUtil {
     public static final int INDEX_BASE_VERSION = 1;
 
     public static final Collection<FileType> FILE_TYPES_WITH_IGNORED_SIZE_LIMIT =
         ImmutableList.of(GraphQLFileType.INSTANCE, JsonFileType.INSTANCE);
+
+    private static final Key<List<PsiFile>> INJECTED_GRAPHQL_FILES = Key.create("graphql.indexing.injected.files");
+
+    /**
+     * Gets the GraphQL files parsed from the GraphQL injections in the indexed file.
+     * <p>
+     * The file content is shared by all the indexes of a file during an indexing pass, so the injections are
+     * extracted and parsed once and then reused by every GraphQL index instead of being parsed by each of them.
+     * GraphQL and JSON files don't contain injections, so an empty list is returned for them without visiting the file.
+     */
+    @NotNull
+    public static List<PsiFile> getInjectedGraphQLFiles(@NotNull FileContent inputData) {
+        List<PsiFile> injectedFiles = inputData.getUserData(INJECTED_GRAPHQL_FILES);
+        if (injectedFiles == null) {
+            injectedFiles = parseInjectedGraphQLFiles(inputData);
+            inputData.putUserData(INJECTED_GRAPHQL_FILES, injectedFiles);
+        }
+        return injectedFiles;
+    }
+
+    @NotNull
+    private static List<PsiFile> parseInjectedGraphQLFiles(@NotNull FileContent inputData) {
+        final GraphQLInjectionSearchHelper injectionSearchHelper = GraphQLInjectionSearchHelper.getInstance();
+        final PsiFile psiFile = inputData.getPsiFile();
+        if (injectionSearchHelper == null || psiFile instanceof GraphQLFile || psiFile instanceof JsonFile) {
+            return Collections.emptyList();
+        }
+
+        final List<PsiFile> injectedFiles = new SmartList<>();
+        final PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(psiFile.getProject());
+        psiFile.accept(new PsiRecursiveElementVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (element instanceof PsiLanguageInjectionHost && injectionSearchHelper.isGraphQLLanguageInjectionTarget(element)) {
+                    final String graphqlBuffer = StringUtils.strip(element.getText(), "` \t\n");
+                    injectedFiles.add(psiFileFactory.createFileFromText("", GraphQLFileType.INSTANCE, graphqlBuffer, 0, false, false));
+                    return; // GraphQL injections aren't nested
+                }
+                super.visitElement(element);
+            }
+        });
+        return injectedFiles;
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.indexing;
+
+import com.intellij.lang.jsgraphql.GraphQLFileType;
+import com.intellij.lang.jsgraphql.GraphQLLexerAdapter;
+import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIdentifierIndex.IdentifierKind;
+import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIdentifierIndex.IdentifierOccurrences;
+import com.intellij.lang.jsgraphql.psi.GraphQLElementTypes;
+import com.intellij.lang.jsgraphql.psi.GraphQLExtendedElementTypes;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.SingleRootFileViewProvider;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.util.indexing.FileContent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.intellij.lang.jsgraphql.psi.GraphQLElementTypes.*;
+
+/**
+ * Indexes GraphQL files which are too large to be parsed, e.g. generated schemas, by running the lexer over the file text.
+ * <p>
+ * No PSI is created, so memory and time grow linearly with the file size. The tokens are classified by a small state
+ * machine which only recognizes the kinds that can be told from the preceding tokens, e.g. type and fragment definitions,
+ * while the other names are indexed as {@link IdentifierKind#IDENTIFIER_NAME}. A name which turns out not to be an identifier
+ * is harmless, since searches check the element at the indexed offset and visit the file if it doesn't match.
+ * <p>
+ * The result is shared by the GraphQL indexes of a file during an indexing pass, so the file is only lexed once.
+ */
+public final class GraphQLLexerIndexer {
+
+    private static final Key<GraphQLLexerIndexer> LEXER_INDEXER = Key.create("graphql.indexing.lexer.indexer");
+
+    private static final TokenSet TYPE_DEFINITION_KEYWORDS =
+        TokenSet.create(TYPE_KEYWORD, INTERFACE_KEYWORD, ENUM_KEYWORD, INPUT_KEYWORD, UNION_KEYWORD, SCALAR_KEYWORD);
+
+    private static final TokenSet OPERATION_KEYWORDS = TokenSet.create(QUERY_KEYWORD, MUTATION_KEYWORD, SUBSCRIPTION_KEYWORD);
+
+    // tokens after which a keyword is used as a name, e.g. "type type" or "...on"
+    private static final TokenSet NAME_PREFIXES = TokenSet.orSet(TYPE_DEFINITION_KEYWORDS,
+        TokenSet.create(FRAGMENT_KEYWORD, ON_KEYWORD, IMPLEMENTS_KEYWORD, AT, SPREAD, AMP, PIPE, EQUALS, COLON));
+
+    private static final TokenSet IGNORED_TOKENS = TokenSet.orSet(GraphQLExtendedElementTypes.WHITE_SPACES, GraphQLExtendedElementTypes.COMMENTS);
+
+    // names which are matched by text in the grammar and never parsed as identifiers
+    private static final Set<String> NON_IDENTIFIER_NAMES = Set.of("true", "false", "null");
+
+    private final Map<String, IdentifierOccurrences.Builder> myIdentifiers = new HashMap<>();
+    private final Map<String, GraphQLFragmentNameIndex.FragmentInfo> myFragments = new HashMap<>();
+
+    private int myBraceDepth;
+    private int myParenDepth;
+    private @Nullable IElementType myPrevious;
+    private @Nullable IElementType myBeforePrevious;
+    private int myPreviousOffset;
+    private boolean myInDirectiveDefinition;
+
+    // the fragment definition waiting for its type condition
+    private @Nullable String myFragmentName;
+    private int myFragmentOffset;
+
+    private GraphQLLexerIndexer() {
+    }
+
+    /**
+     * Gets whether the file is indexed using the lexer, i.e. a GraphQL file too large to get PSI based features
+     */
+    public static boolean isIndexedWithLexer(@NotNull FileContent inputData) {
+        return inputData.getFileType() == GraphQLFileType.INSTANCE && SingleRootFileViewProvider.isTooLargeForIntelligence(inputData.getFile());
+    }
+
+    @NotNull
+    public static Map<String, IdentifierOccurrences> getIdentifiers(@NotNull FileContent inputData) {
+        final Map<String, IdentifierOccurrences> identifiers = new HashMap<>();
+        getIndexer(inputData).myIdentifiers.forEach((name, builder) -> identifiers.put(name, builder.build()));
+        return identifiers;
+    }
+
+    @NotNull
+    public static Map<String, GraphQLFragmentNameIndex.FragmentInfo> getFragments(@NotNull FileContent inputData) {
+        return getIndexer(inputData).myFragments;
+    }
+
+    @NotNull
+    private static GraphQLLexerIndexer getIndexer(@NotNull FileContent inputData) {
+        GraphQLLexerIndexer indexer = inputData.getUserData(LEXER_INDEXER);
+        if (indexer == null) {
+            indexer = new GraphQLLexerIndexer();
+            indexer.index(inputData.getContentAsText());
+            inputData.putUserData(LEXER_INDEXER, indexer);
+        }
+        return indexer;
+    }
+
+    private void index(@NotNull CharSequence text) {
+        final Lexer lexer = new GraphQLLexerAdapter();
+        lexer.start(text);
+        IElementType tokenType;
+        while ((tokenType = lexer.getTokenType()) != null) {
+            if (!IGNORED_TOKENS.contains(tokenType)) {
+                final IElementType visitedType = visitToken(tokenType, lexer.getTokenStart(), lexer.getTokenEnd(), text);
+                myBeforePrevious = myPrevious;
+                myPrevious = visitedType;
+                myPreviousOffset = lexer.getTokenStart();
+            }
+            lexer.advance();
+        }
+    }
+
+    /**
+     * @return the type of the visited token, which is {@link GraphQLElementTypes#NAME} for a keyword used as a name after a name prefix,
+     * so it doesn't start a name prefix itself, e.g. "on" in "fragment type on Type"
+     */
+    @NotNull
+    private IElementType visitToken(@NotNull IElementType tokenType, int start, int end, @NotNull CharSequence text) {
+        if (tokenType == BRACE_L) {
+            myBraceDepth++;
+        } else if (tokenType == BRACE_R) {
+            myBraceDepth = Math.max(0, myBraceDepth - 1);
+        } else if (tokenType == PAREN_L) {
+            myParenDepth++;
+        } else if (tokenType == PAREN_R) {
+            myParenDepth = Math.max(0, myParenDepth - 1);
+        } else if (tokenType == NAME) {
+            visitName(text.subSequence(start, end).toString(), start);
+        } else if (GraphQLExtendedElementTypes.KEYWORDS.contains(tokenType)) {
+            if (isTopLevel() && !NAME_PREFIXES.contains(myPrevious)) {
+                // a keyword starting or continuing a definition
+                if (tokenType == DIRECTIVE_KEYWORD) {
+                    myInDirectiveDefinition = true;
+                } else if (tokenType != ON_KEYWORD && tokenType != REPEATABLE_KEYWORD && tokenType != IMPLEMENTS_KEYWORD) {
+                    myInDirectiveDefinition = false;
+                }
+            } else {
+                visitName(text.subSequence(start, end).toString(), start);
+                if (NAME_PREFIXES.contains(myPrevious)) {
+                    return NAME;
+                }
+            }
+        }
+        return tokenType;
+    }
+
+    private void visitName(@NotNull String name, int offset) {
+        if (NON_IDENTIFIER_NAMES.contains(name)) {
+            return;
+        }
+        if (myInDirectiveDefinition && isTopLevel() && (myPrevious == ON_KEYWORD || myPrevious == PIPE)) {
+            return; // directive locations aren't identifiers
+        }
+
+        final IdentifierKind kind = getKind();
+        if (kind == IdentifierKind.FRAGMENT_DEFINITION_NAME) {
+            myFragmentName = name;
+            // the fragment definition starts at the "fragment" keyword
+            myFragmentOffset = myPreviousOffset;
+        } else if (myFragmentName != null) {
+            // the type condition directly follows the fragment name, i.e. "fragment Name on Type"
+            final String typeConditionName = myPrevious == ON_KEYWORD ? name : null;
+            myFragments.putIfAbsent(myFragmentName, new GraphQLFragmentNameIndex.FragmentInfo(typeConditionName, myFragmentOffset));
+            myFragmentName = null;
+        }
+        myIdentifiers.computeIfAbsent(name, n -> new IdentifierOccurrences.Builder()).add(kind, offset);
+    }
+
+    @NotNull
+    private IdentifierKind getKind() {
+        if (myPrevious == SPREAD) {
+            return IdentifierKind.FRAGMENT_SPREAD_NAME;
+        } else if (myPrevious == AT) {
+            return myBeforePrevious == DIRECTIVE_KEYWORD ? IdentifierKind.DIRECTIVE_DEFINITION_NAME : IdentifierKind.DIRECTIVE_NAME;
+        } else if (myPrevious == ON_KEYWORD) {
+            return IdentifierKind.TYPE_NAME;
+        } else if (isTopLevel()) {
+            if (myPrevious == FRAGMENT_KEYWORD) {
+                return IdentifierKind.FRAGMENT_DEFINITION_NAME;
+            } else if (TYPE_DEFINITION_KEYWORDS.contains(myPrevious)) {
+                return myBeforePrevious == EXTEND_KEYWORD ? IdentifierKind.TYPE_NAME : IdentifierKind.TYPE_DEFINITION_NAME;
+            } else if (OPERATION_KEYWORDS.contains(myPrevious)) {
+                return IdentifierKind.OPERATION_DEFINITION_NAME;
+            } else if (myPrevious == IMPLEMENTS_KEYWORD || myPrevious == AMP || myPrevious == EQUALS || myPrevious == PIPE) {
+                return IdentifierKind.TYPE_NAME;
+            }
+        }
+        return IdentifierKind.IDENTIFIER_NAME;
+    }
+
+    private boolean isTopLevel() {
+        return myBraceDepth == 0 && myParenDepth == 0;
+    }
+}
@@ -8,51 +8,61 @@
 package com.intellij.lang.jsgraphql.ide.indexing.javascript;
 
 import com.intellij.lang.jsgraphql.GraphQLFileType;
-import com.intellij.lang.jsgraphql.ide.injection.javascript.GraphQLLanguageInjectionUtil;
 import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIndexUtil;
 import com.intellij.lang.jsgraphql.ide.findUsages.GraphQLFindUsagesUtil;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.openapi.fileTypes.FileType;
-import com.intellij.openapi.util.Ref;
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiRecursiveElementVisitor;
+import com.intellij.psi.PsiFile;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Indexes files which contain GraphQL Injection to enable discovery of type definitions written using injected Schema IDL.
+ * <p>
+ * The files whose injections contain type system definitions or extensions are also indexed with {@link #SCHEMA_DATA_KEY},
+ * so the schema is only built from those instead of every file with an injected query.
  */
 public class GraphQLInjectionIndex extends ScalarIndexExtension<String> {
 
     public static final ID<String, Void> NAME = ID.create(GraphQLInjectionIndex.class.getName());
     public static final String DATA_KEY = "true";
+    public static final String SCHEMA_DATA_KEY = "schema";
 
     private static final Map<String, Void> INJECTED_KEY = Collections.singletonMap(DATA_KEY, null);
-    public static final int VERSION = 3;
+    private static final Map<String, Void> INJECTED_SCHEMA_KEYS = createInjectedSchemaKeys();
+    public static final int VERSION = 4;
 
+    // the injections are parsed once per file and shared with the other GraphQL indexes, see GraphQLIndexUtil
     private final DataIndexer<String, Void, FileContent> myDataIndexer = inputData -> {
-        final Ref<Boolean> isInjected = new Ref<>(Boolean.FALSE);
-        inputData.getPsiFile().accept(new PsiRecursiveElementVisitor() {
-            @Override
-            public void visitElement(@NotNull PsiElement element) {
-                if (GraphQLLanguageInjectionUtil.isGraphQLLanguageInjectionTarget(element)) {
-                    isInjected.set(Boolean.TRUE);
-                } else {
-                    // visit deeper until injection found
-                    super.visitElement(element);
-                }
+        final List<PsiFile> injectedFiles = GraphQLIndexUtil.getInjectedGraphQLFiles(inputData);
+        if (injectedFiles.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        for (PsiFile injectedFile : injectedFiles) {
+            if (injectedFile instanceof GraphQLFile && !((GraphQLFile) injectedFile).getTypeDefinitions().isEmpty()) {
+                return INJECTED_SCHEMA_KEYS;
             }
-        });
-        return isInjected.get() == Boolean.FALSE ? Collections.emptyMap() : INJECTED_KEY;
+        }
+        return INJECTED_KEY;
     };
 
     private final Set<FileType> myIncludedFileTypes = GraphQLFindUsagesUtil.getService().getIncludedFileTypes();
 
+    private static Map<String, Void> createInjectedSchemaKeys() {
+        final Map<String, Void> keys = new HashMap<>();
+        keys.put(DATA_KEY, null);
+        keys.put(SCHEMA_DATA_KEY, null);
+        return Collections.unmodifiableMap(keys);
+    }
+
     @NotNull
     @Override
     public ID<String, Void> getName() {
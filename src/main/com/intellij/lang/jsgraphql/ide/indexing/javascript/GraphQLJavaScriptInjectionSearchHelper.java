@@ -10,6 +10,7 @@ package com.intellij.lang.jsgraphql.ide.indexing.javascript;
 import com.intellij.lang.injection.InjectedLanguageManager;
 import com.intellij.lang.jsgraphql.ide.injection.javascript.GraphQLLanguageInjectionUtil;
 import com.intellij.lang.jsgraphql.ide.injection.GraphQLInjectionSearchHelper;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -38,10 +39,47 @@ public class GraphQLJavaScriptInjectionSearchHelper implements GraphQLInjectionS
      * @param processor     a processor that will be invoked for each injected GraphQL PsiFile
      */
     public void processInjectedGraphQLPsiFiles(PsiElement scopedElement, GlobalSearchScope schemaScope, Processor<PsiFile> processor) {
+        processInjectedGraphQLPsiFiles(scopedElement, schemaScope, GraphQLInjectionIndex.DATA_KEY, processor);
+    }
+
+    /**
+     * Uses the {@link GraphQLInjectionIndex} to only process the injected GraphQL PsiFiles which contain type system definitions
+     *
+     * @param scopedElement the starting point of the enumeration settings the scopedElement of the processing
+     * @param schemaScope   the search scope to use for limiting the schema definitions
+     * @param processor     a processor that will be invoked for each injected GraphQL PsiFile with type system definitions
+     */
+    @Override
+    public void processInjectedGraphQLSchemaPsiFiles(PsiElement scopedElement, GlobalSearchScope schemaScope, Processor<PsiFile> processor) {
+        processInjectedGraphQLPsiFiles(scopedElement, schemaScope, GraphQLInjectionIndex.SCHEMA_DATA_KEY, injectedPsi -> {
+            // the other injections in the file are usually queries, which don't contribute to the schema
+            if (injectedPsi instanceof GraphQLFile && ((GraphQLFile) injectedPsi).getTypeDefinitions().isEmpty()) {
+                return true;
+            }
+            return processor.process(injectedPsi);
+        });
+    }
+
+    @Override
+    public boolean hasInjectedGraphQLPsiFiles(GlobalSearchScope schemaScope) {
+        try {
+            // stops at the first file
+            return !FileBasedIndex.getInstance().processValues(
+                GraphQLInjectionIndex.NAME, GraphQLInjectionIndex.DATA_KEY, null, (file, value) -> false, schemaScope);
+        } catch (IndexNotReadyException e) {
+            // can't search yet (e.g. during project startup)
+            return false;
+        }
+    }
+
+    private static void processInjectedGraphQLPsiFiles(PsiElement scopedElement,
+                                                       GlobalSearchScope schemaScope,
+                                                       String indexKey,
+                                                       Processor<PsiFile> processor) {
         try {
             final PsiManager psiManager = PsiManager.getInstance(scopedElement.getProject());
             final InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(scopedElement.getProject());
-            FileBasedIndex.getInstance().getFilesWithKey(GraphQLInjectionIndex.NAME, Collections.singleton(GraphQLInjectionIndex.DATA_KEY), virtualFile -> {
+            FileBasedIndex.getInstance().getFilesWithKey(GraphQLInjectionIndex.NAME, Collections.singleton(indexKey), virtualFile -> {
                 final PsiFile fileWithInjection = psiManager.findFile(virtualFile);
                 if (fileWithInjection != null) {
                     fileWithInjection.accept(new PsiRecursiveElementVisitor() {
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.indexing.stubs;
+
+import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIndexUtil;
+import com.intellij.lang.jsgraphql.psi.GraphQLFieldDefinition;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Stub index of field definitions by field name, across types and type extensions
+ */
+public class GraphQLFieldDefinitionIndex extends StringStubIndexExtension<GraphQLFieldDefinition> {
+
+    public static final StubIndexKey<String, GraphQLFieldDefinition> KEY = StubIndexKey.createIndexKey("GraphQLFieldDefinitionIndex");
+
+    public static final int VERSION = 1;
+
+    @Override
+    public @NotNull StubIndexKey<String, GraphQLFieldDefinition> getKey() {
+        return KEY;
+    }
+
+    @Override
+    public int getVersion() {
+        return GraphQLIndexUtil.INDEX_BASE_VERSION + VERSION;
+    }
+}
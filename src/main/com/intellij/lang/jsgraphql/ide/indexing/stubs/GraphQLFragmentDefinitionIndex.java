@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.indexing.stubs;
+
+import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIndexUtil;
+import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Stub index of fragment definitions by fragment name
+ */
+public class GraphQLFragmentDefinitionIndex extends StringStubIndexExtension<GraphQLFragmentDefinition> {
+
+    public static final StubIndexKey<String, GraphQLFragmentDefinition> KEY = StubIndexKey.createIndexKey("GraphQLFragmentDefinitionIndex");
+
+    public static final int VERSION = 1;
+
+    @Override
+    public @NotNull StubIndexKey<String, GraphQLFragmentDefinition> getKey() {
+        return KEY;
+    }
+
+    @Override
+    public int getVersion() {
+        return GraphQLIndexUtil.INDEX_BASE_VERSION + VERSION;
+    }
+}
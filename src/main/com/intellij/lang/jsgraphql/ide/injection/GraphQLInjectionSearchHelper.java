@@ -35,6 +35,23 @@ public interface GraphQLInjectionSearchHelper {
      */
     void processInjectedGraphQLPsiFiles(PsiElement scopedElement, GlobalSearchScope schemaScope, Processor<PsiFile> consumer);
 
+    /**
+     * Process injected GraphQL PsiFiles which contain type system definitions or extensions,
+     * skipping the files and injections which only contain executable definitions such as queries and fragments
+     *
+     * @param scopedElement the starting point of the enumeration settings the scopedElement of the processing
+     * @param schemaScope   the search scope to use for limiting the schema definitions
+     * @param consumer      a consumer that will be invoked for each injected GraphQL PsiFile with type system definitions
+     */
+    void processInjectedGraphQLSchemaPsiFiles(PsiElement scopedElement, GlobalSearchScope schemaScope, Processor<PsiFile> consumer);
+
+    /**
+     * Gets whether any file in the scope contains injected GraphQL, including the files which only contain queries
+     *
+     * @param schemaScope the search scope to use for limiting the schema definitions
+     */
+    boolean hasInjectedGraphQLPsiFiles(GlobalSearchScope schemaScope);
+
     /**
      * Inline-replaces the use of escaped string quotes which delimit GraphQL injections, e.g. an escaped backtick '\`'
      * in JavaScript tagged template literals, such that the injected GraphQL text represents valid GraphQL
@@ -11,6 +11,7 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiFileFactory;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.text.CharSequenceReader;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
@@ -31,7 +32,7 @@ public final class GraphQLIntrospectionFilesManager {
 
             String introspection = "";
             try {
-                introspection = GraphQLIntrospectionService.getInstance(project).printIntrospectionAsGraphQL(psiFile.getText());
+                introspection = printIntrospectionSDL(project, psiFile.getViewProvider().getContents());
             } catch (ProcessCanceledException e) {
                 throw e;
             } catch (Exception e) {
@@ -56,4 +57,16 @@ public final class GraphQLIntrospectionFilesManager {
         });
     }
 
+    @NotNull
+    private static String printIntrospectionSDL(@NotNull Project project, @NotNull CharSequence introspectionJson) {
+        GraphQLIntrospectionSDLCache cache = GraphQLIntrospectionSDLCache.getInstance();
+        String key = cache.getKey(introspectionJson, new GraphQLIntrospectionSchemaPrinter(project).getOptionsKey());
+        String sdl = cache.get(key);
+        if (sdl == null) {
+            sdl = GraphQLIntrospectionService.getInstance(project).printIntrospectionAsGraphQL(new CharSequenceReader(introspectionJson));
+            cache.put(key, sdl);
+        }
+        return sdl;
+    }
+
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Persistent cache of the SDL printed from introspection JSON files, so large introspection results aren't converted again
+ * after a restart or when the in-memory SDL file has been collected.
+ * <p>
+ * Entries are stored as files in the system directory and keyed by a hash of the JSON and the printing options. The least
+ * recently used entries are removed when there are more than {@link #MAX_ENTRIES}. Each entry starts with a checksum of the SDL,
+ * so an entry which was only partially written or got corrupted is removed instead of being used.
+ */
+public class GraphQLIntrospectionSDLCache {
+
+    private static final Logger LOG = Logger.getInstance(GraphQLIntrospectionSDLCache.class);
+
+    // increment when the printed SDL changes for the same introspection result
+    static final int VERSION = 1;
+
+    static final int MAX_ENTRIES = 32;
+    private static final String EXTENSION = ".graphql";
+
+    private final File myCacheDir;
+
+    public GraphQLIntrospectionSDLCache() {
+        this(new File(PathManager.getSystemPath(), "graphql/introspection-sdl"));
+    }
+
+    @TestOnly
+    GraphQLIntrospectionSDLCache(@NotNull File cacheDir) {
+        myCacheDir = cacheDir;
+    }
+
+    public static GraphQLIntrospectionSDLCache getInstance() {
+        return ServiceManager.getService(GraphQLIntrospectionSDLCache.class);
+    }
+
+    /**
+     * @param introspectionJson the contents of the introspection JSON file
+     * @param options           the options which affect the printed SDL, see {@link GraphQLIntrospectionSchemaPrinter#getOptionsKey()}
+     * @return the key of the SDL printed from the JSON
+     */
+    @NotNull
+    public String getKey(@NotNull CharSequence introspectionJson, @NotNull String options) {
+        return getKey(introspectionJson, options, VERSION);
+    }
+
+    @NotNull
+    static String getKey(@NotNull CharSequence introspectionJson, @NotNull String options, int version) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(version);
+        hasher.putString(options, StandardCharsets.UTF_8);
+        hasher.putUnencodedChars(introspectionJson);
+        return hasher.hash().toString();
+    }
+
+    @Nullable
+    public synchronized String get(@NotNull String key) {
+        File file = getFile(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        String sdl;
+        try {
+            sdl = readEntry(FileUtil.loadFile(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Unable to read cached introspection SDL " + file, e);
+            FileUtil.delete(file);
+            return null;
+        }
+        if (sdl == null) {
+            LOG.warn("Removed corrupted cached introspection SDL " + file);
+            FileUtil.delete(file);
+            return null;
+        }
+        //noinspection ResultOfMethodCallIgnored
+        file.setLastModified(System.currentTimeMillis());
+        return sdl;
+    }
+
+    public synchronized void put(@NotNull String key, @NotNull String sdl) {
+        File file = getFile(key);
+        File tempFile = new File(myCacheDir, key + ".tmp");
+        try {
+            FileUtil.writeToFile(tempFile, (getChecksum(sdl) + "\n" + sdl).getBytes(StandardCharsets.UTF_8));
+            FileUtil.rename(tempFile, file);
+        } catch (IOException e) {
+            LOG.warn("Unable to cache introspection SDL " + file, e);
+            FileUtil.delete(tempFile);
+            return;
+        }
+        removeLeastRecentlyUsed();
+    }
+
+    private void removeLeastRecentlyUsed() {
+        File[] files = myCacheDir.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null || files.length <= MAX_ENTRIES) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - MAX_ENTRIES; i++) {
+            FileUtil.delete(files[i]);
+        }
+    }
+
+    /**
+     * @return the SDL of the entry, or null if it doesn't match the checksum in the first line
+     */
+    @Nullable
+    private static String readEntry(@NotNull String entry) {
+        int separator = entry.indexOf('\n');
+        if (separator < 0) {
+            return null;
+        }
+        String sdl = entry.substring(separator + 1);
+        return entry.substring(0, separator).equals(getChecksum(sdl)) ? sdl : null;
+    }
+
+    @NotNull
+    private static String getChecksum(@NotNull String sdl) {
+        return Hashing.murmur3_128().hashString(sdl, StandardCharsets.UTF_8).toString();
+    }
+
+    @NotNull
+    File getFile(@NotNull String key) {
+        return new File(myCacheDir, key + EXTENSION);
+    }
+}
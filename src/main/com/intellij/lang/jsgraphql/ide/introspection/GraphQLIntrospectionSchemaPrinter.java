@@ -0,0 +1,639 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.intellij.application.options.CodeStyle;
+import com.intellij.lang.jsgraphql.GraphQLLanguage;
+import com.intellij.lang.jsgraphql.GraphQLSettings;
+import com.intellij.lang.jsgraphql.schema.GraphQLKnownTypes;
+import com.intellij.lang.jsgraphql.types.introspection.Introspection;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.codeStyle.CommonCodeStyleSettings;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+
+import static com.intellij.lang.jsgraphql.types.util.EscapeUtil.escapeBlockString;
+import static com.intellij.lang.jsgraphql.types.util.EscapeUtil.escapeJsonString;
+
+/**
+ * Prints the "__schema" object of an introspection result as SDL while it's being read.
+ * <p>
+ * The JSON is pulled one type at a time, so the result never exists as a tree of maps or as a schema, and only the printed
+ * types are kept until the types are sorted. The output follows the layout of
+ * {@link com.intellij.lang.jsgraphql.types.schema.idl.SchemaPrinter} for a schema created from the introspection result.
+ */
+public final class GraphQLIntrospectionSchemaPrinter {
+
+    private static final String DEFAULT_INDENT = "  ";
+    private static final String DEFAULT_DEPRECATION_REASON = "No longer supported";
+
+    private static final Set<String> SPECIFIED_SCALARS = Set.of("Int", "Float", "String", "Boolean", "ID");
+
+    // the order in which the kinds of types are printed
+    private static final List<String> TYPE_KINDS = List.of("INTERFACE", "UNION", "OBJECT", "ENUM", "SCALAR", "INPUT_OBJECT");
+
+    private final boolean myIncludeDefaultValues;
+    private final String myIndent;
+    private final String myNestedIndent;
+
+    public GraphQLIntrospectionSchemaPrinter(@NotNull Project project) {
+        myIncludeDefaultValues = GraphQLSettings.getSettings(project).isEnableIntrospectionDefaultValues();
+        CommonCodeStyleSettings.IndentOptions indentOptions = CodeStyle.getSettings(project).getLanguageIndentOptions(GraphQLLanguage.INSTANCE);
+        myIndent = calcIndent(indentOptions, 1);
+        myNestedIndent = calcIndent(indentOptions, 2);
+    }
+
+    @NotNull
+    private static String calcIndent(@Nullable CommonCodeStyleSettings.IndentOptions indentOptions, int depth) {
+        if (indentOptions == null) {
+            return DEFAULT_INDENT.repeat(depth);
+        }
+        if (indentOptions.USE_TAB_CHARACTER) {
+            int size = indentOptions.INDENT_SIZE * depth;
+            return "\t".repeat(size / indentOptions.TAB_SIZE) + " ".repeat(size % indentOptions.TAB_SIZE);
+        }
+        return " ".repeat(indentOptions.INDENT_SIZE * depth);
+    }
+
+    /**
+     * @return a key for the options which affect the printed SDL, e.g. to cache the result
+     */
+    @NotNull
+    public String getOptionsKey() {
+        return myIncludeDefaultValues + ":" + myIndent + ":" + myNestedIndent;
+    }
+
+    /**
+     * Prints the schema which the reader is positioned at, i.e. the value of the "__schema" key
+     *
+     * @param reader the reader of the introspection result
+     * @return the schema as SDL
+     */
+    @NotNull
+    public String printSchema(@NotNull JsonReader reader) throws IOException {
+        String queryType = null;
+        String mutationType = null;
+        String subscriptionType = null;
+        final Map<String, Map<String, String>> typesByKind = new HashMap<>();
+        final StringBuilder directives = new StringBuilder();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "queryType":
+                    queryType = readRootTypeName(reader);
+                    break;
+                case "mutationType":
+                    mutationType = readRootTypeName(reader);
+                    break;
+                case "subscriptionType":
+                    subscriptionType = readRootTypeName(reader);
+                    break;
+                case "types":
+                    readObjects(reader, () -> {
+                        ProgressManager.checkCanceled();
+                        IntrospectionType type = readType(reader);
+                        String text = type.name != null && type.kind != null ? printType(type) : null;
+                        if (text != null) {
+                            typesByKind.computeIfAbsent(type.kind, kind -> new TreeMap<>()).put(type.name, text);
+                        }
+                    });
+                    break;
+                case "directives":
+                    readObjects(reader, () -> appendDirective(directives, readDirective(reader)));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        final StringBuilder sb = new StringBuilder();
+        final Map<String, String> objectTypes = typesByKind.getOrDefault("OBJECT", Collections.emptyMap());
+        if (!isDefaultRootType(queryType, GraphQLKnownTypes.QUERY_TYPE) ||
+            !isDefaultRootType(mutationType, GraphQLKnownTypes.MUTATION_TYPE) ||
+            !isDefaultRootType(subscriptionType, GraphQLKnownTypes.SUBSCRIPTION_TYPE)) {
+            appendSchemaDefinition(sb, queryType, mutationType, subscriptionType);
+        } else {
+            // the root types are found by their names, like for an SDL file without a schema definition
+            appendSchemaDefinition(sb,
+                objectTypes.containsKey(GraphQLKnownTypes.QUERY_TYPE) ? GraphQLKnownTypes.QUERY_TYPE : null,
+                objectTypes.containsKey(GraphQLKnownTypes.MUTATION_TYPE) ? GraphQLKnownTypes.MUTATION_TYPE : null,
+                objectTypes.containsKey(GraphQLKnownTypes.SUBSCRIPTION_TYPE) ? GraphQLKnownTypes.SUBSCRIPTION_TYPE : null);
+        }
+        sb.append(directives);
+        for (String kind : TYPE_KINDS) {
+            typesByKind.getOrDefault(kind, Collections.emptyMap()).values().forEach(sb::append);
+        }
+
+        if (sb.length() >= 2 && sb.charAt(sb.length() - 1) == '\n' && sb.charAt(sb.length() - 2) == '\n') {
+            sb.setLength(sb.length() - 1);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isDefaultRootType(@Nullable String typeName, @NotNull String defaultName) {
+        return typeName == null || typeName.equals(defaultName);
+    }
+
+    private void appendSchemaDefinition(@NotNull StringBuilder sb,
+                                        @Nullable String queryType,
+                                        @Nullable String mutationType,
+                                        @Nullable String subscriptionType) {
+        if (queryType == null && mutationType == null && subscriptionType == null) {
+            return;
+        }
+        sb.append("schema {\n");
+        if (queryType != null) {
+            sb.append(myIndent).append("query: ").append(queryType).append('\n');
+        }
+        if (mutationType != null) {
+            sb.append(myIndent).append("mutation: ").append(mutationType).append('\n');
+        }
+        if (subscriptionType != null) {
+            sb.append(myIndent).append("subscription: ").append(subscriptionType).append('\n');
+        }
+        sb.append("}\n\n");
+    }
+
+    // printing
+
+    @Nullable
+    private String printType(@NotNull IntrospectionType type) {
+        if (type.name.startsWith("__")) {
+            return null;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        switch (type.kind) {
+            case "INTERFACE":
+                appendDescription(sb, type.description, "");
+                sb.append("interface ").append(type.name);
+                appendFields(sb, type.fields);
+                break;
+            case "OBJECT":
+                appendDescription(sb, type.description, "");
+                sb.append("type ").append(type.name);
+                if (!type.interfaces.isEmpty()) {
+                    sb.append(" implements ").append(String.join(" & ", sorted(type.interfaces)));
+                }
+                appendFields(sb, type.fields);
+                break;
+            case "UNION":
+                appendDescription(sb, type.description, "");
+                sb.append("union ").append(type.name).append(" = ").append(String.join(" | ", sorted(type.possibleTypes)));
+                break;
+            case "ENUM":
+                appendDescription(sb, type.description, "");
+                sb.append("enum ").append(type.name);
+                if (!type.enumValues.isEmpty()) {
+                    sb.append(" {\n");
+                    for (IntrospectionField value : sortedByName(type.enumValues)) {
+                        appendDescription(sb, value.description, myIndent);
+                        sb.append(myIndent).append(value.name);
+                        appendDeprecation(sb, value);
+                        sb.append('\n');
+                    }
+                    sb.append('}');
+                }
+                break;
+            case "SCALAR":
+                if (SPECIFIED_SCALARS.contains(type.name)) {
+                    return null;
+                }
+                appendDescription(sb, type.description, "");
+                sb.append("scalar ").append(type.name);
+                break;
+            case "INPUT_OBJECT":
+                appendDescription(sb, type.description, "");
+                sb.append("input ").append(type.name);
+                if (!type.inputFields.isEmpty()) {
+                    sb.append(" {\n");
+                    for (IntrospectionInputValue field : sortedByName(type.inputFields)) {
+                        appendDescription(sb, field.description, myIndent);
+                        sb.append(myIndent).append(field.name).append(": ").append(field.type);
+                        appendDefaultValue(sb, field);
+                        sb.append('\n');
+                    }
+                    sb.append('}');
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown kind " + type.kind);
+        }
+        sb.append("\n\n");
+        return sb.toString();
+    }
+
+    private void appendFields(@NotNull StringBuilder sb, @NotNull List<IntrospectionField> fields) {
+        if (fields.isEmpty()) {
+            return;
+        }
+        sb.append(" {\n");
+        for (IntrospectionField field : sortedByName(fields)) {
+            appendDescription(sb, field.description, myIndent);
+            sb.append(myIndent).append(field.name);
+            appendArguments(sb, field.args);
+            sb.append(": ").append(field.type);
+            appendDeprecation(sb, field);
+            sb.append('\n');
+        }
+        sb.append('}');
+    }
+
+    private void appendArguments(@NotNull StringBuilder sb, @NotNull List<IntrospectionInputValue> args) {
+        if (args.isEmpty()) {
+            return;
+        }
+        final boolean hasDescriptions = args.stream().anyMatch(arg -> hasDescription(arg.description));
+        final String indent = hasDescriptions ? myIndent : "";
+        final String nestedIndent = hasDescriptions ? myNestedIndent : "";
+        boolean first = true;
+        for (IntrospectionInputValue arg : sortedByName(args)) {
+            sb.append(first ? "(" : ", ");
+            first = false;
+            if (hasDescriptions) {
+                sb.append('\n');
+            }
+            appendDescription(sb, arg.description, nestedIndent);
+            sb.append(nestedIndent).append(arg.name).append(": ").append(arg.type);
+            appendDefaultValue(sb, arg);
+        }
+        if (hasDescriptions) {
+            sb.append('\n');
+        }
+        sb.append(indent).append(')');
+    }
+
+    private void appendDefaultValue(@NotNull StringBuilder sb, @NotNull IntrospectionInputValue value) {
+        // the default value is already a GraphQL literal, so it's printed as returned by the server
+        if (myIncludeDefaultValues && value.defaultValue != null) {
+            sb.append(" = ").append(value.defaultValue);
+        }
+    }
+
+    private static void appendDeprecation(@NotNull StringBuilder sb, @NotNull IntrospectionField field) {
+        if (field.isDeprecated) {
+            final String reason = field.deprecationReason != null ? field.deprecationReason : DEFAULT_DEPRECATION_REASON;
+            sb.append(" @deprecated(reason: \"").append(escapeJsonString(reason)).append("\")");
+        }
+    }
+
+    private void appendDirective(@NotNull StringBuilder sb, @NotNull IntrospectionDirective directive) {
+        if (directive.name == null || GraphQLKnownTypes.DEFAULT_DIRECTIVES.contains(directive.name)) {
+            return;
+        }
+        appendDescription(sb, directive.description, "");
+        sb.append("directive @").append(directive.name);
+        appendArguments(sb, directive.args);
+        if (directive.isRepeatable) {
+            sb.append(" repeatable");
+        }
+        sb.append(" on ");
+        final StringJoiner locations = new StringJoiner(" | ");
+        directive.locations.forEach(location -> locations.add(location.name()));
+        sb.append(locations).append("\n\n");
+    }
+
+    private static boolean hasDescription(@Nullable String description) {
+        return description != null && !description.trim().isEmpty();
+    }
+
+    private static void appendDescription(@NotNull StringBuilder sb, @Nullable String description, @NotNull String indent) {
+        if (!hasDescription(description)) {
+            return;
+        }
+        if (description.contains("\n")) {
+            // ensures the description stands on separate lines from the triple quotes
+            sb.append(indent).append("\"\"\"\n");
+            for (String line : ("\n" + description.trim() + "\n").split("\n")) {
+                sb.append(indent).append(escapeBlockString(line)).append('\n');
+            }
+            sb.append(indent).append("\"\"\"\n");
+        } else {
+            sb.append(indent).append('"').append(escapeJsonString(description)).append("\"\n");
+        }
+    }
+
+    @NotNull
+    private static List<String> sorted(@NotNull List<String> names) {
+        final List<String> result = new ArrayList<>(names);
+        Collections.sort(result);
+        return result;
+    }
+
+    @NotNull
+    private static <T extends IntrospectionNamedElement> List<T> sortedByName(@NotNull List<T> elements) {
+        final List<T> result = new ArrayList<>(elements);
+        result.sort(Comparator.comparing(element -> element.name));
+        return result;
+    }
+
+    // reading
+
+    @NotNull
+    private static IntrospectionType readType(@NotNull JsonReader reader) throws IOException {
+        final IntrospectionType type = new IntrospectionType();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "kind":
+                    type.kind = nextStringOrNull(reader);
+                    break;
+                case "name":
+                    type.name = nextStringOrNull(reader);
+                    break;
+                case "description":
+                    type.description = nextStringOrNull(reader);
+                    break;
+                case "fields":
+                    readObjects(reader, () -> addIfComplete(type.fields, readField(reader)));
+                    break;
+                case "inputFields":
+                    readObjects(reader, () -> addIfComplete(type.inputFields, readInputValue(reader)));
+                    break;
+                case "interfaces":
+                    readObjects(reader, () -> addIfNotNull(type.interfaces, readTypeReference(reader)));
+                    break;
+                case "possibleTypes":
+                    readObjects(reader, () -> addIfNotNull(type.possibleTypes, readTypeReference(reader)));
+                    break;
+                case "enumValues":
+                    readObjects(reader, () -> addIfNamed(type.enumValues, readField(reader)));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return type;
+    }
+
+    @NotNull
+    private static IntrospectionField readField(@NotNull JsonReader reader) throws IOException {
+        final IntrospectionField field = new IntrospectionField();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    field.name = nextStringOrNull(reader);
+                    break;
+                case "description":
+                    field.description = nextStringOrNull(reader);
+                    break;
+                case "type":
+                    field.type = readTypeReference(reader);
+                    break;
+                case "args":
+                    readObjects(reader, () -> addIfComplete(field.args, readInputValue(reader)));
+                    break;
+                case "isDeprecated":
+                    field.isDeprecated = nextBooleanOrFalse(reader);
+                    break;
+                case "deprecationReason":
+                    field.deprecationReason = nextStringOrNull(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return field;
+    }
+
+    @NotNull
+    private static IntrospectionInputValue readInputValue(@NotNull JsonReader reader) throws IOException {
+        final IntrospectionInputValue value = new IntrospectionInputValue();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    value.name = nextStringOrNull(reader);
+                    break;
+                case "description":
+                    value.description = nextStringOrNull(reader);
+                    break;
+                case "type":
+                    value.type = readTypeReference(reader);
+                    break;
+                case "defaultValue":
+                    value.defaultValue = nextStringOrNull(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    @NotNull
+    private static IntrospectionDirective readDirective(@NotNull JsonReader reader) throws IOException {
+        final IntrospectionDirective directive = new IntrospectionDirective();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    directive.name = nextStringOrNull(reader);
+                    break;
+                case "description":
+                    directive.description = nextStringOrNull(reader);
+                    break;
+                case "args":
+                    readObjects(reader, () -> addIfComplete(directive.args, readInputValue(reader)));
+                    break;
+                case "isRepeatable":
+                    directive.isRepeatable = nextBooleanOrFalse(reader);
+                    break;
+                case "locations":
+                    readObjects(reader, () -> {
+                        String location = nextStringOrNull(reader);
+                        try {
+                            if (location != null) {
+                                directive.locations.add(Introspection.DirectiveLocation.valueOf(location));
+                            }
+                        } catch (IllegalArgumentException ignored) {
+                            // an unknown location can't be expressed in SDL
+                        }
+                    });
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return directive;
+    }
+
+    /**
+     * @return the type reference printed as SDL, e.g. "[String!]!", or null if it's incomplete
+     */
+    @Nullable
+    private static String readTypeReference(@NotNull JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        String kind = null;
+        String name = null;
+        String ofType = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "kind":
+                    kind = nextStringOrNull(reader);
+                    break;
+                case "name":
+                    name = nextStringOrNull(reader);
+                    break;
+                case "ofType":
+                    ofType = readTypeReference(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if ("NON_NULL".equals(kind)) {
+            return ofType != null ? ofType + "!" : null;
+        } else if ("LIST".equals(kind)) {
+            return ofType != null ? "[" + ofType + "]" : null;
+        }
+        return name;
+    }
+
+    @Nullable
+    private static String readRootTypeName(@NotNull JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("name".equals(reader.nextName())) {
+                name = nextStringOrNull(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    /**
+     * Reads an array of objects, skipping null elements. A null array is read as an empty one.
+     */
+    private static void readObjects(@NotNull JsonReader reader, @NotNull ThrowableRunnable<IOException> elementReader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else {
+                elementReader.run();
+            }
+        }
+        reader.endArray();
+    }
+
+    @Nullable
+    private static String nextStringOrNull(@NotNull JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return sanitize(reader.nextString());
+    }
+
+    private static boolean nextBooleanOrFalse(@NotNull JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BOOLEAN) {
+            reader.skipValue();
+            return false;
+        }
+        return reader.nextBoolean();
+    }
+
+    @NotNull
+    private static String sanitize(@NotNull String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isHighSurrogate(value.charAt(i))) {
+                return GraphQLIntrospectionService.sanitizeIntrospectionJson(value);
+            }
+        }
+        return value;
+    }
+
+    private static <T extends IntrospectionTypedElement> void addIfComplete(@NotNull List<T> elements, @NotNull T element) {
+        if (element.name != null && element.type != null) {
+            elements.add(element);
+        }
+    }
+
+    private static <T extends IntrospectionNamedElement> void addIfNamed(@NotNull List<T> elements, @NotNull T element) {
+        if (element.name != null) {
+            elements.add(element);
+        }
+    }
+
+    private static void addIfNotNull(@NotNull List<String> names, @Nullable String name) {
+        if (name != null) {
+            names.add(name);
+        }
+    }
+
+    // the parts of the introspection result which are kept until a type or directive has been read
+
+    private static class IntrospectionNamedElement {
+        String name;
+        String description;
+    }
+
+    private static class IntrospectionTypedElement extends IntrospectionNamedElement {
+        String type;
+    }
+
+    private static final class IntrospectionType extends IntrospectionNamedElement {
+        String kind;
+        final List<IntrospectionField> fields = new ArrayList<>();
+        final List<IntrospectionInputValue> inputFields = new ArrayList<>();
+        final List<String> interfaces = new ArrayList<>();
+        final List<String> possibleTypes = new ArrayList<>();
+        final List<IntrospectionField> enumValues = new ArrayList<>();
+    }
+
+    /**
+     * A field or an enum value, which has neither a type nor arguments
+     */
+    private static final class IntrospectionField extends IntrospectionTypedElement {
+        final List<IntrospectionInputValue> args = new ArrayList<>();
+        boolean isDeprecated;
+        String deprecationReason;
+    }
+
+    private static final class IntrospectionInputValue extends IntrospectionTypedElement {
+        String defaultValue;
+    }
+
+    private static final class IntrospectionDirective extends IntrospectionNamedElement {
+        final List<IntrospectionInputValue> args = new ArrayList<>();
+        final Set<Introspection.DirectiveLocation> locations = EnumSet.noneOf(Introspection.DirectiveLocation.class);
+        boolean isRepeatable;
+    }
+}
@@ -8,7 +8,11 @@
 package com.intellij.lang.jsgraphql.ide.introspection;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.intellij.ide.actions.CreateFileAction;
 import com.intellij.ide.util.PropertiesComponent;
 import com.intellij.lang.jsgraphql.GraphQLBundle;
@@ -17,16 +21,7 @@ import com.intellij.lang.jsgraphql.ide.notifications.GraphQLNotificationUtil;
 import com.intellij.lang.jsgraphql.ide.project.GraphQLUIProjectService;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.*;
-import com.intellij.lang.jsgraphql.schema.GraphQLKnownTypes;
-import com.intellij.lang.jsgraphql.schema.GraphQLRegistryInfo;
-import com.intellij.lang.jsgraphql.schema.GraphQLSchemaInfo;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys;
-import com.intellij.lang.jsgraphql.types.GraphQLError;
-import com.intellij.lang.jsgraphql.types.language.Document;
-import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
-import com.intellij.lang.jsgraphql.types.schema.idl.SchemaPrinter;
-import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator;
-import com.intellij.lang.jsgraphql.types.schema.idl.errors.SchemaProblem;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationAction;
 import com.intellij.notification.NotificationType;
@@ -45,7 +40,6 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.util.text.StringUtil;
@@ -56,14 +50,16 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiFileFactory;
 import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.psi.impl.file.PsiDirectoryFactory;
-import com.intellij.util.Consumer;
 import com.intellij.util.ExceptionUtil;
 import com.intellij.util.ObjectUtils;
 import com.intellij.util.concurrency.annotations.RequiresWriteLock;
 import com.intellij.util.messages.MessageBusConnection;
+import com.intellij.util.net.HttpConfigurable;
 import com.intellij.util.net.IdeHttpClientHelpers;
 import com.intellij.util.net.ssl.CertificateManager;
 import org.apache.commons.lang.StringEscapeUtils;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.Credentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -80,13 +76,15 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.net.ssl.HostnameVerifier;
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.security.*;
 import java.security.cert.CertificateException;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static com.intellij.lang.jsgraphql.ide.project.GraphQLUIProjectService.setHeadersFromOptions;
 
@@ -96,9 +94,16 @@ public class GraphQLIntrospectionService implements Disposable {
     private static final String DISABLE_EMPTY_ERRORS_WARNING_KEY = "graphql.empty.errors.warning.disabled";
     public static final String GRAPHQL_TRUST_ALL_HOSTS = "graphql.trust.all.hosts";
 
+    private static final int HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE = 4;
+    private static final int HTTP_CLIENT_IDLE_TIMEOUT_SECONDS = 60;
+    static final int HTTP_CLIENTS_MAX_SIZE = 16;
+
     private GraphQLIntrospectionTask latestIntrospection = null;
     private final Project myProject;
 
+    // pooled clients by url in access order, which keep connections to an endpoint alive between requests
+    private final Map<String, HttpClientEntry> myHttpClients = new LinkedHashMap<>(16, 0.75f, true);
+
     public static GraphQLIntrospectionService getInstance(@NotNull Project project) {
         return ServiceManager.getService(project, GraphQLIntrospectionService.class);
     }
@@ -107,7 +112,10 @@ public class GraphQLIntrospectionService implements Disposable {
         myProject = project;
 
         MessageBusConnection connection = project.getMessageBus().connect(this);
-        connection.subscribe(GraphQLConfigManager.TOPIC, () -> latestIntrospection = null);
+        connection.subscribe(GraphQLConfigManager.TOPIC, () -> {
+            latestIntrospection = null;
+            closeHttpClients();
+        });
     }
 
     public void performIntrospectionQueryAndUpdateSchemaPathFile(Project project, GraphQLConfigEndpoint endpoint) {
@@ -228,7 +236,63 @@ public class GraphQLIntrospectionService implements Disposable {
         return null;
     }
 
-    public @NotNull CloseableHttpClient createHttpClient(@NotNull String url, @Nullable GraphQLConfigSecurity sslConfig)
+    /**
+     * Acquires a client for requests to the url, which is shared between requests so connections to the endpoint are reused.
+     * The client is replaced when the SSL configuration, the proxy settings or the timeouts change. A replaced client is closed
+     * once all the leases acquired for it are closed, so the caller closes the lease after the request instead of the client.
+     */
+    public @NotNull HttpClientLease acquireHttpClient(@NotNull String url, @Nullable GraphQLConfigSecurity sslConfig)
+        throws NoSuchAlgorithmException, KeyManagementException, KeyStoreException, IOException, UnrecoverableKeyException,
+        CertificateException {
+        String configuration = getHttpClientConfiguration(url, sslConfig);
+        List<HttpClientEntry> closedEntries = new ArrayList<>();
+        HttpClientEntry entry;
+        synchronized (myHttpClients) {
+            entry = myHttpClients.get(url);
+            if (entry == null || !entry.configuration.equals(configuration)) {
+                if (entry != null) {
+                    myHttpClients.remove(url);
+                    retireHttpClient(entry, closedEntries);
+                }
+                entry = new HttpClientEntry(configuration, createHttpClient(url, sslConfig));
+                myHttpClients.put(url, entry);
+
+                Iterator<HttpClientEntry> iterator = myHttpClients.values().iterator();
+                while (myHttpClients.size() > HTTP_CLIENTS_MAX_SIZE && iterator.hasNext()) {
+                    // evicts the least recently used clients
+                    HttpClientEntry evicted = iterator.next();
+                    iterator.remove();
+                    retireHttpClient(evicted, closedEntries);
+                }
+            }
+            entry.leases++;
+        }
+        closeHttpClients(closedEntries);
+        return new HttpClientLease(entry);
+    }
+
+    /**
+     * Marks a client removed from the pool as retired, and collects it to be closed if no requests are being executed on it
+     */
+    private static void retireHttpClient(@NotNull HttpClientEntry entry, @NotNull List<HttpClientEntry> closedEntries) {
+        entry.retired = true;
+        if (entry.leases == 0) {
+            closedEntries.add(entry);
+        }
+    }
+
+    private void releaseHttpClient(@NotNull HttpClientEntry entry) {
+        boolean close;
+        synchronized (myHttpClients) {
+            entry.leases--;
+            close = entry.retired && entry.leases == 0;
+        }
+        if (close) {
+            closeHttpClient(entry.client);
+        }
+    }
+
+    private @NotNull CloseableHttpClient createHttpClient(@NotNull String url, @Nullable GraphQLConfigSecurity sslConfig)
         throws NoSuchAlgorithmException, KeyManagementException, KeyStoreException, IOException, UnrecoverableKeyException,
         CertificateException {
         HttpClientBuilder builder = HttpClients.custom()
@@ -236,11 +300,74 @@ public class GraphQLIntrospectionService implements Disposable {
             .setSSLContext(CertificateManager.getInstance().getSslContext())
             .setDefaultCredentialsProvider(createCredentialsProvider(url))
             .setRedirectStrategy(LaxRedirectStrategy.INSTANCE)
-            .setSSLHostnameVerifier(createHostnameVerifier());
+            .setSSLHostnameVerifier(createHostnameVerifier())
+            .setMaxConnPerRoute(HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE)
+            .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+            .evictExpiredConnections()
+            .evictIdleConnections(HTTP_CLIENT_IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
         GraphQLIntrospectionSSLBuilder.loadCustomSSLConfiguration(sslConfig, builder);
         return builder.build();
     }
 
+    /**
+     * @return the settings a client for the url is created from, so the client can be replaced when they change
+     */
+    private @NotNull String getHttpClientConfiguration(@NotNull String url, @Nullable GraphQLConfigSecurity sslConfig) {
+        HttpConfigurable proxy = HttpConfigurable.getInstance();
+        StringBuilder configuration = new StringBuilder()
+            .append(Registry.intValue("graphql.request.connect.timeout", 5000)).append('|')
+            .append(Registry.intValue("graphql.request.timeout", 15000)).append('|')
+            .append(PropertiesComponent.getInstance(myProject).isTrueValue(GRAPHQL_TRUST_ALL_HOSTS)).append('|')
+            .append(proxy.USE_HTTP_PROXY).append(proxy.USE_PROXY_PAC).append(proxy.PROXY_TYPE_IS_SOCKS).append('|')
+            .append(proxy.PROXY_HOST).append(':').append(proxy.PROXY_PORT).append('|')
+            .append(proxy.PROXY_EXCEPTIONS);
+        if (sslConfig != null) {
+            appendCertificateConfiguration(configuration, sslConfig.clientCertificate);
+            appendCertificateConfiguration(configuration, sslConfig.clientCertificateKey);
+        }
+        return configuration.toString();
+    }
+
+    private static void appendCertificateConfiguration(@NotNull StringBuilder configuration,
+                                                       @Nullable GraphQLConfigCertificate certificate) {
+        if (certificate == null) {
+            return;
+        }
+        configuration.append('|').append(certificate.path).append(':').append(certificate.format);
+        if (certificate.path != null) {
+            // the certificate can be replaced without changing the configuration
+            configuration.append(':').append(new File(certificate.path).lastModified());
+        }
+    }
+
+    /**
+     * Removes all clients from the pool. The clients are closed once the requests being executed on them are finished.
+     */
+    private void closeHttpClients() {
+        List<HttpClientEntry> closedEntries = new ArrayList<>();
+        synchronized (myHttpClients) {
+            for (HttpClientEntry entry : myHttpClients.values()) {
+                retireHttpClient(entry, closedEntries);
+            }
+            myHttpClients.clear();
+        }
+        closeHttpClients(closedEntries);
+    }
+
+    private static void closeHttpClients(@NotNull List<HttpClientEntry> entries) {
+        for (HttpClientEntry entry : entries) {
+            closeHttpClient(entry.client);
+        }
+    }
+
+    private static void closeHttpClient(@NotNull CloseableHttpClient client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            LOG.warn(e);
+        }
+    }
+
     private @NotNull RequestConfig createRequestConfig(@NotNull String url) {
         RequestConfig.Builder builder = RequestConfig.custom()
             .setConnectTimeout(Registry.intValue("graphql.request.connect.timeout", 5000))
@@ -250,9 +377,20 @@ public class GraphQLIntrospectionService implements Disposable {
     }
 
     private @NotNull CredentialsProvider createCredentialsProvider(@NotNull String url) {
-        CredentialsProvider provider = new BasicCredentialsProvider();
-        IdeHttpClientHelpers.ApacheHttpClient4.setProxyCredentialsForUrlIfEnabled(provider, url);
-        return provider;
+        // the proxy credentials are looked up on authentication, so a pooled client doesn't need to be replaced when they change
+        return new BasicCredentialsProvider() {
+            @Override
+            public Credentials getCredentials(AuthScope authScope) {
+                // set for the user info of a request url
+                Credentials credentials = super.getCredentials(authScope);
+                if (credentials != null) {
+                    return credentials;
+                }
+                CredentialsProvider proxyProvider = new BasicCredentialsProvider();
+                IdeHttpClientHelpers.ApacheHttpClient4.setProxyCredentialsForUrlIfEnabled(proxyProvider, url);
+                return proxyProvider.getCredentials(authScope);
+            }
+        };
     }
 
     private @NotNull HostnameVerifier createHostnameVerifier() {
@@ -289,107 +427,85 @@ public class GraphQLIntrospectionService implements Disposable {
      * @param introspectionJson the JSON to sanitize
      * @return a sanitized version where the character ranges are within those allowed by the GraphQL Language Specification
      */
-    private static String sanitizeIntrospectionJson(@NotNull String introspectionJson) {
+    static String sanitizeIntrospectionJson(@NotNull String introspectionJson) {
         // Strip out emojis (e.g. the one in the GitHub schema) since they're outside the allowed range
         return introspectionJson.replaceAll("[\ud83c\udf00-\ud83d\ude4f]|[\ud83d\ude80-\ud83d\udeff]", "");
     }
 
-    @SuppressWarnings("unchecked")
-    @NotNull
-    public static Map<String, Object> parseIntrospectionJson(@NotNull String introspectionJson) {
-        var result = new Gson().fromJson(sanitizeIntrospectionJson(introspectionJson), Map.class);
-        if (result == null) {
-            throw new JsonSyntaxException("Invalid introspection JSON value");
-        }
-        return result;
-    }
-
     @NotNull
     public String printIntrospectionAsGraphQL(@NotNull String introspectionJson) {
-        return printIntrospectionAsGraphQL(parseIntrospectionJson(introspectionJson));
+        return printIntrospectionAsGraphQL(new StringReader(introspectionJson));
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Prints an introspection result as SDL while reading it, see {@link GraphQLIntrospectionSchemaPrinter}
+     *
+     * @param introspectionJson the introspection result, either the "__schema" object or a full query result
+     * @return the schema as SDL
+     * @throws JsonSyntaxException if the introspection result isn't valid JSON
+     */
     @NotNull
-    public String printIntrospectionAsGraphQL(@NotNull Map<String, Object> introspection) {
-        introspection = getIntrospectionSchemaData(introspection);
-
-        if (!GraphQLSettings.getSettings(myProject).isEnableIntrospectionDefaultValues()) {
-            // strip out the defaultValues that are potentially non-spec compliant
-            Ref<Consumer<Object>> defaultValueVisitJson = Ref.create();
-            defaultValueVisitJson.set((value) -> {
-                if (value instanceof Collection) {
-                    ((Collection) value).forEach(colValue -> defaultValueVisitJson.get().consume(colValue));
-                } else if (value instanceof Map) {
-                    ((Map) value).remove("defaultValue");
-                    ((Map) value).values().forEach(mapValue -> defaultValueVisitJson.get().consume(mapValue));
+    public String printIntrospectionAsGraphQL(@NotNull Reader introspectionJson) {
+        final GraphQLIntrospectionSchemaPrinter printer = new GraphQLIntrospectionSchemaPrinter(myProject);
+        String schema = null;
+        String dataSchema = null;
+        boolean hasData = false;
+        JsonElement errors = null;
+        try (JsonReader reader = new JsonReader(introspectionJson)) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "__schema":
+                        schema = printer.printSchema(reader);
+                        break;
+                    case "data":
+                        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                            reader.skipValue();
+                            break;
+                        }
+                        hasData = true;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if ("__schema".equals(reader.nextName())) {
+                                dataSchema = printer.printSchema(reader);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        break;
+                    case "errors":
+                        errors = JsonParser.parseReader(reader);
+                        break;
+                    default:
+                        reader.skipValue();
                 }
-            });
-            defaultValueVisitJson.get().consume(introspection);
-        }
-
-        final Document schemaDefinition = new GraphQLIntrospectionResultToSchema(myProject)
-            .createSchemaDefinition(introspection);
-        final SchemaPrinter.Options options = SchemaPrinter.Options
-            .defaultOptions()
-            .includeScalarTypes(true)
-            .includeSchemaDefinition(true)
-            .includeDirectives(directive -> !GraphQLKnownTypes.DEFAULT_DIRECTIVES.contains(directive.getName()));
-
-        GraphQLRegistryInfo registryInfo = new GraphQLRegistryInfo(
-            new SchemaParser().buildRegistry(schemaDefinition), Collections.emptyList(), true);
-        GraphQLSchemaInfo schemaInfo = new GraphQLSchemaInfo(
-            UnExecutableSchemaGenerator.makeUnExecutableSchema(registryInfo.getTypeDefinitionRegistry()),
-            Collections.emptyList(),
-            registryInfo
-        );
-
-        List<GraphQLError> errors = schemaInfo.getErrors(myProject);
-        if (!errors.isEmpty()) {
-            for (GraphQLError error : errors) {
-                LOG.warn(error.getMessage());
             }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
 
-        try {
-            return new SchemaPrinter(myProject, options).print(schemaInfo.getSchema());
-        }
-        catch (ProcessCanceledException e) {
-            throw e;
-        }
-        catch (Exception e) {
-            if (!errors.isEmpty()) {
-                throw new SchemaProblem(errors);
-            } else {
-                throw e;
-            }
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    @NotNull
-    private Map<String, Object> getIntrospectionSchemaData(@NotNull Map<String, Object> introspection) {
-        if (introspection.containsKey("__schema")) {
-            return introspection;
+        if (schema != null) {
+            return schema;
         }
 
         // possibly a full query result
-        if (introspection.containsKey("errors")) {
-            final Object errorsValue = introspection.get("errors");
-            if (errorsValue instanceof List && ((List<?>) errorsValue).size() == 0) {
+        if (errors != null) {
+            if (errors.isJsonArray() && errors.getAsJsonArray().size() == 0) {
                 showEmptyErrorsNotification();
             } else {
-                throw new IllegalArgumentException(GraphQLBundle.message("graphql.introspection.errors", new Gson().toJson(introspection.get("errors"))));
+                throw new IllegalArgumentException(GraphQLBundle.message("graphql.introspection.errors", new Gson().toJson(errors)));
             }
         }
-        if (!introspection.containsKey("data")) {
+        if (!hasData) {
             throw new IllegalArgumentException(GraphQLBundle.message("graphql.introspection.missing.data"));
         }
-        introspection = (Map<String, Object>) introspection.get("data");
-        if (!introspection.containsKey("__schema")) {
+        if (dataSchema == null) {
             throw new IllegalArgumentException(GraphQLBundle.message("graphql.introspection.missing.schema"));
         }
-        return introspection;
+        return dataSchema;
     }
 
     private void showEmptyErrorsNotification() {
@@ -517,6 +633,45 @@ public class GraphQLIntrospectionService implements Disposable {
 
     @Override
     public void dispose() {
+        closeHttpClients();
+    }
+
+    private static final class HttpClientEntry {
+        private final String configuration;
+        private final CloseableHttpClient client;
+
+        // guarded by myHttpClients
+        private int leases;
+        private boolean retired;
+
+        private HttpClientEntry(@NotNull String configuration, @NotNull CloseableHttpClient client) {
+            this.configuration = configuration;
+            this.client = client;
+        }
+    }
+
+    /**
+     * A pooled client acquired for executing requests, see {@link #acquireHttpClient(String, GraphQLConfigSecurity)}
+     */
+    public final class HttpClientLease implements Closeable {
+        private final HttpClientEntry myEntry;
+        private boolean myClosed;
+
+        private HttpClientLease(@NotNull HttpClientEntry entry) {
+            myEntry = entry;
+        }
+
+        public @NotNull CloseableHttpClient getClient() {
+            return myEntry.client;
+        }
+
+        @Override
+        public void close() {
+            if (!myClosed) {
+                myClosed = true;
+                releaseHttpClient(myEntry);
+            }
+        }
     }
 
     private class IntrospectionQueryTask extends Task.Backgroundable {
@@ -550,18 +705,16 @@ public class GraphQLIntrospectionService implements Disposable {
             indicator.setIndeterminate(true);
             String responseJson;
             GraphQLConfigSecurity sslConfig = getSecurityConfig(introspectionSourceFile);
-            try (final CloseableHttpClient httpClient = createHttpClient(url, sslConfig);
-                 final CloseableHttpResponse response = httpClient.execute(request)) {
+            try (final HttpClientLease httpClient = acquireHttpClient(url, sslConfig);
+                 final CloseableHttpResponse response = httpClient.getClient().execute(request)) {
                 responseJson = ObjectUtils.coalesce(EntityUtils.toString(response.getEntity()), "");
             } catch (IOException | GeneralSecurityException e) {
                 GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.WARNING, retry);
                 return;
             }
 
-            Map<String, Object> introspection;
             try {
-                introspection = parseIntrospectionJson(responseJson);
-                if (getErrorCount(introspection) > 0 && myProject != null) {
+                if (getErrorCount(responseJson) > 0) {
                     GraphQLUIProjectService.getService(myProject).showQueryResult(responseJson);
                 }
             } catch (JsonSyntaxException exception) {
@@ -573,8 +726,11 @@ public class GraphQLIntrospectionService implements Disposable {
             String schemaText;
             try {
                 // always try to print the schema to validate it since that will be done in schema discovery of the JSON anyway
-                final String schemaAsSDL = printIntrospectionAsGraphQL(introspection);
+                final String schemaAsSDL = printIntrospectionAsGraphQL(responseJson);
                 schemaText = format == IntrospectionOutputFormat.SDL ? schemaAsSDL : responseJson;
+            } catch (JsonSyntaxException exception) {
+                handleIntrospectionError(exception, GraphQLBundle.message("graphql.notification.introspection.parse.error"), responseJson);
+                return;
             } catch (ProcessCanceledException exception) {
                 throw exception;
             } catch (Exception exception) {
@@ -593,9 +749,31 @@ public class GraphQLIntrospectionService implements Disposable {
             });
         }
 
-        private int getErrorCount(@NotNull Map<String, Object> introspection) {
-            Object errors = introspection.get("errors");
-            return errors instanceof Collection ? ((Collection<?>) errors).size() : 0;
+        /**
+         * Counts the errors of the query result without reading the rest of it into memory
+         */
+        private int getErrorCount(@NotNull String responseJson) {
+            int count = 0;
+            try (JsonReader reader = new JsonReader(new StringReader(responseJson))) {
+                reader.setLenient(true);
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if ("errors".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            reader.skipValue();
+                            count++;
+                        }
+                        reader.endArray();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } catch (IOException | IllegalStateException | NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+            return count;
         }
 
         private void handleIntrospectionError(@NotNull Exception e,
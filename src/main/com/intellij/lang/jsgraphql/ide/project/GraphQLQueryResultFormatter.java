@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import com.intellij.application.options.CodeStyle;
+import com.intellij.json.JsonLanguage;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.codeStyle.CommonCodeStyleSettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Formats a query result for the result editor while it's being read, so large responses are never held or parsed more than once.
+ * <p>
+ * A JSON result is pretty printed and its errors are counted in a single pass. The text is capped at the length set by the
+ * "graphql.query.result.max.length" registry key, and a result which isn't valid JSON is shown as it was received.
+ */
+final class GraphQLQueryResultFormatter {
+
+    private static final String ERRORS_KEY = "errors";
+
+    private GraphQLQueryResultFormatter() {
+    }
+
+    static final class FormattedResult {
+        private final String myText;
+        private final @Nullable Integer myErrorCount;
+        private final long myLength;
+        private final boolean myTruncated;
+
+        private FormattedResult(@NotNull String text, @Nullable Integer errorCount, long length, boolean truncated) {
+            myText = text;
+            myErrorCount = errorCount;
+            myLength = length;
+            myTruncated = truncated;
+        }
+
+        @NotNull
+        String getText() {
+            return myText;
+        }
+
+        /**
+         * @return the number of errors in the result, or null if the result isn't a JSON object
+         */
+        @Nullable
+        Integer getErrorCount() {
+            return myErrorCount;
+        }
+
+        /**
+         * @return the length of the received result
+         */
+        long getLength() {
+            return myLength;
+        }
+
+        /**
+         * @return true if the text only contains the start of the result
+         */
+        boolean isTruncated() {
+            return myTruncated;
+        }
+    }
+
+    static int getMaxLength() {
+        return Registry.intValue("graphql.query.result.max.length", 5_000_000);
+    }
+
+    /**
+     * @param project    the project whose JSON code style is used for the indent
+     * @param response   the result, which is read to the end
+     * @param formatJson whether the result should be pretty printed, otherwise the result is shown as it was received
+     */
+    @NotNull
+    static FormattedResult format(@NotNull Project project, @NotNull Reader response, boolean formatJson) throws IOException {
+        final int maxLength = getMaxLength();
+        final RecordingReader source = new RecordingReader(response, maxLength);
+        Integer errorCount = null;
+        try {
+            if (formatJson) {
+                final CappedWriter output = new CappedWriter(maxLength);
+                errorCount = prettyPrint(source, output, getIndent(project));
+                return new FormattedResult(output.getText(), errorCount, source.getLength(), output.isTruncated());
+            }
+            errorCount = prettyPrint(source, Writer.nullWriter(), "");
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            // not valid JSON, so the result is shown as it was received
+            errorCount = null;
+        }
+        source.readToEnd();
+        return new FormattedResult(StringUtil.convertLineSeparators(source.getText()), errorCount, source.getLength(), source.isTruncated());
+    }
+
+    @NotNull
+    private static String getIndent(@NotNull Project project) {
+        CommonCodeStyleSettings.IndentOptions indentOptions = CodeStyle.getSettings(project).getLanguageIndentOptions(JsonLanguage.INSTANCE);
+        if (indentOptions == null) {
+            return "  ";
+        }
+        return indentOptions.USE_TAB_CHARACTER ? "\t" : " ".repeat(indentOptions.INDENT_SIZE);
+    }
+
+    /**
+     * Copies the JSON from the source to the output, token by token
+     *
+     * @return the number of errors if the result is an object, null otherwise
+     */
+    @Nullable
+    private static Integer prettyPrint(@NotNull Reader source, @NotNull Writer output, @NotNull String indent) throws IOException {
+        // strict, so that any text which isn't valid JSON is shown as it was received instead of being rewritten
+        final JsonReader reader = new JsonReader(source);
+        reader.setLenient(false);
+        final JsonWriter writer = new JsonWriter(output);
+        writer.setIndent(indent);
+        writer.setLenient(false);
+        writer.setSerializeNulls(true);
+
+        Integer errorCount = null;
+        int depth = 0;
+        // the depth of the elements of the top level "errors" array, if it's being read
+        int errorsDepth = -1;
+        String topLevelName = null;
+
+        JsonToken token;
+        while ((token = reader.peek()) != JsonToken.END_DOCUMENT) {
+            ProgressManager.checkCanceled();
+            if (depth == errorsDepth && token != JsonToken.END_ARRAY) {
+                errorCount++;
+            }
+            switch (token) {
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    writer.beginObject();
+                    if (depth == 0) {
+                        errorCount = 0;
+                    }
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    writer.endObject();
+                    depth--;
+                    break;
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    writer.beginArray();
+                    depth++;
+                    if (depth == 2 && ERRORS_KEY.equals(topLevelName)) {
+                        errorsDepth = depth;
+                    }
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    writer.endArray();
+                    if (depth == errorsDepth) {
+                        errorsDepth = -1;
+                    }
+                    depth--;
+                    break;
+                case NAME:
+                    String name = reader.nextName();
+                    if (depth == 1) {
+                        topLevelName = name;
+                    }
+                    writer.name(name);
+                    break;
+                case STRING:
+                    writer.value(reader.nextString());
+                    break;
+                case NUMBER:
+                    // written as received, so large and precise numbers aren't changed
+                    writer.jsonValue(reader.nextString());
+                    break;
+                case BOOLEAN:
+                    writer.value(reader.nextBoolean());
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    writer.nullValue();
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected token " + token);
+            }
+        }
+        writer.flush();
+        return errorCount;
+    }
+
+    /**
+     * Reader which keeps the start of the text it has read, so it can be shown if it isn't valid JSON
+     */
+    private static final class RecordingReader extends Reader {
+        private final Reader myDelegate;
+        private final int myMaxLength;
+        private final StringBuilder myText = new StringBuilder();
+        private long myLength;
+
+        private RecordingReader(@NotNull Reader delegate, int maxLength) {
+            myDelegate = delegate;
+            myMaxLength = maxLength;
+        }
+
+        @Override
+        public int read(char @NotNull [] buffer, int offset, int length) throws IOException {
+            int read = myDelegate.read(buffer, offset, length);
+            if (read > 0) {
+                myLength += read;
+                int recorded = Math.min(read, myMaxLength - myText.length());
+                if (recorded > 0) {
+                    myText.append(buffer, offset, recorded);
+                }
+            }
+            return read;
+        }
+
+        void readToEnd() throws IOException {
+            char[] buffer = new char[8192];
+            //noinspection StatementWithEmptyBody
+            while (read(buffer, 0, buffer.length) >= 0) {
+            }
+        }
+
+        @NotNull
+        String getText() {
+            return myText.toString();
+        }
+
+        long getLength() {
+            return myLength;
+        }
+
+        boolean isTruncated() {
+            return myLength > myText.length();
+        }
+
+        @Override
+        public void close() throws IOException {
+            myDelegate.close();
+        }
+    }
+
+    /**
+     * Writer which drops the text after the max length
+     */
+    private static final class CappedWriter extends Writer {
+        private final StringBuilder myText = new StringBuilder();
+        private final int myMaxLength;
+        private boolean myTruncated;
+
+        private CappedWriter(int maxLength) {
+            myMaxLength = maxLength;
+        }
+
+        @Override
+        public void write(char @NotNull [] buffer, int offset, int length) {
+            int written = Math.min(length, myMaxLength - myText.length());
+            if (written > 0) {
+                myText.append(buffer, offset, written);
+            }
+            if (written < length) {
+                myTruncated = true;
+            }
+        }
+
+        @Override
+        public void write(@NotNull String text, int offset, int length) {
+            int written = Math.min(length, myMaxLength - myText.length());
+            if (written > 0) {
+                myText.append(text, offset, offset + written);
+            }
+            if (written < length) {
+                myTruncated = true;
+            }
+        }
+
+        @NotNull
+        String getText() {
+            return myText.toString();
+        }
+
+        boolean isTruncated() {
+            return myTruncated;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -14,7 +14,6 @@ import com.intellij.codeInsight.hint.HintManagerImpl;
 import com.intellij.codeInsight.hint.HintUtil;
 import com.intellij.icons.AllIcons;
 import com.intellij.ide.util.PropertiesComponent;
-import com.intellij.json.JsonFileType;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.GraphQLParserDefinition;
 import com.intellij.lang.jsgraphql.ide.actions.GraphQLEditConfigAction;
@@ -51,12 +50,8 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.ComboBox;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.util.Key;
-import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vcs.CodeSmellDetector;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiFileFactory;
-import com.intellij.psi.impl.source.codeStyle.CodeStyleManagerImpl;
 import com.intellij.testFramework.LightVirtualFile;
 import com.intellij.ui.*;
 import com.intellij.ui.components.JBLabel;
@@ -67,16 +62,20 @@ import com.intellij.util.ui.UIUtil;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.StopWatch;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpRequest;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.util.EntityUtils;
+import org.apache.http.entity.ContentType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
 import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.*;
@@ -364,35 +363,40 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
         try {
             VirtualFile configFile = ReadAction.compute(() -> GraphQLConfigManager.getService(myProject).getClosestConfigFile(virtualFile));
             GraphQLConfigSecurity sslConfig = introspectionService.getSecurityConfig(configFile);
-            try (final CloseableHttpClient httpClient = introspectionService.createHttpClient(url, sslConfig)) {
+            try (GraphQLIntrospectionService.HttpClientLease httpClient = introspectionService.acquireHttpClient(url, sslConfig)) {
                 editor.putUserData(GRAPH_QL_EDITOR_QUERYING, true);
 
-                String responseJson;
-                Header contentType;
+                // the response is formatted while it's being read, so the whole response is never held as a string
+                GraphQLQueryResultFormatter.FormattedResult result;
                 StopWatch sw = new StopWatch();
                 sw.start();
-                try (final CloseableHttpResponse response = httpClient.execute(request)) {
-                    responseJson = StringUtil.notNullize(EntityUtils.toString(response.getEntity()));
-                    contentType = response.getFirstHeader("Content-Type");
+                try (final CloseableHttpResponse response = httpClient.getClient().execute(request)) {
+                    final Header contentType = response.getFirstHeader("Content-Type");
+                    final boolean reformatJson = contentType != null && contentType.getValue() != null && contentType.getValue().startsWith("application/json");
+                    try (Reader reader = createResponseReader(response.getEntity())) {
+                        result = GraphQLQueryResultFormatter.format(myProject, reader, reformatJson);
+                    }
                 } finally {
                     sw.stop();
                 }
 
-                final boolean reformatJson = contentType != null && contentType.getValue() != null && contentType.getValue().startsWith("application/json");
-                final Integer errorCount = getErrorCount(responseJson);
+                final Integer errorCount = result.getErrorCount();
                 ApplicationManager.getApplication().invokeLater(() -> {
                     TextEditor queryResultEditor = GraphQLToolWindow.getQueryResultEditor(myProject);
                     if (queryResultEditor == null) {
                         return;
                     }
 
-                    updateQueryResultEditor(responseJson, queryResultEditor, reformatJson);
+                    updateQueryResultEditor(result, queryResultEditor);
                     final StringBuilder queryResultText = new StringBuilder(virtualFile.getName()).
                         append(": ").
                         append(sw.getTime()).
                         append(" ms execution time, ").
-                        append(bytesToDisplayString(responseJson.length())).
+                        append(bytesToDisplayString(result.getLength())).
                         append(" response");
+                    if (result.isTruncated()) {
+                        queryResultText.append(" (showing the first ").append(bytesToDisplayString(result.getText().length())).append(")");
+                    }
 
                     if (errorCount != null && errorCount > 0) {
                         queryResultText.append(", ").append(errorCount).append(" error").append(errorCount > 1 ? "s" : "");
@@ -435,31 +439,53 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
     }
 
     public void showQueryResult(@NotNull String jsonResponse) {
-        ApplicationManager.getApplication().invokeLater(() -> {
-            TextEditor textEditor = GraphQLToolWindow.getQueryResultEditor(myProject);
-            if (textEditor == null) return;
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            final GraphQLQueryResultFormatter.FormattedResult result;
+            try {
+                result = GraphQLQueryResultFormatter.format(myProject, new StringReader(jsonResponse), true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // not expected when reading a string
+            }
+            ApplicationManager.getApplication().invokeLater(() -> {
+                TextEditor textEditor = GraphQLToolWindow.getQueryResultEditor(myProject);
+                if (textEditor == null) return;
 
-            updateQueryResultEditor(jsonResponse, textEditor, true);
-            GraphQLToolWindow.showQueryResultEditor(myProject);
+                updateQueryResultEditor(result, textEditor);
+                GraphQLToolWindow.showQueryResultEditor(myProject);
+            }, myProject.getDisposed());
         });
     }
 
-    private void updateQueryResultEditor(final String responseJson, TextEditor textEditor, boolean reformatJson) {
+    private static void updateQueryResultEditor(@NotNull GraphQLQueryResultFormatter.FormattedResult result, @NotNull TextEditor textEditor) {
+        // a truncated result is shown read-only, since it's incomplete and editing it would be misleading
+        final Document document = textEditor.getEditor().getDocument();
         ApplicationManager.getApplication().runWriteAction(() -> {
-            String documentJson = StringUtil.convertLineSeparators(responseJson);
-            if (reformatJson) {
-                final PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(myProject);
-                final PsiFile jsonPsiFile = psiFileFactory.createFileFromText("", JsonFileType.INSTANCE, documentJson);
-                CodeStyleManagerImpl.getInstance(myProject).reformat(jsonPsiFile);
-                final Document document = jsonPsiFile.getViewProvider().getDocument();
-                if (document != null) {
-                    documentJson = document.getText();
+            document.setReadOnly(false);
+            document.setText(result.getText());
+            document.setReadOnly(result.isTruncated());
+        });
+    }
+
+    @NotNull
+    private static Reader createResponseReader(@Nullable HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return new StringReader("");
+        }
+        // the same charset as EntityUtils.toString would use
+        Charset charset = null;
+        try {
+            final ContentType contentType = ContentType.get(entity);
+            if (contentType != null) {
+                charset = contentType.getCharset();
+                if (charset == null) {
+                    final ContentType defaultContentType = ContentType.getByMimeType(contentType.getMimeType());
+                    charset = defaultContentType != null ? defaultContentType.getCharset() : null;
                 }
             }
-
-            final Document document = textEditor.getEditor().getDocument();
-            document.setText(documentJson);
-        });
+        } catch (UnsupportedCharsetException e) {
+            throw new UnsupportedEncodingException(e.getMessage());
+        }
+        return new InputStreamReader(entity.getContent(), charset != null ? charset : StandardCharsets.ISO_8859_1);
     }
 
     @NotNull
@@ -482,21 +508,6 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
             .create();
     }
 
-    private Integer getErrorCount(String responseJson) {
-        try {
-            final Map res = new Gson().fromJson(responseJson, Map.class);
-            if (res != null) {
-                final Object errors = res.get("errors");
-                if (errors instanceof Collection) {
-                    return ((Collection) errors).size();
-                }
-                return 0;
-            }
-        } catch (JsonSyntaxException ignored) {
-        }
-        return null;
-    }
-
     private Object getQueryVariables(Editor editor) {
         final Editor variablesEditor = editor.getUserData(GRAPH_QL_VARIABLES_EDITOR);
         if (variablesEditor != null) {
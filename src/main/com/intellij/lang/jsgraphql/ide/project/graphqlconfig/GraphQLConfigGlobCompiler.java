@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
+
+import com.intellij.util.SmartList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Translates graphql-config globs to regular expressions, following the minimatch semantics used by graphql-config
+ * with the "matchBase" option, i.e. globs without slashes are matched against the file name.
+ * <p>
+ * A list of globs is compiled into a single pattern for the globs which match the relative path and one for the globs which
+ * match the file name, so a path is checked against all the globs at once. Negated globs and extended globs, e.g. "+(a|b)",
+ * are passed to the fallback matcher instead.
+ */
+final class GraphQLConfigGlobCompiler {
+
+    private static final String REGEX_META_CHARS = "\\.[]{}()*+-?^$|&";
+
+    private GraphQLConfigGlobCompiler() {
+    }
+
+    /**
+     * @param globs           the globs to compile
+     * @param fallbackMatcher the matcher used for the globs which can't be translated
+     * @return a predicate which tests whether a relative file path matches any of the globs
+     */
+    @NotNull
+    static Predicate<String> compile(@Nullable List<String> globs, @NotNull GraphQLConfigGlobMatcher fallbackMatcher) {
+        if (globs == null || globs.isEmpty()) {
+            return path -> false;
+        }
+
+        final StringBuilder pathRegex = new StringBuilder();
+        final StringBuilder nameRegex = new StringBuilder();
+        final List<String> fallbackGlobs = new SmartList<>();
+        for (String glob : globs) {
+            final String regex = glob.startsWith("!") ? null : toRegex(glob);
+            if (regex == null) {
+                fallbackGlobs.add(glob);
+                continue;
+            }
+            final StringBuilder target = isMatchedAgainstName(glob) ? nameRegex : pathRegex;
+            if (target.length() > 0) {
+                target.append('|');
+            }
+            target.append("(?:").append(regex).append(')');
+        }
+
+        final Pattern pathPattern = pathRegex.length() > 0 ? Pattern.compile(pathRegex.toString()) : null;
+        final Pattern namePattern = nameRegex.length() > 0 ? Pattern.compile(nameRegex.toString()) : null;
+        return path -> {
+            if (pathPattern != null && pathPattern.matcher(path).matches()) {
+                return true;
+            }
+            if (namePattern != null && namePattern.matcher(path).region(path.lastIndexOf('/') + 1, path.length()).matches()) {
+                return true;
+            }
+            for (String glob : fallbackGlobs) {
+                if (fallbackMatcher.matches(path, glob)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    static boolean isMatchedAgainstName(@NotNull String glob) {
+        return glob.indexOf('/') < 0;
+    }
+
+    /**
+     * @return the regular expression for the glob, or null if the glob uses syntax which isn't supported
+     */
+    @Nullable
+    static String toRegex(@NotNull String glob) {
+        if (glob.startsWith("#")) {
+            // a comment, which doesn't match anything
+            return "(?!)";
+        }
+        final StringBuilder regex = new StringBuilder();
+        return appendRegex(glob, true, regex) ? regex.toString() : null;
+    }
+
+    private static boolean appendRegex(@NotNull String glob, boolean segmentStart, @NotNull StringBuilder regex) {
+        int i = 0;
+        final int length = glob.length();
+        while (i < length) {
+            final char c = glob.charAt(i);
+            if (i + 1 < length && glob.charAt(i + 1) == '(' && "?*+@!".indexOf(c) >= 0) {
+                return false; // extended glob
+            }
+
+            if (c == '\\' && i + 1 < length) {
+                appendLiteral(glob.charAt(i + 1), regex);
+                i += 2;
+                segmentStart = false;
+            } else if (c == '/') {
+                regex.append('/');
+                i++;
+                segmentStart = true;
+            } else if (c == '*') {
+                int end = i;
+                while (end < length && glob.charAt(end) == '*') {
+                    end++;
+                }
+                final boolean wholeSegment = segmentStart && (end == length || glob.charAt(end) == '/');
+                if (end - i > 1 && wholeSegment) {
+                    if (end == length) {
+                        // trailing globstar, matches one or more segments which don't start with a dot
+                        regex.append("(?!\\.)[^/]*(?:/(?!\\.)[^/]*)*");
+                        i = end;
+                    } else {
+                        // matches zero or more leading segments which don't start with a dot
+                        regex.append("(?:(?!\\.)[^/]*/)*");
+                        i = end + 1;
+                        continue; // still at the start of a segment
+                    }
+                } else {
+                    if (segmentStart) {
+                        regex.append("(?!\\.)(?=[^/])");
+                    }
+                    regex.append("[^/]*");
+                    i = end;
+                }
+                segmentStart = false;
+            } else if (c == '?') {
+                if (segmentStart) {
+                    regex.append("(?!\\.)");
+                }
+                regex.append("[^/]");
+                i++;
+                segmentStart = false;
+            } else if (c == '[') {
+                final int end = findClassEnd(glob, i);
+                if (end < 0) {
+                    appendLiteral(c, regex);
+                    i++;
+                } else {
+                    appendClass(glob.substring(i + 1, end), segmentStart, regex);
+                    i = end + 1;
+                }
+                segmentStart = false;
+            } else if (c == '{') {
+                final int end = findBraceEnd(glob, i);
+                final List<String> alternatives = end < 0 ? null : splitAlternatives(glob.substring(i + 1, end));
+                if (alternatives == null) {
+                    appendLiteral(c, regex);
+                    i++;
+                } else {
+                    regex.append("(?:");
+                    for (int j = 0; j < alternatives.size(); j++) {
+                        if (j > 0) {
+                            regex.append('|');
+                        }
+                        final String alternative = alternatives.get(j);
+                        if (alternative.contains("..")) {
+                            return false; // a sequence, e.g. {1..3}
+                        }
+                        if (!appendRegex(alternative, segmentStart, regex)) {
+                            return false;
+                        }
+                    }
+                    regex.append(')');
+                    i = end + 1;
+                }
+                segmentStart = false;
+            } else {
+                appendLiteral(c, regex);
+                i++;
+                segmentStart = false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendLiteral(char c, @NotNull StringBuilder regex) {
+        if (REGEX_META_CHARS.indexOf(c) >= 0) {
+            regex.append('\\');
+        }
+        regex.append(c);
+    }
+
+    private static int findClassEnd(@NotNull String glob, int start) {
+        int i = start + 1;
+        if (i < glob.length() && (glob.charAt(i) == '!' || glob.charAt(i) == '^')) {
+            i++;
+        }
+        if (i < glob.length() && glob.charAt(i) == ']') {
+            i++; // a leading ']' is part of the class
+        }
+        return glob.indexOf(']', i);
+    }
+
+    private static void appendClass(@NotNull String content, boolean segmentStart, @NotNull StringBuilder regex) {
+        regex.append(segmentStart ? "(?!\\.)(?!/)[" : "(?!/)[");
+        int i = 0;
+        if (!content.isEmpty() && (content.charAt(0) == '!' || content.charAt(0) == '^')) {
+            regex.append('^');
+            i++;
+        }
+        for (; i < content.length(); i++) {
+            final char c = content.charAt(i);
+            if (c == '\\' || c == '[' || c == ']' || c == '&' || c == '^') {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        regex.append(']');
+    }
+
+    private static int findBraceEnd(@NotNull String glob, int start) {
+        int depth = 0;
+        for (int i = start; i < glob.length(); i++) {
+            final char c = glob.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the comma separated alternatives, or null if there is only one, since such braces are matched literally
+     */
+    @Nullable
+    private static List<String> splitAlternatives(@NotNull String content) {
+        final List<String> alternatives = new SmartList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < content.length(); i++) {
+            final char c = content.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                alternatives.add(content.substring(start, i));
+                start = i + 1;
+            }
+        }
+        if (alternatives.isEmpty()) {
+            return null;
+        }
+        alternatives.add(content.substring(start));
+        return alternatives;
+    }
+}
@@ -7,6 +7,11 @@
  */
 package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * Glob Matcher which follows the same semantics as minimatch used by graphql-config
  */
@@ -23,4 +28,16 @@ public interface GraphQLConfigGlobMatcher {
      */
     boolean matches(String filePath, String glob);
 
+    /**
+     * Compiles a list of globs into a predicate which can be tested against many file paths
+     *
+     * @param globs the glob patterns to match against
+     *
+     * @return a predicate which is true if a file path relative to the graphql-config file matches any of the globs
+     */
+    @NotNull
+    default Predicate<String> compile(@NotNull List<String> globs) {
+        return filePath -> globs.stream().anyMatch(glob -> matches(filePath, glob));
+    }
+
 }
@@ -7,24 +7,44 @@
  */
 package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
 
-import com.google.common.collect.Maps;
-import com.intellij.openapi.util.Pair;
+import com.intellij.util.containers.SLRUMap;
 import minimatch.Minimatch;
 import minimatch.Options;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
 
 /**
- * Matcher which uses nashorn-minimatch to achieve same glob semantics as graphql-config.
+ * Matcher which translates globs to regular expressions with the same semantics as minimatch used by graphql-config.
+ * Globs which can't be translated, e.g. extended globs, are matched using minimatch.
  */
 public class GraphQLConfigGlobMatcherImpl implements GraphQLConfigGlobMatcher {
 
-    private final static Map<Pair<String, String>, Boolean> matches = Maps.newConcurrentMap();
     private final static Options OPTIONS = new Options().setMatchBase(true);
+    private final static GraphQLConfigGlobMatcher MINIMATCH = (filePath, glob) -> Minimatch.minimatch(filePath, glob, OPTIONS);
+
+    private final SLRUMap<String, Predicate<String>> myCompiledGlobs = new SLRUMap<>(256, 256);
 
     @Override
     public boolean matches(String filePath, String glob) {
-        return matches.computeIfAbsent(Pair.create(filePath, glob), args -> Minimatch.minimatch(args.first, args.second, OPTIONS));
+        Predicate<String> compiledGlob;
+        synchronized (myCompiledGlobs) {
+            compiledGlob = myCompiledGlobs.get(glob);
+        }
+        if (compiledGlob == null) {
+            compiledGlob = compile(Collections.singletonList(glob));
+            synchronized (myCompiledGlobs) {
+                myCompiledGlobs.put(glob, compiledGlob);
+            }
+        }
+        return compiledGlob.test(filePath);
     }
 
+    @NotNull
+    @Override
+    public Predicate<String> compile(@NotNull List<String> globs) {
+        return GraphQLConfigGlobCompiler.compile(globs, MINIMATCH);
+    }
 }
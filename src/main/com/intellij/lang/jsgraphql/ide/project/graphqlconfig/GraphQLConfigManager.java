@@ -124,6 +124,8 @@ public class GraphQLConfigManager implements Disposable {
 
     private static final GraphQLNamedScope NONE = new GraphQLNamedScope("", null);
 
+    private static final String UNCONFIGURED_SCOPE_ID_PREFIX = "file:";
+
     private final Project myProject;
     private final GlobalSearchScope projectScope;
     private final GraphQLConfigGlobMatcher graphQLConfigGlobMatcher;
@@ -134,6 +136,7 @@ public class GraphQLConfigManager implements Disposable {
     private final Map<GraphQLResolvedConfigData, GraphQLFile> configDataToEntryFiles = Maps.newConcurrentMap();
     private final Map<GraphQLResolvedConfigData, GraphQLConfigPackageSet> configDataToPackageSet = Maps.newConcurrentMap();
     private final Map<String, GraphQLNamedScope> virtualFilePathToScopes = Maps.newConcurrentMap();
+    private final Map<String, Set<String>> virtualFilePathToIncludingScopeIds = Maps.newConcurrentMap();
     private final Map<GraphQLNamedScope, JSGraphQLEndpointSchemaConfiguration> scopeToSchemaEndpointLanguageConfiguration = Maps.newConcurrentMap();
 
     private final ReadWriteLock cacheLock = new ReentrantReadWriteLock(true);
@@ -694,6 +697,7 @@ public class GraphQLConfigManager implements Disposable {
             writeLock.lock();
             this.configFilesToConfigurations = newConfigPathToConfigurations;
             this.virtualFilePathToScopes.clear();
+            this.virtualFilePathToIncludingScopeIds.clear();
             this.configDataToEntryFiles.clear();
             this.configDataToPackageSet.clear();
             this.scopeToSchemaEndpointLanguageConfiguration.clear();
@@ -804,25 +808,18 @@ public class GraphQLConfigManager implements Disposable {
                                 // associated with another project so skip ahead
                                 continue;
                             }
-                            final GraphQLResolvedConfigData projectConfigData = entry.getValue();
-                            final GraphQLConfigPackageSet packageSet = configDataToPackageSet.computeIfAbsent(projectConfigData, dataKey -> {
-                                final GraphQLFile configEntryFile = getConfigurationEntryFile(dataKey);
-                                return new GraphQLConfigPackageSet(dir, configEntryFile, dataKey, graphQLConfigGlobMatcher);
-                            });
+                            final GraphQLConfigPackageSet packageSet = getPackageSet(dir, entry.getValue());
                             if (packageSet.includesVirtualFile(virtualFileWithPath)) {
-                                scopeRef.set(new GraphQLNamedScope("graphql-config:" + dir.getPath() + ":" + entry.getKey(), packageSet));
+                                scopeRef.set(new GraphQLNamedScope(createScopeId(dir, entry.getKey()), packageSet));
                                 return false;
                             }
                         }
                     }
 
                     // then top level config
-                    final GraphQLConfigPackageSet packageSet = configDataToPackageSet.computeIfAbsent(configData, dataKey -> {
-                        final GraphQLFile configEntryFile = getConfigurationEntryFile(dataKey);
-                        return new GraphQLConfigPackageSet(dir, configEntryFile, dataKey, graphQLConfigGlobMatcher);
-                    });
+                    final GraphQLConfigPackageSet packageSet = getPackageSet(dir, configData);
                     if (packageSet.includesVirtualFile(virtualFileWithPath)) {
-                        scopeRef.set(new GraphQLNamedScope("graphql-config:" + dir.getPath(), packageSet));
+                        scopeRef.set(new GraphQLNamedScope(createScopeId(dir, null), packageSet));
                         return false;
                     }
                     return false;
@@ -837,6 +834,84 @@ public class GraphQLConfigManager implements Disposable {
         }
     }
 
+    /**
+     * Gets the id of the schema scope the file resolves against. Files which aren't part of a graphql-config project
+     * resolve against the project wide scope, but each of them gets its own id, see {@link #getSchemaScopeGroupId(String)}.
+     */
+    @NotNull
+    public String getSchemaScopeId(@Nullable VirtualFile virtualFile) {
+        GraphQLNamedScope namedScope = getSchemaScope(virtualFile);
+        if (namedScope != null) {
+            return namedScope.getScopeId();
+        }
+        VirtualFile virtualFileWithPath = GraphQLPsiUtil.getPhysicalVirtualFile(virtualFile);
+        return virtualFileWithPath != null ? UNCONFIGURED_SCOPE_ID_PREFIX + virtualFileWithPath.getPath() : NONE.getScopeId();
+    }
+
+    /**
+     * Gets the id of the scope group a schema scope id belongs to. The per-file ids of files outside of graphql-config projects
+     * all belong to the project wide scope, so a change to it affects all of them. Other scope ids are their own group.
+     */
+    @NotNull
+    public static String getSchemaScopeGroupId(@NotNull String scopeId) {
+        return scopeId.startsWith(UNCONFIGURED_SCOPE_ID_PREFIX) ? NONE.getScopeId() : scopeId;
+    }
+
+    /**
+     * Gets the ids of all schema scopes which include the file, i.e. the scopes whose schema can be affected by changes to it.
+     * Unlike {@link #getSchemaScope(VirtualFile)} this isn't limited to the nearest configuration, since the globs
+     * of several graphql-config projects can match the same file. The project wide scope is always included.
+     * The result is cached per file until the configuration changes.
+     */
+    @NotNull
+    public Set<String> getIncludingSchemaScopeIds(@NotNull VirtualFile virtualFile) {
+        VirtualFile virtualFileWithPath = GraphQLPsiUtil.getPhysicalVirtualFile(virtualFile);
+        if (virtualFileWithPath == null) return Collections.singleton(NONE.getScopeId());
+
+        try {
+            readLock.lock();
+            return virtualFilePathToIncludingScopeIds.computeIfAbsent(
+                virtualFileWithPath.getPath(), path -> findIncludingSchemaScopeIds(virtualFileWithPath));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @NotNull
+    private Set<String> findIncludingSchemaScopeIds(@NotNull VirtualFile virtualFileWithPath) {
+        Set<String> scopeIds = new HashSet<>();
+        scopeIds.add(NONE.getScopeId());
+        for (Map.Entry<VirtualFile, GraphQLConfigData> entry : configFilesToConfigurations.entrySet()) {
+            VirtualFile dir = entry.getKey();
+            GraphQLConfigData configData = entry.getValue();
+            if (configData.projects != null) {
+                for (Map.Entry<String, GraphQLResolvedConfigData> projectEntry : configData.projects.entrySet()) {
+                    if (getPackageSet(dir, projectEntry.getValue()).includesVirtualFile(virtualFileWithPath)) {
+                        scopeIds.add(createScopeId(dir, projectEntry.getKey()));
+                    }
+                }
+            }
+            if (getPackageSet(dir, configData).includesVirtualFile(virtualFileWithPath)) {
+                scopeIds.add(createScopeId(dir, null));
+            }
+        }
+        return Collections.unmodifiableSet(scopeIds);
+    }
+
+    @NotNull
+    private GraphQLConfigPackageSet getPackageSet(@NotNull VirtualFile configBaseDir, @NotNull GraphQLResolvedConfigData configData) {
+        return configDataToPackageSet.computeIfAbsent(configData, dataKey -> {
+            final GraphQLFile configEntryFile = getConfigurationEntryFile(dataKey);
+            return new GraphQLConfigPackageSet(configBaseDir, configEntryFile, dataKey, graphQLConfigGlobMatcher);
+        });
+    }
+
+    @NotNull
+    private static String createScopeId(@NotNull VirtualFile configBaseDir, @Nullable String projectKey) {
+        String scopeId = "graphql-config:" + configBaseDir.getPath();
+        return projectKey != null ? scopeId + ":" + projectKey : scopeId;
+    }
+
     @Nullable
     private VirtualFile getConfigBaseDir(@NotNull VirtualFile virtualFile) {
         VirtualFile configBaseDir = null;
@@ -7,21 +7,24 @@
  */
 package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
 
-import com.google.common.collect.Maps;
 import com.intellij.ide.scratch.ScratchUtil;
 import com.intellij.json.JsonFileType;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLResolvedConfigData;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.search.scope.packageSet.NamedScopesHolder;
 import com.intellij.psi.search.scope.packageSet.PackageSet;
 import com.intellij.testFramework.LightVirtualFile;
+import com.intellij.util.containers.SLRUMap;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -38,7 +41,11 @@ public class GraphQLConfigPackageSet implements PackageSet {
 
     private String schemaFilePath;
 
-    private final Map<String, Boolean> includesFilePath = Maps.newConcurrentMap();
+    // the include and exclude globs compiled on first use, since the directory globs are resolved against the config dir,
+    // and compiled again when a directory named by a glob is created or deleted
+    private volatile CompiledGlobs compiledGlobs;
+
+    private final SLRUMap<String, Boolean> includesFilePath = new SLRUMap<>(1024, 1024);
 
     GraphQLConfigPackageSet(VirtualFile configBaseDir, GraphQLFile configEntryFile, GraphQLResolvedConfigData configData, GraphQLConfigGlobMatcher globMatcher) {
 
@@ -128,34 +135,91 @@ public class GraphQLConfigPackageSet implements PackageSet {
             }
         }
 
-        return includesFilePath.computeIfAbsent(inclusionPath, filePath -> {
-            if (filePath.equals(schemaFilePath)) {
-                // fast-path for always including the schema file if present
-                return true;
+        final CompiledGlobs globs = getCompiledGlobs();
+        synchronized (includesFilePath) {
+            final Boolean included = includesFilePath.get(inclusionPath);
+            if (included != null) {
+                return included;
             }
-            final String relativePath;
-            if (filePath.startsWith(configBaseDirPath)) {
-                relativePath = StringUtils.removeStart(filePath, configBaseDirPath);
-            } else {
-                // the file is outside the config base dir, so it's not included
-                return false;
+        }
+        final boolean included = includesFilePath(inclusionPath, globs);
+        synchronized (includesFilePath) {
+            if (compiledGlobs == globs) {
+                includesFilePath.put(inclusionPath, included);
             }
-            return (!hasIncludes || matchesGlobs(relativePath, this.configData.includes)) && !matchesGlobs(relativePath, this.configData.excludes);
-        });
+        }
+        return included;
+    }
+
+    private boolean includesFilePath(@NotNull String filePath, @NotNull CompiledGlobs globs) {
+        if (filePath.equals(schemaFilePath)) {
+            // fast-path for always including the schema file if present
+            return true;
+        }
+        final String relativePath;
+        if (filePath.startsWith(configBaseDirPath)) {
+            relativePath = StringUtils.removeStart(filePath, configBaseDirPath);
+        } else {
+            // the file is outside the config base dir, so it's not included
+            return false;
+        }
+        return (!hasIncludes || globs.includesMatcher.test(relativePath)) && !globs.excludesMatcher.test(relativePath);
+    }
+
+    /**
+     * Gets the compiled globs, which are compiled again if a directory named by a glob has been created or deleted since they were compiled.
+     * The included paths are cleared along with them, since a path may now be inside such a directory.
+     */
+    @NotNull
+    private CompiledGlobs getCompiledGlobs() {
+        final long structureModificationCount = VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS.getModificationCount();
+        final CompiledGlobs globs = compiledGlobs;
+        if (globs != null && globs.structureModificationCount == structureModificationCount) {
+            return globs;
+        }
+        final List<String> expandedIncludes = expandGlobs(configData.includes);
+        final List<String> expandedExcludes = expandGlobs(configData.excludes);
+        final CompiledGlobs newGlobs;
+        if (globs != null && globs.expandedIncludes.equals(expandedIncludes) && globs.expandedExcludes.equals(expandedExcludes)) {
+            // no directory named by a glob has changed, so the matchers and the included paths are still valid
+            newGlobs = new CompiledGlobs(structureModificationCount, globs);
+        } else {
+            newGlobs = new CompiledGlobs(structureModificationCount, expandedIncludes, compileGlobs(expandedIncludes),
+                                         expandedExcludes, compileGlobs(expandedExcludes));
+            synchronized (includesFilePath) {
+                includesFilePath.clear();
+            }
+        }
+        compiledGlobs = newGlobs;
+        return newGlobs;
     }
 
     /**
      * Based on graphl-config: https://github.com/kamilkisiela/graphql-config/blob/b6785a7f0c1b84010cd6e9b94797796254d527b9/src/utils.ts#L52
      */
-    private boolean matchesGlobs(String filePath, List<String> globs) {
-        return Optional.ofNullable(globs).orElse(Collections.emptyList()).stream().anyMatch(glob -> {
+    @NotNull
+    private List<String> expandGlobs(@Nullable List<String> globs) {
+        if (globs == null || globs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> expandedGlobs = new ArrayList<>(globs.size());
+        for (String glob : globs) {
             VirtualFile relativePath = configBaseDir.findFileByRelativePath(glob);
             if (relativePath != null && relativePath.isDirectory()) {
                 // glob is a directory, so include the files in it
                 glob = glob + "/**";
             }
-            return globMatcher.matches(filePath, glob);
-        });
+            expandedGlobs.add(glob);
+        }
+        return expandedGlobs;
+    }
+
+    @NotNull
+    private Predicate<String> compileGlobs(@NotNull List<String> expandedGlobs) {
+        if (expandedGlobs.isEmpty()) {
+            return filePath -> false;
+        }
+        return globMatcher.compile(expandedGlobs);
     }
 
     @NotNull
@@ -202,4 +266,28 @@ public class GraphQLConfigPackageSet implements PackageSet {
     public int hashCode() {
         return Objects.hash(configBaseDirPath, hasIncludes, schemaFilePath);
     }
+
+    private static final class CompiledGlobs {
+        private final long structureModificationCount;
+        private final List<String> expandedIncludes;
+        private final Predicate<String> includesMatcher;
+        private final List<String> expandedExcludes;
+        private final Predicate<String> excludesMatcher;
+
+        private CompiledGlobs(long structureModificationCount,
+                              @NotNull List<String> expandedIncludes,
+                              @NotNull Predicate<String> includesMatcher,
+                              @NotNull List<String> expandedExcludes,
+                              @NotNull Predicate<String> excludesMatcher) {
+            this.structureModificationCount = structureModificationCount;
+            this.expandedIncludes = expandedIncludes;
+            this.includesMatcher = includesMatcher;
+            this.expandedExcludes = expandedExcludes;
+            this.excludesMatcher = excludesMatcher;
+        }
+
+        private CompiledGlobs(long structureModificationCount, @NotNull CompiledGlobs globs) {
+            this(structureModificationCount, globs.expandedIncludes, globs.includesMatcher, globs.expandedExcludes, globs.excludesMatcher);
+        }
+    }
 }
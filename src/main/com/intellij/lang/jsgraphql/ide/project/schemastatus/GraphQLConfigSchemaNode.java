@@ -21,6 +21,7 @@ import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaInfo;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
 import com.intellij.openapi.fileEditor.ex.FileEditorManagerEx;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Ref;
@@ -28,7 +29,6 @@ import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.ui.SimpleTextAttributes;
 import com.intellij.ui.treeStructure.CachingSimpleNode;
 import com.intellij.ui.treeStructure.SimpleNode;
-import com.intellij.util.SlowOperations;
 import com.intellij.util.ui.UIUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -42,6 +42,8 @@ import java.util.Map;
  */
 public class GraphQLConfigSchemaNode extends CachingSimpleNode {
 
+    // null until the schema has been built in the background, see GraphQLSchemasPanel
+    @Nullable
     private final GraphQLSchemaInfo mySchemaInfo;
     private final GraphQLConfigManager configManager;
     private final GraphQLResolvedConfigData configData;
@@ -88,7 +90,7 @@ public class GraphQLConfigSchemaNode extends CachingSimpleNode {
             configurationEntryFile = configManager.getConfigurationEntryFile(configData);
             endpoints = GraphQLFileType.isGraphQLFile(project, configurationEntryFile.getVirtualFile())
                 ? configManager.getEndpoints(configurationEntryFile.getVirtualFile()) : null;
-            mySchemaInfo = SlowOperations.allowSlowOperations(() -> registry.getSchemaInfo(configurationEntryFile));
+            mySchemaInfo = registry.getCachedSchemaInfo(configurationEntryFile);
         } else {
             mySchemaInfo = null;
             endpoints = null;
@@ -120,6 +122,22 @@ public class GraphQLConfigSchemaNode extends CachingSimpleNode {
         return configFile;
     }
 
+    /**
+     * Builds the schema of this node and of its projects, unless they're already built.
+     * Should be called in a background read action, since building a schema can take a while.
+     */
+    void loadSchema() {
+        if (performSchemaDiscovery) {
+            GraphQLSchemaProvider.getInstance(myProject).getSchemaInfo(configurationEntryFile);
+        }
+        if (projectsConfigData != null) {
+            for (GraphQLResolvedConfigData projectConfigData : projectsConfigData.values()) {
+                ProgressManager.checkCanceled();
+                new GraphQLConfigSchemaNode(myProject, this, configManager, projectConfigData, configBaseDir).loadSchema();
+            }
+        }
+    }
+
     @Override
     protected void update(PresentationData presentation) {
         super.update(presentation);
@@ -131,9 +149,13 @@ public class GraphQLConfigSchemaNode extends CachingSimpleNode {
     public SimpleNode[] buildChildren() {
         final List<SimpleNode> children = Lists.newArrayList();
         if (performSchemaDiscovery) {
-            children.add(new GraphQLSchemaContentNode(this, mySchemaInfo));
-            if (mySchemaInfo.getRegistryInfo().isProcessedGraphQL()) {
-                children.add(new GraphQLSchemaErrorsListNode(this, mySchemaInfo));
+            if (mySchemaInfo == null) {
+                children.add(new GraphQLSchemaLoadingNode(this));
+            } else {
+                children.add(new GraphQLSchemaContentNode(this, mySchemaInfo));
+                if (mySchemaInfo.getRegistryInfo().isProcessedGraphQL()) {
+                    children.add(new GraphQLSchemaErrorsListNode(this, mySchemaInfo));
+                }
             }
         }
         if (projectsConfigData != null && !projectsConfigData.isEmpty()) {
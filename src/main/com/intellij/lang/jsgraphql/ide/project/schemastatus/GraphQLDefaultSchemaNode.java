@@ -16,8 +16,8 @@ import com.intellij.lang.jsgraphql.schema.GraphQLSchemaInfo;
 import com.intellij.openapi.project.Project;
 import com.intellij.ui.treeStructure.CachingSimpleNode;
 import com.intellij.ui.treeStructure.SimpleNode;
-import com.intellij.util.SlowOperations;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -26,6 +26,10 @@ import java.util.List;
  */
 public class GraphQLDefaultSchemaNode extends CachingSimpleNode {
 
+    private final GraphQLFile myDefaultProjectFile;
+
+    // null until the schema has been built in the background, see GraphQLSchemasPanel
+    @Nullable
     private final GraphQLSchemaInfo mySchemaInfo;
 
     protected GraphQLDefaultSchemaNode(Project project, GraphQLSchemasRootNode graphQLSchemasRootNode) {
@@ -33,16 +37,28 @@ public class GraphQLDefaultSchemaNode extends CachingSimpleNode {
         myName = "Default project-wide schema";
         getPresentation().setLocationString(project.getPresentableUrl());
         getPresentation().setIcon(GraphQLIcons.Files.GraphQLSchema);
-        final GraphQLFile defaultProjectFile = GraphQLPsiSearchHelper.getInstance(myProject).getDefaultProjectFile();
-        final GraphQLSchemaProvider registry = GraphQLSchemaProvider.getInstance(myProject);
-        mySchemaInfo = SlowOperations.allowSlowOperations(() -> registry.getSchemaInfo(defaultProjectFile));
+        myDefaultProjectFile = GraphQLPsiSearchHelper.getInstance(myProject).getDefaultProjectFile();
+        mySchemaInfo = GraphQLSchemaProvider.getInstance(myProject).getCachedSchemaInfo(myDefaultProjectFile);
+    }
+
+    /**
+     * Builds the default schema, unless it's already built.
+     * Should be called in a background read action, since building a schema can take a while.
+     */
+    void loadSchema() {
+        GraphQLSchemaProvider.getInstance(myProject).getSchemaInfo(myDefaultProjectFile);
     }
 
     @Override
     public SimpleNode[] buildChildren() {
-        final List<SimpleNode> children = Lists.newArrayList(new GraphQLSchemaContentNode(this, mySchemaInfo));
-        if (mySchemaInfo.getRegistryInfo().isProcessedGraphQL()) {
-            children.add(new GraphQLSchemaErrorsListNode(this, mySchemaInfo));
+        final List<SimpleNode> children = Lists.newArrayList();
+        if (mySchemaInfo == null) {
+            children.add(new GraphQLSchemaLoadingNode(this));
+        } else {
+            children.add(new GraphQLSchemaContentNode(this, mySchemaInfo));
+            if (mySchemaInfo.getRegistryInfo().isProcessedGraphQL()) {
+                children.add(new GraphQLSchemaErrorsListNode(this, mySchemaInfo));
+            }
         }
         children.add(new GraphQLSchemaEndpointsListNode(this, null, null));
         return children.toArray(SimpleNode.NO_CHILDREN);
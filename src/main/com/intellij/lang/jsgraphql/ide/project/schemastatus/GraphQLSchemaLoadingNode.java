@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.schemastatus;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.ui.treeStructure.CachingSimpleNode;
+import com.intellij.ui.treeStructure.SimpleNode;
+
+/**
+ * Tree node shown in place of the schema details while the schema is being built in the background
+ */
+public class GraphQLSchemaLoadingNode extends CachingSimpleNode {
+
+    public GraphQLSchemaLoadingNode(SimpleNode parent) {
+        super(parent);
+        myName = "Schema discovery in progress...";
+        setIcon(AllIcons.Process.Step_passive);
+    }
+
+    @Override
+    public SimpleNode[] buildChildren() {
+        return NO_CHILDREN;
+    }
+}
@@ -19,12 +19,13 @@ import com.intellij.openapi.Disposable;
 import com.intellij.openapi.actionSystem.*;
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
 import com.intellij.openapi.fileEditor.FileEditorManagerListener;
-import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.DumbService;
-import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Condition;
 import com.intellij.openapi.util.Disposer;
@@ -36,6 +37,7 @@ import com.intellij.ui.treeStructure.SimpleNode;
 import com.intellij.ui.treeStructure.SimpleTree;
 import com.intellij.ui.treeStructure.SimpleTreeBuilder;
 import com.intellij.ui.treeStructure.SimpleTreeStructure;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.ui.tree.TreeUtil;
 import org.jetbrains.annotations.NotNull;
@@ -129,33 +131,36 @@ public class GraphQLSchemasPanel extends JPanel implements Disposable {
             final TreeUpdate updateToPerform = shouldUpdateTree.getAndSet(TreeUpdate.NONE);
             if (updateToPerform != TreeUpdate.NONE) {
                 final long startVersion = mySchemaChangeTracker.getSchemaModificationTracker().getModificationCount();
+                if (isInitialized.compareAndSet(false, true)) {
+                    // show the schemas right away, with placeholders for the ones which haven't been built yet
+                    myBuilder.updateFromRoot(true);
+                }
                 myBuilder.cancelUpdate().doWhenProcessed(() -> {
-                    application.executeOnPooledThread(() -> {
-                        // run the schema discovery on a pooled to prevent blocking of the UI thread by asking the nodes for heir child nodes
-                        // the schema caches will be ready when the UI thread then needs to show the tree nodes
-                        if (myProject.isDisposed()) {
-                            return;
-                        }
-                        try {
-                            application.runReadAction(() -> {
-                                // use read action to enable use of indexes
-                                final GraphQLSchemasRootNode root = (GraphQLSchemasRootNode) treeStructure.getRootElement();
-                                for (SimpleNode schemaNode : root.getChildren()) {
-                                    for (SimpleNode node : schemaNode.getChildren()) {
-                                        node.getChildren();
-                                    }
-                                }
-                                final long endVersion = mySchemaChangeTracker.getSchemaModificationTracker().getModificationCount();
-                                if (isInitialized.compareAndSet(false, true) || startVersion == endVersion) {
-                                    // initial update or we're still on the same version
-                                    // otherwise a new update is pending so don't need to call the updateFromRoot in this thread
-                                    myBuilder.updateFromRoot(updateToPerform == TreeUpdate.REBUILD);
+                    // build the schemas in a background read action, which is cancelled and restarted by write actions,
+                    // so the schema discovery doesn't block the UI thread or typing in the editor.
+                    // The nodes only show the schemas which are already built, which are the same ones the annotators use.
+                    ReadAction
+                        .nonBlocking(() -> {
+                            final GraphQLSchemasRootNode root = (GraphQLSchemasRootNode) treeStructure.getRootElement();
+                            for (SimpleNode schemaNode : root.getChildren()) {
+                                ProgressManager.checkCanceled();
+                                if (schemaNode instanceof GraphQLConfigSchemaNode) {
+                                    ((GraphQLConfigSchemaNode) schemaNode).loadSchema();
+                                } else if (schemaNode instanceof GraphQLDefaultSchemaNode) {
+                                    ((GraphQLDefaultSchemaNode) schemaNode).loadSchema();
                                 }
-                            });
-                        } catch (IndexNotReadyException | ProcessCanceledException ignored) {
-                            // allowed to happen here -- retry will run later
-                        }
-                    });
+                            }
+                        })
+                        .inSmartMode(myProject)
+                        .expireWith(this)
+                        .finishOnUiThread(ModalityState.any(), ignored -> {
+                            final long endVersion = mySchemaChangeTracker.getSchemaModificationTracker().getModificationCount();
+                            if (startVersion == endVersion) {
+                                // otherwise a new update is pending, which updates the tree once its schemas are built
+                                myBuilder.updateFromRoot(updateToPerform == TreeUpdate.REBUILD);
+                            }
+                        })
+                        .submit(AppExecutorUtil.getAppExecutorService());
                 });
             }
         };
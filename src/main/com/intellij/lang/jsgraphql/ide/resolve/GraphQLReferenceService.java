@@ -12,6 +12,10 @@ import com.intellij.lang.jsgraphql.endpoint.ide.project.JSGraphQLEndpointNamedTy
 import com.intellij.lang.jsgraphql.endpoint.ide.type.JSGraphQLLegacyNamedType;
 import com.intellij.lang.jsgraphql.endpoint.ide.type.JSGraphQLLegacyPropertyType;
 import com.intellij.lang.jsgraphql.endpoint.psi.*;
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLDirectiveDefinitionIndex;
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLEnumValueDefinitionIndex;
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLFragmentDefinitionIndex;
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLTypeNameDefinitionIndex;
 import com.intellij.lang.jsgraphql.ide.search.GraphQLPsiSearchHelper;
 import com.intellij.lang.jsgraphql.psi.*;
 import com.intellij.lang.jsgraphql.psi.impl.GraphQLDirectiveImpl;
@@ -33,13 +37,16 @@ import com.intellij.psi.PsiReferenceBase;
 import com.intellij.psi.impl.AnyPsiChangeListener;
 import com.intellij.psi.impl.PsiManagerImpl;
 import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.psi.stubs.StubIndexKey;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.Processor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public class GraphQLReferenceService implements Disposable {
@@ -278,18 +285,19 @@ public class GraphQLReferenceService implements Disposable {
                         final JSGraphQLLegacyNamedType namedType = endpointNamedTypeRegistry.getNamedType(GraphQLSchemaUtil.getUnmodifiedType(typeScope).getName(), field);
                         if (namedType != null) {
                             JSGraphQLLegacyPropertyType property = namedType.properties.get(name);
+                            final PsiElement definitionElement = namedType.getDefinitionElement();
                             if (property != null) {
-                                reference.set(createReference(element, property.propertyElement));
-                            } else if (namedType.definitionElement instanceof JSGraphQLEndpointObjectTypeDefinition) {
+                                reference.set(createReference(element, property.getPropertyElement()));
+                            } else if (definitionElement instanceof JSGraphQLEndpointObjectTypeDefinition) {
                                 // field is potentially auto-implemented, so look in the interfaces types
-                                final JSGraphQLEndpointImplementsInterfaces implementsInterfaces = ((JSGraphQLEndpointObjectTypeDefinition) namedType.definitionElement).getImplementsInterfaces();
+                                final JSGraphQLEndpointImplementsInterfaces implementsInterfaces = ((JSGraphQLEndpointObjectTypeDefinition) definitionElement).getImplementsInterfaces();
                                 if (implementsInterfaces != null) {
                                     for (JSGraphQLEndpointNamedType implementedType : implementsInterfaces.getNamedTypeList()) {
                                         final JSGraphQLLegacyNamedType interfaceType = endpointNamedTypeRegistry.getNamedType(implementedType.getName(), field);
                                         if (interfaceType != null) {
                                             property = interfaceType.properties.get(name);
                                             if (property != null) {
-                                                reference.set(createReference(element, property.propertyElement));
+                                                reference.set(createReference(element, property.getPropertyElement()));
                                                 break;
                                             }
                                         }
@@ -327,13 +335,15 @@ public class GraphQLReferenceService implements Disposable {
         // NOTE: concurrent hash map doesn't allow nulls, so using the NULL_REFERENCE sentinel value to avoid re-computation of unresolvable references
         PsiReference psiReference = logicalTypeNameToReference.get(logicalTypeName);
         if (psiReference == null) {
-            psiReference = resolveUsingIndex(element, psiNamedElement -> psiNamedElement instanceof GraphQLIdentifier && psiNamedElement.getParent() instanceof GraphQLTypeNameDefinition);
+            psiReference = resolveUsingIndex(element, GraphQLTypeNameDefinitionIndex.KEY, GraphQLTypeNameDefinition.class,
+                psiNamedElement -> psiNamedElement instanceof GraphQLIdentifier && psiNamedElement.getParent() instanceof GraphQLTypeNameDefinition);
             if (psiReference == null) {
                 // fallback to resolving to Endpoint language elements
                 final JSGraphQLEndpointNamedTypeRegistry endpointNamedTypeRegistry = JSGraphQLEndpointNamedTypeRegistry.getService(element.getProject());
                 final JSGraphQLLegacyNamedType namedType = endpointNamedTypeRegistry.getNamedType(element.getName(), element);
-                if (namedType != null) {
-                    psiReference = createReference(element, namedType.nameElement);
+                final PsiNamedElement nameElement = namedType != null ? namedType.getNameElement() : null;
+                if (nameElement != null) {
+                    psiReference = createReference(element, nameElement);
                 }
             }
             // use sentinel to avoid nulls
@@ -344,7 +354,8 @@ public class GraphQLReferenceService implements Disposable {
 
 
     PsiReference resolveFragmentDefinition(GraphQLReferenceMixin element) {
-        return resolveUsingIndex(element, psiNamedElement -> psiNamedElement instanceof GraphQLIdentifier && psiNamedElement.getParent() instanceof GraphQLFragmentDefinition);
+        return resolveUsingIndex(element, GraphQLFragmentDefinitionIndex.KEY, GraphQLFragmentDefinition.class,
+            psiNamedElement -> psiNamedElement instanceof GraphQLIdentifier && psiNamedElement.getParent() instanceof GraphQLFragmentDefinition);
     }
 
     private PsiReference resolveObjectField(GraphQLReferenceMixin element, GraphQLObjectField field) {
@@ -375,7 +386,7 @@ public class GraphQLReferenceService implements Disposable {
                         if (namedType != null) {
                             final JSGraphQLLegacyPropertyType property = namedType.properties.get(field.getName());
                             if (property != null) {
-                                return createReference(element, property.propertyElement);
+                                return createReference(element, property.getPropertyElement());
                             }
                         }
                     }
@@ -395,7 +406,7 @@ public class GraphQLReferenceService implements Disposable {
                 if (typeScope != null) {
                     final String namedTypeScope = GraphQLSchemaUtil.getUnmodifiedType(typeScope).getName();
                     final Ref<Boolean> resolved = Ref.create(false);
-                    final PsiReference reference = resolveUsingIndex(element, psiNamedElement -> {
+                    final PsiReference reference = resolveUsingIndex(element, GraphQLEnumValueDefinitionIndex.KEY, GraphQLEnumValueDefinition.class, psiNamedElement -> {
                         if (psiNamedElement.getParent() instanceof GraphQLEnumValue) {
                             final GraphQLEnumTypeDefinition enumTypeDefinition = PsiTreeUtil.getParentOfType(psiNamedElement, GraphQLEnumTypeDefinition.class);
                             if (enumTypeDefinition != null && enumTypeDefinition.getTypeNameDefinition() != null) {
@@ -411,8 +422,8 @@ public class GraphQLReferenceService implements Disposable {
                         // Endpoint Language
                         final JSGraphQLEndpointNamedTypeRegistry endpointNamedTypeRegistry = JSGraphQLEndpointNamedTypeRegistry.getService(element.getProject());
                         final JSGraphQLLegacyNamedType namedType = endpointNamedTypeRegistry.getNamedType(namedTypeScope, element);
-                        if (namedType != null && namedType.definitionElement instanceof JSGraphQLEndpointEnumTypeDefinition) {
-                            final JSGraphQLEndpointEnumValueDefinitionSet enumValueDefinitionSet = ((JSGraphQLEndpointEnumTypeDefinition) namedType.definitionElement).getEnumValueDefinitionSet();
+                        if (namedType != null && namedType.getDefinitionElement() instanceof JSGraphQLEndpointEnumTypeDefinition) {
+                            final JSGraphQLEndpointEnumValueDefinitionSet enumValueDefinitionSet = ((JSGraphQLEndpointEnumTypeDefinition) namedType.getDefinitionElement()).getEnumValueDefinitionSet();
                             if (enumValueDefinitionSet != null) {
                                 for (JSGraphQLEndpointEnumValueDefinition enumValueDefinition : enumValueDefinitionSet.getEnumValueDefinitionList()) {
                                     if (enumValueDefinition.getIdentifier().getText().equals(element.getName())) {
@@ -431,36 +442,58 @@ public class GraphQLReferenceService implements Disposable {
     }
 
     private PsiReference resolveDirective(GraphQLReferenceMixin element) {
-        return resolveUsingIndex(element, psiNamedElement ->
+        return resolveUsingIndex(element, GraphQLDirectiveDefinitionIndex.KEY, GraphQLDirectiveDefinition.class, psiNamedElement ->
             psiNamedElement instanceof GraphQLIdentifier && psiNamedElement.getParent() instanceof GraphQLDirectiveDefinition);
     }
 
 
     private PsiReference resolveUsingIndex(GraphQLReferenceMixin element, Predicate<PsiNamedElement> isMatch) {
         final String name = element.getName();
-        Ref<PsiReference> reference = new Ref<>();
-        if (name != null) {
-            myPsiSearchHelper.processElementsWithWord(element, name, psiNamedElement -> {
-                ProgressManager.checkCanceled();
-                if (isMatch.test(psiNamedElement)) {
-                    reference.set(new PsiReferenceBase<PsiNamedElement>(element, TextRange.from(0, element.getTextLength())) {
-                        @Nullable
-                        @Override
-                        public PsiElement resolve() {
-                            return psiNamedElement;
-                        }
+        if (name == null) {
+            return null;
+        }
+        return resolveUsingIndex(element, isMatch, processor -> myPsiSearchHelper.processElementsWithWord(element, name, processor));
+    }
 
-                        @NotNull
-                        @Override
-                        public Object @NotNull [] getVariants() {
-                            return PsiReference.EMPTY_ARRAY;
-                        }
-                    });
-                    return false; // done searching
-                }
-                return true;
-            });
+    /**
+     * Resolves using the stub index of the definitions, so only the files declaring the name are parsed
+     */
+    private <T extends PsiElement> PsiReference resolveUsingIndex(GraphQLReferenceMixin element,
+                                                                  StubIndexKey<String, T> indexKey,
+                                                                  Class<T> definitionClass,
+                                                                  Predicate<PsiNamedElement> isMatch) {
+        final String name = element.getName();
+        if (name == null) {
+            return null;
         }
+        return resolveUsingIndex(element, isMatch,
+            processor -> myPsiSearchHelper.processNamedDefinitions(element, name, indexKey, definitionClass, processor));
+    }
+
+    private PsiReference resolveUsingIndex(GraphQLReferenceMixin element,
+                                           Predicate<PsiNamedElement> isMatch,
+                                           Consumer<Processor<PsiNamedElement>> search) {
+        Ref<PsiReference> reference = new Ref<>();
+        search.accept(psiNamedElement -> {
+            ProgressManager.checkCanceled();
+            if (isMatch.test(psiNamedElement)) {
+                reference.set(new PsiReferenceBase<PsiNamedElement>(element, TextRange.from(0, element.getTextLength())) {
+                    @Nullable
+                    @Override
+                    public PsiElement resolve() {
+                        return psiNamedElement;
+                    }
+
+                    @NotNull
+                    @Override
+                    public Object @NotNull [] getVariants() {
+                        return PsiReference.EMPTY_ARRAY;
+                    }
+                });
+                return false; // done searching
+            }
+            return true;
+        });
         return reference.get();
     }
 
@@ -11,6 +11,7 @@ package com.intellij.lang.jsgraphql.ide.search;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.intellij.ProjectTopics;
 import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
 import com.intellij.json.psi.JsonStringLiteral;
 import com.intellij.lang.injection.InjectedLanguageManager;
@@ -19,14 +20,15 @@ import com.intellij.lang.jsgraphql.GraphQLLanguage;
 import com.intellij.lang.jsgraphql.ide.findUsages.GraphQLFindUsagesUtil;
 import com.intellij.lang.jsgraphql.ide.indexing.GraphQLFragmentNameIndex;
 import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIdentifierIndex;
+import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIdentifierIndex.IdentifierKind;
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLTypeNameDefinitionIndex;
 import com.intellij.lang.jsgraphql.ide.injection.GraphQLInjectionSearchHelper;
 import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionFilesManager;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigurationListener;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLNamedScope;
 import com.intellij.lang.jsgraphql.ide.search.scope.GraphQLMetaInfSchemaSearchScope;
-import com.intellij.lang.jsgraphql.psi.GraphQLDefinition;
-import com.intellij.lang.jsgraphql.psi.GraphQLFile;
-import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
-import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
+import com.intellij.lang.jsgraphql.psi.*;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeTracker;
 import com.intellij.lang.jsgraphql.schema.library.GraphQLLibraryRootsProvider;
 import com.intellij.openapi.Disposable;
@@ -37,20 +39,26 @@ import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
 import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.util.registry.RegistryValue;
 import com.intellij.openapi.util.registry.RegistryValueListener;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
-import com.intellij.psi.impl.AnyPsiChangeListener;
-import com.intellij.psi.impl.PsiManagerImpl;
+import com.intellij.psi.search.DelegatingGlobalSearchScope;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.GlobalSearchScopesCore;
-import com.intellij.psi.search.scope.packageSet.NamedScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.PairProcessor;
 import com.intellij.util.Processor;
+import com.intellij.util.SmartList;
+import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.messages.MessageBusConnection;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -64,11 +72,23 @@ public class GraphQLPsiSearchHelper implements Disposable {
 
     private static final String GRAPHQL_SEARCH_SCOPE_LIBRARIES_KEY = "graphql.search.scope.libraries";
 
+    // the kinds which can declare a definition found by processNamedDefinitions, with the unclassified introspection names
+    private static final Set<IdentifierKind> DEFINITION_KINDS = EnumSet.of(
+        IdentifierKind.TYPE_DEFINITION_NAME,
+        IdentifierKind.FIELD_DEFINITION_NAME,
+        IdentifierKind.ENUM_VALUE_DEFINITION_NAME,
+        IdentifierKind.DIRECTIVE_DEFINITION_NAME,
+        IdentifierKind.FRAGMENT_DEFINITION_NAME,
+        IdentifierKind.IDENTIFIER_NAME
+    );
+
     private final Project myProject;
     private final GlobalSearchScope myDefaultProjectFileScope;
     private final GraphQLConfigManager myConfigManager;
 
-    private final Map<String, GlobalSearchScope> myFileNameToSchemaScope = Maps.newConcurrentMap();
+    // the composed search scopes only depend on the configuration, the project roots including the libraries and the registry
+    private final Map<GraphQLNamedScope, GlobalSearchScope> myNamedScopeToSearchScope = Maps.newConcurrentMap();
+    private volatile @Nullable GlobalSearchScope myProjectSearchScope;
     private final GraphQLFile myDefaultProjectFile;
     private final PsiManager myPsiManager;
     private final @Nullable GraphQLInjectionSearchHelper myInjectionSearchHelper;
@@ -99,6 +119,7 @@ public class GraphQLPsiSearchHelper implements Disposable {
                 Application app = ApplicationManager.getApplication();
                 app.invokeLater(() -> app.runWriteAction(() -> {
                     myShouldSearchInLibraries = value.asBoolean();
+                    clearSearchScopes();
                     PsiManager.getInstance(myProject).dropPsiCaches();
                     DaemonCodeAnalyzer.getInstance(myProject).restart();
                     GraphQLSchemaChangeTracker.getInstance(myProject).schemaChanged();
@@ -106,19 +127,22 @@ public class GraphQLPsiSearchHelper implements Disposable {
             }
         }, this);
 
-        project.getMessageBus().connect(this).subscribe(PsiManagerImpl.ANY_PSI_CHANGE_TOPIC, new AnyPsiChangeListener() {
+        MessageBusConnection connection = project.getMessageBus().connect(this);
+        connection.subscribe(GraphQLConfigManager.TOPIC, (GraphQLConfigurationListener) this::clearSearchScopes);
+        connection.subscribe(ProjectTopics.PROJECT_ROOTS, new ModuleRootListener() {
             @Override
-            public void beforePsiChanged(boolean isPhysical) {
-                // clear the cache on each PSI change
-                myFileNameToSchemaScope.clear();
-            }
-
-            @Override
-            public void afterPsiChanged(boolean isPhysical) {
+            public void rootsChanged(@NotNull ModuleRootEvent event) {
+                // the project content and the library roots, including the GraphQL libraries, are part of the scopes
+                clearSearchScopes();
             }
         });
     }
 
+    private void clearSearchScopes() {
+        myNamedScopeToSearchScope.clear();
+        myProjectSearchScope = null;
+    }
+
     @NotNull
     private GlobalSearchScope createScope(@Nullable GlobalSearchScope configRestrictedScope) {
         GlobalSearchScope scope = GlobalSearchScope.projectScope(myProject);
@@ -153,15 +177,19 @@ public class GraphQLPsiSearchHelper implements Disposable {
      */
     @NotNull
     public GlobalSearchScope getResolveScope(@NotNull PsiElement element) {
-        PsiFile file = element.getContainingFile();
-        return myFileNameToSchemaScope.computeIfAbsent(GraphQLPsiUtil.getFileName(file), fileName -> {
-            final VirtualFile virtualFile = GraphQLPsiUtil.getOriginalVirtualFile(file);
-            final NamedScope configRestrictedScope = myConfigManager.getSchemaScope(virtualFile);
-
-            return configRestrictedScope != null
-                ? createScope(GlobalSearchScopesCore.filterScope(myProject, configRestrictedScope))
-                : createScope(null);
-        });
+        final VirtualFile virtualFile = GraphQLPsiUtil.getOriginalVirtualFile(element.getContainingFile());
+        final GraphQLNamedScope configRestrictedScope = myConfigManager.getSchemaScope(virtualFile);
+        if (configRestrictedScope != null) {
+            return myNamedScopeToSearchScope.computeIfAbsent(configRestrictedScope,
+                namedScope -> createScope(GlobalSearchScopesCore.filterScope(myProject, namedScope)));
+        }
+
+        GlobalSearchScope projectSearchScope = myProjectSearchScope;
+        if (projectSearchScope == null) {
+            projectSearchScope = createScope(null);
+            myProjectSearchScope = projectSearchScope;
+        }
+        return projectSearchScope;
     }
 
     /**
@@ -174,50 +202,140 @@ public class GraphQLPsiSearchHelper implements Disposable {
     public List<GraphQLFragmentDefinition> getKnownFragmentDefinitions(@NotNull PsiElement context) {
         try {
             final List<GraphQLFragmentDefinition> fragmentDefinitions = Lists.newArrayList();
-            GlobalSearchScope schemaScope = getResolveScope(context);
-            VirtualFile originalFile = GraphQLPsiUtil.getOriginalVirtualFile(context.getContainingFile());
-            if (originalFile != null && GraphQLFileType.isGraphQLScratchFile(myProject, originalFile)) {
-                // include the fragments defined in the currently edited scratch file (scratch files don't appear to be indexed)
-                fragmentDefinitions.addAll(PsiTreeUtil.getChildrenOfTypeAsList(context.getContainingFile().getOriginalFile(),
-                    GraphQLFragmentDefinition.class));
-            }
+            fragmentDefinitions.addAll(getScratchFileFragmentDefinitions(context));
+
+            final GlobalSearchScope schemaScope = getResolveScope(context);
+            final Map<VirtualFile, Map<String, GraphQLFragmentNameIndex.FragmentInfo>> fileToFragments = new LinkedHashMap<>();
+            processIndexedFragments(schemaScope, (virtualFile, name, fragmentInfo) -> {
+                fileToFragments.computeIfAbsent(virtualFile, f -> new LinkedHashMap<>()).put(name, fragmentInfo);
+                return true;
+            });
+
+            fileToFragments.forEach((virtualFile, fragments) -> {
+                final PsiFile psiFile = myPsiManager.findFile(virtualFile);
+                if (psiFile != null) {
+                    fragmentDefinitions.addAll(findFragmentDefinitions(psiFile, fragments));
+                }
+            });
+            return fragmentDefinitions;
+        } catch (IndexNotReadyException e) {
+            // can't search yet (e.g. during project startup)
+        }
+        return Collections.emptyList();
+    }
 
-            final PsiManager psiManager = PsiManager.getInstance(myProject);
-
-            FileBasedIndex.getInstance().processFilesContainingAllKeys(GraphQLFragmentNameIndex.NAME,
-                Collections.singleton(GraphQLFragmentNameIndex.HAS_FRAGMENTS), schemaScope, null, virtualFile -> {
-
-                    final PsiFile psiFile = psiManager.findFile(virtualFile);
-                    if (psiFile != null) {
-                        final Ref<PsiRecursiveElementVisitor> identifierVisitor = Ref.create();
-                        identifierVisitor.set(new PsiRecursiveElementVisitor() {
-                            @Override
-                            public void visitElement(@NotNull PsiElement element) {
-                                if (element instanceof GraphQLDefinition) {
-                                    if (element instanceof GraphQLFragmentDefinition) {
-                                        fragmentDefinitions.add((GraphQLFragmentDefinition) element);
-                                    }
-                                    return; // no need to visit deeper than definitions since fragments are top level
-                                } else if (element instanceof PsiLanguageInjectionHost) {
-                                    if (visitLanguageInjectionHost((PsiLanguageInjectionHost) element, identifierVisitor)) {
-                                        return;
-                                    }
-                                }
-                                super.visitElement(element);
-                            }
-                        });
-                        psiFile.accept(identifierVisitor.get());
-                    }
+    /**
+     * Processes the names and type conditions of all fragments inside the scope of the specified element.
+     * Only the index is used, so unlike {@link #getKnownFragmentDefinitions} no files have to be loaded.
+     *
+     * @param context   the starting point for finding known fragments
+     * @param processor processor called with the name and the type condition name of each fragment definition
+     */
+    public void processKnownFragments(@NotNull PsiElement context, @NotNull PairProcessor<String, String> processor) {
+        try {
+            for (GraphQLFragmentDefinition fragmentDefinition : getScratchFileFragmentDefinitions(context)) {
+                final String name = fragmentDefinition.getName();
+                if (name != null && !processor.process(name, getTypeConditionName(fragmentDefinition))) {
+                    return;
+                }
+            }
 
-                    return true; // process all known fragments
-                });
-            return fragmentDefinitions;
+            processIndexedFragments(getResolveScope(context),
+                (virtualFile, name, fragmentInfo) -> processor.process(name, fragmentInfo.getTypeConditionName()));
         } catch (IndexNotReadyException e) {
             // can't search yet (e.g. during project startup)
         }
+    }
+
+    private interface IndexedFragmentProcessor {
+        boolean process(@NotNull VirtualFile virtualFile, @NotNull String name, @NotNull GraphQLFragmentNameIndex.FragmentInfo fragmentInfo);
+    }
+
+    private static void processIndexedFragments(@NotNull GlobalSearchScope schemaScope, @NotNull IndexedFragmentProcessor processor) {
+        final FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+        final List<String> names = new ArrayList<>();
+        fileBasedIndex.processAllKeys(GraphQLFragmentNameIndex.NAME, names::add, schemaScope, null);
+        for (String name : names) {
+            // the keys can include names which are no longer defined, so only the values are authoritative
+            final boolean continueProcessing = fileBasedIndex.processValues(GraphQLFragmentNameIndex.NAME, name, null,
+                (virtualFile, fragmentInfo) -> processor.process(virtualFile, name, fragmentInfo), schemaScope);
+            if (!continueProcessing) {
+                return;
+            }
+        }
+    }
+
+    @NotNull
+    private List<GraphQLFragmentDefinition> getScratchFileFragmentDefinitions(@NotNull PsiElement context) {
+        VirtualFile originalFile = GraphQLPsiUtil.getOriginalVirtualFile(context.getContainingFile());
+        if (originalFile != null && GraphQLFileType.isGraphQLScratchFile(myProject, originalFile)) {
+            // include the fragments defined in the currently edited scratch file (scratch files don't appear to be indexed)
+            return PsiTreeUtil.getChildrenOfTypeAsList(context.getContainingFile().getOriginalFile(), GraphQLFragmentDefinition.class);
+        }
         return Collections.emptyList();
     }
 
+    /**
+     * Finds the fragment definitions in a file using the offsets from the fragment index.
+     * The file is only visited for the fragments in injections, or if the index doesn't match the PSI.
+     */
+    @NotNull
+    private List<GraphQLFragmentDefinition> findFragmentDefinitions(@NotNull PsiFile psiFile,
+                                                                    @NotNull Map<String, GraphQLFragmentNameIndex.FragmentInfo> fragments) {
+        final List<GraphQLFragmentDefinition> fragmentDefinitions = new SmartList<>();
+        final Set<String> names = new HashSet<>();
+        fragments.forEach((name, fragmentInfo) -> {
+            final int offset = fragmentInfo.getOffset();
+            final GraphQLFragmentDefinition fragmentDefinition = offset != GraphQLFragmentNameIndex.FragmentInfo.UNKNOWN_OFFSET
+                ? PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), GraphQLFragmentDefinition.class, false)
+                : null;
+            if (fragmentDefinition != null && name.equals(fragmentDefinition.getName())) {
+                fragmentDefinitions.add(fragmentDefinition);
+            } else {
+                names.add(name);
+            }
+        });
+        if (names.isEmpty()) {
+            return fragmentDefinitions;
+        }
+
+        if (psiFile instanceof GraphQLFile) {
+            // fragments are top level, so there's no need to visit deeper than the definitions
+            for (GraphQLDefinition definition : ((GraphQLFile) psiFile).getDefinitions()) {
+                if (definition instanceof GraphQLFragmentDefinition && names.contains(((GraphQLFragmentDefinition) definition).getName())) {
+                    fragmentDefinitions.add((GraphQLFragmentDefinition) definition);
+                }
+            }
+            return fragmentDefinitions;
+        }
+
+        final Ref<PsiRecursiveElementVisitor> identifierVisitor = Ref.create();
+        identifierVisitor.set(new PsiRecursiveElementVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (element instanceof GraphQLDefinition) {
+                    if (element instanceof GraphQLFragmentDefinition && names.contains(((GraphQLFragmentDefinition) element).getName())) {
+                        fragmentDefinitions.add((GraphQLFragmentDefinition) element);
+                    }
+                    return; // no need to visit deeper than definitions since fragments are top level
+                } else if (element instanceof PsiLanguageInjectionHost) {
+                    if (visitLanguageInjectionHost((PsiLanguageInjectionHost) element, identifierVisitor)) {
+                        return;
+                    }
+                }
+                super.visitElement(element);
+            }
+        });
+        psiFile.accept(identifierVisitor.get());
+        return fragmentDefinitions;
+    }
+
+    @Nullable
+    private static String getTypeConditionName(@NotNull GraphQLFragmentDefinition fragmentDefinition) {
+        final GraphQLTypeCondition typeCondition = fragmentDefinition.getTypeCondition();
+        return typeCondition != null && typeCondition.getTypeName() != null ? typeCondition.getTypeName().getName() : null;
+    }
+
     /**
      * Visits the potential GraphQL injection inside an injection host
      *
@@ -240,55 +358,105 @@ public class GraphQLPsiSearchHelper implements Disposable {
      *
      * @param schemaScope the schema scope which limits the processing
      * @param word        the word to match identifiers for
+     * @param kinds       if not null, only the files containing an occurrence of one of these kinds are processed
      * @param processor   processor called for all GraphQL identifiers whose name match the specified word
      * @see GraphQLIdentifierIndex
      */
     private void processElementsWithWordUsingIdentifierIndex(@NotNull GlobalSearchScope schemaScope,
                                                              @NotNull String word,
+                                                             @Nullable Set<IdentifierKind> kinds,
                                                              @NotNull Processor<PsiNamedElement> processor) {
-        FileBasedIndex.getInstance().getFilesWithKey(GraphQLIdentifierIndex.NAME, Collections.singleton(word), virtualFile -> {
+        FileBasedIndex.getInstance().processValues(GraphQLIdentifierIndex.NAME, word, null, (virtualFile, occurrences) -> {
+            if (kinds != null && !occurrences.hasAnyKind(kinds)) {
+                return true;
+            }
             final PsiFile psiFile = myPsiManager.findFile(virtualFile);
-            final Ref<Boolean> continueProcessing = Ref.create(true);
-            if (psiFile != null) {
-                final Set<GraphQLFile> introspectionFiles = Sets.newHashSetWithExpectedSize(1);
-                final Ref<PsiRecursiveElementVisitor> identifierVisitor = Ref.create();
-                identifierVisitor.set(new PsiRecursiveElementVisitor() {
-                    @Override
-                    public void visitElement(@NotNull PsiElement element) {
-                        if (!continueProcessing.get()) {
-                            return; // done visiting as the processor returned false
-                        }
-                        if (element instanceof PsiNamedElement) {
-                            final String name = ((PsiNamedElement) element).getName();
-                            if (word.equals(name)) {
-                                // found an element with a name that matches
-                                continueProcessing.set(processor.process((PsiNamedElement) element));
-                            }
-                            if (!continueProcessing.get()) {
-                                return; // no need to visit other elements
-                            }
-                        } else if (element instanceof JsonStringLiteral) {
-                            GraphQLFile introspectionSDL = GraphQLIntrospectionFilesManager.getOrCreateIntrospectionSDL(virtualFile, psiFile);
-                            if (introspectionFiles.add(introspectionSDL)) {
-                                // index the associated introspection SDL from a JSON introspection result file
-                                introspectionSDL.accept(identifierVisitor.get());
-                            }
-                            return; // no need to visit deeper
-                        } else if (element instanceof PsiLanguageInjectionHost) {
-                            if (visitLanguageInjectionHost((PsiLanguageInjectionHost) element, identifierVisitor)) {
-                                return;
-                            }
-                        }
-                        super.visitElement(element);
-                    }
-                });
-
-                psiFile.accept(identifierVisitor.get());
+            if (psiFile == null) {
+                return true;
             }
-            return continueProcessing.get();
+            if (occurrences.hasKnownOffsets()) {
+                final List<PsiNamedElement> elements = findNamedElementsAtOffsets(psiFile, word, occurrences);
+                if (elements != null) {
+                    return ContainerUtil.process(elements, processor);
+                }
+                // the index is out of sync with the PSI, so fall back to visiting the file
+            }
+            return processElementsWithWordInFile(virtualFile, psiFile, word, processor);
         }, schemaScope);
     }
 
+    /**
+     * Finds the named elements at the indexed identifier offsets, including the parents named by the identifiers,
+     * in the order a visit of the file would encounter them.
+     *
+     * @return the found elements, or null if an offset doesn't point to a matching identifier
+     */
+    @Nullable
+    private static List<PsiNamedElement> findNamedElementsAtOffsets(@NotNull PsiFile psiFile,
+                                                                    @NotNull String word,
+                                                                    @NotNull GraphQLIdentifierIndex.IdentifierOccurrences occurrences) {
+        final Set<PsiNamedElement> elements = new LinkedHashSet<>();
+        final List<PsiNamedElement> namedParents = new SmartList<>();
+        for (int i = 0; i < occurrences.size(); i++) {
+            final PsiElement leaf = psiFile.findElementAt(occurrences.getOffset(i));
+            final PsiElement identifier = leaf != null ? leaf.getParent() : null;
+            if (!(identifier instanceof GraphQLIdentifier) || !word.equals(identifier.getText())) {
+                return null;
+            }
+            namedParents.clear();
+            for (PsiElement element = identifier; element != null && !(element instanceof PsiFile); element = element.getParent()) {
+                if (element instanceof PsiNamedElement && word.equals(((PsiNamedElement) element).getName())) {
+                    namedParents.add((PsiNamedElement) element);
+                }
+            }
+            Collections.reverse(namedParents);
+            elements.addAll(namedParents);
+        }
+        return new ArrayList<>(elements);
+    }
+
+    private boolean processElementsWithWordInFile(@NotNull VirtualFile virtualFile,
+                                                  @NotNull PsiFile psiFile,
+                                                  @NotNull String word,
+                                                  @NotNull Processor<PsiNamedElement> processor) {
+        final Ref<Boolean> continueProcessing = Ref.create(true);
+        final Set<GraphQLFile> introspectionFiles = Sets.newHashSetWithExpectedSize(1);
+        final Ref<PsiRecursiveElementVisitor> identifierVisitor = Ref.create();
+        identifierVisitor.set(new PsiRecursiveElementVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (!continueProcessing.get()) {
+                    return; // done visiting as the processor returned false
+                }
+                if (element instanceof PsiNamedElement) {
+                    final String name = ((PsiNamedElement) element).getName();
+                    if (word.equals(name)) {
+                        // found an element with a name that matches
+                        continueProcessing.set(processor.process((PsiNamedElement) element));
+                    }
+                    if (!continueProcessing.get()) {
+                        return; // no need to visit other elements
+                    }
+                } else if (element instanceof JsonStringLiteral) {
+                    GraphQLFile introspectionSDL = GraphQLIntrospectionFilesManager.getOrCreateIntrospectionSDL(virtualFile, psiFile);
+                    if (introspectionFiles.add(introspectionSDL)) {
+                        // index the associated introspection SDL from a JSON introspection result file
+                        introspectionSDL.accept(identifierVisitor.get());
+                    }
+                    return; // no need to visit deeper
+                } else if (element instanceof PsiLanguageInjectionHost) {
+                    if (visitLanguageInjectionHost((PsiLanguageInjectionHost) element, identifierVisitor)) {
+                        return;
+                    }
+                }
+                super.visitElement(element);
+            }
+        });
+
+        psiFile.accept(identifierVisitor.get());
+        return continueProcessing.get();
+    }
+
     /**
      * Processes all named elements that match the specified word, e.g. the declaration of a type name
      */
@@ -298,7 +466,7 @@ public class GraphQLPsiSearchHelper implements Disposable {
         try {
             GlobalSearchScope searchScope = getResolveScope(scopedElement);
 
-            processElementsWithWordUsingIdentifierIndex(searchScope, word, processor);
+            processElementsWithWordUsingIdentifierIndex(searchScope, word, null, processor);
 
             final PsiRecursiveElementVisitor visitor = new PsiRecursiveElementVisitor() {
                 @Override
@@ -324,6 +492,81 @@ public class GraphQLPsiSearchHelper implements Disposable {
         }
     }
 
+    /**
+     * Processes the name identifiers of the definitions with the specified name, e.g. the declarations of a type or a directive.
+     * <p>
+     * GraphQL files are searched using the stub index, so only the files which declare the name are loaded.
+     * Sources without stubs, i.e. injected GraphQL, introspection results and files too large to be indexed,
+     * are still searched using the identifier index, like in {@link #processElementsWithWord}.
+     *
+     * @param indexKey        the stub index of the definition kind, e.g. {@link GraphQLTypeNameDefinitionIndex#KEY}
+     * @param definitionClass the PSI class of the indexed definitions
+     * @param processor       processor called for the name identifiers of the found definitions
+     */
+    public <T extends PsiElement> void processNamedDefinitions(@NotNull PsiElement scopedElement,
+                                                               @NotNull String name,
+                                                               @NotNull StubIndexKey<String, T> indexKey,
+                                                               @NotNull Class<T> definitionClass,
+                                                               @NotNull Processor<PsiNamedElement> processor) {
+        try {
+            GlobalSearchScope searchScope = getResolveScope(scopedElement);
+
+            boolean continueProcessing = StubIndex.getInstance().processElements(indexKey, name, myProject, searchScope, definitionClass, definition -> {
+                GraphQLIdentifier nameIdentifier = getDefinitionNameIdentifier(definition);
+                return nameIdentifier == null || processor.process(nameIdentifier);
+            });
+            if (!continueProcessing) {
+                return;
+            }
+
+            processElementsWithWordUsingIdentifierIndex(new DelegatingGlobalSearchScope(searchScope) {
+                @Override
+                public boolean contains(@NotNull VirtualFile file) {
+                    return super.contains(file) && !hasStubs(file);
+                }
+            }, name, DEFINITION_KINDS, processor);
+
+            // look in the current scratch file
+            PsiFile containingFile = scopedElement.getContainingFile();
+            VirtualFile originalVirtualFile = GraphQLPsiUtil.getOriginalVirtualFile(containingFile);
+            if (originalVirtualFile != null && GraphQLFileType.isGraphQLScratchFile(myProject, originalVirtualFile)) {
+                containingFile.accept(new PsiRecursiveElementVisitor() {
+                    @Override
+                    public void visitElement(@NotNull PsiElement element) {
+                        if (definitionClass.isInstance(element)) {
+                            GraphQLIdentifier nameIdentifier = getDefinitionNameIdentifier(element);
+                            if (nameIdentifier != null && name.equals(nameIdentifier.getText()) && !processor.process(nameIdentifier)) {
+                                stopWalking();
+                                return;
+                            }
+                        }
+                        super.visitElement(element);
+                    }
+                });
+            }
+        } catch (IndexNotReadyException e) {
+            // can't search yet (e.g. during project startup)
+        }
+    }
+
+    private static boolean hasStubs(@NotNull VirtualFile file) {
+        return GraphQLFileType.INSTANCE.equals(file.getFileType()) && !SingleRootFileViewProvider.isTooLargeForIntelligence(file);
+    }
+
+    @Nullable
+    private static GraphQLIdentifier getDefinitionNameIdentifier(@NotNull PsiElement definition) {
+        if (definition instanceof GraphQLNamedElement) {
+            return ((GraphQLNamedElement) definition).getNameIdentifier();
+        }
+        if (definition instanceof GraphQLDirectiveDefinition) {
+            return ((GraphQLDirectiveDefinition) definition).getNameIdentifier();
+        }
+        if (definition instanceof GraphQLEnumValueDefinition) {
+            return ((GraphQLEnumValueDefinition) definition).getEnumValue().getNameIdentifier();
+        }
+        return null;
+    }
+
     /**
      * Process injected GraphQL PsiFiles
      *
@@ -339,6 +582,30 @@ public class GraphQLPsiSearchHelper implements Disposable {
         }
     }
 
+    /**
+     * Process injected GraphQL PsiFiles which contain type system definitions or extensions
+     *
+     * @param scopedElement the starting point of the enumeration settings the scopedElement of the processing
+     * @param schemaScope   the search scope to use for limiting the schema definitions
+     * @param processor     a processor that will be invoked for each injected GraphQL PsiFile with type system definitions
+     */
+    public void processInjectedGraphQLSchemaPsiFiles(@NotNull PsiElement scopedElement,
+                                                     @NotNull GlobalSearchScope schemaScope,
+                                                     @NotNull Processor<PsiFile> processor) {
+        if (myInjectionSearchHelper != null) {
+            myInjectionSearchHelper.processInjectedGraphQLSchemaPsiFiles(scopedElement, schemaScope, processor);
+        }
+    }
+
+    /**
+     * Gets whether any file in the scope contains injected GraphQL, including the files which only contain queries
+     *
+     * @param schemaScope the search scope to use for limiting the schema definitions
+     */
+    public boolean hasInjectedGraphQLPsiFiles(@NotNull GlobalSearchScope schemaScope) {
+        return myInjectionSearchHelper != null && myInjectionSearchHelper.hasInjectedGraphQLPsiFiles(schemaScope);
+    }
+
     @NotNull
     private GlobalSearchScope createExternalDefinitionsLibraryScope() {
         Collection<VirtualFile> roots = GraphQLLibraryRootsProvider.getLibraries(myProject)
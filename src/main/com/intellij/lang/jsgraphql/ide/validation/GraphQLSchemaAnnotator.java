@@ -17,14 +17,25 @@ import com.intellij.lang.jsgraphql.psi.GraphQLNamedTypeExtension;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaInfo;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
 import com.intellij.lang.jsgraphql.types.GraphQLError;
+import com.intellij.lang.jsgraphql.types.language.Definition;
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.language.FragmentDefinition;
 import com.intellij.lang.jsgraphql.types.language.Node;
 import com.intellij.lang.jsgraphql.types.language.SourceLocation;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
 import com.intellij.lang.jsgraphql.types.validation.ValidationError;
 import com.intellij.lang.jsgraphql.types.validation.ValidationErrorType;
 import com.intellij.lang.jsgraphql.types.validation.Validator;
+import com.intellij.lang.jsgraphql.types.validation.rules.ExecutableDefinitions;
+import com.intellij.lang.jsgraphql.types.validation.rules.FieldsOnCorrectType;
+import com.intellij.lang.jsgraphql.types.validation.rules.KnownFragmentNames;
+import com.intellij.lang.jsgraphql.types.validation.rules.KnownTypeNames;
+import com.intellij.lang.jsgraphql.types.validation.rules.NoUnusedFragments;
+import com.intellij.lang.jsgraphql.types.validation.rules.UniqueOperationNames;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiWhiteSpace;
@@ -35,15 +46,26 @@ import com.intellij.util.containers.ContainerUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.*;
 import java.util.concurrent.CancellationException;
 
 public class GraphQLSchemaAnnotator implements Annotator {
     private static final Logger LOG = Logger.getInstance(GraphQLSchemaAnnotator.class);
 
+    // rules which only report the errors ignored in showDocumentErrors, mostly because the PSI based inspections report them
+    private static final Set<Class<?>> SKIPPED_RULES = Set.of(
+        ExecutableDefinitions.class,
+        FieldsOnCorrectType.class,
+        KnownFragmentNames.class,
+        KnownTypeNames.class,
+        NoUnusedFragments.class,
+        UniqueOperationNames.class
+    );
+
+    private static final Key<DefinitionValidation> DEFINITION_VALIDATION = Key.create("graphql.definition.validation");
+
     @Override
     public void annotate(@NotNull PsiElement psiElement, @NotNull AnnotationHolder annotationHolder) {
         if (!(psiElement instanceof GraphQLFile)) return;
@@ -131,7 +153,42 @@ public class GraphQLSchemaAnnotator implements Annotator {
     }
 
     private @NotNull List<? extends GraphQLError> validateQueryDocument(@NotNull GraphQLSchemaInfo schemaInfo, @NotNull GraphQLFile file) {
-        return new Validator().validateDocument(schemaInfo.getSchema(), file.getDocument());
+        final GraphQLSchema schema = schemaInfo.getSchema();
+        final Document document = file.getDocument();
+        final Validator validator = new Validator();
+
+        // a conflict in a fragment is found by each definition using it, so the same error can be reported more than once
+        final Set<GraphQLError> errors = new LinkedHashSet<>(
+            validator.validateDocumentDefinitions(schema, document, rule -> !SKIPPED_RULES.contains(rule)));
+        final List<PsiElement> fragments = ContainerUtil.mapNotNull(
+            ContainerUtil.filterIsInstance(document.getDefinitions(), FragmentDefinition.class), FragmentDefinition::getElement);
+        for (Definition<?> definition : document.getDefinitions()) {
+            errors.addAll(validateDefinition(validator, schema, document, fragments, definition));
+        }
+        return new ArrayList<>(errors);
+    }
+
+    /**
+     * Validates a definition of the document, reusing the errors of the previous validation if neither the PSI of the definition
+     * nor the PSI of the fragments it can spread has changed.
+     */
+    private @NotNull List<ValidationError> validateDefinition(@NotNull Validator validator,
+                                                              @NotNull GraphQLSchema schema,
+                                                              @NotNull Document document,
+                                                              @NotNull List<PsiElement> fragments,
+                                                              @NotNull Definition<?> definition) {
+        final PsiElement element = definition.getElement();
+        final DefinitionValidation previous = element != null ? element.getUserData(DEFINITION_VALIDATION) : null;
+        if (previous != null && previous.isValidFor(schema, element, fragments)) {
+            return previous.errors;
+        }
+
+        final List<ValidationError> errors = validator.validateDefinition(schema, document, definition,
+            rule -> !SKIPPED_RULES.contains(rule) && !Validator.DOCUMENT_RULES.contains(rule));
+        if (element != null) {
+            element.putUserData(DEFINITION_VALIDATION, new DefinitionValidation(schema, element, fragments, errors));
+        }
+        return errors;
     }
 
     private void showSchemaErrors(@NotNull AnnotationHolder annotationHolder,
@@ -310,4 +367,45 @@ public class GraphQLSchemaAnnotator implements Annotator {
         return element;
     }
 
+
+    private static final class DefinitionValidation {
+        // the validation is stored on the PSI, which mustn't keep a replaced schema from being collected
+        private final Reference<GraphQLSchema> schema;
+        private final long modificationCount;
+        private final List<PsiElement> fragments;
+        private final long[] fragmentModificationCounts;
+        private final List<ValidationError> errors;
+
+        private DefinitionValidation(@NotNull GraphQLSchema schema,
+                                     @NotNull PsiElement definition,
+                                     @NotNull List<PsiElement> fragments,
+                                     @NotNull List<ValidationError> errors) {
+            this.schema = new WeakReference<>(schema);
+            this.modificationCount = getModificationCount(definition);
+            this.fragments = fragments;
+            this.fragmentModificationCounts = new long[fragments.size()];
+            for (int i = 0; i < fragments.size(); i++) {
+                fragmentModificationCounts[i] = getModificationCount(fragments.get(i));
+            }
+            this.errors = errors;
+        }
+
+        boolean isValidFor(@NotNull GraphQLSchema schema, @NotNull PsiElement definition, @NotNull List<PsiElement> fragments) {
+            if (this.schema.get() != schema || modificationCount != getModificationCount(definition) ||
+                this.fragments.size() != fragments.size()) {
+                return false;
+            }
+            for (int i = 0; i < fragments.size(); i++) {
+                if (this.fragments.get(i) != fragments.get(i) ||
+                    fragmentModificationCounts[i] != getModificationCount(fragments.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long getModificationCount(@NotNull PsiElement element) {
+            return GraphQLPsiUtil.getSubtreeModificationTracker(element).getModificationCount();
+        }
+    }
 }
@@ -8,12 +8,15 @@
 package com.intellij.lang.jsgraphql.psi;
 
 import com.intellij.injected.editor.VirtualFileWindow;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.impl.source.tree.CompositeElement;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.testFramework.LightVirtualFile;
 import com.intellij.util.SmartList;
@@ -135,4 +138,18 @@ public class GraphQLPsiUtil {
 
         return element;
     }
+
+    /**
+     * Gets a tracker which changes when the PSI subtree of the element changes, e.g. to cache data derived from a single
+     * definition which is kept while other parts of the file are edited.
+     */
+    @NotNull
+    public static ModificationTracker getSubtreeModificationTracker(@NotNull PsiElement element) {
+        ASTNode node = element.getNode();
+        if (node instanceof CompositeElement) {
+            return ((CompositeElement) node)::getModificationCount;
+        }
+        PsiFile file = element.getContainingFile();
+        return file != null ? file::getModificationStamp : ModificationTracker.NEVER_CHANGED;
+    }
 }
@@ -25,6 +25,10 @@ public abstract class GraphQLFieldMixin extends GraphQLNamedElementImpl implemen
 
     @Override
     public GraphQLType getTypeScope() {
+        return GraphQLTypeScopeCache.getTypeScope(this, this::computeTypeScope);
+    }
+
+    private GraphQLType computeTypeScope() {
         final String fieldName = this.getName();
         if (fieldName != null) {
             // the type scope for a field is the output type of the field, given the name of the field and its parent
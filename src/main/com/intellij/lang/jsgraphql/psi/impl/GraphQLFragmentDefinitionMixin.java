@@ -12,17 +12,27 @@ import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
 import com.intellij.lang.jsgraphql.psi.GraphQLTypeName;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
 import com.intellij.lang.jsgraphql.psi.GraphQLTypeScopeProvider;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLFragmentDefinitionStub;
 import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
 import com.intellij.lang.jsgraphql.types.schema.GraphQLType;
+import com.intellij.psi.stubs.IStubElementType;
 import org.jetbrains.annotations.NotNull;
 
-public abstract class GraphQLFragmentDefinitionMixin extends GraphQLNamedElementImpl implements GraphQLFragmentDefinition, GraphQLTypeScopeProvider {
+public abstract class GraphQLFragmentDefinitionMixin extends GraphQLNamedStubElementImpl<GraphQLFragmentDefinitionStub> implements GraphQLFragmentDefinition, GraphQLTypeScopeProvider {
     public GraphQLFragmentDefinitionMixin(@NotNull ASTNode node) {
         super(node);
     }
 
+    public GraphQLFragmentDefinitionMixin(@NotNull GraphQLFragmentDefinitionStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
     @Override
     public GraphQLType getTypeScope() {
+        return GraphQLTypeScopeCache.getTypeScope(this, this::computeTypeScope);
+    }
+
+    private GraphQLType computeTypeScope() {
         final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(getProject()).getSchemaInfo(this).getSchema();
         if (getTypeCondition() != null) {
             final GraphQLTypeName typeName = getTypeCondition().getTypeName();
@@ -24,6 +24,10 @@ public abstract class GraphQLInlineFragmentMixin extends GraphQLElementImpl impl
 
     @Override
     public GraphQLType getTypeScope() {
+        return GraphQLTypeScopeCache.getTypeScope(this, this::computeTypeScope);
+    }
+
+    private GraphQLType computeTypeScope() {
         final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(getProject()).getSchemaInfo(this).getSchema();
         if (getTypeCondition() != null) {
             final GraphQLTypeName typeName = getTypeCondition().getTypeName();
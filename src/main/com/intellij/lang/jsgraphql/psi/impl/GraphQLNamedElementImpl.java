@@ -17,6 +17,7 @@ import com.intellij.psi.impl.source.tree.Factory;
 import com.intellij.psi.impl.source.tree.LeafElement;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class GraphQLNamedElementImpl extends GraphQLElementImpl implements GraphQLNamedElement {
     public GraphQLNamedElementImpl(@NotNull ASTNode node) {
@@ -25,7 +26,18 @@ public abstract class GraphQLNamedElementImpl extends GraphQLElementImpl impleme
 
     @Override
     public String getName() {
-        PsiElement identifier = getNameIdentifier();
+        return getIdentifierName(this);
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String newName) throws IncorrectOperationException {
+        renameIdentifier(this, newName);
+        return this;
+    }
+
+    @Nullable
+    static String getIdentifierName(@NotNull GraphQLNamedElement element) {
+        PsiElement identifier = element.getNameIdentifier();
         if (identifier == null) return null;
 
         ASTNode identifierNode = identifier.getNode();
@@ -34,9 +46,8 @@ public abstract class GraphQLNamedElementImpl extends GraphQLElementImpl impleme
         return identifierNode.getText();
     }
 
-    @Override
-    public PsiElement setName(@NotNull String newName) throws IncorrectOperationException {
-        final GraphQLIdentifier nameIdentifier = getNameIdentifier();
+    static void renameIdentifier(@NotNull GraphQLNamedElement element, @NotNull String newName) {
+        final GraphQLIdentifier nameIdentifier = element.getNameIdentifier();
         if (nameIdentifier != null) {
             final LeafElement renamedLeaf = Factory.createSingleLeafElement(GraphQLElementTypes.NAME, newName, null, nameIdentifier.getManager());
             final PsiElement renamedPsiElement = SourceTreeToPsiMap.treeElementToPsi(renamedLeaf);
@@ -44,6 +55,5 @@ public abstract class GraphQLNamedElementImpl extends GraphQLElementImpl impleme
                 nameIdentifier.getFirstChild().replace(renamedPsiElement);
             }
         }
-        return this;
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.impl;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.jsgraphql.psi.GraphQLNamedElement;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLNamedStub;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Named element which reads its name from the stub while the AST isn't loaded
+ */
+public abstract class GraphQLNamedStubElementImpl<T extends GraphQLNamedStub<?>> extends GraphQLStubElementImpl<T> implements GraphQLNamedElement {
+
+    public GraphQLNamedStubElementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public GraphQLNamedStubElementImpl(@NotNull T stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    @Override
+    public String getName() {
+        T stub = getGreenStub();
+        if (stub != null) {
+            return stub.getName();
+        }
+        return GraphQLNamedElementImpl.getIdentifierName(this);
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String newName) throws IncorrectOperationException {
+        GraphQLNamedElementImpl.renameIdentifier(this, newName);
+        return this;
+    }
+}
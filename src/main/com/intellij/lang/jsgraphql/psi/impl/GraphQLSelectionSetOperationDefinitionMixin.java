@@ -30,6 +30,10 @@ public abstract class GraphQLSelectionSetOperationDefinitionMixin extends GraphQ
 
     @Override
     public GraphQLType getTypeScope() {
+        return GraphQLTypeScopeCache.getTypeScope(this, this::computeTypeScope);
+    }
+
+    private GraphQLType computeTypeScope() {
         final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(getProject()).getSchemaInfo(this).getSchema();
         // selection set operation definition is an anonymous query
         return schema.getQueryType();
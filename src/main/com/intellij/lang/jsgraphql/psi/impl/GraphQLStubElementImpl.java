@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.impl;
+
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.jsgraphql.psi.GraphQLElement;
+import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Base class for the GraphQL elements which are backed by stubs, see {@link com.intellij.lang.jsgraphql.psi.stubs}
+ */
+public abstract class GraphQLStubElementImpl<T extends StubElement<?>> extends StubBasedPsiElementBase<T> implements GraphQLElement {
+
+    public GraphQLStubElementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public GraphQLStubElementImpl(@NotNull T stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    @Override
+    public @NotNull PsiElement getNavigationElement() {
+        return GraphQLPsiUtil.skipDescription(this);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + getElementType() + ")";
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.impl;
+
+import com.intellij.lang.jsgraphql.psi.GraphQLDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypeScopeProvider;
+import com.intellij.lang.jsgraphql.schema.GraphQLRegistryProvider;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeTracker;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the type scopes resolved in an operation or fragment, since the type scope of a field depends on the type scopes
+ * of all its parents and would otherwise be resolved again for every nested selection.
+ * <p>
+ * The cache is kept on the top level definition and dropped when the file or the schema of its scope changes.
+ */
+final class GraphQLTypeScopeCache {
+
+    private static final Key<CachedValue<Map<GraphQLTypeScopeProvider, Optional<GraphQLType>>>> TYPE_SCOPES =
+        Key.create("graphql.type.scopes");
+
+    private GraphQLTypeScopeCache() {
+    }
+
+    static @Nullable GraphQLType getTypeScope(@NotNull GraphQLTypeScopeProvider element, @NotNull Supplier<GraphQLType> computeTypeScope) {
+        final GraphQLDefinition definition = PsiTreeUtil.getParentOfType(element, GraphQLDefinition.class, false);
+        if (definition == null) {
+            return computeTypeScope.get();
+        }
+
+        final Map<GraphQLTypeScopeProvider, Optional<GraphQLType>> typeScopes = CachedValuesManager.getCachedValue(definition, TYPE_SCOPES, () -> {
+            // only changes to the schema the definition resolves against drop the cache, not the changes in other scopes
+            final Project project = definition.getProject();
+            final String scopeId = GraphQLRegistryProvider.getInstance(project).getScopeId(definition);
+            return CachedValueProvider.Result.create(
+                new ConcurrentHashMap<>(),
+                definition.getContainingFile(),
+                GraphQLSchemaChangeTracker.getInstance(project).getSchemaModificationTracker(scopeId)
+            );
+        });
+
+        Optional<GraphQLType> typeScope = typeScopes.get(element);
+        if (typeScope == null) {
+            // not computeIfAbsent, since resolving the type scope resolves the type scopes of the parents
+            typeScope = Optional.ofNullable(computeTypeScope.get());
+            final Optional<GraphQLType> existing = typeScopes.putIfAbsent(element, typeScope);
+            if (existing != null) {
+                typeScope = existing;
+            }
+        }
+        return typeScope.orElse(null);
+    }
+}
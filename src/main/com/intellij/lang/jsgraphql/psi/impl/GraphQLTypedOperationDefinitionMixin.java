@@ -24,6 +24,10 @@ public abstract class GraphQLTypedOperationDefinitionMixin extends GraphQLNamedE
 
     @Override
     public GraphQLType getTypeScope() {
+        return GraphQLTypeScopeCache.getTypeScope(this, this::computeTypeScope);
+    }
+
+    private GraphQLType computeTypeScope() {
         final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(getProject()).getSchemaInfo(this).getSchema();
         final IElementType operationType = getOperationType().getNode().getFirstChildNode().getElementType();
         if (operationType == GraphQLElementTypes.QUERY_KEYWORD) {
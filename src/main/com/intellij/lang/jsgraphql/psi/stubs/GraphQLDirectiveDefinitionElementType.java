@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLDirectiveDefinitionIndex;
+import com.intellij.lang.jsgraphql.psi.GraphQLDirectiveDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLIdentifier;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLDirectiveDefinitionImpl;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class GraphQLDirectiveDefinitionElementType extends GraphQLNamedStubElementType<GraphQLDirectiveDefinitionStub, GraphQLDirectiveDefinition> {
+
+    public GraphQLDirectiveDefinitionElementType(@NotNull @NonNls String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public GraphQLDirectiveDefinition createPsi(@NotNull GraphQLDirectiveDefinitionStub stub) {
+        return new GraphQLDirectiveDefinitionImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public GraphQLDirectiveDefinitionStub createStub(@NotNull GraphQLDirectiveDefinition psi, StubElement parentStub) {
+        GraphQLIdentifier nameIdentifier = psi.getNameIdentifier();
+        return new GraphQLDirectiveDefinitionStub(parentStub, this, nameIdentifier != null ? nameIdentifier.getText() : null);
+    }
+
+    @Override
+    public void serialize(@NotNull GraphQLDirectiveDefinitionStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+    }
+
+    @NotNull
+    @Override
+    public GraphQLDirectiveDefinitionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return new GraphQLDirectiveDefinitionStub(parentStub, this, dataStream.readNameString());
+    }
+
+    @NotNull
+    @Override
+    protected StubIndexKey<String, GraphQLDirectiveDefinition> getNameIndexKey() {
+        return GraphQLDirectiveDefinitionIndex.KEY;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.psi.GraphQLDirectiveDefinition;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class GraphQLDirectiveDefinitionStub extends GraphQLNamedStub<GraphQLDirectiveDefinition> {
+
+    public GraphQLDirectiveDefinitionStub(@Nullable StubElement<?> parent, @NotNull IStubElementType<?, ?> elementType, @Nullable String name) {
+        super(parent, elementType, name);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLEnumValueDefinitionIndex;
+import com.intellij.lang.jsgraphql.psi.GraphQLEnumValueDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLEnumValueDefinitionImpl;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class GraphQLEnumValueDefinitionElementType extends GraphQLNamedStubElementType<GraphQLEnumValueDefinitionStub, GraphQLEnumValueDefinition> {
+
+    public GraphQLEnumValueDefinitionElementType(@NotNull @NonNls String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public GraphQLEnumValueDefinition createPsi(@NotNull GraphQLEnumValueDefinitionStub stub) {
+        return new GraphQLEnumValueDefinitionImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public GraphQLEnumValueDefinitionStub createStub(@NotNull GraphQLEnumValueDefinition psi, StubElement parentStub) {
+        return new GraphQLEnumValueDefinitionStub(parentStub, this, psi.getEnumValue().getName(), GraphQLPsiUtil.getTypeName(psi, null));
+    }
+
+    @Override
+    public void serialize(@NotNull GraphQLEnumValueDefinitionStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getOwnerTypeName());
+    }
+
+    @NotNull
+    @Override
+    public GraphQLEnumValueDefinitionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return new GraphQLEnumValueDefinitionStub(parentStub, this, dataStream.readNameString(), dataStream.readNameString());
+    }
+
+    @NotNull
+    @Override
+    protected StubIndexKey<String, GraphQLEnumValueDefinition> getNameIndexKey() {
+        return GraphQLEnumValueDefinitionIndex.KEY;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLFieldDefinitionIndex;
+import com.intellij.lang.jsgraphql.psi.GraphQLFieldDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLFieldDefinitionImpl;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class GraphQLFieldDefinitionElementType extends GraphQLNamedStubElementType<GraphQLFieldDefinitionStub, GraphQLFieldDefinition> {
+
+    public GraphQLFieldDefinitionElementType(@NotNull @NonNls String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public GraphQLFieldDefinition createPsi(@NotNull GraphQLFieldDefinitionStub stub) {
+        return new GraphQLFieldDefinitionImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public GraphQLFieldDefinitionStub createStub(@NotNull GraphQLFieldDefinition psi, StubElement parentStub) {
+        return new GraphQLFieldDefinitionStub(parentStub, this, psi.getName(), GraphQLPsiUtil.getTypeName(psi, null));
+    }
+
+    @Override
+    public void serialize(@NotNull GraphQLFieldDefinitionStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getOwnerTypeName());
+    }
+
+    @NotNull
+    @Override
+    public GraphQLFieldDefinitionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return new GraphQLFieldDefinitionStub(parentStub, this, dataStream.readNameString(), dataStream.readNameString());
+    }
+
+    @NotNull
+    @Override
+    protected StubIndexKey<String, GraphQLFieldDefinition> getNameIndexKey() {
+        return GraphQLFieldDefinitionIndex.KEY;
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.psi.GraphQLFieldDefinition;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class GraphQLFieldDefinitionStub extends GraphQLMemberDefinitionStub<GraphQLFieldDefinition> {
+
+    public GraphQLFieldDefinitionStub(@Nullable StubElement<?> parent,
+                                      @NotNull IStubElementType<?, ?> elementType,
+                                      @Nullable String name,
+                                      @Nullable String ownerTypeName) {
+        super(parent, elementType, name, ownerTypeName);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLFragmentDefinitionIndex;
+import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypeCondition;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypeName;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLFragmentDefinitionImpl;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+public class GraphQLFragmentDefinitionElementType extends GraphQLNamedStubElementType<GraphQLFragmentDefinitionStub, GraphQLFragmentDefinition> {
+
+    public GraphQLFragmentDefinitionElementType(@NotNull @NonNls String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public GraphQLFragmentDefinition createPsi(@NotNull GraphQLFragmentDefinitionStub stub) {
+        return new GraphQLFragmentDefinitionImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public GraphQLFragmentDefinitionStub createStub(@NotNull GraphQLFragmentDefinition psi, StubElement parentStub) {
+        return new GraphQLFragmentDefinitionStub(parentStub, this, psi.getName(), getTypeConditionName(psi));
+    }
+
+    @Nullable
+    private static String getTypeConditionName(@NotNull GraphQLFragmentDefinition psi) {
+        GraphQLTypeCondition typeCondition = psi.getTypeCondition();
+        GraphQLTypeName typeName = typeCondition != null ? typeCondition.getTypeName() : null;
+        return typeName != null ? typeName.getName() : null;
+    }
+
+    @Override
+    public void serialize(@NotNull GraphQLFragmentDefinitionStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getTypeConditionName());
+    }
+
+    @NotNull
+    @Override
+    public GraphQLFragmentDefinitionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return new GraphQLFragmentDefinitionStub(parentStub, this, dataStream.readNameString(), dataStream.readNameString());
+    }
+
+    @NotNull
+    @Override
+    protected StubIndexKey<String, GraphQLFragmentDefinition> getNameIndexKey() {
+        return GraphQLFragmentDefinitionIndex.KEY;
+    }
+}
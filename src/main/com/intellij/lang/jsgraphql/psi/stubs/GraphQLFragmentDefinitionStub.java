@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class GraphQLFragmentDefinitionStub extends GraphQLNamedStub<GraphQLFragmentDefinition> {
+
+    private final @Nullable String myTypeConditionName;
+
+    public GraphQLFragmentDefinitionStub(@Nullable StubElement<?> parent,
+                                         @NotNull IStubElementType<?, ?> elementType,
+                                         @Nullable String name,
+                                         @Nullable String typeConditionName) {
+        super(parent, elementType, name);
+        myTypeConditionName = typeConditionName;
+    }
+
+    /**
+     * @return the name of the type in the 'on' condition of the fragment
+     */
+    @Nullable
+    public String getTypeConditionName() {
+        return myTypeConditionName;
+    }
+}
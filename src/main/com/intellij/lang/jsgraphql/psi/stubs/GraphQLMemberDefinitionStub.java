@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of a definition nested in a type definition or extension, e.g. a field or an enum value
+ */
+public abstract class GraphQLMemberDefinitionStub<T extends PsiElement> extends GraphQLNamedStub<T> {
+
+    private final @Nullable String myOwnerTypeName;
+
+    protected GraphQLMemberDefinitionStub(@Nullable StubElement<?> parent,
+                                          @NotNull IStubElementType<?, ?> elementType,
+                                          @Nullable String name,
+                                          @Nullable String ownerTypeName) {
+        super(parent, elementType, name);
+        myOwnerTypeName = ownerTypeName;
+    }
+
+    /**
+     * @return the name of the type which is defined or extended by the enclosing definition
+     */
+    @Nullable
+    public String getOwnerTypeName() {
+        return myOwnerTypeName;
+    }
+}
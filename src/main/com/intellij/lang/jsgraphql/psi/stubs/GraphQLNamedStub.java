@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of a GraphQL definition which is looked up by its name
+ */
+public abstract class GraphQLNamedStub<T extends PsiElement> extends StubBase<T> {
+
+    private final @Nullable String myName;
+
+    protected GraphQLNamedStub(@Nullable StubElement<?> parent, @NotNull IStubElementType<?, ?> elementType, @Nullable String name) {
+        super(parent, elementType);
+        myName = name;
+    }
+
+    @Nullable
+    public String getName() {
+        return myName;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.GraphQLLanguage;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Element type of a stubbed definition which is indexed by its name
+ */
+public abstract class GraphQLNamedStubElementType<S extends GraphQLNamedStub<P>, P extends PsiElement> extends IStubElementType<S, P> {
+
+    protected GraphQLNamedStubElementType(@NotNull @NonNls String debugName) {
+        super(debugName, GraphQLLanguage.INSTANCE);
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "graphql." + this;
+    }
+
+    @Override
+    public void indexStub(@NotNull S stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            sink.occurrence(getNameIndexKey(), name);
+        }
+    }
+
+    @NotNull
+    protected abstract StubIndexKey<String, P> getNameIndexKey();
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Element type factory for the stubbed rules of the GraphQL grammar, see {@code elementTypeFactory} in GraphQLParser.bnf
+ */
+public final class GraphQLStubElementTypes {
+
+    private GraphQLStubElementTypes() {
+    }
+
+    @NotNull
+    public static IElementType getElementType(@NotNull @NonNls String debugName) {
+        switch (debugName) {
+            case "TYPE_NAME_DEFINITION":
+                return new GraphQLTypeNameDefinitionElementType(debugName);
+            case "FIELD_DEFINITION":
+                return new GraphQLFieldDefinitionElementType(debugName);
+            case "ENUM_VALUE_DEFINITION":
+                return new GraphQLEnumValueDefinitionElementType(debugName);
+            case "DIRECTIVE_DEFINITION":
+                return new GraphQLDirectiveDefinitionElementType(debugName);
+            case "FRAGMENT_DEFINITION":
+                return new GraphQLFragmentDefinitionElementType(debugName);
+        }
+        throw new IllegalArgumentException("Unknown stub element type: " + debugName);
+    }
+}
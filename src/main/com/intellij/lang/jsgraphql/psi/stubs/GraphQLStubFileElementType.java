@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.jsgraphql.GraphQLLanguage;
+import com.intellij.lang.jsgraphql.psi.GraphQLElementTypes;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.psi.StubBuilder;
+import com.intellij.psi.stubs.DefaultStubBuilder;
+import com.intellij.psi.stubs.PsiFileStub;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IStubFileElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+
+public class GraphQLStubFileElementType extends IStubFileElementType<PsiFileStub<GraphQLFile>> {
+
+    // increment when the stubs or the parser change
+    private static final int STUB_VERSION = 2;
+
+    // subtrees which never contain stubbed definitions
+    private static final TokenSet SKIPPED_SUBTREES = TokenSet.create(
+        GraphQLElementTypes.SELECTION_SET,
+        GraphQLElementTypes.DESCRIPTION,
+        GraphQLElementTypes.DIRECTIVE,
+        GraphQLElementTypes.ARGUMENTS_DEFINITION,
+        GraphQLElementTypes.DEFAULT_VALUE
+    );
+
+    public GraphQLStubFileElementType() {
+        super("GRAPHQL", GraphQLLanguage.INSTANCE);
+    }
+
+    @Override
+    public int getStubVersion() {
+        return STUB_VERSION;
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "graphql.FILE";
+    }
+
+    @Override
+    public StubBuilder getBuilder() {
+        return new DefaultStubBuilder() {
+            @Override
+            protected boolean skipChildProcessingWhenBuildingStubs(@NotNull ASTNode parent, @NotNull ASTNode node) {
+                IElementType elementType = node.getElementType();
+                return SKIPPED_SUBTREES.contains(elementType);
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi.stubs;
+
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.GraphQLTypeNameDefinitionIndex;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypeNameDefinition;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLTypeNameDefinitionImpl;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class GraphQLTypeNameDefinitionElementType extends GraphQLNamedStubElementType<GraphQLTypeNameDefinitionStub, GraphQLTypeNameDefinition> {
+
+    public GraphQLTypeNameDefinitionElementType(@NotNull @NonNls String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public GraphQLTypeNameDefinition createPsi(@NotNull GraphQLTypeNameDefinitionStub stub) {
+        return new GraphQLTypeNameDefinitionImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public GraphQLTypeNameDefinitionStub createStub(@NotNull GraphQLTypeNameDefinition psi, StubElement parentStub) {
+        return new GraphQLTypeNameDefinitionStub(parentStub, this, psi.getName());
+    }
+
+    @Override
+    public void serialize(@NotNull GraphQLTypeNameDefinitionStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+    }
+
+    @NotNull
+    @Override
+    public GraphQLTypeNameDefinitionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return new GraphQLTypeNameDefinitionStub(parentStub, this, dataStream.readNameString());
+    }
+
+    @NotNull
+    @Override
+    protected StubIndexKey<String, GraphQLTypeNameDefinition> getNameIndexKey() {
+        return GraphQLTypeNameDefinitionIndex.KEY;
+    }
+}
@@ -4,8 +4,12 @@ package com.intellij.lang.jsgraphql.schema;
 import com.intellij.lang.jsgraphql.ide.injection.GraphQLInjectionSearchHelper;
 import com.intellij.lang.jsgraphql.psi.*;
 import com.intellij.lang.jsgraphql.types.language.*;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -25,13 +29,25 @@ import static com.intellij.lang.jsgraphql.types.parser.StringValueParsing.parseT
 public final class GraphQLPsiToLanguage {
     public static final GraphQLPsiToLanguage INSTANCE = new GraphQLPsiToLanguage();
 
+    private static final Key<CachedValue<Definition>> LANGUAGE_DEFINITION = Key.create("graphql.language.definition");
+
     public @NotNull Document createDocument(@NotNull GraphQLFile file) {
         Document.Builder document = Document.newDocument();
         addCommonData(document, file);
-        document.definitions(mapNotNull(file.getDefinitions(), this::createDefinition));
+        document.definitions(mapNotNull(file.getDefinitions(), this::getDefinition));
         return document.build();
     }
 
+    /**
+     * Gets the definition converted from the PSI, which is reused until the PSI of the definition changes,
+     * so editing a file only converts the changed definitions again.
+     */
+    @Nullable
+    private Definition getDefinition(@NotNull GraphQLDefinition definition) {
+        return CachedValuesManager.getCachedValue(definition, LANGUAGE_DEFINITION, () ->
+            CachedValueProvider.Result.create(createDefinition(definition), GraphQLPsiUtil.getSubtreeModificationTracker(definition)));
+    }
+
     @Nullable
     private Definition createDefinition(@NotNull GraphQLDefinition definition) {
         if (definition instanceof GraphQLOperationDefinition) {
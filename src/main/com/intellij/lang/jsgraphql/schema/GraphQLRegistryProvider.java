@@ -15,6 +15,7 @@ import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionFilesMa
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
 import com.intellij.lang.jsgraphql.ide.search.GraphQLPsiSearchHelper;
 import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
+import com.intellij.lang.jsgraphql.schema.builder.GraphQLIncrementalRegistry;
 import com.intellij.lang.jsgraphql.types.GraphQLException;
 import com.intellij.lang.jsgraphql.types.InvalidSyntaxError;
 import com.intellij.lang.jsgraphql.types.language.SourceLocation;
@@ -24,7 +25,9 @@ import com.intellij.openapi.Disposable;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -32,17 +35,22 @@ import com.intellij.psi.PsiManager;
 import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.TimeoutUtil;
+import com.intellij.util.messages.MessageBusConnection;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 public class GraphQLRegistryProvider implements Disposable {
 
     private static final Logger LOG = Logger.getInstance(GraphQLRegistryProvider.class);
 
+    private static final String ENDPOINT_LANGUAGE_CONTRIBUTION_KEY = "endpoint-language";
+
     private final GraphQLPsiSearchHelper graphQLPsiSearchHelper;
     private final Project myProject;
     private final GlobalSearchScope graphQLFilesScope;
@@ -50,8 +58,11 @@ public class GraphQLRegistryProvider implements Disposable {
     private final PsiManager psiManager;
     private final JSGraphQLEndpointNamedTypeRegistry graphQLEndpointNamedTypeRegistry;
     private final GraphQLConfigManager graphQLConfigManager;
+    private final GraphQLSchemaChangeTracker mySchemaChangeTracker;
 
-    private final Map<GlobalSearchScope, GraphQLRegistryInfo> scopeToRegistry = Maps.newConcurrentMap();
+    private final Map<String, GraphQLRegistryInfo> scopeIdToRegistry = Maps.newConcurrentMap();
+    // per-file contributions survive schema changes, so only the modified files are converted again
+    private final Map<String, GraphQLIncrementalRegistry> scopeIdToIncrementalRegistry = Maps.newConcurrentMap();
 
     public static GraphQLRegistryProvider getInstance(@NotNull Project project) {
         return ServiceManager.getService(project, GraphQLRegistryProvider.class);
@@ -66,67 +77,146 @@ public class GraphQLRegistryProvider implements Disposable {
         graphQLEndpointNamedTypeRegistry = JSGraphQLEndpointNamedTypeRegistry.getService(project);
         graphQLPsiSearchHelper = GraphQLPsiSearchHelper.getInstance(project);
         graphQLConfigManager = GraphQLConfigManager.getService(project);
+        mySchemaChangeTracker = GraphQLSchemaChangeTracker.getInstance(project);
+
+        MessageBusConnection connection = project.getMessageBus().connect(this);
+        connection.subscribe(GraphQLSchemaChangeTracker.TOPIC, new GraphQLSchemaChangeListener() {
+            @Override
+            public void onSchemaChanged() {
+                scopeIdToRegistry.clear();
+            }
 
-        project.getMessageBus().connect(this).subscribe(GraphQLSchemaChangeTracker.TOPIC, scopeToRegistry::clear);
+            @Override
+            public void onSchemaChanged(@NotNull GraphQLSchemaChangeEvent event) {
+                if (event.isProjectWide()) {
+                    scopeIdToRegistry.clear();
+                } else {
+                    // registries of the other scopes can't contain definitions from the changed files
+                    scopeIdToRegistry.keySet().removeIf(event::isScopeAffected);
+                }
+            }
+        });
+        // the set of scopes is defined by the configuration files
+        connection.subscribe(GraphQLConfigManager.TOPIC, scopeIdToIncrementalRegistry::clear);
     }
 
     @NotNull
     public GraphQLRegistryInfo getRegistryInfo(@NotNull PsiElement scopedElement) {
-        // Get the search scope that limits schema definition for the scoped element
-        GlobalSearchScope schemaScope = graphQLPsiSearchHelper.getResolveScope(scopedElement);
+        String scopeId = getScopeId(scopedElement);
+        GraphQLRegistryInfo registryInfo = scopeIdToRegistry.get(scopeId);
+        if (registryInfo != null) {
+            return registryInfo;
+        }
 
-        return scopeToRegistry.computeIfAbsent(schemaScope, s -> {
-            long start = System.nanoTime();
+        // built outside of the map, so a long build doesn't block the other scopes and can be cancelled,
+        // the scopes of a group resolve against the same files, so they share the incremental registry
+        GraphQLIncrementalRegistry incrementalRegistry = scopeIdToIncrementalRegistry.computeIfAbsent(
+            GraphQLConfigManager.getSchemaScopeGroupId(scopeId), id -> new GraphQLIncrementalRegistry());
+        Lock lock = incrementalRegistry.getLock();
+        lockWithCheckCanceled(lock);
+        try {
+            // the registry could have been built while waiting for the lock
+            registryInfo = scopeIdToRegistry.get(scopeId);
+            if (registryInfo != null) {
+                return registryInfo;
+            }
 
-            List<GraphQLException> errors = new ArrayList<>();
-            GraphQLSchemaDocumentProcessor processor = new GraphQLSchemaDocumentProcessor();
+            ModificationTracker modificationTracker = mySchemaChangeTracker.getSchemaModificationTracker(scopeId);
+            long modificationCount = modificationTracker.getModificationCount();
+            registryInfo = buildRegistryInfo(scopedElement, incrementalRegistry);
+            if (modificationTracker.getModificationCount() != modificationCount) {
+                // the schema has changed during the build, so the next request builds it again
+                return registryInfo;
+            }
+            scopeIdToRegistry.put(scopeId, registryInfo);
+            if (modificationTracker.getModificationCount() != modificationCount) {
+                // invalidated right before it was cached
+                scopeIdToRegistry.remove(scopeId, registryInfo);
+            }
+            return registryInfo;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            // GraphQL files
-            FileTypeIndex.processFiles(GraphQLFileType.INSTANCE, file -> {
-                PsiFile psiFile = psiManager.findFile(file);
-                if (psiFile != null) {
-                    processor.process(psiFile);
-                }
-                return true;
-            }, graphQLFilesScope.intersectWith(schemaScope));
-
-            // JSON GraphQL introspection result files
-            if (!graphQLConfigManager.getConfigurationsByPath().isEmpty()) {
-                // need one or more configurations to be able to point "schemaPath" to relevant JSON files
-                // otherwise all JSON files would be in scope
-                FileTypeIndex.processFiles(
-                    JsonFileType.INSTANCE,
-                    file -> processJsonFile(processor, file, errors),
-                    jsonIntrospectionScope.intersectWith(schemaScope)
-                );
+    private static void lockWithCheckCanceled(@NotNull Lock lock) {
+        try {
+            while (!lock.tryLock(10, TimeUnit.MILLISECONDS)) {
+                ProgressManager.checkCanceled();
             }
+        } catch (InterruptedException e) {
+            throw new ProcessCanceledException(e);
+        }
+    }
 
-            // Injected GraphQL
-            graphQLPsiSearchHelper.processInjectedGraphQLPsiFiles(scopedElement, schemaScope, processor);
-
-            // Types defined using GraphQL Endpoint Language
-            VirtualFile virtualFile = GraphQLPsiUtil.getPhysicalVirtualFile(scopedElement.getContainingFile());
-            if (virtualFile != null && graphQLConfigManager.getEndpointLanguageConfiguration(virtualFile, null) != null) {
-                final GraphQLRegistryInfo endpointTypesAsRegistry = graphQLEndpointNamedTypeRegistry.getTypesAsRegistry(scopedElement);
-                try {
-                    processor.getCompositeRegistry().merge(endpointTypesAsRegistry.getTypeDefinitionRegistry());
-                    errors.addAll(endpointTypesAsRegistry.getErrors());
-                } catch (GraphQLException e) {
-                    errors.add(e);
-                }
+    @NotNull
+    private GraphQLRegistryInfo buildRegistryInfo(@NotNull PsiElement scopedElement,
+                                                  @NotNull GraphQLIncrementalRegistry incrementalRegistry) {
+        long start = System.nanoTime();
+
+        // Get the search scope that limits schema definition for the scoped element
+        GlobalSearchScope schemaScope = graphQLPsiSearchHelper.getResolveScope(scopedElement);
+        List<GraphQLException> errors = new ArrayList<>();
+
+        incrementalRegistry.startUpdate();
+        GraphQLSchemaDocumentProcessor processor = new GraphQLSchemaDocumentProcessor(incrementalRegistry);
+
+        // GraphQL files
+        FileTypeIndex.processFiles(GraphQLFileType.INSTANCE, file -> {
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile != null) {
+                processor.process(psiFile);
             }
+            return true;
+        }, graphQLFilesScope.intersectWith(schemaScope));
+
+        // JSON GraphQL introspection result files
+        if (!graphQLConfigManager.getConfigurationsByPath().isEmpty()) {
+            // need one or more configurations to be able to point "schemaPath" to relevant JSON files
+            // otherwise all JSON files would be in scope
+            FileTypeIndex.processFiles(
+                JsonFileType.INSTANCE,
+                file -> processJsonFile(processor, file, errors),
+                jsonIntrospectionScope.intersectWith(schemaScope)
+            );
+        }
 
-            TypeDefinitionRegistry registry = processor.getCompositeRegistry().buildTypeDefinitionRegistry();
+        // Injected GraphQL, only the injections with type definitions since most of them are queries
+        graphQLPsiSearchHelper.processInjectedGraphQLSchemaPsiFiles(scopedElement, schemaScope, processor);
+        if (!processor.isProcessed() && graphQLPsiSearchHelper.hasInjectedGraphQLPsiFiles(schemaScope)) {
+            // the skipped query injections still count as GraphQL found in the scope, e.g. for the Schemas tool window
+            processor.markProcessed();
+        }
 
-            if (LOG.isDebugEnabled()) {
-                long durationMillis = TimeoutUtil.getDurationMillis(start);
-                VirtualFile file = GraphQLPsiUtil.getPhysicalVirtualFile(scopedElement.getContainingFile());
-                String requester = file != null ? file.getPath() : "<unknown>";
-                LOG.debug(String.format("Registry build completed in %d ms, requester: %s", durationMillis, requester));
+        // Types defined using GraphQL Endpoint Language
+        VirtualFile virtualFile = GraphQLPsiUtil.getPhysicalVirtualFile(scopedElement.getContainingFile());
+        if (virtualFile != null && graphQLConfigManager.getEndpointLanguageConfiguration(virtualFile, null) != null) {
+            final GraphQLRegistryInfo endpointTypesAsRegistry = graphQLEndpointNamedTypeRegistry.getTypesAsRegistry(scopedElement);
+            try {
+                incrementalRegistry.addRegistry(ENDPOINT_LANGUAGE_CONTRIBUTION_KEY, endpointTypesAsRegistry.getTypeDefinitionRegistry());
+                errors.addAll(endpointTypesAsRegistry.getErrors());
+            } catch (GraphQLException e) {
+                errors.add(e);
             }
-            return new GraphQLRegistryInfo(registry, errors, processor.isProcessed());
-        });
+        }
+
+        TypeDefinitionRegistry registry = incrementalRegistry.finishUpdate();
 
+        if (LOG.isDebugEnabled()) {
+            long durationMillis = TimeoutUtil.getDurationMillis(start);
+            VirtualFile file = GraphQLPsiUtil.getPhysicalVirtualFile(scopedElement.getContainingFile());
+            String requester = file != null ? file.getPath() : "<unknown>";
+            LOG.debug(String.format("Registry build completed in %d ms, requester: %s", durationMillis, requester));
+        }
+        return new GraphQLRegistryInfo(registry, errors, processor.isProcessed());
+    }
+
+    /**
+     * Gets the id of the schema scope of the element, which identifies the cached registry across schema changes.
+     */
+    @NotNull
+    public String getScopeId(@NotNull PsiElement scopedElement) {
+        return graphQLConfigManager.getSchemaScopeId(GraphQLPsiUtil.getOriginalVirtualFile(scopedElement.getContainingFile()));
     }
 
     private boolean processJsonFile(@NotNull GraphQLSchemaDocumentProcessor processor,
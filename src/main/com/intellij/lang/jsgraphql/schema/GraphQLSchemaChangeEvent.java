@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Describes the schema scopes affected by a schema change.
+ * Scopes are identified by the ids returned from {@link GraphQLConfigManager#getSchemaScopeId}.
+ */
+public final class GraphQLSchemaChangeEvent {
+
+    /**
+     * A change that can affect every schema in the project, e.g. a configuration change.
+     */
+    public static final GraphQLSchemaChangeEvent PROJECT_WIDE = new GraphQLSchemaChangeEvent(null);
+
+    private final @Nullable Set<String> myScopeIds;
+
+    public GraphQLSchemaChangeEvent(@Nullable Set<String> scopeIds) {
+        myScopeIds = scopeIds != null ? Collections.unmodifiableSet(scopeIds) : null;
+    }
+
+    public boolean isProjectWide() {
+        return myScopeIds == null;
+    }
+
+    public boolean isScopeAffected(@NotNull String scopeId) {
+        return myScopeIds == null || myScopeIds.contains(scopeId) ||
+               myScopeIds.contains(GraphQLConfigManager.getSchemaScopeGroupId(scopeId));
+    }
+
+    /**
+     * @return the ids of the affected scopes, or an empty set for a project wide change.
+     * Scopes can also be affected through their group, use {@link #isScopeAffected(String)} to check a single scope.
+     */
+    @NotNull
+    public Set<String> getScopeIds() {
+        return myScopeIds != null ? myScopeIds : Collections.emptySet();
+    }
+
+    @Override
+    public String toString() {
+        return isProjectWide() ? "GraphQLSchemaChangeEvent{project wide}" : "GraphQLSchemaChangeEvent{" + myScopeIds + "}";
+    }
+}
@@ -7,6 +7,8 @@
  */
 package com.intellij.lang.jsgraphql.schema;
 
+import org.jetbrains.annotations.NotNull;
+
 /**
  * Events relating to GraphQL schemas
  */
@@ -16,4 +18,12 @@ public interface GraphQLSchemaChangeListener {
      * One or more GraphQL schema changes are likely based on changed to the PSI trees
      */
     void onSchemaChanged();
+
+    /**
+     * Same as {@link #onSchemaChanged()}, but tells which schema scopes can be affected by the changes.
+     * Listeners that cache per scope should override it to keep the entries of the unaffected scopes.
+     */
+    default void onSchemaChanged(@NotNull GraphQLSchemaChangeEvent event) {
+        onSchemaChanged();
+    }
 }
@@ -8,6 +8,7 @@
 package com.intellij.lang.jsgraphql.schema;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.intellij.json.psi.JsonFile;
 import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointFile;
 import com.intellij.lang.jsgraphql.ide.injection.GraphQLInjectionSearchHelper;
@@ -15,6 +16,7 @@ import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManage
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
 import com.intellij.lang.jsgraphql.psi.GraphQLOperationDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
 import com.intellij.lang.jsgraphql.psi.GraphQLTemplateDefinition;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
@@ -31,11 +33,15 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.messages.Topic;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
- * Tracks PSI changes that can affect declared GraphQL schemas
+ * Tracks PSI changes that can affect declared GraphQL schemas.
+ * Changes to GraphQL sources only invalidate the schema scopes which include the changed file,
+ * see {@link #getSchemaModificationTracker(String)} and {@link GraphQLSchemaChangeEvent}.
  */
 public class GraphQLSchemaChangeTracker implements Disposable {
 
@@ -53,10 +59,15 @@ public class GraphQLSchemaChangeTracker implements Disposable {
     }
 
     private final Project myProject;
+    private final GraphQLConfigManager myConfigManager;
     private final SimpleModificationTracker myModificationTracker = new SimpleModificationTracker();
+    // incremented only by the changes which affect all scopes
+    private final SimpleModificationTracker myProjectWideModificationTracker = new SimpleModificationTracker();
+    private final Map<String, SimpleModificationTracker> myScopeIdToModificationTracker = Maps.newConcurrentMap();
 
     public GraphQLSchemaChangeTracker(Project project) {
         myProject = project;
+        myConfigManager = GraphQLConfigManager.getService(myProject);
 
         PsiManager.getInstance(myProject).addPsiTreeChangeListener(new GraphQLSchemaPsiChangeListener(), this);
 
@@ -65,20 +76,66 @@ public class GraphQLSchemaChangeTracker implements Disposable {
         connection.subscribe(GraphQLConfigManager.TOPIC, this::schemaChanged);
     }
 
+    /**
+     * Invalidates the schemas of all scopes
+     */
     public void schemaChanged() {
-        LOG.debug("GraphQL schema cache invalidated", LOG.isTraceEnabled() ? new Throwable() : null);
+        schemaChanged(GraphQLSchemaChangeEvent.PROJECT_WIDE);
+    }
+
+    /**
+     * Invalidates the schemas of the scopes which include the changed file
+     *
+     * @param changedFile the changed file, or null if the change can affect any scope
+     */
+    private void schemaChanged(@Nullable PsiFile changedFile) {
+        VirtualFile virtualFile = changedFile != null ? GraphQLPsiUtil.getPhysicalVirtualFile(changedFile) : null;
+        if (virtualFile == null) {
+            schemaChanged();
+            return;
+        }
+        schemaChanged(new GraphQLSchemaChangeEvent(myConfigManager.getIncludingSchemaScopeIds(virtualFile)));
+    }
+
+    private void schemaChanged(@NotNull GraphQLSchemaChangeEvent event) {
+        LOG.debug("GraphQL schema cache invalidated: " + event, LOG.isTraceEnabled() ? new Throwable() : null);
 
         ApplicationManager.getApplication().invokeLater(() -> {
             myModificationTracker.incModificationCount();
-            myProject.getMessageBus().syncPublisher(GraphQLSchemaChangeTracker.TOPIC).onSchemaChanged();
+            if (event.isProjectWide()) {
+                myProjectWideModificationTracker.incModificationCount();
+            } else {
+                for (String scopeId : event.getScopeIds()) {
+                    getScopeModificationTracker(scopeId).incModificationCount();
+                }
+            }
+            myProject.getMessageBus().syncPublisher(GraphQLSchemaChangeTracker.TOPIC).onSchemaChanged(event);
         }, ModalityState.NON_MODAL, myProject.getDisposed());
     }
 
+    /**
+     * @return a tracker incremented on every schema change in the project
+     */
     @NotNull
     public ModificationTracker getSchemaModificationTracker() {
         return myModificationTracker;
     }
 
+    /**
+     * @param scopeId the id of the schema scope, see {@link GraphQLConfigManager#getSchemaScopeId}
+     * @return a tracker incremented only on the schema changes which can affect the scope
+     */
+    @NotNull
+    public ModificationTracker getSchemaModificationTracker(@NotNull String scopeId) {
+        SimpleModificationTracker scopeTracker = getScopeModificationTracker(GraphQLConfigManager.getSchemaScopeGroupId(scopeId));
+        return () -> myProjectWideModificationTracker.getModificationCount() + scopeTracker.getModificationCount();
+    }
+
+    @NotNull
+    private SimpleModificationTracker getScopeModificationTracker(@NotNull String scopeId) {
+        return myScopeIdToModificationTracker.computeIfAbsent(scopeId, id -> new SimpleModificationTracker());
+    }
+
     @Override
     public void dispose() {
     }
@@ -95,8 +152,11 @@ public class GraphQLSchemaChangeTracker implements Disposable {
                 return;
             }
             if (event.getFile() instanceof GraphQLFile) {
-                if (affectsGraphQLSchema(event)) {
+                if (isFileRenamedOrMoved(event)) {
+                    // the file can leave the scopes that included it under the previous path
                     schemaChanged();
+                } else if (affectsGraphQLSchema(event)) {
+                    schemaChanged(event.getFile());
                 }
             }
             if (event.getFile() instanceof JSGraphQLEndpointFile) {
@@ -107,7 +167,7 @@ public class GraphQLSchemaChangeTracker implements Disposable {
                 GraphQLInjectionSearchHelper graphQLInjectionSearchHelper = GraphQLInjectionSearchHelper.getInstance();
                 if (graphQLInjectionSearchHelper != null && graphQLInjectionSearchHelper.isGraphQLLanguageInjectionTarget(event.getParent())) {
                     // change in injection target
-                    schemaChanged();
+                    schemaChanged(event.getParent().getContainingFile());
                 }
             }
             if (event.getFile() instanceof JsonFile) {
@@ -121,7 +181,7 @@ public class GraphQLSchemaChangeTracker implements Disposable {
                     }
                 }
                 if (introspectionJsonUpdated) {
-                    schemaChanged();
+                    schemaChanged(event.getFile());
                 }
             }
         }
@@ -169,8 +229,7 @@ public class GraphQLSchemaChangeTracker implements Disposable {
          * @return true if the change can affect the declared schema
          */
         private boolean affectsGraphQLSchema(@NotNull PsiTreeChangeEvent event) {
-            if (PsiTreeChangeEvent.PROP_FILE_NAME.equals(event.getPropertyName()) ||
-                PsiTreeChangeEvent.PROP_DIRECTORY_NAME.equals(event.getPropertyName())) {
+            if (isFileRenamedOrMoved(event)) {
                 // renamed and moves are likely to affect schema blobs etc.
                 return true;
             }
@@ -191,5 +250,10 @@ public class GraphQLSchemaChangeTracker implements Disposable {
             // fallback to assume the schema can be affected by the edit
             return true;
         }
+
+        private boolean isFileRenamedOrMoved(@NotNull PsiTreeChangeEvent event) {
+            return PsiTreeChangeEvent.PROP_FILE_NAME.equals(event.getPropertyName()) ||
+                PsiTreeChangeEvent.PROP_DIRECTORY_NAME.equals(event.getPropertyName());
+        }
     }
 }
@@ -1,25 +1,38 @@
 package com.intellij.lang.jsgraphql.schema;
 
+import com.intellij.lang.injection.InjectedLanguageManager;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
-import com.intellij.lang.jsgraphql.schema.builder.GraphQLCompositeRegistry;
-import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
+import com.intellij.lang.jsgraphql.schema.builder.GraphQLIncrementalRegistry;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiLanguageInjectionHost;
 import com.intellij.util.Processor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public class GraphQLSchemaDocumentProcessor implements Processor<PsiFile> {
-    private final GraphQLCompositeRegistry myCompositeRegistry = new GraphQLCompositeRegistry();
+    private final GraphQLIncrementalRegistry myRegistry;
     private boolean isProcessedGraphQL;
 
-    public @NotNull GraphQLCompositeRegistry getCompositeRegistry() {
-        return myCompositeRegistry;
+    public GraphQLSchemaDocumentProcessor(@NotNull GraphQLIncrementalRegistry registry) {
+        myRegistry = registry;
+    }
+
+    public @NotNull GraphQLIncrementalRegistry getRegistry() {
+        return myRegistry;
     }
 
     public boolean isProcessed() {
         return isProcessedGraphQL;
     }
 
+    /**
+     * Marks GraphQL as found without processing it, for the files which don't contribute to the schema such as injected queries
+     */
+    public void markProcessed() {
+        isProcessedGraphQL = true;
+    }
+
     @Override
     public boolean process(@Nullable PsiFile psiFile) {
         if (!(psiFile instanceof GraphQLFile)) {
@@ -27,8 +40,27 @@ public class GraphQLSchemaDocumentProcessor implements Processor<PsiFile> {
         }
 
         isProcessedGraphQL = true;
-        Document document = ((GraphQLFile) psiFile).getDocument();
-        myCompositeRegistry.addFromDocument(document);
+
+        String key = getContributionKey(psiFile);
+        long stamp = getModificationStamp(psiFile);
+        if (!myRegistry.reuse(key, stamp)) {
+            myRegistry.addDocument(key, stamp, ((GraphQLFile) psiFile).getDocument());
+        }
         return true;
     }
+
+    /**
+     * Injected fragments share the path of their host file, so they are told apart by the offset of the host.
+     */
+    @NotNull
+    private static String getContributionKey(@NotNull PsiFile psiFile) {
+        String fileName = GraphQLPsiUtil.getFileName(psiFile);
+        PsiLanguageInjectionHost host = InjectedLanguageManager.getInstance(psiFile.getProject()).getInjectionHost(psiFile);
+        return host != null ? fileName + ":" + host.getTextRange().getStartOffset() : fileName;
+    }
+
+    private static long getModificationStamp(@NotNull PsiFile psiFile) {
+        PsiFile topLevelFile = InjectedLanguageManager.getInstance(psiFile.getProject()).getTopLevelFile(psiFile);
+        return (topLevelFile != null ? topLevelFile : psiFile).getModificationStamp();
+    }
 }
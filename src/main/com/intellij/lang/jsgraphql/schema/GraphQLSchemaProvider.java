@@ -11,6 +11,7 @@ import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public interface GraphQLSchemaProvider {
 
@@ -28,6 +29,15 @@ public interface GraphQLSchemaProvider {
     @NotNull
     GraphQLSchemaInfo getSchemaInfo(@NotNull PsiElement psiElement);
 
+    /**
+     * Gets the schema of the scope of the element if it has already been built, e.g. for the annotators, without building it.
+     *
+     * @param psiElement the element from which the schema is needed, serving as a scope restriction
+     * @return the schema, or null if it hasn't been built since the last change which affects the scope
+     */
+    @Nullable
+    GraphQLSchemaInfo getCachedSchemaInfo(@NotNull PsiElement psiElement);
+
     @NotNull
     static GraphQLSchemaProvider getInstance(@NotNull Project project) {
         return ServiceManager.getService(project, GraphQLSchemaProvider.class);
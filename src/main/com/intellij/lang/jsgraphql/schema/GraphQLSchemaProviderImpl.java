@@ -21,9 +21,11 @@ import com.intellij.openapi.Disposable;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.psi.PsiElement;
 import com.intellij.util.TimeoutUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -37,59 +39,99 @@ public class GraphQLSchemaProviderImpl implements GraphQLSchemaProvider, Disposa
     public static final GraphQLSchema EMPTY_SCHEMA = GraphQLSchema.newSchema()
         .query(GraphQLObjectType.newObject().name("Query").build()).build();
 
-    private final Map<String, GraphQLRegistryInfo> fileNameToRegistry = Maps.newConcurrentMap();
-    private final Map<String, GraphQLSchemaInfo> fileNameToSchema = Maps.newConcurrentMap();
+    // schemas are shared by all files of a scope and only dropped when a change can affect that scope
+    private final Map<String, GraphQLSchemaInfo> scopeIdToSchema = Maps.newConcurrentMap();
     private final GraphQLRegistryProvider myRegistryProvider;
+    private final GraphQLSchemaChangeTracker mySchemaChangeTracker;
 
     public GraphQLSchemaProviderImpl(@NotNull Project project) {
         myRegistryProvider = GraphQLRegistryProvider.getInstance(project);
+        mySchemaChangeTracker = GraphQLSchemaChangeTracker.getInstance(project);
 
-        project.getMessageBus().connect(this).subscribe(GraphQLSchemaChangeTracker.TOPIC, () -> {
-            // clear the cache on each PSI change
-            fileNameToRegistry.clear();
-            fileNameToSchema.clear();
+        project.getMessageBus().connect(this).subscribe(GraphQLSchemaChangeTracker.TOPIC, new GraphQLSchemaChangeListener() {
+            @Override
+            public void onSchemaChanged() {
+                scopeIdToSchema.clear();
+            }
+
+            @Override
+            public void onSchemaChanged(@NotNull GraphQLSchemaChangeEvent event) {
+                if (event.isProjectWide()) {
+                    scopeIdToSchema.clear();
+                } else {
+                    scopeIdToSchema.keySet().removeIf(event::isScopeAffected);
+                }
+            }
         });
     }
 
     @NotNull
     @Override
     public GraphQLSchemaInfo getSchemaInfo(@NotNull PsiElement psiElement) {
-        String containingFileName = GraphQLPsiUtil.getFileName(psiElement.getContainingFile());
-
-        return fileNameToSchema.computeIfAbsent(containingFileName, fileName -> {
-            final GraphQLRegistryInfo registryWithErrors = fileNameToRegistry.computeIfAbsent(
-                containingFileName, f -> myRegistryProvider.getRegistryInfo(psiElement));
-
-            try {
-                long start = System.nanoTime();
-                GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(registryWithErrors.getTypeDefinitionRegistry());
-                Collection<SchemaValidationError> validationErrors = new SchemaValidator().validateSchema(schema);
-                List<GraphQLException> errors = validationErrors.isEmpty()
-                    ? Collections.emptyList() : Collections.singletonList(new InvalidSchemaException(validationErrors));
-
-                if (LOG.isDebugEnabled()) {
-                    long durationMillis = TimeoutUtil.getDurationMillis(start);
-                    LOG.debug(String.format("Schema build completed in %d ms, requester: %s", durationMillis, containingFileName));
-                }
-                return new GraphQLSchemaInfo(schema, errors, registryWithErrors);
-            } catch (ProcessCanceledException e) {
-                throw e;
-            } catch (Exception e) {
-                LOG.error("Schema build error: ", e); // should never happen
-                return new GraphQLSchemaInfo(
-                    EMPTY_SCHEMA,
-                    Lists.newArrayList(e instanceof GraphQLException ? ((GraphQLException) e) : new GraphQLException(e)),
-                    registryWithErrors
-                );
+        String scopeId = myRegistryProvider.getScopeId(psiElement);
+        GraphQLSchemaInfo schemaInfo = scopeIdToSchema.get(scopeId);
+        if (schemaInfo != null) {
+            return schemaInfo;
+        }
+
+        // built outside of the map, so a long build doesn't block the other scopes and can be cancelled
+        ModificationTracker modificationTracker = mySchemaChangeTracker.getSchemaModificationTracker(scopeId);
+        long modificationCount = modificationTracker.getModificationCount();
+        schemaInfo = buildSchemaInfo(psiElement);
+        if (modificationTracker.getModificationCount() != modificationCount) {
+            // the schema has changed during the build, so the next request builds it again
+            return schemaInfo;
+        }
+        GraphQLSchemaInfo existing = scopeIdToSchema.putIfAbsent(scopeId, schemaInfo);
+        if (existing != null) {
+            return existing;
+        }
+        if (modificationTracker.getModificationCount() != modificationCount) {
+            // invalidated right before it was cached
+            scopeIdToSchema.remove(scopeId, schemaInfo);
+        }
+        return schemaInfo;
+    }
+
+    @NotNull
+    private GraphQLSchemaInfo buildSchemaInfo(@NotNull PsiElement psiElement) {
+        final GraphQLRegistryInfo registryWithErrors = myRegistryProvider.getRegistryInfo(psiElement);
+
+        try {
+            long start = System.nanoTime();
+            GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(registryWithErrors.getTypeDefinitionRegistry());
+            Collection<SchemaValidationError> validationErrors = new SchemaValidator().validateSchema(schema);
+            List<GraphQLException> errors = validationErrors.isEmpty()
+                ? Collections.emptyList() : Collections.singletonList(new InvalidSchemaException(validationErrors));
+
+            if (LOG.isDebugEnabled()) {
+                long durationMillis = TimeoutUtil.getDurationMillis(start);
+                String requester = GraphQLPsiUtil.getFileName(psiElement.getContainingFile());
+                LOG.debug(String.format("Schema build completed in %d ms, requester: %s", durationMillis, requester));
             }
-        });
+            return new GraphQLSchemaInfo(schema, errors, registryWithErrors);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Schema build error: ", e); // should never happen
+            return new GraphQLSchemaInfo(
+                EMPTY_SCHEMA,
+                Lists.newArrayList(e instanceof GraphQLException ? ((GraphQLException) e) : new GraphQLException(e)),
+                registryWithErrors
+            );
+        }
+    }
+
+    @Nullable
+    @Override
+    public GraphQLSchemaInfo getCachedSchemaInfo(@NotNull PsiElement psiElement) {
+        return scopeIdToSchema.get(myRegistryProvider.getScopeId(psiElement));
     }
 
     @NotNull
     @Override
     public GraphQLRegistryInfo getRegistryInfo(@NotNull PsiElement psiElement) {
-        String fileName = GraphQLPsiUtil.getFileName(psiElement.getContainingFile());
-        return fileNameToRegistry.computeIfAbsent(fileName, f -> myRegistryProvider.getRegistryInfo(psiElement));
+        return myRegistryProvider.getRegistryInfo(psiElement);
     }
 
     @Override
@@ -177,16 +177,28 @@ public class GraphQLSchemaUtil {
     public static boolean isFragmentApplicableInTypeScope(@NotNull TypeDefinitionRegistry typeDefinitionRegistry,
                                                           @NotNull GraphQLFragmentDefinition fragmentCandidate,
                                                           @NotNull GraphQLType requiredTypeScope) {
-
-        // unwrap non-nullable and list types
-        requiredTypeScope = getUnmodifiedType(requiredTypeScope);
-
         final GraphQLTypeCondition typeCondition = fragmentCandidate.getTypeCondition();
         if (typeCondition == null || typeCondition.getTypeName() == null) {
             return false;
         }
 
         final String fragmentTypeName = Optional.ofNullable(typeCondition.getTypeName().getName()).orElse("");
+        return isFragmentApplicableInTypeScope(typeDefinitionRegistry, fragmentTypeName, requiredTypeScope);
+    }
+
+    /**
+     * Gets whether a fragment with the specified type condition can be spread in the required type scope
+     *
+     * @param fragmentTypeName the name of the type that the candidate fragment applies to
+     * @see #isFragmentApplicableInTypeScope(TypeDefinitionRegistry, GraphQLFragmentDefinition, GraphQLType)
+     */
+    public static boolean isFragmentApplicableInTypeScope(@NotNull TypeDefinitionRegistry typeDefinitionRegistry,
+                                                          @NotNull String fragmentTypeName,
+                                                          @NotNull GraphQLType requiredTypeScope) {
+
+        // unwrap non-nullable and list types
+        requiredTypeScope = getUnmodifiedType(requiredTypeScope);
+
         if (fragmentTypeName.equals(getTypeName(requiredTypeScope))) {
             // direct match, e.g. User scope, fragment on User
             return true;
@@ -214,8 +226,8 @@ public class GraphQLSchemaUtil {
 
         if (requiredTypeScope instanceof GraphQLInterfaceType) {
             // also include fragments on types implementing the interface scope
-            final TypeDefinition typeScopeDefinition = typeDefinitionRegistry.types().get(requiredTypeScope.getName());
-            if (typeScopeDefinition != null) {
+            final TypeDefinition typeScopeDefinition = typeDefinitionRegistry.getType(requiredTypeScope.getName()).orElse(null);
+            if (typeScopeDefinition instanceof InterfaceTypeDefinition) {
                 final List<ObjectTypeDefinition> implementations = typeDefinitionRegistry.getImplementationsOf(
                     (InterfaceTypeDefinition) typeScopeDefinition);
                 for (ObjectTypeDefinition implementation : implementations) {
@@ -23,7 +23,7 @@ public final class GraphQLCompositeRegistry {
     private static final Logger LOG = Logger.getInstance(GraphQLCompositeRegistry.class);
 
     private final Map<String, GraphQLCompositeDefinition<?>> myNamedCompositeDefinitions = new HashMap<>();
-    private final GraphQLSchemaTypeCompositeDefinition mySchemaCompositeDefinition = new GraphQLSchemaTypeCompositeDefinition();
+    private GraphQLSchemaTypeCompositeDefinition mySchemaCompositeDefinition = new GraphQLSchemaTypeCompositeDefinition();
 
     public void merge(@NotNull TypeDefinitionRegistry source) throws GraphQLException {
         if (source.schemaDefinition().isPresent()) {
@@ -151,6 +151,21 @@ public final class GraphQLCompositeRegistry {
         }
     }
 
+    /**
+     * Drops all the definitions and extensions added for the name, so they can be added again after some of them have changed.
+     * The merged definitions of other names are kept.
+     */
+    public void removeDefinitions(@NotNull String name) {
+        myNamedCompositeDefinitions.remove(name);
+    }
+
+    /**
+     * Drops all the schema definitions and extensions, see {@link #removeDefinitions(String)}.
+     */
+    public void removeSchemaDefinitions() {
+        mySchemaCompositeDefinition = new GraphQLSchemaTypeCompositeDefinition();
+    }
+
     @SuppressWarnings("rawtypes")
     public void addFromDocument(@NotNull Document document) {
         List<Definition> definitions = document.getDefinitions();
@@ -0,0 +1,298 @@
+package com.intellij.lang.jsgraphql.schema.builder;
+
+import com.intellij.lang.jsgraphql.types.language.*;
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.SmartList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the type system definitions contributed by each source of a schema between registry builds.
+ * <p>
+ * Sources are keyed by file and validated by their modification stamps, so an update only converts the sources changed
+ * since the previous build. The composite definitions are kept as well and only the names whose definitions have changed
+ * are merged again, while the merged registry is reused as is when none of them has changed. Definitions converted from PSI
+ * are shared between the documents of a file while their PSI is unchanged, so they are compared by identity.
+ * <p>
+ * An update is started with {@link #startUpdate()}, then every source in scope is either confirmed using
+ * {@link #reuse(String, long)} or replaced using one of the {@code add} methods, and {@link #finishUpdate()} drops
+ * the sources which weren't visited and returns the resulting registry. Sources are merged in the order they're visited
+ * by the latest update, which is the order a build from scratch would merge them in.
+ * Updates must be externally synchronized, see {@link #getLock()}.
+ */
+public final class GraphQLIncrementalRegistry {
+
+    // not a valid GraphQL name, so it can't clash with a type or directive
+    private static final String SCHEMA_NAME = "$schema";
+
+    private final Lock myLock = new ReentrantLock();
+    private final Map<String, Contribution> myContributions = new HashMap<>();
+    private final Map<String, List<Contribution>> myNameToContributions = new HashMap<>();
+    // the visited keys in the order they've been visited by the current update
+    private final Map<String, Integer> myVisitedKeys = new HashMap<>();
+    // the merge order of the contributions whose order has changed since the last build
+    private final Map<Contribution, Integer> myPreviousOrders = new IdentityHashMap<>();
+    // names touched since the last build, kept after a cancelled update so its partial changes are merged by the next one
+    private final Set<String> myDirtyNames = new HashSet<>();
+
+    private final GraphQLCompositeRegistry myCompositeRegistry = new GraphQLCompositeRegistry();
+    private @Nullable TypeDefinitionRegistry myRegistry;
+
+    /**
+     * @return the lock which has to be held during an update
+     */
+    @NotNull
+    public Lock getLock() {
+        return myLock;
+    }
+
+    public void startUpdate() {
+        myVisitedKeys.clear();
+    }
+
+    /**
+     * Marks the source as still present in the schema.
+     *
+     * @return true if the source has already been contributed with the same modification stamp
+     */
+    public boolean reuse(@NotNull String key, long stamp) {
+        Contribution contribution = myContributions.get(key);
+        if (contribution == null || contribution.myStamp != stamp) {
+            return false;
+        }
+
+        visit(key);
+        return true;
+    }
+
+    @SuppressWarnings("rawtypes")
+    public void addDocument(@NotNull String key, long stamp, @NotNull Document document) {
+        List<SDLDefinition<?>> definitions = new SmartList<>();
+        for (Definition definition : document.getDefinitions()) {
+            if (definition instanceof SDLDefinition) {
+                definitions.add((SDLDefinition<?>) definition);
+            }
+        }
+        addContribution(key, stamp, null, definitions);
+    }
+
+    /**
+     * Contributes an already built registry, e.g. the types defined using the endpoint language.
+     * The registry instance itself acts as the modification stamp.
+     */
+    public void addRegistry(@NotNull String key, @NotNull TypeDefinitionRegistry registry) {
+        Contribution contribution = myContributions.get(key);
+        if (contribution != null && contribution.myRegistry == registry) {
+            visit(key);
+            return;
+        }
+
+        List<SDLDefinition<?>> definitions = new ArrayList<>();
+        registry.schemaDefinition().ifPresent(definitions::add);
+        registry.types().values().forEach(definitions::add);
+        definitions.addAll(registry.getDirectiveDefinitions().values());
+        definitions.addAll(registry.scalars().values());
+
+        definitions.addAll(registry.getSchemaExtensionDefinitions());
+        registry.objectTypeExtensions().values().forEach(definitions::addAll);
+        registry.interfaceTypeExtensions().values().forEach(definitions::addAll);
+        registry.unionTypeExtensions().values().forEach(definitions::addAll);
+        registry.enumTypeExtensions().values().forEach(definitions::addAll);
+        registry.scalarTypeExtensions().values().forEach(definitions::addAll);
+        registry.inputObjectTypeExtensions().values().forEach(definitions::addAll);
+
+        addContribution(key, 0, registry, definitions);
+    }
+
+    private void addContribution(@NotNull String key,
+                                 long stamp,
+                                 @Nullable TypeDefinitionRegistry registry,
+                                 @NotNull List<SDLDefinition<?>> definitions) {
+        Contribution previous = myContributions.get(key);
+        int order = visit(key);
+
+        Contribution contribution = new Contribution(order, stamp, registry);
+        for (SDLDefinition<?> definition : definitions) {
+            String name = getDefinitionName(definition);
+            if (name != null) {
+                contribution.myNamedDefinitions.computeIfAbsent(name, n -> new SmartList<>()).add(definition);
+            }
+        }
+        if (previous != null) {
+            unregister(previous, contribution);
+            Integer previousOrder = myPreviousOrders.remove(previous);
+            if (previousOrder == null) {
+                previousOrder = previous.myOrder;
+            }
+            if (previousOrder != order) {
+                myPreviousOrders.put(contribution, previousOrder);
+            }
+        }
+        register(key, contribution, previous);
+    }
+
+    /**
+     * @return the merge order of the source
+     */
+    private int visit(@NotNull String key) {
+        Integer order = myVisitedKeys.get(key);
+        if (order == null) {
+            order = myVisitedKeys.size();
+            myVisitedKeys.put(key, order);
+        }
+        return order;
+    }
+
+    /**
+     * @param previous the contribution replaced by this one, whose unchanged names don't need to be merged again
+     */
+    private void register(@NotNull String key, @NotNull Contribution contribution, @Nullable Contribution previous) {
+        myContributions.put(key, contribution);
+        for (Map.Entry<String, List<SDLDefinition<?>>> entry : contribution.myNamedDefinitions.entrySet()) {
+            String name = entry.getKey();
+            myNameToContributions.computeIfAbsent(name, n -> new SmartList<>()).add(contribution);
+            if (previous == null || !isSameDefinitions(previous.myNamedDefinitions.get(name), entry.getValue())) {
+                myDirtyNames.add(name);
+            }
+        }
+    }
+
+    /**
+     * @param replacement the contribution replacing this one, whose unchanged names don't need to be merged again
+     */
+    private void unregister(@NotNull Contribution contribution, @Nullable Contribution replacement) {
+        for (Map.Entry<String, List<SDLDefinition<?>>> entry : contribution.myNamedDefinitions.entrySet()) {
+            String name = entry.getKey();
+            List<Contribution> contributions = myNameToContributions.get(name);
+            if (contributions != null) {
+                contributions.removeIf(c -> c == contribution);
+                if (contributions.isEmpty()) {
+                    myNameToContributions.remove(name);
+                }
+            }
+            if (replacement == null || !isSameDefinitions(entry.getValue(), replacement.myNamedDefinitions.get(name))) {
+                myDirtyNames.add(name);
+            }
+        }
+    }
+
+    private static boolean isSameDefinitions(@Nullable List<SDLDefinition<?>> definitions, @Nullable List<SDLDefinition<?>> otherDefinitions) {
+        if (definitions == null || otherDefinitions == null || definitions.size() != otherDefinitions.size()) {
+            return false;
+        }
+        for (int i = 0; i < definitions.size(); i++) {
+            if (definitions.get(i) != otherDefinitions.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    public TypeDefinitionRegistry finishUpdate() {
+        Iterator<Map.Entry<String, Contribution>> iterator = myContributions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Contribution> entry = iterator.next();
+            Contribution contribution = entry.getValue();
+            Integer order = myVisitedKeys.get(entry.getKey());
+            if (order == null) {
+                iterator.remove();
+                unregister(contribution, null);
+                myPreviousOrders.remove(contribution);
+            } else if (contribution.myOrder != order) {
+                myPreviousOrders.putIfAbsent(contribution, contribution.myOrder);
+                contribution.myOrder = order;
+            }
+        }
+        myVisitedKeys.clear();
+        markReorderedNames();
+
+        if (myDirtyNames.isEmpty() && myRegistry != null) {
+            return myRegistry;
+        }
+
+        for (String name : myDirtyNames) {
+            remergeDefinitions(name);
+        }
+        myDirtyNames.clear();
+
+        myRegistry = myCompositeRegistry.buildTypeDefinitionRegistry();
+        return myRegistry;
+    }
+
+    /**
+     * Marks the names whose contributions are now merged in a different order, e.g. after a source has been added
+     * in front of the existing ones
+     */
+    private void markReorderedNames() {
+        for (Contribution contribution : myPreviousOrders.keySet()) {
+            for (String name : contribution.myNamedDefinitions.keySet()) {
+                List<Contribution> contributions = myNameToContributions.get(name);
+                if (contributions == null || contributions.size() < 2 || myDirtyNames.contains(name)) {
+                    continue;
+                }
+                List<Contribution> previousOrder = new ArrayList<>(contributions);
+                previousOrder.sort(Comparator.comparingInt(c -> myPreviousOrders.getOrDefault(c, c.myOrder)));
+                List<Contribution> currentOrder = new ArrayList<>(contributions);
+                currentOrder.sort(Comparator.comparingInt(c -> c.myOrder));
+                if (!previousOrder.equals(currentOrder)) {
+                    myDirtyNames.add(name);
+                }
+            }
+        }
+        myPreviousOrders.clear();
+    }
+
+    /**
+     * Replaces the composite definition for the name with the one built from the current contributions,
+     * adding the source definitions in the same order as a build from scratch would do.
+     */
+    private void remergeDefinitions(@NotNull String name) {
+        if (SCHEMA_NAME.equals(name)) {
+            myCompositeRegistry.removeSchemaDefinitions();
+        } else {
+            myCompositeRegistry.removeDefinitions(name);
+        }
+
+        List<Contribution> contributions = myNameToContributions.get(name);
+        if (contributions == null) {
+            return;
+        }
+
+        List<Contribution> orderedContributions = new ArrayList<>(contributions);
+        orderedContributions.sort(Comparator.comparingInt(c -> c.myOrder));
+        for (Contribution contribution : orderedContributions) {
+            contribution.myNamedDefinitions.get(name).forEach(myCompositeRegistry::addDefinition);
+        }
+    }
+
+    @Nullable
+    private static String getDefinitionName(@NotNull SDLDefinition<?> definition) {
+        if (definition instanceof SchemaDefinition) {
+            return SCHEMA_NAME;
+        }
+        if (definition instanceof NamedNode) {
+            String name = ((NamedNode<?>) definition).getName();
+            return StringUtil.isEmpty(name) ? null : name;
+        }
+        return null;
+    }
+
+    private static final class Contribution {
+        private int myOrder;
+        private final long myStamp;
+        private final @Nullable TypeDefinitionRegistry myRegistry;
+        private final Map<String, List<SDLDefinition<?>>> myNamedDefinitions = new LinkedHashMap<>();
+
+        private Contribution(int order, long stamp, @Nullable TypeDefinitionRegistry registry) {
+            myOrder = order;
+            myStamp = stamp;
+            myRegistry = registry;
+        }
+    }
+}
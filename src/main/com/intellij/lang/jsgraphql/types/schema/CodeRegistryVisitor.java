@@ -36,37 +36,66 @@ class CodeRegistryVisitor extends GraphQLTypeVisitorStub {
         this.codeRegistry = codeRegistry;
     }
 
+    /**
+     * Registers the code of a named type and its fields without traversing the schema, since field definitions only belong to
+     * fields containers, which are named types themselves
+     */
+    void visitNamedType(GraphQLNamedType type) {
+        if (type instanceof GraphQLInterfaceType) {
+            registerTypeResolver((GraphQLInterfaceType) type);
+        } else if (type instanceof GraphQLUnionType) {
+            registerTypeResolver((GraphQLUnionType) type);
+        }
+        if (type instanceof GraphQLFieldsContainer) {
+            GraphQLFieldsContainer fieldsContainer = (GraphQLFieldsContainer) type;
+            for (GraphQLFieldDefinition fieldDefinition : fieldsContainer.getFieldDefinitions()) {
+                registerDataFetcher(fieldsContainer, fieldDefinition);
+            }
+        }
+    }
+
     @Override
     public TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition node, TraverserContext<GraphQLSchemaElement> context) {
         GraphQLFieldsContainer parentContainerType = (GraphQLFieldsContainer) context.getParentContext().thisNode();
+        registerDataFetcher(parentContainerType, node);
+        return CONTINUE;
+    }
+
+    @Override
+    public TraversalControl visitGraphQLInterfaceType(GraphQLInterfaceType node, TraverserContext<GraphQLSchemaElement> context) {
+        registerTypeResolver(node);
+        return CONTINUE;
+    }
+
+    @Override
+    public TraversalControl visitGraphQLUnionType(GraphQLUnionType node, TraverserContext<GraphQLSchemaElement> context) {
+        registerTypeResolver(node);
+        return CONTINUE;
+    }
+
+    private void registerDataFetcher(GraphQLFieldsContainer parentContainerType, GraphQLFieldDefinition node) {
         DataFetcher<?> dataFetcher = node.getDataFetcher();
         if (dataFetcher != null) {
             FieldCoordinates coordinates = coordinates(parentContainerType, node);
             codeRegistry.dataFetcherIfAbsent(coordinates, dataFetcher);
         }
-
-        return CONTINUE;
     }
 
-    @Override
-    public TraversalControl visitGraphQLInterfaceType(GraphQLInterfaceType node, TraverserContext<GraphQLSchemaElement> context) {
+    private void registerTypeResolver(GraphQLInterfaceType node) {
         TypeResolver typeResolver = node.getTypeResolver();
         if (typeResolver != null) {
             codeRegistry.typeResolverIfAbsent(node, typeResolver);
         }
         assertTrue(codeRegistry.getTypeResolver(node) != null,
                 () -> String.format("You MUST provide a type resolver for the interface type '%s'",node.getName()));
-        return CONTINUE;
     }
 
-    @Override
-    public TraversalControl visitGraphQLUnionType(GraphQLUnionType node, TraverserContext<GraphQLSchemaElement> context) {
+    private void registerTypeResolver(GraphQLUnionType node) {
         TypeResolver typeResolver = node.getTypeResolver();
         if (typeResolver != null) {
             codeRegistry.typeResolverIfAbsent(node, typeResolver);
         }
         assertTrue(codeRegistry.getTypeResolver(node) != null,
                 () -> String.format("You MUST provide a type resolver for the union type '%s'", node.getName()));
-        return CONTINUE;
     }
 }
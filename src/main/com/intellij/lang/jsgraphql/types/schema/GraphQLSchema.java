@@ -123,8 +123,9 @@ public class GraphQLSchema {
         this.definition = builder.definition;
         this.extensionDefinitions = nonNullCopyOf(builder.extensionDefinitions);
         this.codeRegistry = builder.codeRegistry;
+        // the types are collected by the schema util of the builder, which replaces the type references afterwards
+        SchemaUtil schemaUtil = builder.schemaUtil;
         // sorted by type name
-        SchemaUtil schemaUtil = new SchemaUtil();
         this.typeMap = ImmutableMap.copyOf(schemaUtil.allTypes(this, additionalTypes, afterTransform));
         this.interfaceNameToObjectTypes = buildInterfacesToObjectTypes(schemaUtil.groupImplementations(this));
         this.interfaceNameToObjectTypeNames = buildInterfacesToObjectName(interfaceNameToObjectTypes);
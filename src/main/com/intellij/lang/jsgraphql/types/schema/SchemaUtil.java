@@ -19,15 +19,26 @@ package com.intellij.lang.jsgraphql.types.schema;
 
 
 import com.google.common.collect.ImmutableMap;
+import com.intellij.concurrency.JobLauncher;
 import com.intellij.lang.jsgraphql.types.Internal;
 import com.intellij.lang.jsgraphql.types.introspection.Introspection;
+import com.intellij.lang.jsgraphql.types.util.TraversalControl;
+import com.intellij.lang.jsgraphql.types.util.TraverserContext;
+import com.intellij.openapi.progress.ProgressManager;
 
 import java.util.*;
 
+import static com.intellij.lang.jsgraphql.types.Assert.assertNotNull;
+import static com.intellij.lang.jsgraphql.types.collect.ImmutableKit.map;
+
 @Internal
 public class SchemaUtil {
 
-    private static final SchemaTraverser TRAVERSER = new SchemaTraverser();
+    // smaller schemas aren't worth replacing the type references concurrently
+    private static final int CONCURRENT_TYPE_REFERENCES_THRESHOLD = 512;
+
+    // the elements with type references found while collecting the types, so they don't have to be traversed again
+    private List<GraphQLSchemaElement> typeReferenceHolders;
 
 
     ImmutableMap<String, GraphQLNamedType> allTypes(final GraphQLSchema schema, final Set<GraphQLType> additionalTypes, boolean afterTransform) {
@@ -52,7 +63,7 @@ public class SchemaUtil {
             roots.addAll(schema.getDirectives());
         }
 
-        GraphQLTypeCollectingVisitor visitor = new GraphQLTypeCollectingVisitor();
+        TypeReferenceHoldersCollectingVisitor visitor = new TypeReferenceHoldersCollectingVisitor();
         SchemaTraverser traverser;
         // when collecting all types we never want to follow type references
         // When a schema is build first the type references are not replaced, so
@@ -65,6 +76,7 @@ public class SchemaUtil {
             traverser = new SchemaTraverser();
         }
         traverser.depthFirst(visitor, roots);
+        typeReferenceHolders = visitor.holders.getHolders();
         Map<String, GraphQLNamedType> result = visitor.getResult();
         return ImmutableMap.copyOf(new TreeMap<>(result));
     }
@@ -139,17 +151,151 @@ public class SchemaUtil {
         return result;
     }
 
+    /*
+     * The type references are replaced in the elements found when the types were collected, all of them only depend on
+     * the type map, so for large schemas they're replaced concurrently under the progress of the caller
+     */
     void replaceTypeReferences(GraphQLSchema schema) {
         final Map<String, GraphQLNamedType> typeMap = schema.getTypeMap();
-        List<GraphQLSchemaElement> roots = new ArrayList<>(typeMap.values());
-        roots.addAll(schema.getDirectives());
-        SchemaTraverser schemaTraverser = new SchemaTraverser(schemaElement -> schemaElement.getChildrenWithTypeReferences().getChildrenAsList());
-        schemaTraverser.depthFirst(new GraphQLTypeResolvingVisitor(typeMap), roots);
+        List<GraphQLSchemaElement> holders = typeReferenceHolders;
+        typeReferenceHolders = null;
+        if (holders == null) {
+            // the types of the schema weren't collected by this instance
+            List<GraphQLSchemaElement> roots = new ArrayList<>(typeMap.values());
+            roots.addAll(schema.getDirectives());
+            TypeReferenceHoldersVisitor visitor = new TypeReferenceHoldersVisitor();
+            new SchemaTraverser(schemaElement -> schemaElement.getChildrenWithTypeReferences().getChildrenAsList()).depthFirst(visitor, roots);
+            holders = visitor.holders.getHolders();
+        }
+
+        if (holders.size() <= CONCURRENT_TYPE_REFERENCES_THRESHOLD) {
+            for (GraphQLSchemaElement holder : holders) {
+                ProgressManager.checkCanceled();
+                replaceTypeReferences(holder, typeMap);
+            }
+        } else {
+            // each task only changes its own element, the read action and the progress indicator of the caller are kept
+            JobLauncher.getInstance().invokeConcurrentlyUnderProgress(holders, ProgressManager.getGlobalProgressIndicator(), holder -> {
+                replaceTypeReferences(holder, typeMap);
+                return true;
+            });
+        }
+    }
+
+    /*
+     * Does the same replacements as the GraphQLTypeResolvingVisitor for a single element
+     */
+    private static void replaceTypeReferences(GraphQLSchemaElement element, Map<String, GraphQLNamedType> typeMap) {
+        if (element instanceof GraphQLObjectType) {
+            GraphQLObjectType objectType = (GraphQLObjectType) element;
+            objectType.replaceInterfaces(map(objectType.getInterfaces(), type -> (GraphQLNamedOutputType) typeMap.get(type.getName())));
+        } else if (element instanceof GraphQLInterfaceType) {
+            GraphQLInterfaceType interfaceType = (GraphQLInterfaceType) element;
+            interfaceType.replaceInterfaces(map(interfaceType.getInterfaces(), type -> (GraphQLNamedOutputType) typeMap.get(type.getName())));
+        } else if (element instanceof GraphQLUnionType) {
+            GraphQLUnionType unionType = (GraphQLUnionType) element;
+            unionType.replaceTypes(map(unionType.getTypes(), type -> (GraphQLNamedOutputType) typeMap.get(type.getName())));
+        } else if (element instanceof GraphQLFieldDefinition) {
+            GraphQLFieldDefinition fieldDefinition = (GraphQLFieldDefinition) element;
+            if (fieldDefinition.getType() instanceof GraphQLTypeReference) {
+                fieldDefinition.replaceType((GraphQLOutputType) resolveTypeReference(fieldDefinition.getType(), typeMap));
+            }
+        } else if (element instanceof GraphQLArgument) {
+            GraphQLArgument argument = (GraphQLArgument) element;
+            if (argument.getType() instanceof GraphQLTypeReference) {
+                argument.replaceType((GraphQLInputType) resolveTypeReference(argument.getType(), typeMap));
+            }
+        } else if (element instanceof GraphQLInputObjectField) {
+            GraphQLInputObjectField inputObjectField = (GraphQLInputObjectField) element;
+            if (inputObjectField.getType() instanceof GraphQLTypeReference) {
+                inputObjectField.replaceType((GraphQLInputType) resolveTypeReference(inputObjectField.getType(), typeMap));
+            }
+        } else if (element instanceof GraphQLList) {
+            GraphQLList list = (GraphQLList) element;
+            if (list.getWrappedType() instanceof GraphQLTypeReference) {
+                list.replaceType(resolveTypeReference(list.getWrappedType(), typeMap));
+            }
+        } else if (element instanceof GraphQLNonNull) {
+            GraphQLNonNull nonNull = (GraphQLNonNull) element;
+            if (nonNull.getWrappedType() instanceof GraphQLTypeReference) {
+                nonNull.replaceType(resolveTypeReference(nonNull.getWrappedType(), typeMap));
+            }
+        }
+    }
+
+    private static GraphQLNamedType resolveTypeReference(GraphQLType typeReference, Map<String, GraphQLNamedType> typeMap) {
+        String name = ((GraphQLTypeReference) typeReference).getName();
+        GraphQLNamedType resolvedType = typeMap.get(name);
+        assertNotNull(resolvedType, () -> String.format("type %s not found in schema", name));
+        return resolvedType;
     }
 
     void extractCodeFromTypes(GraphQLCodeRegistry.Builder codeRegistry, GraphQLSchema schema) {
         Introspection.addCodeForIntrospectionTypes(codeRegistry);
 
-        TRAVERSER.depthFirst(new CodeRegistryVisitor(codeRegistry), schema.getAllTypesAsList());
+        CodeRegistryVisitor visitor = new CodeRegistryVisitor(codeRegistry);
+        for (GraphQLNamedType type : schema.getTypeMap().values()) {
+            visitor.visitNamedType(type);
+        }
+    }
+
+    /*
+     * The elements whose type references are replaced: the parents of the type references, and the implementing and union
+     * types whose interfaces and members are replaced by name. Every instance is kept, including the instances of a type
+     * which aren't in the type map because another type with the same name is.
+     */
+    private static class TypeReferenceHolders {
+        private final Set<GraphQLSchemaElement> holders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        void visit(GraphQLSchemaElement node, TraverserContext<GraphQLSchemaElement> context) {
+            if (node instanceof GraphQLImplementingType || node instanceof GraphQLUnionType) {
+                holders.add(node);
+            } else if (node instanceof GraphQLTypeReference) {
+                TraverserContext<GraphQLSchemaElement> parentContext = context.getParentContext();
+                if (parentContext != null && parentContext.thisNode() != null) {
+                    holders.add(parentContext.thisNode());
+                }
+            }
+        }
+
+        List<GraphQLSchemaElement> getHolders() {
+            return new ArrayList<>(holders);
+        }
+    }
+
+    /*
+     * Collects the types and the elements with type references in a single traversal
+     */
+    private static class TypeReferenceHoldersCollectingVisitor extends GraphQLTypeCollectingVisitor {
+        private final TypeReferenceHolders holders = new TypeReferenceHolders();
+
+        @Override
+        protected TraversalControl visitGraphQLType(GraphQLSchemaElement node, TraverserContext<GraphQLSchemaElement> context) {
+            holders.visit(node, context);
+            return super.visitGraphQLType(node, context);
+        }
+
+        @Override
+        public TraversalControl visitBackRef(TraverserContext<GraphQLSchemaElement> context) {
+            // a type reference instance can be shared by several elements
+            holders.visit(context.thisNode(), context);
+            return super.visitBackRef(context);
+        }
+    }
+
+    private static class TypeReferenceHoldersVisitor extends GraphQLTypeVisitorStub {
+        private final TypeReferenceHolders holders = new TypeReferenceHolders();
+
+        @Override
+        protected TraversalControl visitGraphQLType(GraphQLSchemaElement node, TraverserContext<GraphQLSchemaElement> context) {
+            holders.visit(node, context);
+            return super.visitGraphQLType(node, context);
+        }
+
+        @Override
+        public TraversalControl visitBackRef(TraverserContext<GraphQLSchemaElement> context) {
+            holders.visit(context.thisNode(), context);
+            return super.visitBackRef(context);
+        }
     }
 }
@@ -19,7 +19,7 @@ package com.intellij.lang.jsgraphql.types.schema.idl;
 
 import com.intellij.application.options.CodeStyle;
 import com.intellij.lang.jsgraphql.GraphQLLanguage;
-import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionResultToSchema;
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionService;
 import com.intellij.lang.jsgraphql.types.Assert;
 import com.intellij.lang.jsgraphql.types.PublicApi;
 import com.intellij.lang.jsgraphql.types.language.*;
@@ -40,6 +40,7 @@ import java.util.stream.Stream;
 import static com.intellij.lang.jsgraphql.types.Directives.DeprecatedDirective;
 import static com.intellij.lang.jsgraphql.types.introspection.Introspection.DirectiveLocation.*;
 import static com.intellij.lang.jsgraphql.types.schema.visibility.DefaultGraphqlFieldVisibility.DEFAULT_FIELD_VISIBILITY;
+import static com.intellij.lang.jsgraphql.types.util.EscapeUtil.escapeBlockString;
 import static com.intellij.lang.jsgraphql.types.util.EscapeUtil.escapeJsonString;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.joining;
@@ -337,9 +338,8 @@ public class SchemaPrinter {
 
     /**
      * This can print an in memory GraphQL IDL document back to a logical schema definition.
-     * If you want to turn a Introspection query result into a Document (and then into a printed
-     * schema) then use {@link GraphQLIntrospectionResultToSchema#createSchemaDefinition(Map)}
-     * first to get the {@link com.intellij.lang.jsgraphql.types.language.Document} and then print that.
+     * If you want to print an Introspection query result as a schema then use
+     * {@link GraphQLIntrospectionService#printIntrospectionAsGraphQL(String)} instead.
      *
      * @param schemaIDL the parsed schema IDL
      * @return the logical schema definition
@@ -1015,7 +1015,7 @@ public class SchemaPrinter {
 
     private void printMultiLineDescription(PrintWriter out, String prefix, List<String> lines) {
         out.printf("%s\"\"\"\n", prefix);
-        lines.forEach(l -> out.printf("%s%s\n", prefix, l));
+        lines.forEach(l -> out.printf("%s%s\n", prefix, escapeBlockString(l)));
         out.printf("%s\"\"\"\n", prefix);
     }
 
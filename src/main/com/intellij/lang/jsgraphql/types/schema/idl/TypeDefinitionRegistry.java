@@ -56,6 +56,9 @@ public class TypeDefinitionRegistry {
     private SchemaDefinition schema;
     private final List<SchemaExtensionDefinition> schemaExtensionDefinitions = new ArrayList<>();
 
+    // built on the first lookup and dropped whenever a type is added
+    private volatile PossibleTypesIndex possibleTypesIndex;
+
     private final List<GraphQLException> myErrors = new ArrayList<>();
 
     public static <T extends Node> Stream<T> fromSourceNodes(@NotNull Stream<T> definitions, @NotNull Class<T> targetClass) {
@@ -105,6 +108,7 @@ public class TypeDefinitionRegistry {
 
         // ok commit to the merge
         this.types.putAll(tempTypes);
+        this.possibleTypesIndex = null;
         this.scalarTypes.putAll(tempScalarTypes);
         this.directiveDefinitions.putAll(tempDirectiveDefs);
         //
@@ -205,6 +209,7 @@ public class TypeDefinitionRegistry {
         } else if (definition instanceof TypeDefinition) {
             TypeDefinition newEntry = (TypeDefinition) definition;
             define(types, types, newEntry);
+            possibleTypesIndex = null;
         } else if (definition instanceof DirectiveDefinition) {
             DirectiveDefinition newEntry = (DirectiveDefinition) definition;
             define(directiveDefinitions, directiveDefinitions, newEntry);
@@ -453,20 +458,8 @@ public class TypeDefinitionRegistry {
      * @see TypeDefinitionRegistry#getImplementationsOf(InterfaceTypeDefinition)
      */
     public List<ImplementingTypeDefinition> getAllImplementationsOf(InterfaceTypeDefinition targetInterface) {
-        List<ImplementingTypeDefinition> typeDefinitions = getTypes(ImplementingTypeDefinition.class);
-        return typeDefinitions.stream().filter(typeDefinition -> {
-            List<Type> implementsList = typeDefinition.getImplements();
-            for (Type iFace : implementsList) {
-                Optional<InterfaceTypeDefinition> interfaceTypeDef = getType(iFace, InterfaceTypeDefinition.class);
-                if (interfaceTypeDef.isPresent()) {
-                    boolean equals = interfaceTypeDef.get().getName().equals(targetInterface.getName());
-                    if (equals) {
-                        return true;
-                    }
-                }
-            }
-            return false;
-        }).collect(Collectors.toList());
+        ProgressManager.checkCanceled();
+        return new ArrayList<>(getPossibleTypesIndex().getImplementations(targetInterface.getName()));
     }
 
     /**
@@ -501,22 +494,59 @@ public class TypeDefinitionRegistry {
         }
         TypeDefinition targetObjectTypeDef = getType(possibleType).get();
         TypeDefinition abstractTypeDef = getType(abstractType).get();
-        if (abstractTypeDef instanceof UnionTypeDefinition) {
-            List<Type> memberTypes = ((UnionTypeDefinition) abstractTypeDef).getMemberTypes();
-            for (Type memberType : memberTypes) {
-                Optional<ObjectTypeDefinition> checkType = getType(memberType, ObjectTypeDefinition.class);
-                if (checkType.isPresent()) {
-                    if (checkType.get().getName().equals(targetObjectTypeDef.getName())) {
-                        return true;
+        return getPossibleTypesIndex().getPossibleTypeNames(abstractTypeDef.getName()).contains(targetObjectTypeDef.getName());
+    }
+
+    private @NotNull PossibleTypesIndex getPossibleTypesIndex() {
+        PossibleTypesIndex index = possibleTypesIndex;
+        if (index == null) {
+            index = new PossibleTypesIndex(this);
+            possibleTypesIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Reverse index of the abstract types, from an interface to the types implementing it and from a union to its object members,
+     * so that the possible types of an abstract type aren't searched in all the types of the registry on each call.
+     */
+    private static final class PossibleTypesIndex {
+        private final Map<String, List<ImplementingTypeDefinition>> implementations = new HashMap<>();
+        private final Map<String, Set<String>> possibleTypeNames = new HashMap<>();
+
+        PossibleTypesIndex(@NotNull TypeDefinitionRegistry registry) {
+            for (TypeDefinition<?> typeDefinition : registry.types.values()) {
+                ProgressManager.checkCanceled();
+                if (typeDefinition instanceof ImplementingTypeDefinition) {
+                    ImplementingTypeDefinition<?> implementingType = (ImplementingTypeDefinition<?>) typeDefinition;
+                    for (Type iFace : implementingType.getImplements()) {
+                        Optional<InterfaceTypeDefinition> interfaceTypeDef = registry.getType(iFace, InterfaceTypeDefinition.class);
+                        if (interfaceTypeDef.isPresent()) {
+                            String interfaceName = interfaceTypeDef.get().getName();
+                            List<ImplementingTypeDefinition> implementingTypes =
+                                implementations.computeIfAbsent(interfaceName, k -> new ArrayList<>());
+                            // a type may list the same interface more than once
+                            if (implementingTypes.isEmpty() || implementingTypes.get(implementingTypes.size() - 1) != implementingType) {
+                                implementingTypes.add(implementingType);
+                                possibleTypeNames.computeIfAbsent(interfaceName, k -> new HashSet<>()).add(implementingType.getName());
+                            }
+                        }
+                    }
+                } else if (typeDefinition instanceof UnionTypeDefinition) {
+                    Set<String> memberNames = possibleTypeNames.computeIfAbsent(typeDefinition.getName(), k -> new HashSet<>());
+                    for (Type memberType : ((UnionTypeDefinition) typeDefinition).getMemberTypes()) {
+                        registry.getType(memberType, ObjectTypeDefinition.class).ifPresent(member -> memberNames.add(member.getName()));
                     }
                 }
             }
-            return false;
-        } else {
-            InterfaceTypeDefinition iFace = (InterfaceTypeDefinition) abstractTypeDef;
-            List<ImplementingTypeDefinition> implementingTypeDefinitions = getAllImplementationsOf(iFace);
-            return implementingTypeDefinitions.stream()
-                    .anyMatch(od -> Objects.equals(od.getName(), targetObjectTypeDef.getName()));
+        }
+
+        @NotNull List<ImplementingTypeDefinition> getImplementations(@NotNull String interfaceName) {
+            return implementations.getOrDefault(interfaceName, Collections.emptyList());
+        }
+
+        @NotNull Set<String> getPossibleTypeNames(@NotNull String abstractTypeName) {
+            return possibleTypeNames.getOrDefault(abstractTypeName, Collections.emptySet());
         }
     }
 
@@ -66,4 +66,15 @@ public final class EscapeUtil {
         return sb.toString();
     }
 
+    /**
+     * Escapes the triple quotes in the content of a block string, which would otherwise end the block string
+     *
+     * @param stringValue the block string content
+     *
+     * @return the escaped content
+     */
+    public static String escapeBlockString(String stringValue) {
+        return stringValue.replace("\"\"\"", "\\\"\"\"");
+    }
+
 }
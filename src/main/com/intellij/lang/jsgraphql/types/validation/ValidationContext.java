@@ -35,6 +35,7 @@ public class ValidationContext {
     private final Document document;
 
     private final TraversalContext traversalContext;
+    private final ValidationSchemaData schemaData;
     private final Map<String, FragmentDefinition> fragmentDefinitionMap = new LinkedHashMap<>();
 
 
@@ -42,6 +43,7 @@ public class ValidationContext {
         this.schema = schema;
         this.document = document;
         this.traversalContext = new TraversalContext(schema);
+        this.schemaData = ValidationSchemaData.forSchema(schema);
         buildFragmentMap();
     }
 
@@ -61,6 +63,10 @@ public class ValidationContext {
         return schema;
     }
 
+    public ValidationSchemaData getSchemaData() {
+        return schemaData;
+    }
+
     public Document getDocument() {
         return document;
     }
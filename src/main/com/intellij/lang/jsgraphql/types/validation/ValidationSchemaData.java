@@ -0,0 +1,52 @@
+package com.intellij.lang.jsgraphql.types.validation;
+
+import com.intellij.lang.jsgraphql.types.Internal;
+import com.intellij.lang.jsgraphql.types.schema.*;
+import com.intellij.util.containers.ContainerUtil;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data derived from a schema which is used by the validation rules. It's computed on demand and shared by all validations
+ * against the same schema, so a document validated on every highlighting pass doesn't derive it again.
+ */
+@Internal
+public class ValidationSchemaData {
+
+    private static final Map<GraphQLSchema, ValidationSchemaData> SCHEMA_DATA = ContainerUtil.createConcurrentWeakMap();
+
+    // doesn't reference the schema, since it's the weak key of the data
+    private final Map<String, Set<String>> possibleTypeNames = new ConcurrentHashMap<>();
+
+    private ValidationSchemaData() {
+    }
+
+    public static ValidationSchemaData forSchema(GraphQLSchema schema) {
+        return SCHEMA_DATA.computeIfAbsent(schema, s -> new ValidationSchemaData());
+    }
+
+    /**
+     * @return the names of the object types which can be of the given composite type
+     */
+    public Set<String> getPossibleTypeNames(GraphQLSchema schema, GraphQLCompositeType type) {
+        if (type instanceof GraphQLObjectType) {
+            return Collections.singleton(type.getName());
+        }
+        return possibleTypeNames.computeIfAbsent(type.getName(), name -> {
+            List<? extends GraphQLNamedType> possibleTypes;
+            if (type instanceof GraphQLInterfaceType) {
+                possibleTypes = schema.getImplementations((GraphQLInterfaceType) type);
+            } else if (type instanceof GraphQLUnionType) {
+                possibleTypes = ((GraphQLUnionType) type).getTypes();
+            } else {
+                possibleTypes = Collections.emptyList();
+            }
+            Set<String> names = new HashSet<>();
+            for (GraphQLNamedType possibleType : possibleTypes) {
+                names.add(possibleType.getName());
+            }
+            return names;
+        });
+    }
+}
@@ -19,96 +19,176 @@ package com.intellij.lang.jsgraphql.types.validation;
 
 
 import com.intellij.lang.jsgraphql.types.Internal;
+import com.intellij.lang.jsgraphql.types.language.Definition;
 import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.language.Node;
 import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
 import com.intellij.lang.jsgraphql.types.validation.rules.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 @Internal
 public class Validator {
 
+    /**
+     * Rules which only check the definitions of a document against each other, see {@link #validateDocumentDefinitions}.
+     * The other rules can validate each definition on its own, see {@link #validateDefinition}.
+     */
+    public static final Set<Class<?>> DOCUMENT_RULES = Set.of(
+        ExecutableDefinitions.class,
+        LoneAnonymousOperation.class,
+        NoFragmentCycles.class,
+        UniqueFragmentNames.class,
+        UniqueOperationNames.class
+    );
+
+    /**
+     * The rules in the order they are run
+     */
+    private static final List<RuleFactory> RULES = List.of(
+        new RuleFactory(ExecutableDefinitions.class, ExecutableDefinitions::new),
+        new RuleFactory(ArgumentsOfCorrectType.class, ArgumentsOfCorrectType::new),
+        new RuleFactory(FieldsOnCorrectType.class, FieldsOnCorrectType::new),
+        new RuleFactory(FragmentsOnCompositeType.class, FragmentsOnCompositeType::new),
+        new RuleFactory(KnownArgumentNames.class, KnownArgumentNames::new),
+        new RuleFactory(KnownDirectives.class, KnownDirectives::new),
+        new RuleFactory(KnownFragmentNames.class, KnownFragmentNames::new),
+        new RuleFactory(KnownTypeNames.class, KnownTypeNames::new),
+        new RuleFactory(NoFragmentCycles.class, NoFragmentCycles::new),
+        new RuleFactory(NoUndefinedVariables.class, NoUndefinedVariables::new),
+        new RuleFactory(NoUnusedFragments.class, NoUnusedFragments::new),
+        new RuleFactory(NoUnusedVariables.class, NoUnusedVariables::new),
+        new RuleFactory(OverlappingFieldsCanBeMerged.class, OverlappingFieldsCanBeMerged::new),
+        new RuleFactory(PossibleFragmentSpreads.class, PossibleFragmentSpreads::new),
+        new RuleFactory(ProvidedNonNullArguments.class, ProvidedNonNullArguments::new),
+        new RuleFactory(ScalarLeafs.class, ScalarLeafs::new),
+        new RuleFactory(VariableDefaultValuesOfCorrectType.class, VariableDefaultValuesOfCorrectType::new),
+        new RuleFactory(VariablesAreInputTypes.class, VariablesAreInputTypes::new),
+        new RuleFactory(VariableTypesMatchRule.class, VariableTypesMatchRule::new),
+        new RuleFactory(LoneAnonymousOperation.class, LoneAnonymousOperation::new),
+        new RuleFactory(UniqueOperationNames.class, UniqueOperationNames::new),
+        new RuleFactory(UniqueFragmentNames.class, UniqueFragmentNames::new),
+        new RuleFactory(UniqueDirectiveNamesPerLocation.class, UniqueDirectiveNamesPerLocation::new),
+        new RuleFactory(UniqueArgumentNamesRule.class, UniqueArgumentNamesRule::new),
+        new RuleFactory(UniqueVariableNamesRule.class, UniqueVariableNamesRule::new)
+    );
+
     public List<ValidationError> validateDocument(GraphQLSchema schema, Document document) {
+        return validateDocument(schema, document, ruleClass -> true);
+    }
+
+    /**
+     * Validates the document with the rules accepted by the predicate, so the rules whose errors aren't used can be skipped.
+     *
+     * @param schema        the schema to validate against
+     * @param document      the document to validate
+     * @param rulePredicate tests the rule classes, e.g. {@link OverlappingFieldsCanBeMerged}
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Predicate<Class<?>> rulePredicate) {
         ValidationContext validationContext = new ValidationContext(schema, document);
 
 
         ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector();
-        List<AbstractRule> rules = createRules(validationContext, validationErrorCollector);
+        List<AbstractRule> rules = createRules(validationContext, validationErrorCollector, rulePredicate);
+        if (rules.isEmpty()) {
+            return validationErrorCollector.getErrors();
+        }
         LanguageTraversal languageTraversal = new LanguageTraversal();
         languageTraversal.traverse(document, new RulesVisitor(validationContext, rules));
 
         return validationErrorCollector.getErrors();
     }
 
-    public List<AbstractRule> createRules(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
-        List<AbstractRule> rules = new ArrayList<>();
-
-        ExecutableDefinitions executableDefinitions = new ExecutableDefinitions(validationContext, validationErrorCollector);
-        rules.add(executableDefinitions);
-
-        ArgumentsOfCorrectType argumentsOfCorrectType = new ArgumentsOfCorrectType(validationContext, validationErrorCollector);
-        rules.add(argumentsOfCorrectType);
-
-        FieldsOnCorrectType fieldsOnCorrectType = new FieldsOnCorrectType(validationContext, validationErrorCollector);
-        rules.add(fieldsOnCorrectType);
-        FragmentsOnCompositeType fragmentsOnCompositeType = new FragmentsOnCompositeType(validationContext, validationErrorCollector);
-        rules.add(fragmentsOnCompositeType);
-
-        KnownArgumentNames knownArgumentNames = new KnownArgumentNames(validationContext, validationErrorCollector);
-        rules.add(knownArgumentNames);
-        KnownDirectives knownDirectives = new KnownDirectives(validationContext, validationErrorCollector);
-        rules.add(knownDirectives);
-        KnownFragmentNames knownFragmentNames = new KnownFragmentNames(validationContext, validationErrorCollector);
-        rules.add(knownFragmentNames);
-        KnownTypeNames knownTypeNames = new KnownTypeNames(validationContext, validationErrorCollector);
-        rules.add(knownTypeNames);
-
-        NoFragmentCycles noFragmentCycles = new NoFragmentCycles(validationContext, validationErrorCollector);
-        rules.add(noFragmentCycles);
-        NoUndefinedVariables noUndefinedVariables = new NoUndefinedVariables(validationContext, validationErrorCollector);
-        rules.add(noUndefinedVariables);
-        NoUnusedFragments noUnusedFragments = new NoUnusedFragments(validationContext, validationErrorCollector);
-        rules.add(noUnusedFragments);
-        NoUnusedVariables noUnusedVariables = new NoUnusedVariables(validationContext, validationErrorCollector);
-        rules.add(noUnusedVariables);
-
-        OverlappingFieldsCanBeMerged overlappingFieldsCanBeMerged = new OverlappingFieldsCanBeMerged(validationContext, validationErrorCollector);
-        rules.add(overlappingFieldsCanBeMerged);
-
-        PossibleFragmentSpreads possibleFragmentSpreads = new PossibleFragmentSpreads(validationContext, validationErrorCollector);
-        rules.add(possibleFragmentSpreads);
-        ProvidedNonNullArguments providedNonNullArguments = new ProvidedNonNullArguments(validationContext, validationErrorCollector);
-        rules.add(providedNonNullArguments);
+    /**
+     * Validates a definition of the document, with the other definitions only used to resolve fragment spreads.
+     * This gives the same errors as validating the whole document for the definition, except for the {@link #DOCUMENT_RULES}
+     * and {@link NoUnusedFragments}, which need all the definitions.
+     *
+     * @param schema        the schema to validate against
+     * @param document      the document containing the definition
+     * @param definition    the definition to validate
+     * @param rulePredicate tests the rule classes
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validateDefinition(GraphQLSchema schema, Document document, Definition<?> definition, Predicate<Class<?>> rulePredicate) {
+        ValidationContext validationContext = new ValidationContext(schema, document);
 
-        ScalarLeafs scalarLeafs = new ScalarLeafs(validationContext, validationErrorCollector);
-        rules.add(scalarLeafs);
+        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector();
+        List<AbstractRule> rules = createRules(validationContext, validationErrorCollector, rulePredicate);
+        if (rules.isEmpty()) {
+            return validationErrorCollector.getErrors();
+        }
+        List<Node> path = new ArrayList<>();
+        path.add(document);
+        new LanguageTraversal(path).traverse(definition, new RulesVisitor(validationContext, rules));
 
-        VariableDefaultValuesOfCorrectType variableDefaultValuesOfCorrectType = new VariableDefaultValuesOfCorrectType(validationContext, validationErrorCollector);
-        rules.add(variableDefaultValuesOfCorrectType);
-        VariablesAreInputTypes variablesAreInputTypes = new VariablesAreInputTypes(validationContext, validationErrorCollector);
-        rules.add(variablesAreInputTypes);
-        VariableTypesMatchRule variableTypesMatchRule = new VariableTypesMatchRule(validationContext, validationErrorCollector);
-        rules.add(variableTypesMatchRule);
+        return validationErrorCollector.getErrors();
+    }
 
-        LoneAnonymousOperation loneAnonymousOperation = new LoneAnonymousOperation(validationContext, validationErrorCollector);
-        rules.add(loneAnonymousOperation);
+    /**
+     * Validates the document with the {@link #DOCUMENT_RULES} accepted by the predicate. Only the document and its definitions are
+     * visited, but not the nodes inside the definitions, so this is cheap enough to run whenever any definition changes.
+     *
+     * @param schema        the schema to validate against
+     * @param document      the document to validate
+     * @param rulePredicate tests the rule classes
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validateDocumentDefinitions(GraphQLSchema schema, Document document, Predicate<Class<?>> rulePredicate) {
+        ValidationContext validationContext = new ValidationContext(schema, document);
 
-        UniqueOperationNames uniqueOperationNames = new UniqueOperationNames(validationContext, validationErrorCollector);
-        rules.add(uniqueOperationNames);
+        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector();
+        List<AbstractRule> rules = createRules(validationContext, validationErrorCollector,
+            ruleClass -> DOCUMENT_RULES.contains(ruleClass) && rulePredicate.test(ruleClass));
+        if (rules.isEmpty()) {
+            return validationErrorCollector.getErrors();
+        }
+        RulesVisitor rulesVisitor = new RulesVisitor(validationContext, rules);
+        List<Node> path = new ArrayList<>();
+        rulesVisitor.enter(document, path);
+        path.add(document);
+        for (Definition<?> definition : document.getDefinitions()) {
+            rulesVisitor.enter(definition, path);
+            rulesVisitor.leave(definition, path);
+        }
+        path.remove(path.size() - 1);
+        rulesVisitor.leave(document, path);
 
-        UniqueFragmentNames uniqueFragmentNames = new UniqueFragmentNames(validationContext, validationErrorCollector);
-        rules.add(uniqueFragmentNames);
+        return validationErrorCollector.getErrors();
+    }
 
-        UniqueDirectiveNamesPerLocation uniqueDirectiveNamesPerLocation = new UniqueDirectiveNamesPerLocation(validationContext, validationErrorCollector);
-        rules.add(uniqueDirectiveNamesPerLocation);
+    public List<AbstractRule> createRules(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
+        return createRules(validationContext, validationErrorCollector, ruleClass -> true);
+    }
 
-        UniqueArgumentNamesRule uniqueArgumentNamesRule = new UniqueArgumentNamesRule(validationContext, validationErrorCollector);
-        rules.add(uniqueArgumentNamesRule);
+    public List<AbstractRule> createRules(ValidationContext validationContext,
+                                          ValidationErrorCollector validationErrorCollector,
+                                          Predicate<Class<?>> rulePredicate) {
+        List<AbstractRule> rules = new ArrayList<>();
+        for (RuleFactory ruleFactory : RULES) {
+            if (rulePredicate.test(ruleFactory.ruleClass)) {
+                rules.add(ruleFactory.constructor.apply(validationContext, validationErrorCollector));
+            }
+        }
+        return rules;
+    }
 
-        UniqueVariableNamesRule uniqueVariableNamesRule = new UniqueVariableNamesRule(validationContext, validationErrorCollector);
-        rules.add(uniqueVariableNamesRule);
+    private static final class RuleFactory {
+        private final Class<? extends AbstractRule> ruleClass;
+        private final BiFunction<ValidationContext, ValidationErrorCollector, AbstractRule> constructor;
 
-        return rules;
+        private RuleFactory(Class<? extends AbstractRule> ruleClass,
+                            BiFunction<ValidationContext, ValidationErrorCollector, AbstractRule> constructor) {
+            this.ruleClass = ruleClass;
+            this.constructor = constructor;
+        }
     }
 }
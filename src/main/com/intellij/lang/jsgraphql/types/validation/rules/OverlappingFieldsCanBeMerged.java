@@ -39,7 +39,10 @@ import static java.lang.String.format;
 public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
 
-    private final List<FieldPair> alreadyChecked = new ArrayList<>();
+    private final Set<FieldPair> alreadyChecked = new HashSet<>();
+
+    // the selections of each fragment, collected once since a fragment is usually spread into many selection sets
+    private final Map<String, List<FragmentSelection>> fragmentSelections = new HashMap<>();
 
     public OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         super(validationContext, validationErrorCollector);
@@ -72,28 +75,15 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         return result;
     }
 
-    private boolean isAlreadyChecked(Field field1, Field field2) {
-        for (FieldPair fieldPair : alreadyChecked) {
-            if (fieldPair.field1 == field1 && fieldPair.field2 == field2) {
-                return true;
-            }
-            if (fieldPair.field1 == field2 && fieldPair.field2 == field1) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @SuppressWarnings("ConstantConditions")
     private Conflict findConflict(String responseName, FieldAndType fieldAndTypeA, FieldAndType fieldAndTypeB) {
 
         Field fieldA = fieldAndTypeA.field;
         Field fieldB = fieldAndTypeB.field;
 
-        if (isAlreadyChecked(fieldA, fieldB)) {
+        if (!alreadyChecked.add(new FieldPair(fieldA, fieldB))) {
             return null;
         }
-        alreadyChecked.add(new FieldPair(fieldA, fieldB));
 
         String fieldNameA = fieldA.getName();
         String fieldNameB = fieldB.getName();
@@ -292,31 +282,82 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
     }
 
     private void collectFieldsForFragmentSpread(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, FragmentSpread fragmentSpread) {
-        FragmentDefinition fragment = getValidationContext().getFragment(fragmentSpread.getName());
-        if (fragment == null) {
+        collectFieldsForFragment(fieldMap, visitedFragmentSpreads, fragmentSpread.getName());
+    }
+
+    private void collectFieldsForFragment(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, String fragmentName) {
+        List<FragmentSelection> selections = getFragmentSelections(fragmentName);
+        if (selections == null) {
             return;
         }
-        if (visitedFragmentSpreads.contains(fragment.getName())) {
+        if (!visitedFragmentSpreads.add(fragmentName)) {
             return;
         }
-        visitedFragmentSpreads.add(fragment.getName());
-        GraphQLType graphQLType = TypeFromAST.getTypeFromAST(getValidationContext().getSchema(),
-                fragment.getTypeCondition());
-        collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        for (FragmentSelection selection : selections) {
+            if (selection.fieldAndType != null) {
+                addField(fieldMap, selection.fieldAndType);
+            } else {
+                collectFieldsForFragment(fieldMap, visitedFragmentSpreads, selection.fragmentName);
+            }
+        }
+    }
+
+    private List<FragmentSelection> getFragmentSelections(String fragmentName) {
+        List<FragmentSelection> selections = fragmentSelections.get(fragmentName);
+        if (selections == null) {
+            FragmentDefinition fragment = getValidationContext().getFragment(fragmentName);
+            if (fragment == null) {
+                return null;
+            }
+            GraphQLType graphQLType = TypeFromAST.getTypeFromAST(getValidationContext().getSchema(),
+                    fragment.getTypeCondition());
+            selections = new ArrayList<>();
+            collectFragmentSelections(selections, fragment.getSelectionSet(), graphQLType);
+            fragmentSelections.put(fragmentName, selections);
+        }
+        return selections;
+    }
+
+    /**
+     * Collects the fields of a fragment like {@link #collectFields}, but keeps the spread fragments by name,
+     * since which of them are collected depends on the fragments already visited in the selection set the fragment is spread into.
+     */
+    private void collectFragmentSelections(List<FragmentSelection> selections, SelectionSet selectionSet, GraphQLType parentType) {
+        if (selectionSet == null) return;
+
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                selections.add(new FragmentSelection(createFieldAndType(parentType, (Field) selection), null));
+
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                collectFragmentSelections(selections, inlineFragment.getSelectionSet(), getInlineFragmentType(parentType, inlineFragment));
+
+            } else if (selection instanceof FragmentSpread) {
+                selections.add(new FragmentSelection(null, ((FragmentSpread) selection).getName()));
+            }
+        }
     }
 
     private void collectFieldsForInlineFragment(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, GraphQLType parentType, InlineFragment inlineFragment) {
-        GraphQLType graphQLType = inlineFragment.getTypeCondition() != null
+        collectFields(fieldMap, inlineFragment.getSelectionSet(), getInlineFragmentType(parentType, inlineFragment), visitedFragmentSpreads);
+    }
+
+    private GraphQLType getInlineFragmentType(GraphQLType parentType, InlineFragment inlineFragment) {
+        return inlineFragment.getTypeCondition() != null
                 ? TypeFromAST.getTypeFromAST(getValidationContext().getSchema(), inlineFragment.getTypeCondition())
                 : parentType;
-        collectFields(fieldMap, inlineFragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
     }
 
     private void collectFieldsForField(Map<String, List<FieldAndType>> fieldMap, GraphQLType parentType, Field field) {
-        String responseName = field.getResultKey();
-        if (!fieldMap.containsKey(responseName)) {
-            fieldMap.put(responseName, new ArrayList<>());
-        }
+        addField(fieldMap, createFieldAndType(parentType, field));
+    }
+
+    private void addField(Map<String, List<FieldAndType>> fieldMap, FieldAndType fieldAndType) {
+        fieldMap.computeIfAbsent(fieldAndType.field.getResultKey(), k -> new ArrayList<>()).add(fieldAndType);
+    }
+
+    private FieldAndType createFieldAndType(GraphQLType parentType, Field field) {
         GraphQLOutputType fieldType = null;
         GraphQLUnmodifiedType unwrappedParent = unwrapAll(parentType);
         if (unwrappedParent instanceof GraphQLFieldsContainer) {
@@ -324,7 +365,7 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             GraphQLFieldDefinition fieldDefinition = getVisibleFieldDefinition(fieldsContainer, field);
             fieldType = fieldDefinition != null ? fieldDefinition.getType() : null;
         }
-        fieldMap.get(responseName).add(new FieldAndType(field, fieldType, parentType));
+        return new FieldAndType(field, fieldType, parentType);
     }
 
     private GraphQLFieldDefinition getVisibleFieldDefinition(GraphQLFieldsContainer fieldsContainer, Field field) {
@@ -339,6 +380,30 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             this.field1 = field1;
             this.field2 = field2;
         }
+
+        // fields are compared by identity and the pair is unordered
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FieldPair)) return false;
+            FieldPair that = (FieldPair) o;
+            return field1 == that.field1 && field2 == that.field2 || field1 == that.field2 && field2 == that.field1;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(field1) + System.identityHashCode(field2);
+        }
+    }
+
+    private static class FragmentSelection {
+        final FieldAndType fieldAndType;
+        final String fragmentName;
+
+        public FragmentSelection(FieldAndType fieldAndType, String fragmentName) {
+            this.fieldAndType = fieldAndType;
+            this.fragmentName = fragmentName;
+        }
     }
 
     private static class Conflict {
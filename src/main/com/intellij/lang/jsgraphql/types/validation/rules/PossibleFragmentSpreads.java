@@ -18,7 +18,6 @@
 package com.intellij.lang.jsgraphql.types.validation.rules;
 
 
-import com.intellij.lang.jsgraphql.types.Assert;
 import com.intellij.lang.jsgraphql.types.Internal;
 import com.intellij.lang.jsgraphql.types.execution.TypeFromAST;
 import com.intellij.lang.jsgraphql.types.language.FragmentDefinition;
@@ -29,9 +28,10 @@ import com.intellij.lang.jsgraphql.types.validation.AbstractRule;
 import com.intellij.lang.jsgraphql.types.validation.ValidationContext;
 import com.intellij.lang.jsgraphql.types.validation.ValidationErrorCollector;
 import com.intellij.lang.jsgraphql.types.validation.ValidationErrorType;
+import com.intellij.lang.jsgraphql.types.validation.ValidationSchemaData;
 
 import java.util.Collections;
-import java.util.List;
+import java.util.Set;
 
 import static com.intellij.lang.jsgraphql.types.schema.GraphQLTypeUtil.simplePrint;
 
@@ -76,27 +76,15 @@ public class PossibleFragmentSpreads extends AbstractRule {
             return true;
         }
 
-        List<? extends GraphQLType> possibleParentTypes = getPossibleType(parent);
-        List<? extends GraphQLType> possibleConditionTypes = getPossibleType(type);
+        GraphQLSchema schema = getValidationContext().getSchema();
+        ValidationSchemaData schemaData = getValidationContext().getSchemaData();
+        Set<String> possibleParentTypes = schemaData.getPossibleTypeNames(schema, parent);
+        Set<String> possibleConditionTypes = schemaData.getPossibleTypeNames(schema, (GraphQLCompositeType) type);
 
         return !Collections.disjoint(possibleParentTypes, possibleConditionTypes);
 
     }
 
-    private List<? extends GraphQLType> getPossibleType(GraphQLType type) {
-        List<? extends GraphQLType> possibleConditionTypes = null;
-        if (type instanceof GraphQLObjectType) {
-            possibleConditionTypes = Collections.singletonList(type);
-        } else if (type instanceof GraphQLInterfaceType) {
-            possibleConditionTypes = getValidationContext().getSchema().getImplementations((GraphQLInterfaceType) type);
-        } else if (type instanceof GraphQLUnionType) {
-            possibleConditionTypes = ((GraphQLUnionType) type).getTypes();
-        } else {
-            Assert.assertShouldNeverHappen();
-        }
-        return possibleConditionTypes;
-    }
-
     /**
      * Per spec: The target type of fragment (type condition)
      * must have kind UNION, INTERFACE, or OBJECT.
@@ -0,0 +1,74 @@
+package com.intellij.lang.jsgraphql.endpoint.ide.project;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.endpoint.ide.type.JSGraphQLLegacyNamedType;
+import com.intellij.lang.jsgraphql.endpoint.ide.type.JSGraphQLLegacyPropertyType;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeTracker;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiNamedElement;
+import org.jetbrains.annotations.NotNull;
+
+public class JSGraphQLEndpointNamedTypeRegistryTest extends GraphQLTestCaseBase {
+
+    private PsiFile myMainFile;
+    private PsiFile myOtherFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject(".graphqlconfig", "{\"extensions\": {\"endpoint-language\": {\"entry\": \"main.graphqle\"}}}");
+        myMainFile = myFixture.addFileToProject("main.graphqle", "type Query {\n  user: User\n}");
+        myOtherFile = myFixture.addFileToProject("other.graphqle", "type User {\n  id: ID\n  friends: [User]\n}");
+        loadConfiguration();
+    }
+
+    public void testTypesOfAutoImportFiles() {
+        JSGraphQLLegacyNamedType user = getNamedType("User");
+        assertNotNull(user);
+        assertEquals(myOtherFile, user.getDefinitionElement().getContainingFile());
+        assertEquals("User", user.getNameElement().getName());
+
+        JSGraphQLLegacyPropertyType friends = user.properties.get("friends");
+        assertNotNull(friends);
+        assertEquals("User", friends.propertyValueTypeName);
+        PsiNamedElement propertyElement = friends.getPropertyElement();
+        assertNotNull(propertyElement);
+        assertEquals("friends", propertyElement.getName());
+
+        // anonymous queries use the Query type
+        assertSame(getNamedType("Query"), getNamedType("SelectionSet"));
+    }
+
+    public void testOnlyEditedFileIsReadAgain() {
+        JSGraphQLLegacyNamedType query = getNamedType("Query");
+        JSGraphQLLegacyNamedType user = getNamedType("User");
+        assertNotNull(query);
+        assertNotNull(user);
+
+        setText(myMainFile, "type Query {\n  user: User\n  users: [User]\n}");
+        getProject().getMessageBus().syncPublisher(GraphQLSchemaChangeTracker.TOPIC).onSchemaChanged();
+
+        JSGraphQLLegacyNamedType editedQuery = getNamedType("Query");
+        assertNotNull(editedQuery);
+        assertNotSame(query, editedQuery);
+        assertNotNull(editedQuery.properties.get("users"));
+        assertSame(user, getNamedType("User"));
+    }
+
+    private JSGraphQLLegacyNamedType getNamedType(@NotNull String name) {
+        return JSGraphQLEndpointNamedTypeRegistry.getService(getProject()).getNamedType(name, myMainFile);
+    }
+
+    private void setText(@NotNull PsiFile file, @NotNull String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            Document document = documentManager.getDocument(file);
+            assertNotNull(document);
+            document.setText(text);
+            documentManager.commitDocument(document);
+        });
+    }
+}
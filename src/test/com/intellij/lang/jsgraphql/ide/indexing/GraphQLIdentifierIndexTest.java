@@ -0,0 +1,159 @@
+package com.intellij.lang.jsgraphql.ide.indexing;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIdentifierIndex.IdentifierKind;
+import com.intellij.lang.jsgraphql.ide.indexing.GraphQLIdentifierIndex.IdentifierOccurrences;
+import com.intellij.lang.jsgraphql.ide.search.GraphQLPsiSearchHelper;
+import com.intellij.lang.jsgraphql.psi.GraphQLIdentifier;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiNamedElement;
+import com.intellij.psi.PsiRecursiveElementVisitor;
+import com.intellij.util.CommonProcessors;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.FileContentImpl;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class GraphQLIdentifierIndexTest extends GraphQLTestCaseBase {
+
+    public void testExternalizerRoundTrip() throws IOException {
+        IdentifierOccurrences.Builder builder = new IdentifierOccurrences.Builder();
+        // an unknown offset is stored as 0, so a known offset of 0 is shifted by one
+        builder.add(IdentifierKind.TYPE_DEFINITION_NAME, 0);
+        builder.add(IdentifierKind.IDENTIFIER_NAME, IdentifierOccurrences.UNKNOWN_OFFSET);
+        builder.add(IdentifierKind.TYPE_NAME, 1);
+        builder.add(IdentifierKind.IDENTIFIER_NAME, IdentifierOccurrences.UNKNOWN_OFFSET);
+        builder.add(IdentifierKind.OPERATION_DEFINITION_NAME, 100_000);
+        assertRoundTrip(builder.build());
+
+        IdentifierOccurrences.Builder unknownOnly = new IdentifierOccurrences.Builder();
+        unknownOnly.add(IdentifierKind.IDENTIFIER_NAME, IdentifierOccurrences.UNKNOWN_OFFSET);
+        IdentifierOccurrences occurrences = assertRoundTrip(unknownOnly.build());
+        assertFalse(occurrences.hasKnownOffsets());
+
+        IdentifierOccurrences.Builder allKinds = new IdentifierOccurrences.Builder();
+        for (IdentifierKind kind : IdentifierKind.values()) {
+            allKinds.add(kind, kind.ordinal() * 10);
+        }
+        assertTrue(assertRoundTrip(allKinds.build()).hasKnownOffsets());
+
+        assertRoundTrip(new IdentifierOccurrences.Builder().build());
+    }
+
+    public void testElementsAtOffsetsMatchFileWalk() {
+        PsiFile file = myFixture.configureByText("schema.graphql",
+            "type Query { user(user: ID): user }\n" +
+            "type user { user: user }\n" +
+            "enum Role { user }\n" +
+            "directive @user(user: Role = user) on FIELD\n" +
+            "query user($user: ID) { user(user: $user) @user(user: user) { user { ... on user { ...user } } } }\n" +
+            "fragment user on user { alias: user user }\n");
+
+        CommonProcessors.CollectProcessor<PsiNamedElement> processor = new CommonProcessors.CollectProcessor<>();
+        GraphQLPsiSearchHelper.getInstance(getProject()).processElementsWithWord(file, "user", processor);
+
+        assertEquals(findNamedElementsWithFileWalk(file, "user"), new ArrayList<>(processor.getResults()));
+    }
+
+    public void testLexerIndexingMatchesPsiIndexing() throws IOException {
+        PsiFile file = myFixture.addFileToProject("schema.graphql",
+            "schema { query: Query mutation: Mutation }\n" +
+            "\"\"\"The root\"\"\"\n" +
+            "type Query implements Node & Entity @key(fields: \"id\") { node(id: ID = \"type\", first: Int = 10): Node type: String }\n" +
+            "type Mutation { update(input: UpdateInput = {id: null, enabled: true}): Node }\n" +
+            "extend type Query { on: Boolean fragment: Entity }\n" +
+            "interface Node { id: ID! }\n" +
+            "interface Entity implements Node { id: ID! }\n" +
+            "union Result = Query | Mutation\n" +
+            "enum Role { ADMIN, type, on }\n" +
+            "input UpdateInput { id: ID enabled: Boolean role: Role = ADMIN }\n" +
+            "scalar Date @specifiedBy(url: \"https://example.com\")\n" +
+            "directive @key(fields: String!) repeatable on OBJECT | INTERFACE\n" +
+            "query Nodes($id: ID = \"1\", $role: Role = type) @key(fields: \"id\") {\n" +
+            "  # a comment with a name\n" +
+            "  alias: node(id: $id) { ...NodeFields ... on Entity { id } ... @include(if: true) { id } }\n" +
+            "}\n" +
+            "mutation { update(input: {id: \"1\", role: type}) { id } }\n" +
+            "fragment NodeFields on Node { id }\n" +
+            "fragment type on Entity { id }\n");
+        FileContent content = FileContentImpl.createByFile(file.getVirtualFile(), getProject());
+
+        Map<String, IdentifierKind> psiOccurrences = describe(new GraphQLIdentifierIndex().getIndexer().map(content));
+        Map<String, IdentifierKind> lexerOccurrences = describe(GraphQLLexerIndexer.getIdentifiers(content));
+        psiOccurrences.forEach((occurrence, kind) -> {
+            IdentifierKind lexerKind = lexerOccurrences.get(occurrence);
+            assertNotNull("not indexed by the lexer: " + occurrence, lexerKind);
+            // the lexer only classifies the names it can tell from the preceding tokens
+            if (lexerKind != IdentifierKind.IDENTIFIER_NAME) {
+                assertEquals(occurrence, kind, lexerKind);
+            }
+        });
+        assertEquals(IdentifierKind.TYPE_DEFINITION_NAME, lexerOccurrences.get("Query@" + file.getText().indexOf("Query implements")));
+        assertEquals(IdentifierKind.OPERATION_DEFINITION_NAME, lexerOccurrences.get("Nodes@" + file.getText().indexOf("Nodes(")));
+        assertEquals(IdentifierKind.FRAGMENT_DEFINITION_NAME, lexerOccurrences.get("type@" + file.getText().indexOf("type on")));
+
+        // names the lexer can't tell from keywords are harmless, as long as no identifier is at their offset
+        lexerOccurrences.keySet().stream().filter(occurrence -> !psiOccurrences.containsKey(occurrence)).forEach(occurrence -> {
+            PsiElement leaf = file.findElementAt(Integer.parseInt(StringUtil.substringAfterLast(occurrence, "@")));
+            assertFalse("identifier not indexed with PSI: " + occurrence, leaf != null && leaf.getParent() instanceof GraphQLIdentifier);
+        });
+
+        Map<String, String> psiFragments = new TreeMap<>();
+        new GraphQLFragmentNameIndex().getIndexer().map(content).forEach((name, info) -> psiFragments.put(name, info.getTypeConditionName() + "@" + info.getOffset()));
+        Map<String, String> lexerFragments = new TreeMap<>();
+        GraphQLLexerIndexer.getFragments(content).forEach((name, info) -> lexerFragments.put(name, info.getTypeConditionName() + "@" + info.getOffset()));
+        assertEquals(psiFragments, lexerFragments);
+    }
+
+    /**
+     * Finds the named elements like the search did before the identifier offsets were indexed
+     */
+    @NotNull
+    private static List<PsiNamedElement> findNamedElementsWithFileWalk(@NotNull PsiFile file, @NotNull String word) {
+        List<PsiNamedElement> elements = new ArrayList<>();
+        file.accept(new PsiRecursiveElementVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (element instanceof PsiNamedElement && word.equals(((PsiNamedElement) element).getName())) {
+                    elements.add((PsiNamedElement) element);
+                }
+                super.visitElement(element);
+            }
+        });
+        assertNotEmpty(elements);
+        return elements;
+    }
+
+    @NotNull
+    private static Map<String, IdentifierKind> describe(@NotNull Map<String, IdentifierOccurrences> identifiers) {
+        Map<String, IdentifierKind> occurrences = new TreeMap<>();
+        identifiers.forEach((name, nameOccurrences) -> {
+            for (int i = 0; i < nameOccurrences.size(); i++) {
+                occurrences.put(name + "@" + nameOccurrences.getOffset(i), nameOccurrences.getKind(i));
+            }
+        });
+        return occurrences;
+    }
+
+    @NotNull
+    private static IdentifierOccurrences assertRoundTrip(@NotNull IdentifierOccurrences occurrences) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            IdentifierOccurrences.EXTERNALIZER.save(out, occurrences);
+        }
+        IdentifierOccurrences read;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = IdentifierOccurrences.EXTERNALIZER.read(in);
+            assertEquals("the whole value must be read", -1, in.read());
+        }
+        assertEquals(occurrences, read);
+        return read;
+    }
+}
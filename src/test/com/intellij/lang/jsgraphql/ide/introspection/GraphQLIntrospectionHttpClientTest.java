@@ -0,0 +1,186 @@
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.registry.RegistryValue;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+public class GraphQLIntrospectionHttpClientTest extends GraphQLTestCaseBase {
+
+    private HttpServer myServer;
+    private GraphQLIntrospectionService myService;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        myServer.createContext("/", GraphQLIntrospectionHttpClientTest::handle);
+        myServer.start();
+        myService = new GraphQLIntrospectionService(getProject());
+        Disposer.register(getTestRootDisposable(), myService);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            myServer.stop(0);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testUserInfoCredentials() throws Exception {
+        String url = getUrl("user:secret@", "graphql");
+        try (GraphQLIntrospectionService.HttpClientLease lease = myService.acquireHttpClient(url, null)) {
+            // the credentials of the user info are set on the credentials provider of the client
+            assertEquals("user:secret", execute(lease.getClient(), url));
+        }
+    }
+
+    public void testRetiredClientIsClosedAfterLastLease() throws Exception {
+        String url = getUrl("", "graphql");
+        GraphQLIntrospectionService.HttpClientLease first = myService.acquireHttpClient(url, null);
+        GraphQLIntrospectionService.HttpClientLease second = myService.acquireHttpClient(url, null);
+        CloseableHttpClient client = first.getClient();
+        assertSame(client, second.getClient());
+
+        getProject().getMessageBus().syncPublisher(GraphQLConfigManager.TOPIC).onConfigurationChanged();
+        assertFalse(isClosed(client));
+        first.close();
+        assertFalse(isClosed(client));
+        second.close();
+        assertTrue(isClosed(client));
+
+        try (GraphQLIntrospectionService.HttpClientLease lease = myService.acquireHttpClient(url, null)) {
+            assertNotSame(client, lease.getClient());
+        }
+    }
+
+    public void testRetiredClientIsClosedAfterLastLeaseOnDispose() throws Exception {
+        GraphQLIntrospectionService.HttpClientLease lease = myService.acquireHttpClient(getUrl("", "graphql"), null);
+        Disposer.dispose(myService);
+        assertFalse(isClosed(lease.getClient()));
+        lease.close();
+        assertTrue(isClosed(lease.getClient()));
+    }
+
+    public void testEvictedLeasedClient() throws Exception {
+        GraphQLIntrospectionService.HttpClientLease leased = myService.acquireHttpClient(getUrl("", "leased"), null);
+        List<CloseableHttpClient> clients = new ArrayList<>();
+        for (int i = 0; i < GraphQLIntrospectionService.HTTP_CLIENTS_MAX_SIZE; i++) {
+            try (GraphQLIntrospectionService.HttpClientLease lease = myService.acquireHttpClient(getUrl("", "graphql" + i), null)) {
+                clients.add(lease.getClient());
+            }
+        }
+
+        // the least recently used client is evicted, but requests are still executed on it
+        assertFalse(isClosed(leased.getClient()));
+        leased.close();
+        assertTrue(isClosed(leased.getClient()));
+
+        // a client without leases is closed when it's evicted
+        assertFalse(isClosed(clients.get(0)));
+        myService.acquireHttpClient(getUrl("", "added"), null).close();
+        assertTrue(isClosed(clients.get(0)));
+        assertFalse(isClosed(clients.get(1)));
+    }
+
+    public void testChangedConfigurationReplacesClient() throws Exception {
+        String url = getUrl("", "graphql");
+        CloseableHttpClient client;
+        try (GraphQLIntrospectionService.HttpClientLease lease = myService.acquireHttpClient(url, null)) {
+            client = lease.getClient();
+        }
+        try (GraphQLIntrospectionService.HttpClientLease lease = myService.acquireHttpClient(url, null)) {
+            assertSame(client, lease.getClient());
+        }
+
+        RegistryValue timeout = Registry.get("graphql.request.timeout");
+        timeout.setValue(timeout.asInteger() + 1);
+        try {
+            try (GraphQLIntrospectionService.HttpClientLease lease = myService.acquireHttpClient(url, null)) {
+                assertNotSame(client, lease.getClient());
+                assertTrue(isClosed(client));
+            }
+        } finally {
+            timeout.resetToDefault();
+        }
+    }
+
+    public void testClosedLeaseIsNotReleasedTwice() throws Exception {
+        String url = getUrl("", "graphql");
+        GraphQLIntrospectionService.HttpClientLease first = myService.acquireHttpClient(url, null);
+        GraphQLIntrospectionService.HttpClientLease second = myService.acquireHttpClient(url, null);
+        first.close();
+        first.close();
+
+        getProject().getMessageBus().syncPublisher(GraphQLConfigManager.TOPIC).onConfigurationChanged();
+        assertFalse(isClosed(second.getClient()));
+        second.close();
+        assertTrue(isClosed(second.getClient()));
+    }
+
+    /**
+     * A closed client fails to lease a connection
+     */
+    private boolean isClosed(@NotNull CloseableHttpClient client) throws IOException {
+        try (CloseableHttpResponse response = client.execute(new HttpGet(getUrl("", "graphql")))) {
+            EntityUtils.consume(response.getEntity());
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    @NotNull
+    private String getUrl(@NotNull String userInfo, @NotNull String path) {
+        return "http://" + userInfo + "127.0.0.1:" + myServer.getAddress().getPort() + "/" + path;
+    }
+
+    /**
+     * @return the credentials the server received
+     */
+    @NotNull
+    private static String execute(@NotNull CloseableHttpClient client, @NotNull String url) throws IOException {
+        try (CloseableHttpResponse response = client.execute(new HttpGet(url))) {
+            assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+            return EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Asks for basic authentication and responds with the received credentials
+     */
+    private static void handle(@NotNull HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"graphql\"");
+            exchange.sendResponseHeaders(HttpStatus.SC_UNAUTHORIZED, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = Base64.getDecoder().decode(authorization.substring("Basic ".length()));
+        exchange.sendResponseHeaders(HttpStatus.SC_OK, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
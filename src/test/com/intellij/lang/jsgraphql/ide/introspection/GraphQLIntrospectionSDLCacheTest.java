@@ -0,0 +1,112 @@
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.openapi.util.io.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphQLIntrospectionSDLCacheTest extends GraphQLTestCaseBase {
+
+    private static final String JSON = "{\"data\": {\"__schema\": {\"types\": []}}}";
+    private static final String SDL = "type Query {\n  id: ID\n}\n";
+
+    private File myCacheDir;
+    private GraphQLIntrospectionSDLCache myCache;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myCacheDir = FileUtil.createTempDirectory("graphql", "introspection-sdl");
+        myCache = new GraphQLIntrospectionSDLCache(myCacheDir);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            FileUtil.delete(myCacheDir);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testKey() {
+        String key = myCache.getKey(JSON, "options");
+        assertEquals(key, myCache.getKey(JSON, "options"));
+        assertEquals(key, GraphQLIntrospectionSDLCache.getKey(JSON, "options", GraphQLIntrospectionSDLCache.VERSION));
+        assertFalse(key.equals(GraphQLIntrospectionSDLCache.getKey(JSON, "options", GraphQLIntrospectionSDLCache.VERSION + 1)));
+        assertFalse(key.equals(myCache.getKey(JSON, "other options")));
+        assertFalse(key.equals(myCache.getKey(JSON + " ", "options")));
+    }
+
+    public void testPutAndGet() {
+        String key = myCache.getKey(JSON, "options");
+        assertNull(myCache.get(key));
+        myCache.put(key, SDL);
+        assertEquals(SDL, myCache.get(key));
+        assertEquals(SDL, new GraphQLIntrospectionSDLCache(myCacheDir).get(key));
+    }
+
+    public void testLeastRecentlyUsedEntriesAreRemoved() {
+        long time = System.currentTimeMillis() - 1_000_000;
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < GraphQLIntrospectionSDLCache.MAX_ENTRIES; i++) {
+            String key = myCache.getKey(JSON, String.valueOf(i));
+            myCache.put(key, SDL + i);
+            assertTrue(myCache.getFile(key).setLastModified(time + i * 1000L));
+            keys.add(key);
+        }
+
+        // reading the oldest entry makes the second oldest the least recently used one
+        assertEquals(SDL + 0, myCache.get(keys.get(0)));
+        String added = myCache.getKey(JSON, "added");
+        myCache.put(added, SDL);
+
+        assertEquals(SDL, myCache.get(added));
+        assertEquals(SDL + 0, myCache.get(keys.get(0)));
+        assertNull(myCache.get(keys.get(1)));
+        for (int i = 2; i < keys.size(); i++) {
+            assertEquals(SDL + i, myCache.get(keys.get(i)));
+        }
+    }
+
+    public void testPartialEntryIsRemoved() throws IOException {
+        String key = myCache.getKey(JSON, "options");
+        myCache.put(key, SDL);
+        File file = myCache.getFile(key);
+        String entry = FileUtil.loadFile(file, StandardCharsets.UTF_8);
+        FileUtil.writeToFile(file, entry.substring(0, entry.length() - 5));
+
+        assertNull(myCache.get(key));
+        assertFalse(file.exists());
+    }
+
+    public void testCorruptedEntryIsRemoved() throws IOException {
+        String key = myCache.getKey(JSON, "options");
+        myCache.put(key, SDL);
+        File file = myCache.getFile(key);
+        FileUtil.writeToFile(file, FileUtil.loadFile(file, StandardCharsets.UTF_8).replace("ID", "Id"));
+
+        assertNull(myCache.get(key));
+        assertFalse(file.exists());
+
+        // an entry without the checksum line
+        FileUtil.writeToFile(file, "type");
+        assertNull(myCache.get(key));
+        assertFalse(file.exists());
+
+        // the entry can be written again
+        myCache.put(key, SDL);
+        assertEquals(SDL, myCache.get(key));
+    }
+
+    public void testTemporaryFilesAreNotEntries() throws IOException {
+        String key = myCache.getKey(JSON, "options");
+        // left by an interrupted write
+        FileUtil.writeToFile(new File(myCacheDir, key + ".tmp"), SDL);
+        assertNull(myCache.get(key));
+    }
+}
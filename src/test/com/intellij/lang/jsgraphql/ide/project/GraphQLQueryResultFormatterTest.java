@@ -0,0 +1,112 @@
+package com.intellij.lang.jsgraphql.ide.project;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.registry.RegistryValue;
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+public class GraphQLQueryResultFormatterTest extends GraphQLTestCaseBase {
+
+    private static final String RESULT = "{\"data\":{\"user\":{\"name\":\"" + StringUtil.repeat("a", 100) + "\",\"score\":1.50}}," +
+        "\"errors\":[{\"message\":\"first\",\"path\":[\"user\",0]},{\"message\":\"second\"}]}";
+
+    public void testDefaultMaxLength() {
+        assertEquals(5_000_000, GraphQLQueryResultFormatter.getMaxLength());
+    }
+
+    public void testFormat() throws IOException {
+        GraphQLQueryResultFormatter.FormattedResult result = format("{\"data\":{\"id\":1.50,\"name\":null},\"errors\":[{\"message\":\"error\"}]}", true);
+        assertEquals("{\n" +
+                     "  \"data\": {\n" +
+                     "    \"id\": 1.50,\n" +
+                     "    \"name\": null\n" +
+                     "  },\n" +
+                     "  \"errors\": [\n" +
+                     "    {\n" +
+                     "      \"message\": \"error\"\n" +
+                     "    }\n" +
+                     "  ]\n" +
+                     "}", result.getText());
+        assertEquals(Integer.valueOf(1), result.getErrorCount());
+        assertFalse(result.isTruncated());
+    }
+
+    public void testErrorCount() throws IOException {
+        assertErrorCount(2, RESULT);
+        assertErrorCount(0, "{\"data\":{\"errors\":[{\"message\":\"not a top level error\"}]}}");
+        assertErrorCount(0, "{\"data\":null,\"errors\":[]}");
+        // nested arrays and objects are counted once
+        assertErrorCount(3, "{\"errors\":[[1,[2]],{\"errors\":[1,2]},\"error\"],\"data\":{\"errors\":[1]}}");
+        assertErrorCount(null, "[{\"errors\":[1]}]");
+    }
+
+    public void testNotJson() throws IOException {
+        String response = "Internal error:\r\n{";
+        for (boolean formatJson : new boolean[]{true, false}) {
+            GraphQLQueryResultFormatter.FormattedResult result = format(response, formatJson);
+            assertEquals("Internal error:\n{", result.getText());
+            assertNull(result.getErrorCount());
+            assertEquals(response.length(), result.getLength());
+            assertFalse(result.isTruncated());
+        }
+    }
+
+    public void testPlainTextIsNotRewritten() throws IOException {
+        // text which is only valid JSON when read leniently
+        for (String response : new String[]{"Internal Server Error", "{'data': {id: 1}}", "{\"data\": null} trailing", "[1, 2,]"}) {
+            for (boolean formatJson : new boolean[]{true, false}) {
+                GraphQLQueryResultFormatter.FormattedResult result = format(response, formatJson);
+                assertEquals(response, result.getText());
+                assertNull(response, result.getErrorCount());
+                assertFalse(result.isTruncated());
+            }
+        }
+    }
+
+    public void testTruncated() throws IOException {
+        RegistryValue maxLength = Registry.get("graphql.query.result.max.length");
+        maxLength.setValue(20);
+        try {
+            assertEquals(20, GraphQLQueryResultFormatter.getMaxLength());
+
+            GraphQLQueryResultFormatter.FormattedResult formatted = format(RESULT, true);
+            assertEquals(20, formatted.getText().length());
+            assertTrue(formatted.isTruncated());
+            assertEquals(RESULT.length(), formatted.getLength());
+            // the errors after the truncated text are still counted
+            assertEquals(Integer.valueOf(2), formatted.getErrorCount());
+
+            GraphQLQueryResultFormatter.FormattedResult received = format(RESULT, false);
+            assertEquals(RESULT.substring(0, 20), received.getText());
+            assertTrue(received.isTruncated());
+            assertEquals(RESULT.length(), received.getLength());
+            assertEquals(Integer.valueOf(2), received.getErrorCount());
+
+            String error = "Error: " + RESULT;
+            GraphQLQueryResultFormatter.FormattedResult notJson = format(error, true);
+            assertEquals(error.substring(0, 20), notJson.getText());
+            assertTrue(notJson.isTruncated());
+            assertNull(notJson.getErrorCount());
+
+            GraphQLQueryResultFormatter.FormattedResult small = format("{\"data\":null}", false);
+            assertEquals("{\"data\":null}", small.getText());
+            assertFalse(small.isTruncated());
+        } finally {
+            maxLength.resetToDefault();
+        }
+    }
+
+    private void assertErrorCount(Integer expected, @NotNull String response) throws IOException {
+        assertEquals(response, expected, format(response, true).getErrorCount());
+        assertEquals(response, expected, format(response, false).getErrorCount());
+    }
+
+    @NotNull
+    private GraphQLQueryResultFormatter.FormattedResult format(@NotNull String response, boolean formatJson) throws IOException {
+        return GraphQLQueryResultFormatter.format(getProject(), new StringReader(response), formatJson);
+    }
+}
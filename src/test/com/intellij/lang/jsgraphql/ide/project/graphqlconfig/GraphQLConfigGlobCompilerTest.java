@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import minimatch.Minimatch;
+import minimatch.Options;
+import org.junit.Assert;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class GraphQLConfigGlobCompilerTest extends GraphQLTestCaseBase {
+
+    private static final Options OPTIONS = new Options().setMatchBase(true);
+
+    private static final List<String> PATHS = Arrays.asList(
+        "schema.graphql",
+        ".schema.graphql",
+        "src/query.graphql",
+        "src/queries/query.graphql",
+        "src/.hidden/query.graphql",
+        "src/queries/component.jsx",
+        "lib/a.js",
+        "lib/b.ts",
+        "node_modules/pkg/schema.graphql",
+        "{literal}.graphql"
+    );
+
+    private static final List<String> GLOBS = Arrays.asList(
+        "*.graphql",
+        "**/*.graphql",
+        "src/**",
+        "src/**/*.{graphql,jsx}",
+        "src/*/query.graphql",
+        "src/quer?es/*",
+        "lib/[ab].js",
+        "lib/[!a].*",
+        "{src,lib}/**/*.{js,ts,graphql}",
+        "node_modules/**",
+        "{literal}.graphql",
+        "schema.graphql",
+        "src/*.graphql"
+    );
+
+    public void testMatchesMinimatch() {
+        for (String glob : GLOBS) {
+            Predicate<String> compiled = GraphQLConfigGlobCompiler.compile(Arrays.asList(glob), (filePath, g) -> {
+                throw new AssertionError("Unexpected fallback for " + g);
+            });
+            for (String path : PATHS) {
+                Assert.assertEquals(glob + " -> " + path, Minimatch.minimatch(path, glob, OPTIONS), compiled.test(path));
+            }
+        }
+    }
+
+    public void testCombinedGlobs() {
+        Predicate<String> compiled = new GraphQLConfigGlobMatcherImpl().compile(GLOBS);
+        for (String path : PATHS) {
+            boolean expected = GLOBS.stream().anyMatch(glob -> Minimatch.minimatch(path, glob, OPTIONS));
+            Assert.assertEquals(path, expected, compiled.test(path));
+        }
+    }
+
+    public void testExtendedGlobFallsBackToMinimatch() {
+        Assert.assertNull(GraphQLConfigGlobCompiler.toRegex("src/+(a|b).graphql"));
+        Predicate<String> compiled = new GraphQLConfigGlobMatcherImpl().compile(Arrays.asList("src/+(a|b).graphql"));
+        Assert.assertTrue(compiled.test("src/a.graphql"));
+        Assert.assertFalse(compiled.test("src/c.graphql"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+public class GraphQLConfigPackageSetTest extends GraphQLTestCaseBase {
+
+    public void testDirectoryGlobsCreatedAfterFirstMatch() {
+        myFixture.addFileToProject(".graphqlconfig",
+            "{\"schemaPath\": \"schema.graphql\", \"includes\": [\"other.graphql\", \"generated\", \"ignored/*\"], \"excludes\": [\"ignored\"]}");
+        VirtualFile schemaFile = myFixture.addFileToProject("schema.graphql", "type Query { id: ID }").getVirtualFile();
+        VirtualFile otherFile = myFixture.addFileToProject("other.graphql", "type Other { id: ID }").getVirtualFile();
+        loadConfiguration();
+
+        GraphQLConfigPackageSet packageSet = getPackageSet(schemaFile);
+        assertTrue(packageSet.includesVirtualFile(otherFile));
+
+        // the globs are compiled by now, and name directories which don't exist yet
+        VirtualFile generatedFile = myFixture.addFileToProject("generated/types.graphql", "type Generated { id: ID }").getVirtualFile();
+        VirtualFile ignoredFile = myFixture.addFileToProject("ignored/types.graphql", "type Ignored { id: ID }").getVirtualFile();
+        assertTrue(packageSet.includesVirtualFile(generatedFile));
+        assertFalse(packageSet.includesVirtualFile(ignoredFile));
+        assertTrue(packageSet.includesVirtualFile(otherFile));
+    }
+
+    @NotNull
+    private GraphQLConfigPackageSet getPackageSet(@NotNull VirtualFile file) {
+        GraphQLNamedScope scope = GraphQLConfigManager.getService(getProject()).getSchemaScope(file);
+        assertNotNull(scope);
+        return scope.getPackageSet();
+    }
+}
@@ -13,6 +13,7 @@ import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
 import com.intellij.lang.jsgraphql.ide.search.GraphQLPsiSearchHelper;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.schema.GraphQLRegistryProvider;
 import com.intellij.lang.jsgraphql.types.language.AstPrinter;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.search.GlobalSearchScope;
@@ -109,6 +110,31 @@ public class GraphQLInjectionHighlightingTest extends GraphQLTestCaseBase {
         doTestInjectedFile("cStyleCommentMultipleVars.js");
     }
 
+    public void testSchemaInjections() {
+        myFixture.configureByFile("schemaInjections.js");
+
+        List<PsiFile> psiFiles = new ArrayList<>();
+        GraphQLPsiSearchHelper.getInstance(getProject()).processInjectedGraphQLSchemaPsiFiles(
+            myFixture.getFile(), GlobalSearchScope.allScope(getProject()), new CommonProcessors.CollectProcessor<>(psiFiles));
+        assertSize(1, psiFiles);
+
+        GraphQLFile injectedFile = assertInstanceOf(psiFiles.get(0), GraphQLFile.class);
+        assertSize(1, injectedFile.getTypeDefinitions());
+    }
+
+    public void testNoSchemaInjectionsInQueries() {
+        myFixture.configureByFile("cStyleComment.js");
+
+        List<PsiFile> psiFiles = new ArrayList<>();
+        GraphQLPsiSearchHelper.getInstance(getProject()).processInjectedGraphQLSchemaPsiFiles(
+            myFixture.getFile(), GlobalSearchScope.allScope(getProject()), new CommonProcessors.CollectProcessor<>(psiFiles));
+        assertEmpty(psiFiles);
+
+        // the query injections are skipped by the schema build, but still count as GraphQL found in the scope
+        assertTrue(GraphQLPsiSearchHelper.getInstance(getProject()).hasInjectedGraphQLPsiFiles(GlobalSearchScope.allScope(getProject())));
+        assertTrue(GraphQLRegistryProvider.getInstance(getProject()).getRegistryInfo(myFixture.getFile()).isProcessedGraphQL());
+    }
+
     private @NotNull PsiFile doTestInjectedFile(@NotNull String sourcePath) {
         myFixture.configureByFile(sourcePath);
 
@@ -1,4 +1,4 @@
-package com.intellij.lang.jsgraphql.ide.introspection;
+package com.intellij.lang.jsgraphql.introspection;
 
 import com.google.common.collect.Lists;
 import com.intellij.lang.jsgraphql.psi.GraphQLElementFactory;
@@ -17,6 +17,11 @@ import java.util.stream.Collectors;
 
 import static com.intellij.lang.jsgraphql.types.Assert.*;
 
+/**
+ * Converts an introspection result to a document, which was used to print introspection results with the
+ * {@link com.intellij.lang.jsgraphql.types.schema.idl.SchemaPrinter} before they were printed while being read.
+ * It's kept to compare the output of {@link com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionSchemaPrinter} with.
+ */
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class GraphQLIntrospectionResultToSchema {
 
@@ -0,0 +1,120 @@
+package com.intellij.lang.jsgraphql.introspection;
+
+import com.google.gson.Gson;
+import com.intellij.lang.jsgraphql.GraphQLSettings;
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionService;
+import com.intellij.lang.jsgraphql.schema.GraphQLKnownTypes;
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaPrinter;
+import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Compares the SDL printed while reading an introspection result with the SDL printed by the {@link SchemaPrinter}
+ * for a schema created from the same introspection result.
+ */
+public class GraphQLIntrospectionSchemaPrinterTest extends GraphQLTestCaseBase {
+
+    @Override
+    protected @NotNull String getBasePath() {
+        return "/introspection";
+    }
+
+    public void testSchema() {
+        doCompareTest("schema.json");
+    }
+
+    public void testSchemaWithCustomRootTypes() {
+        doCompareTest("schemaWithCustomRootTypes.json");
+    }
+
+    public void testSchemaWithoutRootTypes() {
+        doCompareTest("schemaWithoutRootTypes.json");
+    }
+
+    public void testSchemaWithRepeatableDirectives() {
+        doCompareTest("schemaWithRepeatableDirectives.json");
+    }
+
+    public void testSchemaWithUndefinedDirectives() {
+        doCompareTest("schemaWithUndefinedDirectives.json");
+    }
+
+    public void testGithubSchema() {
+        // the schema printer prints object default values with the fields in the order of the input type
+        doCompareTestWithoutDefaultValues("githubSchema.json");
+    }
+
+    public void testEdgeCases() {
+        // descriptions with triple quotes, the order of the types and directive locations and raw default values
+        String json = readSchemaJson("schemaWithEdgeCases.json");
+        myFixture.configureByText("result.graphql", new GraphQLIntrospectionService(getProject()).printIntrospectionAsGraphQL(json));
+        myFixture.checkResultByFile("schemaWithEdgeCases.graphql");
+    }
+
+    public void testEdgeCasesWithoutDefaultValues() {
+        doCompareTestWithoutDefaultValues("schemaWithEdgeCases.json");
+    }
+
+    private void doCompareTestWithoutDefaultValues(@NotNull String source) {
+        GraphQLSettings settings = GraphQLSettings.getSettings(getProject());
+        settings.setEnableIntrospectionDefaultValues(false);
+        try {
+            doCompareTest(source);
+        } finally {
+            settings.setEnableIntrospectionDefaultValues(true);
+        }
+    }
+
+    private void doCompareTest(@NotNull String source) {
+        String json = readSchemaJson(source);
+        assertEquals(printWithSchemaPrinter(json), new GraphQLIntrospectionService(getProject()).printIntrospectionAsGraphQL(json));
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private String printWithSchemaPrinter(@NotNull String json) {
+        Map<String, Object> introspection = new Gson().fromJson(json, Map.class);
+        if (!introspection.containsKey("__schema")) {
+            introspection = (Map<String, Object>) introspection.get("data");
+        }
+        if (!GraphQLSettings.getSettings(getProject()).isEnableIntrospectionDefaultValues()) {
+            removeDefaultValues(introspection);
+        }
+
+        Document document = new GraphQLIntrospectionResultToSchema(getProject()).createSchemaDefinition(introspection);
+        GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().buildRegistry(document));
+        SchemaPrinter.Options options = SchemaPrinter.Options
+            .defaultOptions()
+            .includeScalarTypes(true)
+            .includeSchemaDefinition(true)
+            .includeDirectives(directive -> !GraphQLKnownTypes.DEFAULT_DIRECTIVES.contains(directive.getName()));
+        return new SchemaPrinter(getProject(), options).print(schema);
+    }
+
+    private static void removeDefaultValues(@NotNull Object value) {
+        if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(GraphQLIntrospectionSchemaPrinterTest::removeDefaultValues);
+        } else if (value instanceof Map) {
+            ((Map<?, ?>) value).remove("defaultValue");
+            ((Map<?, ?>) value).values().forEach(GraphQLIntrospectionSchemaPrinterTest::removeDefaultValues);
+        }
+    }
+
+    @NotNull
+    private String readSchemaJson(@NotNull String path) {
+        try {
+            return VfsUtilCore.loadText(myFixture.copyFileToProject(path));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
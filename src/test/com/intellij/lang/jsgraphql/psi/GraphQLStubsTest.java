@@ -0,0 +1,151 @@
+package com.intellij.lang.jsgraphql.psi;
+
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.ide.indexing.stubs.*;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLFragmentDefinitionStub;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLMemberDefinitionStub;
+import com.intellij.lang.jsgraphql.psi.stubs.GraphQLNamedStub;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.PersistentFSConstants;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.stubs.StubTextInconsistencyException;
+import com.intellij.psi.stubs.StubTree;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class GraphQLStubsTest extends GraphQLTestCaseBase {
+
+    private static final String SCHEMA =
+        "type User @auth { id: ID name(format: String = \"short\"): String }\n" +
+        "extend type User { email: String }\n" +
+        "\"\"\"Roles\"\"\"\n" +
+        "enum Role { ADMIN USER }\n" +
+        "directive @auth(role: Role = ADMIN) on OBJECT | FIELD_DEFINITION\n" +
+        "fragment UserFields on User { id ... on User { name } }\n" +
+        "query Users($role: Role = USER) { users { ...UserFields } }\n";
+
+    public void testStubTree() {
+        PsiFile file = myFixture.addFileToProject("schema.graphql", SCHEMA);
+        StubTree stubTree = ((PsiFileImpl) file).calcStubTree();
+
+        List<String> stubs = new ArrayList<>();
+        for (StubElement<?> stub : stubTree.getPlainList()) {
+            if (stub instanceof GraphQLNamedStub) {
+                stubs.add(describe((GraphQLNamedStub<?>) stub));
+            }
+        }
+        assertEquals(List.of(
+            "TYPE_NAME_DEFINITION User",
+            "FIELD_DEFINITION User.id",
+            "FIELD_DEFINITION User.name",
+            "FIELD_DEFINITION User.email",
+            "TYPE_NAME_DEFINITION Role",
+            "ENUM_VALUE_DEFINITION Role.ADMIN",
+            "ENUM_VALUE_DEFINITION Role.USER",
+            "DIRECTIVE_DEFINITION auth",
+            "FRAGMENT_DEFINITION UserFields on User"
+        ), stubs);
+    }
+
+    public void testStubTextConsistency() {
+        StubTextInconsistencyException.checkStubTextConsistency(myFixture.addFileToProject("schema.graphql", SCHEMA));
+        // incomplete definitions are recovered by the parser and must still produce the same stubs
+        StubTextInconsistencyException.checkStubTextConsistency(myFixture.addFileToProject("incomplete.graphql",
+            "type User { id: \n name: String }\nenum Role { ADMIN \ndirective @auth on\nfragment F on { id }\ntype"));
+    }
+
+    public void testStubIndexes() {
+        myFixture.addFileToProject("schema.graphql", SCHEMA);
+
+        assertIndexedNames(GraphQLTypeNameDefinitionIndex.KEY, GraphQLTypeNameDefinition.class, "User", "User");
+        assertIndexedNames(GraphQLTypeNameDefinitionIndex.KEY, GraphQLTypeNameDefinition.class, "Query");
+        assertIndexedNames(GraphQLFieldDefinitionIndex.KEY, GraphQLFieldDefinition.class, "email", "email");
+        assertIndexedNames(GraphQLFieldDefinitionIndex.KEY, GraphQLFieldDefinition.class, "users");
+        assertIndexedNames(GraphQLEnumValueDefinitionIndex.KEY, GraphQLEnumValueDefinition.class, "ADMIN", "ADMIN");
+        assertIndexedNames(GraphQLDirectiveDefinitionIndex.KEY, GraphQLDirectiveDefinition.class, "auth", "auth");
+        assertIndexedNames(GraphQLFragmentDefinitionIndex.KEY, GraphQLFragmentDefinition.class, "UserFields", "UserFields");
+    }
+
+    public void testResolveLoadsOnlyDeclaringFiles() {
+        myFixture.addFileToProject("schema.graphql", "type User { id: ID }");
+        VirtualFile referencingFile = myFixture.addFileToProject("other.graphql", "type Other { user: User }").getVirtualFile();
+        myFixture.configureByText("query.graphql", "type Query { user: Us<caret>er }");
+
+        PsiManagerEx.getInstanceEx(getProject()).setAssertOnFileLoadingFilter(referencingFile::equals, getTestRootDisposable());
+        assertResolvedTypeName("User", "schema.graphql");
+    }
+
+    public void testResolveInInjection() {
+        myFixture.addFileToProject("schema.js", "const SCHEMA = /* GraphQL */ `\n    type Injected { id: ID }\n`;");
+        myFixture.configureByText("query.graphql", "type Query { injected: Inj<caret>ected }");
+
+        PsiElement definition = assertResolvedTypeName("Injected", "schema.js");
+        assertTrue(InjectedLanguageManager.getInstance(getProject()).isInjectedFragment(definition.getContainingFile()));
+    }
+
+    public void testResolveInFileTooLargeForStubs() {
+        String schema = "type Large { id: ID }\n" + StringUtil.repeat("# padding\n", 200);
+        int maxIntellisenseFileSize = PersistentFSConstants.getMaxIntellisenseFileSize();
+        PersistentFSConstants.setMaxIntellisenseFileSize(schema.length() - 1);
+        try {
+            myFixture.addFileToProject("large.graphql", schema);
+            myFixture.configureByText("query.graphql", "type Query { large: Lar<caret>ge }");
+
+            assertResolvedTypeName("Large", "large.graphql");
+        } finally {
+            PersistentFSConstants.setMaxIntellisenseFileSize(maxIntellisenseFileSize);
+        }
+    }
+
+    @NotNull
+    private PsiElement assertResolvedTypeName(@NotNull String name, @NotNull String fileName) {
+        PsiReference reference = myFixture.getReferenceAtCaretPosition();
+        assertNotNull(reference);
+        PsiElement target = reference.resolve();
+        assertInstanceOf(target, GraphQLIdentifier.class);
+        assertNamedElement(target.getParent(), GraphQLTypeNameDefinition.class, name);
+        PsiFile file = InjectedLanguageManager.getInstance(getProject()).getTopLevelFile(target);
+        assertEquals(fileName, file.getName());
+        return target;
+    }
+
+    private <T extends PsiElement> void assertIndexedNames(@NotNull StubIndexKey<String, T> key,
+                                                           @NotNull Class<T> elementClass,
+                                                           @NotNull String name,
+                                                           @NotNull String... expectedNames) {
+        Collection<T> elements = StubIndex.getElements(key, name, getProject(), GlobalSearchScope.projectScope(getProject()), elementClass);
+        List<String> names = ContainerUtil.map(elements, element -> element instanceof GraphQLEnumValueDefinition
+            ? ((GraphQLEnumValueDefinition) element).getEnumValue().getName()
+            : element instanceof GraphQLDirectiveDefinition
+            ? ((GraphQLDirectiveDefinition) element).getNameIdentifier().getText()
+            : ((GraphQLNamedElement) element).getName());
+        assertSameElements(names, expectedNames);
+    }
+
+    @NotNull
+    private static String describe(@NotNull GraphQLNamedStub<?> stub) {
+        String description = stub.getStubType() + " ";
+        if (stub instanceof GraphQLMemberDefinitionStub) {
+            description += ((GraphQLMemberDefinitionStub<?>) stub).getOwnerTypeName() + ".";
+        }
+        description += stub.getName();
+        if (stub instanceof GraphQLFragmentDefinitionStub) {
+            description += " on " + ((GraphQLFragmentDefinitionStub) stub).getTypeConditionName();
+        }
+        return description;
+    }
+}
@@ -0,0 +1,103 @@
+package com.intellij.lang.jsgraphql.psi.impl;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.psi.GraphQLField;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypeScopeProvider;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLType;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.PlatformTestUtil;
+import org.jetbrains.annotations.NotNull;
+
+public class GraphQLTypeScopeCacheTest extends GraphQLTestCaseBase {
+
+    private PsiFile mySchemaFile;
+    private PsiFile myOtherScopeSchemaFile;
+    private PsiFile myQueryFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject("one/.graphqlconfig", "{}");
+        mySchemaFile = myFixture.addFileToProject("one/schema.graphql", "type Query { user: User }\ntype User { id: ID friend: User }");
+        myQueryFile = myFixture.addFileToProject("one/query.graphql", "query { user { friend { id } } }");
+        myFixture.addFileToProject("two/.graphqlconfig", "{}");
+        myOtherScopeSchemaFile = myFixture.addFileToProject("two/schema.graphql", "type Query { id: ID }");
+        loadConfiguration();
+    }
+
+    public void testReusedWithinDefinition() {
+        GraphQLTypeScopeProvider user = findField("user");
+        GraphQLTypeScopeProvider id = findField("id");
+        GraphQLType idTypeScope = id.getTypeScope();
+        assertNotNull(idTypeScope);
+
+        // resolving the nested field cached the type scopes of its parents in the same definition
+        assertTrue(isCached(user));
+        assertTrue(isCached(findField("friend")));
+        assertTrue(isCached(id));
+        assertSame(idTypeScope, id.getTypeScope());
+    }
+
+    public void testInvalidatedByEditInSameFile() {
+        assertNotNull(findField("id").getTypeScope());
+        assertTrue(isCached(findField("user")));
+
+        setText(myQueryFile, "query { user { friend { id } } }\n# edited");
+        assertFalse(isCached(findField("user")));
+    }
+
+    public void testInvalidatedBySchemaChangeInScope() {
+        assertNotNull(findField("id").getTypeScope());
+        assertTrue(isCached(findField("user")));
+
+        setText(mySchemaFile, "type Query { user: User }\ntype User { id: ID friend: User name: String }");
+        assertFalse(isCached(findField("user")));
+    }
+
+    public void testKeptOnSchemaChangeInOtherScope() {
+        GraphQLTypeScopeProvider user = findField("user");
+        GraphQLType userTypeScope = user.getTypeScope();
+        assertNotNull(userTypeScope);
+
+        setText(myOtherScopeSchemaFile, "type Query { id: ID name: String }");
+        assertTrue(isCached(user));
+        assertSame(userTypeScope, user.getTypeScope());
+    }
+
+    /**
+     * Gets the type scope with a provider which records whether it's computed, so the cached type scope is kept if present
+     */
+    private static boolean isCached(@NotNull GraphQLTypeScopeProvider element) {
+        boolean[] computed = {false};
+        GraphQLTypeScopeCache.getTypeScope(element, () -> {
+            computed[0] = true;
+            return null;
+        });
+        return !computed[0];
+    }
+
+    @NotNull
+    private GraphQLTypeScopeProvider findField(@NotNull String name) {
+        for (GraphQLField field : PsiTreeUtil.findChildrenOfType(myQueryFile, GraphQLField.class)) {
+            if (name.equals(field.getName())) {
+                return assertInstanceOf(field, GraphQLTypeScopeProvider.class);
+            }
+        }
+        throw new AssertionError("no field " + name);
+    }
+
+    private void setText(@NotNull PsiFile file, @NotNull String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            Document document = documentManager.getDocument(file);
+            assertNotNull(document);
+            document.setText(text);
+            documentManager.commitDocument(document);
+        });
+        PlatformTestUtil.dispatchAllInvocationEventsInIdeEventQueue();
+    }
+}
@@ -0,0 +1,85 @@
+package com.intellij.lang.jsgraphql.schema;
+
+import com.intellij.lang.jsgraphql.GraphQLFileType;
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.schema.builder.GraphQLIncrementalRegistry;
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.language.FieldDefinition;
+import com.intellij.lang.jsgraphql.types.language.ObjectTypeDefinition;
+import com.intellij.lang.jsgraphql.types.language.ObjectTypeExtensionDefinition;
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GraphQLIncrementalRegistryTest extends GraphQLTestCaseBase {
+
+    private final Map<String, Document> myDocuments = new LinkedHashMap<>();
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        addDocument("first", "type User { a: ID }\nextend type User { extA: ID }");
+        addDocument("second", "type User { b: ID }\nextend type User { extB: ID }");
+        addDocument("third", "type User { c: ID }\nextend type User { extC: ID }");
+    }
+
+    public void testAddedSourceIsMergedInVisitOrder() {
+        GraphQLIncrementalRegistry registry = new GraphQLIncrementalRegistry();
+        update(registry, "second", "third");
+
+        assertEquals(describe(build("first", "second", "third")), describe(update(registry, "first", "second", "third")));
+    }
+
+    public void testReorderedSourcesAreMergedInVisitOrder() {
+        GraphQLIncrementalRegistry registry = new GraphQLIncrementalRegistry();
+        update(registry, "first", "second", "third");
+
+        assertEquals(describe(build("third", "first", "second")), describe(update(registry, "third", "first", "second")));
+    }
+
+    public void testRemovedAndReaddedSource() {
+        GraphQLIncrementalRegistry registry = new GraphQLIncrementalRegistry();
+        update(registry, "first", "second", "third");
+        update(registry, "second", "third");
+
+        assertEquals(describe(build("first", "second", "third")), describe(update(registry, "first", "second", "third")));
+    }
+
+    private void addDocument(@NotNull String key, @NotNull String text) {
+        GraphQLFile file = (GraphQLFile) PsiFileFactory.getInstance(getProject())
+            .createFileFromText(key + ".graphql", GraphQLFileType.INSTANCE, text);
+        myDocuments.put(key, file.getDocument());
+    }
+
+    @NotNull
+    private TypeDefinitionRegistry build(@NotNull String... keys) {
+        return update(new GraphQLIncrementalRegistry(), keys);
+    }
+
+    @NotNull
+    private TypeDefinitionRegistry update(@NotNull GraphQLIncrementalRegistry registry, @NotNull String... keys) {
+        registry.startUpdate();
+        for (String key : keys) {
+            if (!registry.reuse(key, 0)) {
+                registry.addDocument(key, 0, myDocuments.get(key));
+            }
+        }
+        return registry.finishUpdate();
+    }
+
+    @NotNull
+    private static String describe(@NotNull TypeDefinitionRegistry registry) {
+        ObjectTypeDefinition user = registry.getType("User", ObjectTypeDefinition.class).orElse(null);
+        assertNotNull(user);
+        List<ObjectTypeExtensionDefinition> extensions = registry.objectTypeExtensions().get("User");
+        assertNotNull(extensions);
+        return ContainerUtil.map(user.getFieldDefinitions(), FieldDefinition::getName) + " " +
+            ContainerUtil.map(extensions, extension -> ContainerUtil.map(extension.getFieldDefinitions(), FieldDefinition::getName));
+    }
+}
@@ -0,0 +1,127 @@
+package com.intellij.lang.jsgraphql.schema;
+
+import com.intellij.lang.jsgraphql.GraphQLFileType;
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.types.language.*;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry;
+import com.intellij.psi.PsiFileFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checks that the possible types read from the index of the registry are the ones found by searching all the types.
+ */
+public class GraphQLPossibleTypesTest extends GraphQLTestCaseBase {
+
+    private static final String SCHEMA =
+        "interface Node { id: ID }\n" +
+        "interface Entity implements Node { id: ID }\n" +
+        "type User implements Entity & Node & Entity { id: ID }\n" +
+        "type Post implements Node & Node { id: ID }\n" +
+        "type Comment implements Unknown { id: ID }\n" +
+        "interface Orphan { id: ID }\n" +
+        "union Content = Post | Comment | Node | Unknown | Date\n" +
+        "union Empty = Missing\n" +
+        "scalar Date\n" +
+        "enum Role { ADMIN }\n";
+
+    public void testSameAsSearch() {
+        assertSameAsSearch(new SchemaParser().buildRegistry(parse(SCHEMA)));
+    }
+
+    public void testAddedTypeAfterLookup() {
+        TypeDefinitionRegistry registry = new SchemaParser().buildRegistry(parse(SCHEMA));
+        assertSameAsSearch(registry);
+
+        for (Definition<?> definition : parse("type Late implements Orphan & Entity { id: ID }\nunion Later = Late | User").getDefinitions()) {
+            registry.add((SDLDefinition<?>) definition);
+        }
+        assertTrue(registry.isPossibleType(typeName("Orphan"), typeName("Late")));
+        assertTrue(registry.isPossibleType(typeName("Later"), typeName("Late")));
+        assertSameAsSearch(registry);
+    }
+
+    public void testMergedTypeAfterLookup() {
+        TypeDefinitionRegistry registry = new SchemaParser().buildRegistry(parse(SCHEMA));
+        assertSameAsSearch(registry);
+
+        registry.merge(new SchemaParser().buildRegistry(parse("type Merged implements Node { id: ID }\nunion Missing = Merged")));
+        assertTrue(registry.isPossibleType(typeName("Node"), typeName("Merged")));
+        assertSameAsSearch(registry);
+    }
+
+    private static void assertSameAsSearch(@NotNull TypeDefinitionRegistry registry) {
+        List<String> names = new ArrayList<>(registry.types().keySet());
+        names.add("Unknown");
+        for (String abstractName : names) {
+            Optional<InterfaceTypeDefinition> interfaceDefinition = registry.getType(abstractName, InterfaceTypeDefinition.class);
+            if (interfaceDefinition.isPresent()) {
+                assertEquals(abstractName, searchImplementationsOf(registry, interfaceDefinition.get()),
+                             registry.getAllImplementationsOf(interfaceDefinition.get()));
+            }
+            for (String possibleName : names) {
+                assertEquals(abstractName + " " + possibleName,
+                             searchIsPossibleType(registry, typeName(abstractName), typeName(possibleName)),
+                             registry.isPossibleType(typeName(abstractName), typeName(possibleName)));
+            }
+        }
+    }
+
+    /**
+     * The search done by {@link TypeDefinitionRegistry#getAllImplementationsOf} before the possible types were indexed
+     */
+    @NotNull
+    private static List<ImplementingTypeDefinition> searchImplementationsOf(@NotNull TypeDefinitionRegistry registry,
+                                                                            @NotNull InterfaceTypeDefinition targetInterface) {
+        List<ImplementingTypeDefinition> implementations = new ArrayList<>();
+        for (ImplementingTypeDefinition<?> typeDefinition : registry.getTypes(ImplementingTypeDefinition.class)) {
+            for (Type<?> iFace : typeDefinition.getImplements()) {
+                Optional<InterfaceTypeDefinition> interfaceTypeDef = registry.getType(iFace, InterfaceTypeDefinition.class);
+                if (interfaceTypeDef.isPresent() && interfaceTypeDef.get().getName().equals(targetInterface.getName())) {
+                    implementations.add(typeDefinition);
+                    break;
+                }
+            }
+        }
+        return implementations;
+    }
+
+    /**
+     * The search done by {@link TypeDefinitionRegistry#isPossibleType} before the possible types were indexed
+     */
+    private static boolean searchIsPossibleType(@NotNull TypeDefinitionRegistry registry, @NotNull Type<?> abstractType, @NotNull Type<?> possibleType) {
+        if (!registry.isInterfaceOrUnion(abstractType) || !registry.isObjectTypeOrInterface(possibleType)) {
+            return false;
+        }
+        String possibleTypeName = registry.getType(possibleType).get().getName();
+        TypeDefinition<?> abstractTypeDef = registry.getType(abstractType).get();
+        if (abstractTypeDef instanceof UnionTypeDefinition) {
+            for (Type<?> memberType : ((UnionTypeDefinition) abstractTypeDef).getMemberTypes()) {
+                Optional<ObjectTypeDefinition> checkType = registry.getType(memberType, ObjectTypeDefinition.class);
+                if (checkType.isPresent() && checkType.get().getName().equals(possibleTypeName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return searchImplementationsOf(registry, (InterfaceTypeDefinition) abstractTypeDef).stream()
+            .anyMatch(typeDefinition -> typeDefinition.getName().equals(possibleTypeName));
+    }
+
+    @NotNull
+    private static TypeName typeName(@NotNull String name) {
+        return TypeName.newTypeName(name).build();
+    }
+
+    @NotNull
+    private Document parse(@NotNull String text) {
+        GraphQLFile file = (GraphQLFile) PsiFileFactory.getInstance(getProject())
+            .createFileFromText("schema.graphql", GraphQLFileType.INSTANCE, text);
+        return file.getDocument();
+    }
+}
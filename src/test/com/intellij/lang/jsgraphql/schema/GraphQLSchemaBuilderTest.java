@@ -1,11 +1,24 @@
 package com.intellij.lang.jsgraphql.schema;
 
 import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLFieldDefinition;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLInterfaceType;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLObjectType;
 import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLType;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLTypeUtil;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLUnionType;
 import com.intellij.lang.jsgraphql.types.schema.idl.SchemaPrinter;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.util.containers.ContainerUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.function.UnaryOperator;
 
 
@@ -52,6 +65,78 @@ public class GraphQLSchemaBuilderTest extends GraphQLTestCaseBase {
         doTest(false);
     }
 
+    public void testIncrementalUpdate() {
+        PsiFile queryFile = myFixture.addFileToProject("query.graphql", "type Query { a: String }");
+        myFixture.configureByText("extension.graphql", "extend type Query { b: Int }\ntype User { id: ID }");
+        assertSameElements(getQueryFieldNames(), "a", "b");
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            Document document = documentManager.getDocument(queryFile);
+            assertNotNull(document);
+            document.setText("type Query { c: ID }");
+            documentManager.commitDocument(document);
+        });
+        PlatformTestUtil.dispatchAllInvocationEventsInIdeEventQueue();
+
+        assertSameElements(getQueryFieldNames(), "b", "c");
+        assertNotNull(getSchema().getType("User"));
+    }
+
+    public void testIncrementalUpdateOfDefinition() {
+        myFixture.configureByText("schema.graphql", "type Query { a: String }\ntype User { id: ID }\ntype Post { title: String }");
+        assertNotNull(getSchema().getObjectType("User").getFieldDefinition("id"));
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            Document document = myFixture.getEditor().getDocument();
+            document.insertString(document.getText().indexOf("id: ID"), "name: String ");
+            documentManager.commitDocument(document);
+        });
+        PlatformTestUtil.dispatchAllInvocationEventsInIdeEventQueue();
+
+        GraphQLSchema schema = getSchema();
+        assertSameElements(ContainerUtil.map(schema.getObjectType("User").getFieldDefinitions(), GraphQLFieldDefinition::getName), "id", "name");
+        assertSameElements(getQueryFieldNames(), "a");
+        assertNotNull(schema.getObjectType("Post").getFieldDefinition("title"));
+    }
+
+    public void testLargeSchemaTypeReferences() {
+        // enough types for the type references to be replaced in parallel
+        StringBuilder text = new StringBuilder("type Query { first: Type0 }\ninterface Node { id: ID }\n");
+        int typeCount = 2000;
+        for (int i = 0; i < typeCount; i++) {
+            text.append("type Type").append(i).append(" implements Node { id: ID next: [Type").append((i + 1) % typeCount).append("!] }\n");
+        }
+        text.append("union AnyType = Type0 | Type").append(typeCount - 1).append("\n");
+        myFixture.configureByText("schema.graphql", text.toString());
+
+        GraphQLSchema schema = getSchema();
+        GraphQLInterfaceType node = (GraphQLInterfaceType) schema.getType("Node");
+        assertNotNull(node);
+        assertSize(typeCount, schema.getImplementations(node));
+        for (int i = 0; i < typeCount; i++) {
+            GraphQLObjectType type = schema.getObjectType("Type" + i);
+            assertSame(node, type.getInterfaces().get(0));
+            GraphQLType nextType = GraphQLTypeUtil.unwrapAll(type.getFieldDefinition("next").getType());
+            assertSame(schema.getType("Type" + (i + 1) % typeCount), nextType);
+        }
+        GraphQLUnionType union = (GraphQLUnionType) schema.getType("AnyType");
+        assertNotNull(union);
+        assertSame(schema.getType("Type0"), union.getTypes().get(0));
+        assertSame(schema.getQueryType().getFieldDefinition("first").getType(), schema.getType("Type0"));
+    }
+
+    @NotNull
+    private GraphQLSchema getSchema() {
+        return GraphQLSchemaProvider.getInstance(getProject()).getSchemaInfo(myFixture.getFile()).getSchema();
+    }
+
+    @NotNull
+    private List<String> getQueryFieldNames() {
+        return ContainerUtil.map(getSchema().getQueryType().getFieldDefinitions(), GraphQLFieldDefinition::getName);
+    }
+
     private void doTest() {
         doTest(true);
     }
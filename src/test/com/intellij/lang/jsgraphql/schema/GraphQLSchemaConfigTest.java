@@ -12,10 +12,15 @@ import com.intellij.codeInsight.completion.CompletionType;
 import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
 import com.intellij.lang.jsgraphql.types.language.NamedNode;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
 import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.testFramework.PlatformTestUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -48,6 +53,34 @@ public class GraphQLSchemaConfigTest extends GraphQLTestCaseBase {
         doTestCompletion("completionSchemas/schema-two/query-two.graphql", Lists.newArrayList("fieldTwo", "__typename"), files);
     }
 
+    public void testSchemaChangeKeepsUnaffectedScopes() {
+        PsiFile[] files = myFixture.configureByFiles(
+            "completionSchemas/schema-one/.graphqlconfig",
+            "completionSchemas/schema-one/schema-one.graphql",
+            "completionSchemas/schema-two/.graphqlconfig",
+            "completionSchemas/schema-two/schema-two.graphql"
+        );
+        loadConfiguration();
+
+        GraphQLSchemaProvider schemaProvider = GraphQLSchemaProvider.getInstance(getProject());
+        GraphQLSchema schemaOne = schemaProvider.getSchemaInfo(files[1]).getSchema();
+        GraphQLSchema schemaTwo = schemaProvider.getSchemaInfo(files[3]).getSchema();
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            Document document = documentManager.getDocument(files[3]);
+            assertNotNull(document);
+            document.setText("type Query { fieldTwo: String otherFieldTwo: Int }");
+            documentManager.commitDocument(document);
+        });
+        PlatformTestUtil.dispatchAllInvocationEventsInIdeEventQueue();
+
+        assertSame(schemaOne, schemaProvider.getSchemaInfo(files[1]).getSchema());
+        GraphQLSchema updatedSchemaTwo = schemaProvider.getSchemaInfo(files[3]).getSchema();
+        assertNotSame(schemaTwo, updatedSchemaTwo);
+        assertNotNull(updatedSchemaTwo.getQueryType().getFieldDefinition("otherFieldTwo"));
+    }
+
     public void testExcludeFilesAndDirectories() {
         test("Types3.graphql", "TheOnlyType");
     }
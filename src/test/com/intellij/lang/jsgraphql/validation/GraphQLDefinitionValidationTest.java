@@ -0,0 +1,86 @@
+package com.intellij.lang.jsgraphql.validation;
+
+import com.intellij.lang.jsgraphql.GraphQLFileType;
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.types.language.Definition;
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
+import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator;
+import com.intellij.lang.jsgraphql.types.validation.ValidationError;
+import com.intellij.lang.jsgraphql.types.validation.ValidationErrorType;
+import com.intellij.lang.jsgraphql.types.validation.Validator;
+import com.intellij.lang.jsgraphql.types.validation.rules.NoUnusedFragments;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks that validating each definition on its own, as the schema annotator does, finds the errors of validating the whole document.
+ */
+public class GraphQLDefinitionValidationTest extends GraphQLTestCaseBase {
+
+    private static final String SCHEMA =
+        "type Query { user(id: ID!): User users: [User] }\n" +
+        "type User { id: ID name: String friends: [User] }\n";
+
+    public void testSameErrorsAsDocument() {
+        doTest(
+            "query Users { users { ...UserFields id } }\n" +
+            "query User($id: ID!, $unused: String) { user(id: $id) { ...UserFields } }\n" +
+            "query Users { user(id: $undefined) { friends } }\n" +
+            "fragment UserFields on User { name: id name friends { ...Friends } }\n" +
+            "fragment Friends on User { ...Cycle }\n" +
+            "fragment Cycle on User { ...Friends }\n" +
+            "fragment UserFields on User { id }\n"
+        );
+    }
+
+    public void testSharedFragmentConflictsAreDeduplicated() {
+        List<ValidationError> errors = doTest(
+            "query First { users { ...UserFields } }\n" +
+            "query Second { user(id: 1) { ...UserFields } }\n" +
+            "fragment UserFields on User { name: id name }\n"
+        );
+
+        // the conflict is found by both operations and the fragment itself
+        List<ValidationError> conflicts = ContainerUtil.filter(errors, error -> error.getValidationErrorType() == ValidationErrorType.FieldsConflict);
+        assertTrue(conflicts.size() > 1);
+        assertSize(1, new LinkedHashSet<>(conflicts));
+    }
+
+    /**
+     * @return the errors of the definitions, including the duplicates found through shared fragments
+     */
+    @NotNull
+    private List<ValidationError> doTest(@NotNull String text) {
+        GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().buildRegistry(parse(SCHEMA)));
+        Document document = parse(text);
+        Validator validator = new Validator();
+
+        // NoUnusedFragments needs all definitions, so it can't be compared
+        Set<ValidationError> expected = new LinkedHashSet<>(validator.validateDocument(schema, document, rule -> rule != NoUnusedFragments.class));
+        assertNotEmpty(expected);
+
+        List<ValidationError> errors = new ArrayList<>(validator.validateDocumentDefinitions(schema, document, rule -> true));
+        for (Definition<?> definition : document.getDefinitions()) {
+            errors.addAll(validator.validateDefinition(schema, document, definition,
+                rule -> !Validator.DOCUMENT_RULES.contains(rule) && rule != NoUnusedFragments.class));
+        }
+        assertSameElements(new LinkedHashSet<>(errors), expected);
+        return errors;
+    }
+
+    @NotNull
+    private Document parse(@NotNull String text) {
+        GraphQLFile file = (GraphQLFile) PsiFileFactory.getInstance(getProject())
+            .createFileFromText("document.graphql", GraphQLFileType.INSTANCE, text);
+        return file.getDocument();
+    }
+}
@@ -0,0 +1,132 @@
+package com.intellij.lang.jsgraphql.validation;
+
+import com.intellij.lang.jsgraphql.GraphQLFileType;
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
+import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator;
+import com.intellij.lang.jsgraphql.types.validation.Validator;
+import com.intellij.lang.jsgraphql.types.validation.rules.OverlappingFieldsCanBeMerged;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The conflicts are described by their reason and the lines of the conflicting fields.
+ */
+public class GraphQLOverlappingFieldsCanBeMergedTest extends GraphQLTestCaseBase {
+
+    private static final String SCHEMA =
+        "type Query { user: User users: [User] node: Node }\n" +
+        "interface Node { id: ID }\n" +
+        "type User implements Node { id: ID name: String nickname: String age: Int }\n" +
+        "type Post implements Node { id: ID title: String }\n";
+
+    public void testNestedAndCyclicSpreads() {
+        doTest(
+            "query Q {\n" +
+            "  user {\n" +
+            "    ...A\n" +
+            "  }\n" +
+            "}\n" +
+            "fragment A on User {\n" +
+            "  name: nickname\n" +
+            "  ...B\n" +
+            "}\n" +
+            "fragment B on User {\n" +
+            "  name\n" +
+            "  ...A\n" +
+            "}\n",
+            // the fragments spread into each other only add their fields once, and the pair is only reported once
+            "name: nickname and name are different fields @ 7,11"
+        );
+    }
+
+    public void testFragmentSpreadIntoSeveralSelectionSets() {
+        doTest(
+            "query Q {\n" +
+            "  user {\n" +
+            "    ...F\n" +
+            "    name: nickname\n" +
+            "  }\n" +
+            "  users {\n" +
+            "    ...F\n" +
+            "    name: age\n" +
+            "  }\n" +
+            "}\n" +
+            "fragment F on User {\n" +
+            "  name\n" +
+            "}\n",
+            "name: name and nickname are different fields @ 12,4",
+            "name: they return differing types String and Int @ 12,8"
+        );
+    }
+
+    public void testInlineFragmentsInFragments() {
+        doTest(
+            "query Q {\n" +
+            "  node {\n" +
+            "    ...F\n" +
+            "    ... on Post {\n" +
+            "      title: id\n" +
+            "    }\n" +
+            "  }\n" +
+            "}\n" +
+            "fragment F on Node {\n" +
+            "  ... on User {\n" +
+            "    title: name\n" +
+            "  }\n" +
+            "  ... on Post {\n" +
+            "    title\n" +
+            "  }\n" +
+            "}\n",
+            // the fields of the different object types User and Post can diverge, but not their scalar types
+            "title: they return differing types String and ID @ 11,5",
+            "title: they return differing types String and ID @ 14,5"
+        );
+    }
+
+    public void testPairInBothOrders() {
+        doTest(
+            "query Q {\n" +
+            "  user {\n" +
+            "    ...A\n" +
+            "    ...B\n" +
+            "  }\n" +
+            "  users {\n" +
+            "    ...B\n" +
+            "    ...A\n" +
+            "  }\n" +
+            "}\n" +
+            "fragment A on User {\n" +
+            "  name\n" +
+            "}\n" +
+            "fragment B on User {\n" +
+            "  name: nickname\n" +
+            "}\n",
+            "name: name and nickname are different fields @ 12,15"
+        );
+    }
+
+    private void doTest(@NotNull String text, String @NotNull ... expectedConflicts) {
+        GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().buildRegistry(parseSchema()));
+        Document document = ((GraphQLFile) myFixture.configureByText("query.graphql", text)).getDocument();
+
+        List<String> conflicts = ContainerUtil.map(
+            new Validator().validateDocument(schema, document, rule -> rule == OverlappingFieldsCanBeMerged.class),
+            error -> error.getDescription() + " @ " + StringUtil.join(error.getLocations(), location -> String.valueOf(location.getLine()), ","));
+        assertEquals(List.of(expectedConflicts), conflicts);
+    }
+
+    @NotNull
+    private Document parseSchema() {
+        GraphQLFile file = (GraphQLFile) PsiFileFactory.getInstance(getProject())
+            .createFileFromText("schema.graphql", GraphQLFileType.INSTANCE, SCHEMA);
+        return file.getDocument();
+    }
+}
@@ -0,0 +1,11 @@
+const QUERY = /* GraphQL */ `
+    query {
+        field
+    }
+`;
+
+const SCHEMA = /* GraphQL */ `
+    type Query {
+        field: String
+    }
+`;